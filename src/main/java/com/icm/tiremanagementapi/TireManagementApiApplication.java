@@ -1,24 +1,16 @@
 package com.icm.tiremanagementapi; 	
 
-import com.icm.tiremanagementapi.mqtt.MqttSubscriber;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.ApplicationContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TireManagementApiApplication {
 
 	public static void main(String[] args) {
-		// Initialize Spring Boot application and get the application context
-		ApplicationContext context = SpringApplication.run(TireManagementApiApplication.class, args);
-
-		// Retrieve the MqttSubscriber bean from the application context
-		// This bean is responsible for subscribing to MQTT topics and handling incoming messages
-		MqttSubscriber mqttSubscriber = context.getBean(MqttSubscriber.class);
-
-		// Subscribe to a test topic to start receiving messages.
-		// This is a placeholder and should be replaced with actual topic names relevant to your application.
-		mqttSubscriber.subscribeToTopic("prueba");
+		// Initialize Spring Boot application; MqttSubscriber subscribes to the configured MQTT topics once it is ready
+		SpringApplication.run(TireManagementApiApplication.class, args);
 	}
 /*
 	@Autowired
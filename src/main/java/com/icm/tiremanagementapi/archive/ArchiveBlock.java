@@ -0,0 +1,30 @@
+package com.icm.tiremanagementapi.archive;
+
+import java.time.YearMonth;
+
+/**
+ * One month of readings of one sensor (performance_tire) or vehicle (gas_records), stored column by column.
+ *
+ * @param ownerId    ID of the sensor or vehicle.
+ * @param month      Month covered by the block.
+ * @param timestamps Time of each row in epoch milliseconds, ascending.
+ * @param scales     Quantization of each value column: a value is stored as round(value * scale).
+ * @param columns    Value columns, each as long as {@code timestamps}, with NaN for missing values; columns
+ *                   skipped by {@link ColumnarArchiveCodec#decodeColumns} are empty.
+ */
+public record ArchiveBlock(long ownerId, YearMonth month, long[] timestamps, int[] scales, double[][] columns) {
+    public ArchiveBlock {
+        if (scales.length != columns.length) {
+            throw new IllegalArgumentException("One scale per column is required");
+        }
+        for (double[] column : columns) {
+            if (column.length != timestamps.length && column.length != 0) {
+                throw new IllegalArgumentException("Every column must have one value per timestamp");
+            }
+        }
+    }
+
+    public int rowCount() {
+        return timestamps.length;
+    }
+}
@@ -0,0 +1,49 @@
+package com.icm.tiremanagementapi.archive;
+
+/**
+ * Reads a stream written by {@link BitOutput}.
+ */
+final class BitInput {
+    private final byte[] bytes;
+    private final int end;
+    private int offset;
+    private long buffer;
+    private int bufferBits;
+
+    BitInput(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.end = offset + length;
+    }
+
+    boolean readBit() {
+        return readSmall(1) != 0;
+    }
+
+    /**
+     * Reads {@code bits} bits, 1 to 64, as an unsigned value.
+     *
+     * @throws IllegalArgumentException if the stream ends first.
+     */
+    long readBits(int bits) {
+        if (bits > 32) {
+            long high = readSmall(bits - 32);
+            return (high << 32) | readSmall(32);
+        }
+        return readSmall(bits);
+    }
+
+    private long readSmall(int bits) {
+        while (bufferBits < bits) {
+            if (offset >= end) {
+                throw new IllegalArgumentException("Truncated archive column");
+            }
+            buffer = (buffer << 8) | (bytes[offset++] & 0xFF);
+            bufferBits += 8;
+        }
+        bufferBits -= bits;
+        long value = (buffer >>> bufferBits) & ((1L << bits) - 1);
+        buffer &= (1L << bufferBits) - 1;
+        return value;
+    }
+}
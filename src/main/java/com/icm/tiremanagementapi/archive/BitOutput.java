@@ -0,0 +1,56 @@
+package com.icm.tiremanagementapi.archive;
+
+import java.util.Arrays;
+
+/**
+ * Append-only bit stream, most significant bit first.
+ */
+final class BitOutput {
+    private byte[] bytes;
+    private int size;
+    private long buffer;
+    private int bufferBits;
+
+    BitOutput(int expectedBytes) {
+        bytes = new byte[Math.max(16, expectedBytes)];
+    }
+
+    void writeBit(boolean bit) {
+        writeSmall(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Writes the lowest {@code bits} bits of a value, 1 to 64.
+     */
+    void writeBits(long value, int bits) {
+        if (bits > 32) {
+            writeSmall(value >>> 32, bits - 32);
+            writeSmall(value, 32);
+        } else {
+            writeSmall(value, bits);
+        }
+    }
+
+    /**
+     * Returns the written bits; the last byte is padded with zeros.
+     */
+    byte[] toByteArray() {
+        if (bufferBits > 0) {
+            writeSmall(0, 8 - bufferBits);
+        }
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void writeSmall(long value, int bits) {
+        buffer = (buffer << bits) | (value & ((1L << bits) - 1));
+        bufferBits += bits;
+        while (bufferBits >= 8) {
+            bufferBits -= 8;
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = (byte) (buffer >>> bufferBits);
+        }
+        buffer &= (1L << bufferBits) - 1;
+    }
+}
@@ -0,0 +1,295 @@
+package com.icm.tiremanagementapi.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.YearMonth;
+
+/**
+ * Compressed, column-oriented encoding of an {@link ArchiveBlock}, in the spirit of the Gorilla time series
+ * format. Timestamps are stored as delta-of-deltas, so readings at a steady interval take one bit each.
+ * Values are quantized to integers with the scale of their column and each one is stored as the XOR with the
+ * previous value, reusing the previous window of meaningful bits when it fits; slowly changing tire values
+ * take a few bits per reading. Each column is an independent bit stream, so a reader decodes only the
+ * columns it needs. Missing values (NaN) are marked in a bitmap of one bit per row, written only for
+ * columns that have any, and repeat the previous value in the value stream so they cost one more bit.
+ * <p>
+ * Layout, big endian: magic "TCA1", version byte, owner id (long), month as yyyyMM (int), row count (int),
+ * column count (byte), timestamp stream length (int) and bytes, then for each column its scale (int),
+ * null bitmap length (int, 0 without missing values) and bytes, value stream length (int) and bytes.
+ */
+public final class ColumnarArchiveCodec {
+    public static final int MAGIC = 0x54434131;
+    public static final byte VERSION = 1;
+
+    private ColumnarArchiveCodec() {
+    }
+
+    public static byte[] encode(ArchiveBlock block) {
+        int rows = block.rowCount();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + rows * (1 + block.columns().length * 2));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(block.ownerId());
+            out.writeInt(block.month().getYear() * 100 + block.month().getMonthValue());
+            out.writeInt(rows);
+            out.writeByte(block.columns().length);
+
+            byte[] timestamps = encodeTimestamps(block.timestamps());
+            out.writeInt(timestamps.length);
+            out.write(timestamps);
+            for (int c = 0; c < block.columns().length; c++) {
+                byte[] nulls = encodeNulls(block.columns()[c]);
+                byte[] values = encodeValues(block.columns()[c], block.scales()[c]);
+                out.writeInt(block.scales()[c]);
+                out.writeInt(nulls.length);
+                out.write(nulls);
+                out.writeInt(values.length);
+                out.write(values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a whole block.
+     *
+     * @throws IllegalArgumentException if the data is not a valid archive block.
+     */
+    public static ArchiveBlock decode(byte[] data) {
+        return decode(data, null);
+    }
+
+    /**
+     * Decodes the timestamps and the selected columns; the other columns are skipped without being
+     * decompressed and are returned as empty arrays.
+     *
+     * @param data    The encoded block.
+     * @param columns Indexes of the columns to decode.
+     * @throws IllegalArgumentException if the data is not a valid archive block.
+     */
+    public static ArchiveBlock decodeColumns(byte[] data, int... columns) {
+        boolean[] selected = new boolean[256];
+        for (int column : columns) {
+            selected[column] = true;
+        }
+        return decode(data, selected);
+    }
+
+    private static ArchiveBlock decode(byte[] data, boolean[] selected) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not an archive block");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported archive version " + version);
+            }
+            long ownerId = buffer.getLong();
+            int yearMonth = buffer.getInt();
+            int rows = buffer.getInt();
+            int columnCount = buffer.get() & 0xFF;
+            if (rows < 0) {
+                throw new IllegalArgumentException("Invalid row count " + rows);
+            }
+
+            int length = buffer.getInt();
+            long[] timestamps = decodeTimestamps(new BitInput(data, checkedPosition(buffer, length), length), rows);
+            buffer.position(buffer.position() + length);
+
+            int[] scales = new int[columnCount];
+            double[][] values = new double[columnCount][];
+            for (int c = 0; c < columnCount; c++) {
+                scales[c] = buffer.getInt();
+                int nullsLength = buffer.getInt();
+                int nullsPosition = checkedPosition(buffer, nullsLength);
+                buffer.position(nullsPosition + nullsLength);
+                length = buffer.getInt();
+                int position = checkedPosition(buffer, length);
+                boolean decodeColumn = selected == null || selected[c];
+                if (decodeColumn) {
+                    values[c] = decodeValues(new BitInput(data, position, length), rows, scales[c]);
+                    if (nullsLength > 0) {
+                        decodeNulls(new BitInput(data, nullsPosition, nullsLength), values[c]);
+                    }
+                } else {
+                    values[c] = new double[0];
+                }
+                buffer.position(position + length);
+            }
+            return new ArchiveBlock(ownerId, YearMonth.of(yearMonth / 100, yearMonth % 100), timestamps, scales, values);
+        } catch (BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("Corrupt archive block", e);
+        }
+    }
+
+    private static int checkedPosition(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Truncated archive block");
+        }
+        return buffer.position();
+    }
+
+    static byte[] encodeTimestamps(long[] timestamps) {
+        BitOutput out = new BitOutput(timestamps.length / 4 + 16);
+        if (timestamps.length == 0) {
+            return out.toByteArray();
+        }
+        out.writeBits(timestamps[0], 64);
+        long previous = timestamps[0];
+        long previousDelta = 0;
+        for (int i = 1; i < timestamps.length; i++) {
+            long delta = timestamps[i] - previous;
+            long deltaOfDelta = delta - previousDelta;
+            long zigzag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+            if (zigzag == 0) {
+                out.writeBit(false);
+            } else if (zigzag >>> 8 == 0) {
+                out.writeBits(0b10, 2);
+                out.writeBits(zigzag, 8);
+            } else if (zigzag >>> 14 == 0) {
+                out.writeBits(0b110, 3);
+                out.writeBits(zigzag, 14);
+            } else if (zigzag >>> 24 == 0) {
+                out.writeBits(0b1110, 4);
+                out.writeBits(zigzag, 24);
+            } else if (zigzag >>> 32 == 0) {
+                out.writeBits(0b11110, 5);
+                out.writeBits(zigzag, 32);
+            } else {
+                out.writeBits(0b11111, 5);
+                out.writeBits(zigzag, 64);
+            }
+            previous = timestamps[i];
+            previousDelta = delta;
+        }
+        return out.toByteArray();
+    }
+
+    static long[] decodeTimestamps(BitInput in, int rows) {
+        long[] timestamps = new long[rows];
+        if (rows == 0) {
+            return timestamps;
+        }
+        timestamps[0] = in.readBits(64);
+        long previousDelta = 0;
+        for (int i = 1; i < rows; i++) {
+            long zigzag;
+            if (!in.readBit()) {
+                zigzag = 0;
+            } else if (!in.readBit()) {
+                zigzag = in.readBits(8);
+            } else if (!in.readBit()) {
+                zigzag = in.readBits(14);
+            } else if (!in.readBit()) {
+                zigzag = in.readBits(24);
+            } else if (!in.readBit()) {
+                zigzag = in.readBits(32);
+            } else {
+                zigzag = in.readBits(64);
+            }
+            long deltaOfDelta = (zigzag >>> 1) ^ -(zigzag & 1);
+            previousDelta += deltaOfDelta;
+            timestamps[i] = timestamps[i - 1] + previousDelta;
+        }
+        return timestamps;
+    }
+
+    /**
+     * One bit per row, set for missing values; empty when the column has none.
+     */
+    static byte[] encodeNulls(double[] values) {
+        boolean any = false;
+        for (double value : values) {
+            any |= Double.isNaN(value);
+        }
+        if (!any) {
+            return new byte[0];
+        }
+        BitOutput out = new BitOutput(values.length / 8 + 1);
+        for (double value : values) {
+            out.writeBit(Double.isNaN(value));
+        }
+        return out.toByteArray();
+    }
+
+    static void decodeNulls(BitInput in, double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (in.readBit()) {
+                values[i] = Double.NaN;
+            }
+        }
+    }
+
+    static byte[] encodeValues(double[] values, int scale) {
+        BitOutput out = new BitOutput(values.length + 16);
+        if (values.length == 0) {
+            return out.toByteArray();
+        }
+        // A missing value repeats the previous one, which takes a single bit
+        long previous = Double.isNaN(values[0]) ? 0 : Math.round(values[0] * scale);
+        out.writeBits(previous, 64);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = 1; i < values.length; i++) {
+            long current = Double.isNaN(values[i]) ? previous : Math.round(values[i] * scale);
+            long xor = current ^ previous;
+            if (xor == 0) {
+                out.writeBit(false);
+            } else {
+                out.writeBit(true);
+                int leading = Long.numberOfLeadingZeros(xor);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    // The meaningful bits fit in the previous window
+                    out.writeBit(false);
+                    out.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                } else {
+                    int meaningful = 64 - leading - trailing;
+                    out.writeBit(true);
+                    out.writeBits(leading, 6);
+                    out.writeBits(meaningful - 1, 6);
+                    out.writeBits(xor >>> trailing, meaningful);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+            previous = current;
+        }
+        return out.toByteArray();
+    }
+
+    static double[] decodeValues(BitInput in, int rows, int scale) {
+        double[] values = new double[rows];
+        if (rows == 0) {
+            return values;
+        }
+        long previous = in.readBits(64);
+        values[0] = previous / (double) scale;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < rows; i++) {
+            if (in.readBit()) {
+                if (in.readBit()) {
+                    leading = (int) in.readBits(6);
+                    int meaningful = (int) in.readBits(6) + 1;
+                    trailing = 64 - leading - meaningful;
+                    if (trailing < 0) {
+                        throw new IllegalArgumentException("Corrupt archive column");
+                    }
+                }
+                previous ^= in.readBits(64 - leading - trailing) << trailing;
+            }
+            values[i] = previous / (double) scale;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,375 @@
+package com.icm.tiremanagementapi.archive;
+
+import com.icm.tiremanagementapi.dto.GasDTO.GasRecordDailyAveragesDTO;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRecordHourlyAverageDTO;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRecordMonthlyAveragesDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.ArchiveResultDTO;
+import com.icm.tiremanagementapi.models.RollupGranularity;
+import com.icm.tiremanagementapi.requests.performanceTire.DailyAverageDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.HourlyAverageDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.MonthlyAverageDTO;
+import com.icm.tiremanagementapi.services.TelemetryRetentionService;
+import com.icm.tiremanagementapi.utils.DateUtils;
+import com.icm.tiremanagementapi.utils.JdbcStreaming;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+/**
+ * Exports months of performance_tire and gas_records into the compressed columnar archive and answers the
+ * hourly, daily and monthly averages from it without touching MySQL.
+ * Each sensor (or vehicle) month is one file, {@code <archive.root>/<table>/<yyyy-MM>/<id>.tca}, encoded with
+ * {@link ColumnarArchiveCodec}; a few bytes per reading instead of a full InnoDB row plus its indexes.
+ * With {@code archive.enabled} the retention archives every month before expiring it, see
+ * {@link TelemetryRetentionService}.
+ */
+@Service
+@Slf4j
+public class TelemetryArchiveService {
+    public static final String FILE_EXTENSION = ".tca";
+
+    /**
+     * Column order of performance_tire blocks.
+     */
+    public static final int TEMPERATURE = 0;
+    public static final int PRESSURE = 1;
+    public static final int BATTERY_LEVEL = 2;
+
+    /**
+     * Column of gas_records blocks.
+     */
+    public static final int GAS_PRESSURE = 0;
+
+    /**
+     * Every reading is archived, since the month is deleted afterwards; missing values are stored as NaN.
+     */
+    private static final String PERFORMANCE_TIRE_SQL = "SELECT created_at, temperature, pressure, battery_level "
+            + "FROM performance_tire WHERE sensor = ? AND created_at >= ? AND created_at < ? ORDER BY created_at";
+
+    private static final String GAS_RECORDS_SQL = "SELECT day, hour, pressure FROM gas_records "
+            + "WHERE vehicle = ? AND day >= ? AND day < ? AND pressure IS NOT NULL ORDER BY day, hour";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${archive.root:archive}")
+    private String root;
+
+    @Value("${archive.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${archive.temperature-scale:100}")
+    private int temperatureScale;
+
+    @Value("${archive.pressure-scale:100}")
+    private int pressureScale;
+
+    @Value("${archive.battery-level-scale:10}")
+    private int batteryLevelScale;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Archives one month of every sensor with raw readings, including deleted ones.
+     */
+    public ArchiveResultDTO archivePerformanceTireMonth(YearMonth month) {
+        return archivePerformanceTireMonth(month, jdbcTemplate.queryForList(TelemetryRetentionService.PERFORMANCE_TIRE_OWNERS_SQL, Long.class));
+    }
+
+    /**
+     * Archives one month of gas records of every vehicle with raw records, including deleted ones.
+     */
+    public ArchiveResultDTO archiveGasRecordsMonth(YearMonth month) {
+        return archiveGasRecordsMonth(month, jdbcTemplate.queryForList(TelemetryRetentionService.GAS_RECORDS_OWNERS_SQL, Long.class));
+    }
+
+    /**
+     * Writes one archive file per sensor with readings in the month, replacing any previous export of it.
+     *
+     * @param month     The month to export.
+     * @param sensorIds The sensors to export.
+     * @return Counts of written files, rows and bytes.
+     */
+    public ArchiveResultDTO archivePerformanceTireMonth(YearMonth month, List<Long> sensorIds) {
+        long start = System.currentTimeMillis();
+        ArchiveResultDTO result = new ArchiveResultDTO(TelemetryRetentionService.PERFORMANCE_TIRE, month.toString(), 0, 0, 0, 0);
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        int[] scales = {temperatureScale, pressureScale, batteryLevelScale};
+        for (Long sensorId : sensorIds) {
+            RowBuffer rows = new RowBuffer(3);
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(PERFORMANCE_TIRE_SQL);
+                JdbcStreaming.streamResults(statement, fetchSize);
+                statement.setLong(1, sensorId);
+                statement.setTimestamp(2, from);
+                statement.setTimestamp(3, to);
+                return statement;
+            }, rs -> {
+                rows.add(rs.getTimestamp(1).getTime(), valueOf(rs, 2), valueOf(rs, 3), valueOf(rs, 4));
+            });
+            write(TelemetryRetentionService.PERFORMANCE_TIRE, sensorId, month, rows, scales, result);
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("Archived {}", result);
+        return result;
+    }
+
+    /**
+     * Writes one archive file per vehicle with gas records in the month, replacing any previous export of it.
+     *
+     * @param month      The month to export.
+     * @param vehicleIds The vehicles to export.
+     * @return Counts of written files, rows and bytes.
+     */
+    public ArchiveResultDTO archiveGasRecordsMonth(YearMonth month, List<Long> vehicleIds) {
+        long start = System.currentTimeMillis();
+        ArchiveResultDTO result = new ArchiveResultDTO(TelemetryRetentionService.GAS_RECORDS, month.toString(), 0, 0, 0, 0);
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.plusMonths(1).atDay(1));
+        int[] scales = {pressureScale};
+        for (Long vehicleId : vehicleIds) {
+            RowBuffer rows = new RowBuffer(1);
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(GAS_RECORDS_SQL);
+                JdbcStreaming.streamResults(statement, fetchSize);
+                statement.setLong(1, vehicleId);
+                statement.setDate(2, from);
+                statement.setDate(3, to);
+                return statement;
+            }, rs -> {
+                LocalDateTime time = rs.getDate(1).toLocalDate().atTime(rs.getTime(2).toLocalTime());
+                rows.add(Timestamp.valueOf(time).getTime(), rs.getDouble(3));
+            });
+            write(TelemetryRetentionService.GAS_RECORDS, vehicleId, month, rows, scales, result);
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("Archived {}", result);
+        return result;
+    }
+
+    /**
+     * Reads the archived month of a sensor or vehicle.
+     *
+     * @param table   {@link TelemetryRetentionService#PERFORMANCE_TIRE} or {@link TelemetryRetentionService#GAS_RECORDS}.
+     * @param ownerId ID of the sensor or vehicle.
+     * @param month   The month.
+     * @param columns Columns to decode; the others are left empty.
+     * @return The block, or empty if the month is not archived.
+     */
+    public Optional<ArchiveBlock> read(String table, long ownerId, YearMonth month, int... columns) {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(fileOf(table, ownerId, month));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Optional.of(ColumnarArchiveCodec.decodeColumns(data, columns));
+    }
+
+    public List<HourlyAverageDTO> getHourlyAverages(Long sensorId, LocalDate day) {
+        return averages(TelemetryRetentionService.PERFORMANCE_TIRE, sensorId, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                RollupGranularity.HOUR, new int[]{TEMPERATURE, PRESSURE, BATTERY_LEVEL},
+                (bucket, avg) -> new HourlyAverageDTO(bucket.getHour(), avg[0], avg[1], avg[2]));
+    }
+
+    public List<DailyAverageDTO> getDailyAverages(Long sensorId, YearMonth month) {
+        return averages(TelemetryRetentionService.PERFORMANCE_TIRE, sensorId, month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay(), RollupGranularity.DAY, new int[]{TEMPERATURE, PRESSURE, BATTERY_LEVEL},
+                (bucket, avg) -> new DailyAverageDTO(bucket.getDayOfMonth(), bucket.getMonthValue(), avg[0], avg[1], avg[2]));
+    }
+
+    public List<MonthlyAverageDTO> getMonthlyAverages(Long sensorId, int year) {
+        return averages(TelemetryRetentionService.PERFORMANCE_TIRE, sensorId, LocalDate.of(year, 1, 1).atStartOfDay(),
+                LocalDate.of(year + 1, 1, 1).atStartOfDay(), RollupGranularity.MONTH, new int[]{TEMPERATURE, PRESSURE, BATTERY_LEVEL},
+                (bucket, avg) -> new MonthlyAverageDTO(bucket.getMonthValue(), avg[0], avg[1], avg[2]));
+    }
+
+    public List<GasRecordHourlyAverageDTO> getGasHourlyAverages(Long vehicleId, LocalDate day) {
+        return averages(TelemetryRetentionService.GAS_RECORDS, vehicleId, day.atStartOfDay(), day.plusDays(1).atStartOfDay(),
+                RollupGranularity.HOUR, new int[]{GAS_PRESSURE},
+                (bucket, avg) -> new GasRecordHourlyAverageDTO(DateUtils.getHourLabel(bucket.getHour()), avg[0]));
+    }
+
+    public List<GasRecordDailyAveragesDTO> getGasDailyAverages(Long vehicleId, YearMonth month) {
+        return averages(TelemetryRetentionService.GAS_RECORDS, vehicleId, month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay(), RollupGranularity.DAY, new int[]{GAS_PRESSURE},
+                (bucket, avg) -> new GasRecordDailyAveragesDTO(bucket.toLocalDate().toString(), avg[0]));
+    }
+
+    public List<GasRecordMonthlyAveragesDTO> getGasMonthlyAverages(Long vehicleId, int year) {
+        return averages(TelemetryRetentionService.GAS_RECORDS, vehicleId, LocalDate.of(year, 1, 1).atStartOfDay(),
+                LocalDate.of(year + 1, 1, 1).atStartOfDay(), RollupGranularity.MONTH, new int[]{GAS_PRESSURE},
+                (bucket, avg) -> new GasRecordMonthlyAveragesDTO(DateUtils.getMonthName(bucket.getMonthValue()), avg[0]));
+    }
+
+    /**
+     * Averages the selected columns of the archived months overlapping [from, to) into buckets of the given
+     * granularity. Months that are not archived are skipped, and so are rows missing any selected value, like
+     * the rollups do.
+     */
+    private <T> List<T> averages(String table, long ownerId, LocalDateTime from, LocalDateTime to, RollupGranularity granularity,
+                                 int[] columns, BiFunction<LocalDateTime, double[], T> mapper) {
+        ZoneId zone = ZoneId.systemDefault();
+        long fromMillis = Timestamp.valueOf(from).getTime();
+        long toMillis = Timestamp.valueOf(to).getTime();
+        // Per bucket: the sample count followed by the sum of each selected column
+        Map<LocalDateTime, double[]> buckets = new TreeMap<>();
+        for (YearMonth month = YearMonth.from(from); month.atDay(1).atStartOfDay().isBefore(to); month = month.plusMonths(1)) {
+            Optional<ArchiveBlock> archived = read(table, ownerId, month, columns);
+            if (archived.isEmpty()) {
+                continue;
+            }
+            ArchiveBlock block = archived.get();
+            long[] timestamps = block.timestamps();
+            long bucketStartMillis = Long.MAX_VALUE;
+            long bucketEndMillis = Long.MIN_VALUE;
+            double[] sums = null;
+            for (int i = 0; i < timestamps.length; i++) {
+                long time = timestamps[i];
+                if (time < fromMillis || time >= toMillis) {
+                    continue;
+                }
+                // Rows are in time order, so the bucket is only resolved when a row leaves the current one
+                if (time < bucketStartMillis || time >= bucketEndMillis) {
+                    LocalDateTime bucket = granularity.bucketStart(LocalDateTime.ofInstant(Instant.ofEpochMilli(time), zone));
+                    bucketStartMillis = Timestamp.valueOf(bucket).getTime();
+                    bucketEndMillis = Timestamp.valueOf(nextBucket(granularity, bucket)).getTime();
+                    sums = buckets.computeIfAbsent(bucket, b -> new double[columns.length + 1]);
+                }
+                if (isComplete(block, columns, i)) {
+                    sums[0]++;
+                    for (int c = 0; c < columns.length; c++) {
+                        sums[c + 1] += block.columns()[columns[c]][i];
+                    }
+                }
+            }
+        }
+        List<T> result = new ArrayList<>(buckets.size());
+        buckets.forEach((bucket, sums) -> {
+            if (sums[0] == 0) {
+                return;
+            }
+            double[] averages = new double[columns.length];
+            for (int c = 0; c < columns.length; c++) {
+                averages[c] = sums[c + 1] / sums[0];
+            }
+            result.add(mapper.apply(bucket, averages));
+        });
+        return result;
+    }
+
+    private static boolean isComplete(ArchiveBlock block, int[] columns, int row) {
+        for (int column : columns) {
+            if (Double.isNaN(block.columns()[column][row])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double valueOf(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+
+    private static LocalDateTime nextBucket(RollupGranularity granularity, LocalDateTime bucket) {
+        return switch (granularity) {
+            case HOUR -> bucket.plusHours(1);
+            case DAY -> bucket.plusDays(1);
+            case MONTH -> bucket.plusMonths(1);
+        };
+    }
+
+    private void write(String table, long ownerId, YearMonth month, RowBuffer rows, int[] scales, ArchiveResultDTO result) {
+        if (rows.size == 0) {
+            return;
+        }
+        byte[] data = ColumnarArchiveCodec.encode(rows.toBlock(ownerId, month, scales));
+        Path file = fileOf(table, ownerId, month);
+        try {
+            Files.createDirectories(file.getParent());
+            // Readers never see a partially written file
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temporary, data);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        result.setFiles(result.getFiles() + 1);
+        result.setRows(result.getRows() + rows.size);
+        result.setBytes(result.getBytes() + data.length);
+    }
+
+    private Path fileOf(String table, long ownerId, YearMonth month) {
+        return Paths.get(root, table, month.toString(), ownerId + FILE_EXTENSION);
+    }
+
+    /**
+     * Growable primitive columns of one month of one sensor or vehicle.
+     */
+    private static final class RowBuffer {
+        private long[] timestamps = new long[1024];
+        private final double[][] columns;
+        private int size;
+
+        private RowBuffer(int columnCount) {
+            columns = new double[columnCount][1024];
+        }
+
+        private void add(long timestamp, double... values) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                for (int c = 0; c < columns.length; c++) {
+                    columns[c] = Arrays.copyOf(columns[c], size * 2);
+                }
+            }
+            timestamps[size] = timestamp;
+            for (int c = 0; c < columns.length; c++) {
+                columns[c][size] = values[c];
+            }
+            size++;
+        }
+
+        private ArchiveBlock toBlock(long ownerId, YearMonth month, int[] scales) {
+            double[][] trimmed = new double[columns.length][];
+            for (int c = 0; c < columns.length; c++) {
+                trimmed[c] = Arrays.copyOf(columns[c], size);
+            }
+            return new ArchiveBlock(ownerId, month, Arrays.copyOf(timestamps, size), scales, trimmed);
+        }
+    }
+}
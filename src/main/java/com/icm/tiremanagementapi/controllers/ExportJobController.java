@@ -0,0 +1,150 @@
+package com.icm.tiremanagementapi.controllers;
+
+import com.icm.tiremanagementapi.dto.ExportDTO.ExportJobDTO;
+import com.icm.tiremanagementapi.dto.ExportDTO.ExportJobRequestDTO;
+import com.icm.tiremanagementapi.export.ExportJob;
+import com.icm.tiremanagementapi.export.ExportJobService;
+import com.icm.tiremanagementapi.export.ExportJobStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Background exports: submit a job, poll it until it is DONE, then download its file. Downloads support
+ * {@code Range} requests for resuming, guarded by {@code If-Range}, and {@code If-None-Match} /
+ * {@code If-Modified-Since} against the job's ETag and completion time. Users only see their own jobs.
+ */
+@RestController
+@RequestMapping("api/export-jobs")
+public class ExportJobController {
+    @Autowired
+    private ExportJobService exportJobService;
+
+    /**
+     * Queues an export.
+     *
+     * @return 202 with the job and its URL in Location, 400 if the request is invalid, or 503 if the queue is full.
+     */
+    @PostMapping
+    public ResponseEntity<ExportJobDTO> submit(@RequestBody ExportJobRequestDTO request, Principal principal) {
+        ExportJob job;
+        try {
+            job = exportJobService.submit(request, principal.getName());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.getId()).toUri())
+                .body(job.toDTO());
+    }
+
+    /**
+     * Lists the jobs of the current user.
+     */
+    @GetMapping
+    public List<ExportJobDTO> getJobs(Principal principal) {
+        return exportJobService.getJobs(principal.getName()).stream().map(ExportJob::toDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the status and progress of a job.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobDTO> getJob(@PathVariable String id, Principal principal) {
+        return exportJobService.getJob(id, principal.getName())
+                .map(job -> ResponseEntity.ok(job.toDTO()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Downloads the file of a finished job, in whole or the byte ranges given by the Range header. A Range
+     * request whose If-Range does not match the job's ETag or completion time gets the whole file.
+     *
+     * @return The file (200 or 206), 404 if the job does not exist, has expired or belongs to another user,
+     * 409 if it is not DONE, or 410 if its file has been removed.
+     */
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> download(@PathVariable String id,
+                                             @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                             Principal principal) throws IOException {
+        ExportJob job = exportJobService.getJob(id, principal.getName()).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.getStatus() != ExportJobStatus.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (!Files.isRegularFile(job.getFile())) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        // Range and conditional requests are answered by Spring from these headers and the file resource,
+        // except If-Range, which Spring ignores: a stream resource is never split into ranges
+        ZonedDateTime lastModified = job.getFinishedAt().atZone(ZoneId.systemDefault());
+        long secondsLeft = Math.max(0, Duration.between(LocalDateTime.now(), job.getExpiresAt()).getSeconds());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(job.getETag())
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(secondsLeft)).cachePrivate())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + job.getFileName())
+                .contentType(MediaType.parseMediaType(job.getContentType()));
+        if (ifRange != null && !ifRangeMatches(ifRange, job.getETag(), lastModified)) {
+            return response
+                    .contentLength(Files.size(job.getFile()))
+                    .body(new InputStreamResource(Files.newInputStream(job.getFile())));
+        }
+        return response.body(new FileSystemResource(job.getFile()));
+    }
+
+    /**
+     * Whether an If-Range validator still names the current file: a strong comparison with the ETag, or an
+     * HTTP date equal to the last modification (at second precision, as the Last-Modified header carries).
+     */
+    private static boolean ifRangeMatches(String ifRange, String eTag, ZonedDateTime lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return date.toEpochSecond() == lastModified.toEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Cancels a queued or running job, or deletes a finished job and its file.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id, Principal principal) {
+        return exportJobService.delete(id, principal.getName()) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
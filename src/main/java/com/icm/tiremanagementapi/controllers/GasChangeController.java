@@ -2,6 +2,7 @@ package com.icm.tiremanagementapi.controllers;
 
 import com.icm.tiremanagementapi.models.GasChangeModel;
 import com.icm.tiremanagementapi.services.GasChangeService;
+import com.icm.tiremanagementapi.services.GasExportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -11,10 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +23,9 @@ public class GasChangeController {
     @Autowired
     private GasChangeService gasChangeService;
 
+    @Autowired
+    private GasExportService gasExportService;
+
     @GetMapping
     public List<?> getAll(){
         return gasChangeService.getAll();
@@ -60,35 +62,12 @@ public class GasChangeController {
      * Excels
      * */
     @GetMapping("/export/{vehicleId}")
-    public ResponseEntity<byte[]> exportGasChanges(@PathVariable Long vehicleId) throws IOException {
-        List<GasChangeModel> gasChanges = gasChangeService.getByVehicleModelId(vehicleId);
-
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Gas Changes");
-
-        // Create header row
-        Row headerRow = sheet.createRow(0);
-        headerRow.createCell(0).setCellValue("Día de instalación");
-        headerRow.createCell(1).setCellValue("Hora de instalación");
-        headerRow.createCell(2).setCellValue("Placa del vehiculo");
-
-        // Fill data rows
-        int rowNum = 1;
-        for (GasChangeModel gasChange : gasChanges) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(gasChange.getChangeDate().toString());
-            row.createCell(1).setCellValue(gasChange.getChangeTime().toString());
-            row.createCell(2).setCellValue(gasChange.getVehicleModel().getPlaca());
-        }
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
-
+    public ResponseEntity<StreamingResponseBody> exportGasChanges(@PathVariable Long vehicleId) {
+        StreamingResponseBody body = out -> gasExportService.writeGasChanges(vehicleId, out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=gas_changes.xlsx")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(baos.toByteArray());
+                .body(body);
     }
 
     @PostMapping
@@ -4,13 +4,11 @@ import com.icm.tiremanagementapi.dto.GasDTO.GasRecordDailyAveragesDTO;
 import com.icm.tiremanagementapi.dto.GasDTO.GasRecordHourlyAverageDTO;
 import com.icm.tiremanagementapi.dto.GasDTO.GasRecordMonthlyAveragesDTO;
 import com.icm.tiremanagementapi.dto.GasDTO.GasRecordYearlyAveragesDTO;
-import com.icm.tiremanagementapi.models.GasChangeModel;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRollupRebuildResultDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RollupRebuildStatusDTO;
 import com.icm.tiremanagementapi.models.GasRecordModel;
+import com.icm.tiremanagementapi.services.GasExportService;
 import com.icm.tiremanagementapi.services.GasRecordService;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -19,9 +17,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
@@ -33,6 +30,9 @@ public class GasRecordController {
     @Autowired
     private GasRecordService gasRecordService;
 
+    @Autowired
+    private GasExportService gasExportService;
+
     @GetMapping
     public List<GasRecordModel> getAll(){
         return gasRecordService.getAll();
@@ -99,41 +99,39 @@ public class GasRecordController {
         return gasRecordService.getYearlyAveragesByVehicleId(vehicleId);
     }
 
+    /**
+     * Starts recomputing the hourly, daily and monthly gas rollups from the raw records in the background.
+     * The outcome is reported by GET /rollups/rebuild.
+     *
+     * @param vehicleId Optional ID of the vehicle to rebuild.
+     * @return 202 with the rebuild status, or 409 if a rebuild is already running.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<RollupRebuildStatusDTO<GasRollupRebuildResultDTO>> rebuildRollups(@RequestParam(required = false) Long vehicleId) {
+        boolean started = gasRecordService.startRollupRebuild(vehicleId);
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(gasRecordService.getRollupRebuildStatus());
+    }
+
+    /**
+     * Retrieves whether a gas rollup rebuild is running and the counts of the last one.
+     */
+    @GetMapping("/rollups/rebuild")
+    public ResponseEntity<RollupRebuildStatusDTO<GasRollupRebuildResultDTO>> getRollupRebuildStatus() {
+        return ResponseEntity.ok(gasRecordService.getRollupRebuildStatus());
+    }
+
     /**
      * Excels
      * */
     @GetMapping("/export/{vehicleId}")
-    public ResponseEntity<byte[]> exportGasRecords(@PathVariable Long vehicleId) throws IOException {
-        List<GasRecordModel> gasRecords = gasRecordService.getByVehicleModelId(vehicleId);
-
-        Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet("Gas Records");
-
-        // Create header row
-        Row headerRow = sheet.createRow(0);
-        headerRow.createCell(0).setCellValue("Día de registro");
-        headerRow.createCell(1).setCellValue("Hora de registro");
-        headerRow.createCell(2).setCellValue("Presión");
-        headerRow.createCell(3).setCellValue("Placa del vehiculo");
-
-        // Fill data rows
-        int rowNum = 1;
-        for (GasRecordModel gasRecord : gasRecords) {
-            Row row = sheet.createRow(rowNum++);
-            row.createCell(0).setCellValue(gasRecord.getDay().toString());
-            row.createCell(1).setCellValue(gasRecord.getHour().toString());
-            row.createCell(2).setCellValue(gasRecord.getPressure());
-            row.createCell(3).setCellValue(gasRecord.getVehicleModel().getPlaca());
-        }
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
-
+    public ResponseEntity<StreamingResponseBody> exportGasRecords(@PathVariable Long vehicleId) {
+        // The workbook is written to the response as the rows are read, so the heap does not grow with the export
+        StreamingResponseBody body = out -> gasExportService.writeGasRecords(vehicleId, out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=gas_records.xlsx")
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .body(baos.toByteArray());
+                .body(body);
     }
 
 }
@@ -1,5 +1,6 @@
 package com.icm.tiremanagementapi.controllers;
 
+import com.icm.tiremanagementapi.dto.SummaryDTO.IrregularitySummaryDTO;
 import com.icm.tiremanagementapi.models.IrregularitiesTireModel;
 import com.icm.tiremanagementapi.services.IrregularitiesTireService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +53,18 @@ public class IrregularitiesTireController {
         return new ResponseEntity<>(data, HttpStatus.OK);
     }
 
+    /**
+     * Page of the irregularities of a company with only the plate of the vehicle and the code of the sensor,
+     * for lists that do not need the full vehicle, sensor and tire.
+     */
+    @GetMapping("/company/summary")
+    public ResponseEntity<Page<IrregularitySummaryDTO>> findSummariesByCompanyId(@RequestParam Long companyId,
+                                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                                 @RequestParam(defaultValue = "6") int size) {
+        Page<IrregularitySummaryDTO> data = irregularitiesTireService.findSummariesByCompanyId(companyId, page, size);
+        return new ResponseEntity<>(data, HttpStatus.OK);
+    }
+
     @GetMapping("/recent/{vehicleModelId}")
     public ResponseEntity<Page<IrregularitiesTireModel>> findByVehicleModelIdOrderByCreatedAtDesc(@PathVariable Long vehicleModelId) {
         Page<IrregularitiesTireModel> page = irregularitiesTireService.findByVehicleModelIdOrderByCreatedAtDesc(vehicleModelId);
@@ -0,0 +1,60 @@
+package com.icm.tiremanagementapi.controllers;
+
+import com.icm.tiremanagementapi.live.LiveScope;
+import com.icm.tiremanagementapi.live.LiveTelemetryHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-Sent Events streams of live sensor updates and new irregularities.
+ * Each stream sends "sensors" events with the latest values of the sensors that changed and
+ * "irregularity" events as irregularities are registered. Browsers using EventSource can pass the JWT
+ * as the {@code token} query parameter instead of the Authorization header.
+ */
+@RestController
+@RequestMapping("api/live")
+public class LiveTelemetryController {
+    @Autowired
+    private LiveTelemetryHub liveTelemetryHub;
+
+    /**
+     * Streams the sensors of a vehicle.
+     *
+     * @param vehicleId The ID of the vehicle.
+     * @return The event stream, or 503 if the subscriber limit is reached.
+     */
+    @GetMapping(value = "/vehicle/{vehicleId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamVehicle(@PathVariable Long vehicleId) {
+        return subscribe(LiveScope.VEHICLE, vehicleId);
+    }
+
+    /**
+     * Streams the sensors of every vehicle of a company.
+     *
+     * @param companyId The ID of the company.
+     * @return The event stream, or 503 if the subscriber limit is reached.
+     */
+    @GetMapping(value = "/company/{companyId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCompany(@PathVariable Long companyId) {
+        return subscribe(LiveScope.COMPANY, companyId);
+    }
+
+    private ResponseEntity<SseEmitter> subscribe(LiveScope scope, Long id) {
+        try {
+            return ResponseEntity.ok()
+                    .header("Cache-Control", "no-cache")
+                    // Keeps reverse proxies from buffering the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(liveTelemetryHub.subscribe(scope, id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
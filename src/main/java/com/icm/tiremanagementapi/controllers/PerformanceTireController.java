@@ -1,16 +1,31 @@
 package com.icm.tiremanagementapi.controllers;
 
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RollupRebuildStatusDTO;
 import com.icm.tiremanagementapi.models.PerformanceTireModel;
 import com.icm.tiremanagementapi.requests.performanceTire.DailyAverageDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.DailyQuantilesDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.FleetQuantilesDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.FleetStatsDTO;
 import com.icm.tiremanagementapi.requests.performanceTire.HourlyAverageDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.HourlyQuantilesDTO;
 import com.icm.tiremanagementapi.requests.performanceTire.MonthlyAverageDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.RollupRebuildResultDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.TelemetrySeriesDTO;
 import com.icm.tiremanagementapi.requests.performanceTire.YearlyAverageDTO;
+import com.icm.tiremanagementapi.services.FleetStatisticsService;
+import com.icm.tiremanagementapi.services.PerformanceTireQuantileService;
+import com.icm.tiremanagementapi.services.PerformanceTireSeriesService;
 import com.icm.tiremanagementapi.services.PerformanceTireService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -19,6 +34,15 @@ public class PerformanceTireController {
     @Autowired
     private PerformanceTireService performanceTireService;
 
+    @Autowired
+    private PerformanceTireSeriesService performanceTireSeriesService;
+
+    @Autowired
+    private FleetStatisticsService fleetStatisticsService;
+
+    @Autowired
+    private PerformanceTireQuantileService performanceTireQuantileService;
+
     @GetMapping("/hourly-averages")
     public ResponseEntity<List<HourlyAverageDTO>> findHourlyAveragesBySensorIdAndDate(
             @RequestParam Long tireId,
@@ -61,4 +85,165 @@ public class PerformanceTireController {
         PerformanceTireModel savedPerformanceTire = performanceTireService.createPerformanceTire(performanceTire);
         return new ResponseEntity<>(savedPerformanceTire, HttpStatus.CREATED);
     }
+
+    /**
+     * Starts rebuilding the hourly, daily and monthly rollups from the raw readings in the background, for one
+     * sensor or for all of them. The outcome is reported by GET /rollups/rebuild.
+     *
+     * @param tireId Optional ID of the sensor to rebuild.
+     * @return 202 with the rebuild status, or 409 if a rebuild is already running.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<RollupRebuildStatusDTO<RollupRebuildResultDTO>> rebuildRollups(@RequestParam(required = false) Long tireId) {
+        boolean started = performanceTireService.startRollupRebuild(tireId);
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(performanceTireService.getRollupRebuildStatus());
+    }
+
+    /**
+     * Retrieves whether a rollup rebuild is running and the counts of the last one.
+     */
+    @GetMapping("/rollups/rebuild")
+    public ResponseEntity<RollupRebuildStatusDTO<RollupRebuildResultDTO>> getRollupRebuildStatus() {
+        return ResponseEntity.ok(performanceTireService.getRollupRebuildStatus());
+    }
+
+    /**
+     * Retrieves the readings of a sensor grouped in buckets of 5m, 15m, 1h or 1d between two dates.
+     * Long series are downsampled so that at most maxPoints points are returned.
+     *
+     * @param sensorId     The ID of the sensor.
+     * @param from         Start of the range (inclusive), ISO date-time in the server time zone.
+     * @param to           End of the range (exclusive).
+     * @param bucket       Bucket width: 5m, 15m, 1h or 1d.
+     * @param agg          Comma-separated aggregations: avg, min, max, count.
+     * @param maxPoints    Optional maximum number of points.
+     * @param downsampleBy Metric that drives the downsampling: temperature, pressure or batteryLevel.
+     * @return ResponseEntity containing the series, or 400 if a parameter is invalid.
+     */
+    @GetMapping("/series")
+    public ResponseEntity<TelemetrySeriesDTO> getSeries(
+            @RequestParam Long sensorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "1h") String bucket,
+            @RequestParam(defaultValue = "avg") String agg,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "temperature") String downsampleBy) {
+        try {
+            return ResponseEntity.ok(performanceTireSeriesService.getSeries(sensorId, from, to, bucket, agg, maxPoints, downsampleBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves per-vehicle averages, extremes and out-of-range counts of a company's fleet in a time window.
+     *
+     * @param companyId The ID of the company.
+     * @param from      Start of the window (inclusive), ISO date-time in the server time zone.
+     * @param to        End of the window (exclusive).
+     * @return ResponseEntity containing the statistics grouped by vehicle, or 400 if the window is invalid.
+     */
+    @GetMapping("/fleet/company")
+    public ResponseEntity<FleetStatsDTO> getCompanyFleetStats(
+            @RequestParam Long companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(fleetStatisticsService.getCompanyStats(companyId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves per-positioning averages, extremes and out-of-range counts of a vehicle in a time window.
+     *
+     * @param vehicleId The ID of the vehicle.
+     * @param from      Start of the window (inclusive), ISO date-time in the server time zone.
+     * @param to        End of the window (exclusive).
+     * @return ResponseEntity containing the statistics grouped by positioning, or 400 if the window is invalid.
+     */
+    @GetMapping("/fleet/vehicle")
+    public ResponseEntity<FleetStatsDTO> getVehicleFleetStats(
+            @RequestParam Long vehicleId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(fleetStatisticsService.getVehicleStats(vehicleId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves the temperature and pressure percentiles of each hour of a day for one sensor.
+     *
+     * @return ResponseEntity containing the percentiles per hour, or 400 if the date is invalid.
+     */
+    @GetMapping("/hourly-quantiles")
+    public ResponseEntity<List<HourlyQuantilesDTO>> getHourlyQuantiles(@RequestParam Long tireId, @RequestParam int year,
+                                                                       @RequestParam int month, @RequestParam int day) {
+        try {
+            return ResponseEntity.ok(performanceTireQuantileService.getHourlyQuantiles(tireId, LocalDate.of(year, month, day)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves the temperature and pressure percentiles of each day of a month for one sensor.
+     *
+     * @return ResponseEntity containing the percentiles per day, or 400 if the month is invalid.
+     */
+    @GetMapping("/daily-quantiles")
+    public ResponseEntity<List<DailyQuantilesDTO>> getDailyQuantiles(@RequestParam Long tireId, @RequestParam int year,
+                                                                     @RequestParam int month) {
+        try {
+            return ResponseEntity.ok(performanceTireQuantileService.getDailyQuantiles(tireId, YearMonth.of(year, month)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves the temperature and pressure percentiles of every sensor of a company, merged from the rollup sketches.
+     *
+     * @param companyId The ID of the company.
+     * @param from      Start of the window (inclusive), ISO date-time in the server time zone; widened to the hour.
+     * @param to        End of the window (exclusive); widened to the hour.
+     * @return ResponseEntity containing the fleet percentiles, or 400 if the window is invalid.
+     */
+    @GetMapping("/fleet/company/quantiles")
+    public ResponseEntity<FleetQuantilesDTO> getCompanyQuantiles(
+            @RequestParam Long companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(performanceTireQuantileService.getCompanyQuantiles(companyId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Retrieves the temperature and pressure percentiles of every sensor of a vehicle, merged from the rollup sketches.
+     *
+     * @param vehicleId The ID of the vehicle.
+     * @param from      Start of the window (inclusive), ISO date-time in the server time zone; widened to the hour.
+     * @param to        End of the window (exclusive); widened to the hour.
+     * @return ResponseEntity containing the vehicle percentiles, or 400 if the window is invalid.
+     */
+    @GetMapping("/fleet/vehicle/quantiles")
+    public ResponseEntity<FleetQuantilesDTO> getVehicleQuantiles(
+            @RequestParam Long vehicleId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(performanceTireQuantileService.getVehicleQuantiles(vehicleId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package com.icm.tiremanagementapi.controllers;
+
+import com.icm.tiremanagementapi.archive.TelemetryArchiveService;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRecordDailyAveragesDTO;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRecordHourlyAverageDTO;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRecordMonthlyAveragesDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.ArchiveResultDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.DailyAverageDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.HourlyAverageDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.MonthlyAverageDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Exports months of raw telemetry to the columnar archive and serves the averages of archived months.
+ */
+@RestController
+@RequestMapping("api/archive")
+public class TelemetryArchiveController {
+    @Autowired
+    private TelemetryArchiveService telemetryArchiveService;
+
+    /**
+     * Archives one month of performance_tire, one file per sensor.
+     *
+     * @return ResponseEntity containing the number of written files, rows and bytes, or 400 if the month is invalid.
+     */
+    @PostMapping("/performance-tire")
+    public ResponseEntity<ArchiveResultDTO> archivePerformanceTire(@RequestParam int year, @RequestParam int month) {
+        try {
+            return ResponseEntity.ok(telemetryArchiveService.archivePerformanceTireMonth(YearMonth.of(year, month)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Archives one month of gas_records, one file per vehicle.
+     *
+     * @return ResponseEntity containing the number of written files, rows and bytes, or 400 if the month is invalid.
+     */
+    @PostMapping("/gas-records")
+    public ResponseEntity<ArchiveResultDTO> archiveGasRecords(@RequestParam int year, @RequestParam int month) {
+        try {
+            return ResponseEntity.ok(telemetryArchiveService.archiveGasRecordsMonth(YearMonth.of(year, month)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Hourly averages of an archived day of a sensor.
+     *
+     * @param sensorId ID of the sensor.
+     * @return ResponseEntity containing the averages of the hours with complete readings, empty if the month is
+     * not archived, or 400 if the date is invalid.
+     */
+    @GetMapping("/performance-tire/hourly-averages")
+    public ResponseEntity<List<HourlyAverageDTO>> getHourlyAverages(@RequestParam Long sensorId, @RequestParam int year,
+                                                                    @RequestParam int month, @RequestParam int day) {
+        try {
+            return ResponseEntity.ok(telemetryArchiveService.getHourlyAverages(sensorId, LocalDate.of(year, month, day)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Daily averages of an archived month of a sensor.
+     *
+     * @param sensorId ID of the sensor.
+     * @return ResponseEntity containing the averages of the days with complete readings, empty if the month is
+     * not archived, or 400 if the month is invalid.
+     */
+    @GetMapping("/performance-tire/daily-averages")
+    public ResponseEntity<List<DailyAverageDTO>> getDailyAverages(@RequestParam Long sensorId, @RequestParam int year,
+                                                                  @RequestParam int month) {
+        try {
+            return ResponseEntity.ok(telemetryArchiveService.getDailyAverages(sensorId, YearMonth.of(year, month)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Monthly averages of the archived months of a sensor in a year.
+     *
+     * @param sensorId ID of the sensor.
+     * @return ResponseEntity containing the averages of the archived months with complete readings, or 400 if the
+     * year is invalid.
+     */
+    @GetMapping("/performance-tire/monthly-averages")
+    public ResponseEntity<List<MonthlyAverageDTO>> getMonthlyAverages(@RequestParam Long sensorId, @RequestParam int year) {
+        try {
+            return ResponseEntity.ok(telemetryArchiveService.getMonthlyAverages(sensorId, year));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Hourly gas pressure averages of an archived day of a vehicle.
+     *
+     * @param vehicleId ID of the vehicle.
+     * @return ResponseEntity containing the averages of the hours with records, empty if the month is not archived,
+     * or 400 if the date is invalid.
+     */
+    @GetMapping("/gas-records/hourly-averages")
+    public ResponseEntity<List<GasRecordHourlyAverageDTO>> getGasHourlyAverages(@RequestParam Long vehicleId, @RequestParam int year,
+                                                                                @RequestParam int month, @RequestParam int day) {
+        try {
+            return ResponseEntity.ok(telemetryArchiveService.getGasHourlyAverages(vehicleId, LocalDate.of(year, month, day)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Daily gas pressure averages of an archived month of a vehicle.
+     *
+     * @param vehicleId ID of the vehicle.
+     * @return ResponseEntity containing the averages of the days with records, empty if the month is not archived,
+     * or 400 if the month is invalid.
+     */
+    @GetMapping("/gas-records/daily-averages")
+    public ResponseEntity<List<GasRecordDailyAveragesDTO>> getGasDailyAverages(@RequestParam Long vehicleId, @RequestParam int year,
+                                                                               @RequestParam int month) {
+        try {
+            return ResponseEntity.ok(telemetryArchiveService.getGasDailyAverages(vehicleId, YearMonth.of(year, month)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Monthly gas pressure averages of the archived months of a vehicle in a year.
+     *
+     * @param vehicleId ID of the vehicle.
+     * @return ResponseEntity containing the averages of the archived months, or 400 if the year is invalid.
+     */
+    @GetMapping("/gas-records/monthly-averages")
+    public ResponseEntity<List<GasRecordMonthlyAveragesDTO>> getGasMonthlyAverages(@RequestParam Long vehicleId, @RequestParam int year) {
+        try {
+            return ResponseEntity.ok(telemetryArchiveService.getGasMonthlyAverages(vehicleId, year));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
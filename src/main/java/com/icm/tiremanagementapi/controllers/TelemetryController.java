@@ -0,0 +1,146 @@
+package com.icm.tiremanagementapi.controllers;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.HistoryWriterStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.IngestStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.LivePushStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.MqttSubscriptionStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RecentReadingsStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RetentionStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorCacheStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.WriteBehindStatsDTO;
+import com.icm.tiremanagementapi.live.LiveTelemetryHub;
+import com.icm.tiremanagementapi.mqtt.MqttSubscriber;
+import com.icm.tiremanagementapi.mqtt.TelemetryIngestPipeline;
+import com.icm.tiremanagementapi.services.PerformanceTireWriter;
+import com.icm.tiremanagementapi.services.RecentReadingsBuffer;
+import com.icm.tiremanagementapi.services.SensorThresholdCache;
+import com.icm.tiremanagementapi.services.TelemetryRetentionService;
+import com.icm.tiremanagementapi.services.TireSensorStateBuffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exposes the operational metrics of the MQTT telemetry ingest.
+ */
+@RestController
+@RequestMapping("api/telemetry")
+public class TelemetryController {
+    @Autowired
+    private TelemetryIngestPipeline telemetryIngestPipeline;
+
+    @Autowired
+    private TireSensorStateBuffer tireSensorStateBuffer;
+
+    @Autowired
+    private SensorThresholdCache sensorThresholdCache;
+
+    @Autowired
+    private PerformanceTireWriter performanceTireWriter;
+
+    @Autowired
+    private MqttSubscriber mqttSubscriber;
+
+    @Autowired
+    private TelemetryRetentionService telemetryRetentionService;
+
+    @Autowired
+    private RecentReadingsBuffer recentReadingsBuffer;
+
+    @Autowired
+    private LiveTelemetryHub liveTelemetryHub;
+
+    /**
+     * Retrieves queue depth, enqueue/drain rates and rejected messages of the ingest stage.
+     *
+     * @return ResponseEntity containing the current ingest statistics.
+     */
+    @GetMapping("/ingest-stats")
+    public ResponseEntity<IngestStatsDTO> getIngestStats() {
+        return ResponseEntity.ok(telemetryIngestPipeline.getStats());
+    }
+
+    /**
+     * Retrieves the pending states and flush counters of the sensor write-behind buffer.
+     *
+     * @return ResponseEntity containing the current write-behind statistics.
+     */
+    @GetMapping("/write-behind-stats")
+    public ResponseEntity<WriteBehindStatsDTO> getWriteBehindStats() {
+        return ResponseEntity.ok(tireSensorStateBuffer.getStats());
+    }
+
+    /**
+     * Retrieves size and hit/miss counters of the sensor threshold cache.
+     *
+     * @return ResponseEntity containing the current cache statistics.
+     */
+    @GetMapping("/sensor-cache-stats")
+    public ResponseEntity<SensorCacheStatsDTO> getSensorCacheStats() {
+        return ResponseEntity.ok(sensorThresholdCache.getStats());
+    }
+
+    /**
+     * Retrieves the counters of the batched performance_tire history writer.
+     *
+     * @return ResponseEntity containing the current history writer statistics.
+     */
+    @GetMapping("/history-writer-stats")
+    public ResponseEntity<HistoryWriterStatsDTO> getHistoryWriterStats() {
+        return ResponseEntity.ok(performanceTireWriter.getStats());
+    }
+
+    /**
+     * Retrieves the MQTT client ID, consumption mode and subscriptions of this node, whether it is connected, and
+     * how many readings it accepted or left to other nodes.
+     *
+     * @return ResponseEntity containing the current subscription statistics.
+     */
+    @GetMapping("/mqtt-subscription-stats")
+    public ResponseEntity<MqttSubscriptionStatsDTO> getMqttSubscriptionStats() {
+        return ResponseEntity.ok(mqttSubscriber.getStats());
+    }
+
+    /**
+     * Retrieves the number of sensors held by the recent readings buffer and its estimated memory usage.
+     *
+     * @return ResponseEntity containing the current recent readings statistics.
+     */
+    @GetMapping("/recent-readings-stats")
+    public ResponseEntity<RecentReadingsStatsDTO> getRecentReadingsStats() {
+        return ResponseEntity.ok(recentReadingsBuffer.getStats());
+    }
+
+    /**
+     * Retrieves the live push subscribers and the number of coalesced, sent and evicted updates.
+     *
+     * @return ResponseEntity containing the current live push statistics.
+     */
+    @GetMapping("/live-push-stats")
+    public ResponseEntity<LivePushStatsDTO> getLivePushStats() {
+        return ResponseEntity.ok(liveTelemetryHub.getStats());
+    }
+
+    /**
+     * Retrieves the cutoff, watermark, lag and deletion counters of the raw telemetry retention.
+     *
+     * @return ResponseEntity containing the current retention statistics.
+     */
+    @GetMapping("/retention-stats")
+    public ResponseEntity<RetentionStatsDTO> getRetentionStats() {
+        return ResponseEntity.ok(telemetryRetentionService.getStats());
+    }
+
+    /**
+     * Runs the retention immediately instead of waiting for the next scheduled run.
+     *
+     * @return ResponseEntity containing the retention statistics after the run.
+     */
+    @PostMapping("/retention/run")
+    public ResponseEntity<RetentionStatsDTO> runRetention() {
+        return ResponseEntity.ok(telemetryRetentionService.run());
+    }
+}
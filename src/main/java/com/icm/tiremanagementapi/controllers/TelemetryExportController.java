@@ -0,0 +1,139 @@
+package com.icm.tiremanagementapi.controllers;
+
+import com.icm.tiremanagementapi.export.CompanyReportService;
+import com.icm.tiremanagementapi.export.ExportDataset;
+import com.icm.tiremanagementapi.export.ExportFilter;
+import com.icm.tiremanagementapi.export.ExportFormat;
+import com.icm.tiremanagementapi.export.TelemetryExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * CSV, NDJSON and Excel exports of gas records, gas changes, performance_tire readings and irregularities for bulk
+ * consumers such as the BI pipeline. The response is streamed as rows are read; CSV and NDJSON are gzip-compressed
+ * when the client sends {@code Accept-Encoding: gzip}. Exports too long for one request go through
+ * {@link ExportJobController}.
+ */
+@RestController
+@RequestMapping("api/export")
+public class TelemetryExportController {
+    @Autowired
+    private TelemetryExportService telemetryExportService;
+
+    @Autowired
+    private CompanyReportService companyReportService;
+
+    /**
+     * Exports the rows of a dataset, oldest first, optionally restricted to a time window and to a company,
+     * vehicle or sensor.
+     *
+     * @param dataset   gas-records, gas-changes, performance-tire or irregularities.
+     * @param format    csv, ndjson or xlsx.
+     * @param from      Inclusive start of the window (ISO date-time), optional.
+     * @param to        Exclusive end of the window (ISO date-time), optional.
+     * @param sensorId  Not available for gas-records and gas-changes.
+     * @return ResponseEntity streaming the export, or 400 if the dataset, format or filters are invalid.
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) Long vehicleId,
+            @RequestParam(required = false) Long sensorId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ExportDataset exportDataset;
+        ExportFormat exportFormat;
+        ExportFilter filter = new ExportFilter(from, to, companyId, vehicleId, sensorId);
+        try {
+            exportDataset = ExportDataset.fromPath(dataset);
+            exportFormat = ExportFormat.fromName(format);
+            telemetryExportService.validate(exportDataset, filter);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean gzip = exportFormat.isCompressible() && acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> telemetryExportService.write(exportDataset, filter, exportFormat, gzip, out);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=" + exportDataset.getPath() + "." + exportFormat.getExtension())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Excel report of a company: a summary sheet and one sheet per vehicle with the hourly tire readings,
+     * irregularities and gas records of the window.
+     *
+     * @param from Inclusive start of the window (ISO date-time).
+     * @param to   Exclusive end of the window (ISO date-time), at most export.report.max-window-days after from.
+     * @return ResponseEntity streaming the workbook, or 400 if the window is invalid.
+     */
+    @GetMapping("/company-report/{companyId}")
+    public ResponseEntity<StreamingResponseBody> exportCompanyReport(
+            @PathVariable Long companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            companyReportService.validate(from, to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> companyReportService.writeCompanyReport(companyId, from, to, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=company-report-" + companyId + ".xlsx")
+                .contentType(MediaType.parseMediaType(ExportFormat.XLSX.getMediaType()))
+                .body(body);
+    }
+
+    /**
+     * Whether an Accept-Encoding header lists gzip (or *) without q=0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("x-gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,7 +1,10 @@
 package com.icm.tiremanagementapi.controllers;
 
+import com.icm.tiremanagementapi.dto.SummaryDTO.TireSensorSummaryDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RecentReadingsDTO;
 import com.icm.tiremanagementapi.models.TireSensorModel;
 import com.icm.tiremanagementapi.requests.UpdateTirePropertiesRequest;
+import com.icm.tiremanagementapi.services.RecentReadingsBuffer;
 import com.icm.tiremanagementapi.services.TireSensorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -19,6 +22,9 @@ public class TireSensorController {
     @Autowired
     private TireSensorService tireSensorService;
 
+    @Autowired
+    private RecentReadingsBuffer recentReadingsBuffer;
+
     /**
      * Retrieves a list of all tires in the system.
      *
@@ -29,6 +35,29 @@ public class TireSensorController {
         return tireSensorService.getAll();
     }
 
+    /**
+     * Retrieves all sensors with the IDs and names of their vehicle, position and tire instead of the full entities.
+     *
+     * @return List of TireSensorSummaryDTO objects, ordered by ID.
+     */
+    @GetMapping("/summary")
+    public List<TireSensorSummaryDTO> getAllSummaries() {
+        return tireSensorService.getAllSummaries();
+    }
+
+    /**
+     * Retrieves the latest readings of one or more sensors from memory, without querying the database.
+     *
+     * @param sensorIds The IDs of the sensors, for example the sensors of a vehicle.
+     * @param limit     Maximum number of readings per sensor.
+     * @return List with the readings of each sensor that has reported recently, oldest first.
+     */
+    @GetMapping("/recent")
+    public ResponseEntity<List<RecentReadingsDTO>> getRecentReadings(@RequestParam List<Long> sensorIds,
+                                                                     @RequestParam(defaultValue = "60") int limit) {
+        return ResponseEntity.ok(recentReadingsBuffer.getRecent(sensorIds, limit));
+    }
+
     /**
      * Retrieves a specific tire by its ID.
      *
@@ -143,6 +172,17 @@ public class TireSensorController {
         return new ResponseEntity<>(tires, HttpStatus.OK);
     }
 
+    /**
+     * Retrieves a page of the sensors of a company as TireSensorSummaryDTO rows.
+     */
+    @GetMapping("/company/summary")
+    public ResponseEntity<Page<TireSensorSummaryDTO>> findSummariesByCompanyId(@RequestParam Long companyId,
+                                                                               @RequestParam(defaultValue = "0") int page,
+                                                                               @RequestParam(defaultValue = "10") int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        return ResponseEntity.ok(tireSensorService.findSummariesByCompanyId(companyId, pageable));
+    }
+
     @GetMapping("/findByVehicleModelIdAndPositioningId")
     public ResponseEntity<TireSensorModel> findByVehicleModelIdAndPositioningId(@RequestParam Long vehicleId, @RequestParam Long positioning) {
         Optional<TireSensorModel> tireSensor = tireSensorService.findByVehicleModelIdAndPositioningId(vehicleId, positioning);
@@ -1,5 +1,6 @@
 package com.icm.tiremanagementapi.controllers;
 
+import com.icm.tiremanagementapi.dto.SummaryDTO.UserSummaryDTO;
 import com.icm.tiremanagementapi.models.UserModel;
 import com.icm.tiremanagementapi.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -91,6 +92,14 @@ public class UserController {
         }
     }
 
+    /**
+     * Page of the users of a company with the role and company names instead of the full entities.
+     */
+    @GetMapping("/company/summary")
+    public ResponseEntity<Page<UserSummaryDTO>> findSummariesByCompanyId(@RequestParam Long companyId, Pageable pageable) {
+        return ResponseEntity.ok(userService.findSummariesByCompanyId(companyId, pageable));
+    }
+
     @GetMapping("/roleAndStatus")
     public ResponseEntity<Page<UserModel>> findByRoleIdAndStatus(
             @RequestParam Long roleId,
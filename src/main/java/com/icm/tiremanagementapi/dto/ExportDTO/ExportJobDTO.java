@@ -0,0 +1,40 @@
+package com.icm.tiremanagementapi.dto.ExportDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportJobDTO {
+    private String id;
+    private String dataset;
+    private String format;
+    /**
+     * QUEUED, RUNNING, DONE, FAILED or CANCELLED.
+     */
+    private String status;
+    /**
+     * Rows written so far; the total is only known once the job is done.
+     */
+    private long rowsWritten;
+    /**
+     * Size of the finished file in bytes, 0 until the job is done.
+     */
+    private long sizeBytes;
+    /**
+     * Name under which the file is downloaded.
+     */
+    private String fileName;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    /**
+     * When the job and its file are deleted; null while the job is queued or running.
+     */
+    private LocalDateTime expiresAt;
+    private String error;
+}
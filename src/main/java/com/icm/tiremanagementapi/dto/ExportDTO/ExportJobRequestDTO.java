@@ -0,0 +1,39 @@
+package com.icm.tiremanagementapi.dto.ExportDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportJobRequestDTO {
+    /**
+     * gas-records, gas-changes, performance-tire or irregularities.
+     */
+    private String dataset;
+    /**
+     * csv, ndjson or xlsx; csv when omitted.
+     */
+    private String format;
+    /**
+     * Inclusive start of the window, optional.
+     */
+    private LocalDateTime from;
+    /**
+     * Exclusive end of the window, optional.
+     */
+    private LocalDateTime to;
+    private Long companyId;
+    private Long vehicleId;
+    /**
+     * Not available for gas-records and gas-changes.
+     */
+    private Long sensorId;
+    /**
+     * Stores CSV and NDJSON files gzip-compressed (.gz); true when omitted. Ignored for xlsx.
+     */
+    private Boolean gzip;
+}
@@ -0,0 +1,17 @@
+package com.icm.tiremanagementapi.dto.GasDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GasRollupRebuildResultDTO {
+    private int vehicles;
+    private long rawRows;
+    private long hourlyBuckets;
+    private long dailyBuckets;
+    private long monthlyBuckets;
+    private long elapsedMillis;
+}
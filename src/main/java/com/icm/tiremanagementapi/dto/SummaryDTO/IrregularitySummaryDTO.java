@@ -0,0 +1,22 @@
+package com.icm.tiremanagementapi.dto.SummaryDTO;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Row of the irregularity lists: the irregularity with the plate of its vehicle and the code of its sensor,
+ * read in one query. The vehicle and tire fields are null when the sensor was not mounted.
+ */
+public record IrregularitySummaryDTO(Long id,
+                                     String nameIrregularity,
+                                     String detailsIrregularity,
+                                     Boolean status,
+                                     Double recordedTemperature,
+                                     Double recordedPressure,
+                                     Double recordedBatteryLevel,
+                                     Long vehicleId,
+                                     String placa,
+                                     Long sensorId,
+                                     String identificationCode,
+                                     Long tireId,
+                                     ZonedDateTime createdAt) {
+}
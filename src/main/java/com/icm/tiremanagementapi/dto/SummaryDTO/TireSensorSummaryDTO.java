@@ -0,0 +1,23 @@
+package com.icm.tiremanagementapi.dto.SummaryDTO;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Row of the tire sensor lists: the sensor's latest values with the IDs and names of its vehicle,
+ * position and tire, read in one query. The vehicle, position and tire fields are null while the sensor is free.
+ */
+public record TireSensorSummaryDTO(Long id,
+                                   String identificationCode,
+                                   Double temperature,
+                                   Double pressure,
+                                   Double batteryLevel,
+                                   Boolean status,
+                                   Long companyId,
+                                   Long vehicleId,
+                                   String placa,
+                                   Long positioningId,
+                                   String locationCode,
+                                   Long tireId,
+                                   String tireCodname,
+                                   ZonedDateTime updatedAt) {
+}
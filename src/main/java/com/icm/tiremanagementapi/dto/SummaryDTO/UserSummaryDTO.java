@@ -0,0 +1,16 @@
+package com.icm.tiremanagementapi.dto.SummaryDTO;
+
+/**
+ * Row of the user lists, with the role and company names instead of the full entities and without the password.
+ */
+public record UserSummaryDTO(Long id,
+                             String username,
+                             String name,
+                             String lastname,
+                             String email,
+                             Boolean status,
+                             Long roleId,
+                             String roleName,
+                             Long companyId,
+                             String companyName) {
+}
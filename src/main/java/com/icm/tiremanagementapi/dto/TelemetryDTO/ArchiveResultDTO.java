@@ -0,0 +1,20 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchiveResultDTO {
+    private String table;
+    private String month;
+    /**
+     * Sensors (performance_tire) or vehicles (gas_records) written to the archive.
+     */
+    private int files;
+    private long rows;
+    private long bytes;
+    private long elapsedMillis;
+}
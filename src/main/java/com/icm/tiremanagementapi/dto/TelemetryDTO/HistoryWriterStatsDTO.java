@@ -0,0 +1,18 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistoryWriterStatsDTO {
+    private boolean enabled;
+    private int pending;
+    private long appended;
+    private long written;
+    private long dropped;
+    private long flushes;
+    private long failedFlushes;
+}
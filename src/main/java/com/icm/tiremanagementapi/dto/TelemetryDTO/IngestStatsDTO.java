@@ -0,0 +1,23 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IngestStatsDTO {
+    private int workers;
+    private int queueCapacity;
+    private int queueDepth;
+    private String overloadPolicy;
+    private long enqueued;
+    private long drained;
+    private long rejected;
+    private long conflated;
+    private long dropped;
+    private long failed;
+    private double enqueueRatePerSecond;
+    private double drainRatePerSecond;
+}
@@ -0,0 +1,16 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+/**
+ * Irregularity pushed to live subscribers as soon as it is registered; timestamp in epoch milliseconds.
+ */
+public record LiveIrregularityDTO(Long id,
+                                  Long sensorId,
+                                  Long vehicleId,
+                                  Long companyId,
+                                  String name,
+                                  String detail,
+                                  Double recordedTemperature,
+                                  Double recordedPressure,
+                                  Double recordedBatteryLevel,
+                                  long timestamp) {
+}
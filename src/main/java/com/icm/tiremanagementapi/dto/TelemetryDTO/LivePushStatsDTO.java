@@ -0,0 +1,26 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LivePushStatsDTO {
+    private boolean enabled;
+    private int subscribers;
+    private int maxSubscribers;
+    private long published;
+    /**
+     * Sensor updates replaced by a newer update of the same sensor before being sent.
+     */
+    private long coalesced;
+    private long eventsSent;
+    private long evicted;
+    private long rejectedSubscriptions;
+    /**
+     * Flushes and disconnections retried later because every sender thread was busy.
+     */
+    private long deferredSends;
+}
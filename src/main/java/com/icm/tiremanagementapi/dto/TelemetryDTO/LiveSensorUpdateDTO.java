@@ -0,0 +1,12 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+/**
+ * Latest state of one sensor pushed to live subscribers; timestamp in epoch milliseconds.
+ */
+public record LiveSensorUpdateDTO(Long sensorId,
+                                  Long vehicleId,
+                                  double temperature,
+                                  double pressure,
+                                  double batteryLevel,
+                                  long timestamp) {
+}
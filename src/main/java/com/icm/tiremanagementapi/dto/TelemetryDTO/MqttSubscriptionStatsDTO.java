@@ -0,0 +1,23 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MqttSubscriptionStatsDTO {
+    private String mode;
+    private String clientId;
+    private boolean connected;
+    private long reconnections;
+    private List<String> subscriptions;
+    private int partitionCount;
+    private int partitionIndex;
+    private long receivedMessages;
+    private long acceptedReadings;
+    private long skippedReadings;
+}
@@ -0,0 +1,13 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+/**
+ * Latest readings of one sensor, oldest first, as parallel arrays: element i of every array belongs to the
+ * same reading. Timestamps are epoch milliseconds.
+ */
+public record RecentReadingsDTO(Long sensorId,
+                                int count,
+                                long[] timestamps,
+                                float[] temperatures,
+                                float[] pressures,
+                                float[] batteryLevels) {
+}
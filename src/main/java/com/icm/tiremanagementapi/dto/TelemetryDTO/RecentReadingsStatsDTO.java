@@ -0,0 +1,23 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecentReadingsStatsDTO {
+    private boolean enabled;
+    private int readingsPerSensor;
+    private int sensors;
+    private int maxSensors;
+    private long recorded;
+    /**
+     * Readings not kept because max-sensors rings already exist.
+     */
+    private long rejected;
+    private long evicted;
+    private long bytesPerSensor;
+    private long estimatedBytes;
+}
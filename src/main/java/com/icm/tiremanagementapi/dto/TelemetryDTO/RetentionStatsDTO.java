@@ -0,0 +1,16 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RetentionStatsDTO {
+    private boolean enabled;
+    private boolean running;
+    private List<RetentionTableStatsDTO> tables;
+}
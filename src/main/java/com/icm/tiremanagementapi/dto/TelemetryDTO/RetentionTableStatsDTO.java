@@ -0,0 +1,52 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RetentionTableStatsDTO {
+    private String table;
+    private boolean enabled;
+    private int retentionDays;
+    private boolean partitioned;
+    /**
+     * Raw rows before this instant are expired; always the start of a month.
+     */
+    private LocalDateTime cutoff;
+    /**
+     * Retention watermark: months before it have been folded into the rollups and may be deleted.
+     */
+    private LocalDateTime compactedBefore;
+    /**
+     * Month being compacted by the current run, null when idle.
+     */
+    private LocalDateTime currentMonth;
+    /**
+     * Oldest raw row left after the last run.
+     */
+    private LocalDateTime oldestRow;
+    /**
+     * Days by which the oldest raw row is older than the cutoff; 0 when retention is up to date.
+     */
+    private long lagDays;
+    private long rowsDeleted;
+    private long partitionsDropped;
+    private long partitionsAdded;
+    private long monthsCompacted;
+    /**
+     * Sensors (performance_tire) or vehicles (gas_records) whose month was recomputed before expiring.
+     */
+    private long seriesRebuilt;
+    /**
+     * Months written to the columnar archive before expiring, when archive.enabled is true.
+     */
+    private long monthsArchived;
+    private LocalDateTime lastRunStartedAt;
+    private long lastRunMillis;
+    private String lastError;
+}
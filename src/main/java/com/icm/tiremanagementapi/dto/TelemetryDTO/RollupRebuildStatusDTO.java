@@ -0,0 +1,27 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the background rollup rebuild and outcome of the last one.
+ *
+ * @param <T> Type of the rebuild counts.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RollupRebuildStatusDTO<T> {
+    private boolean running;
+    /**
+     * What the current or last rebuild covers, for example "all" or "sensor 42", or "backfill".
+     */
+    private String target;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private T lastResult;
+    private String lastError;
+}
@@ -0,0 +1,16 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SensorCacheStatsDTO {
+    private int size;
+    private long hits;
+    private long misses;
+    private long invalidations;
+    private double hitRatio;
+}
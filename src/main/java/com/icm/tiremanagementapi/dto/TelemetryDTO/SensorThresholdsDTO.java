@@ -0,0 +1,15 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+/**
+ * Compact view of a tire sensor used by the telemetry hot path: the sensor mapping
+ * (vehicle, company and tire) and the standard values of the vehicle it is mounted on.
+ * The vehicle and tire fields are null while the sensor is free.
+ */
+public record SensorThresholdsDTO(Long sensorId,
+                                  Long vehicleId,
+                                  Long companyId,
+                                  String companyName,
+                                  Long tireId,
+                                  Double standardTemperature,
+                                  Double standardPressure) {
+}
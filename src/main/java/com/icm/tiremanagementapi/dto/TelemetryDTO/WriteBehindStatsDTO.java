@@ -0,0 +1,20 @@
+package com.icm.tiremanagementapi.dto.TelemetryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WriteBehindStatsDTO {
+    private boolean enabled;
+    private int pending;
+    private long recorded;
+    private long flushes;
+    private long rowsWritten;
+    private long failedFlushes;
+    private long lastFlushMillis;
+    private long commitLatencyP50Millis;
+    private long commitLatencyP99Millis;
+}
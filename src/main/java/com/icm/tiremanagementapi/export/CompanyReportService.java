@@ -0,0 +1,349 @@
+package com.icm.tiremanagementapi.export;
+
+import com.icm.tiremanagementapi.export.VehicleReportData.GasReading;
+import com.icm.tiremanagementapi.export.VehicleReportData.HourlyReading;
+import com.icm.tiremanagementapi.export.VehicleReportData.Irregularity;
+import com.icm.tiremanagementapi.services.PerformanceTireRollupService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Excel report of a company over a time window: a summary sheet, then one sheet per vehicle with the hourly
+ * readings of its tires, its irregularities and its gas records. The rows of each vehicle are read concurrently
+ * on a shared fork-join pool of {@code export.report.parallelism} threads, which also bounds the database
+ * connections reports use; at most twice that many vehicles are read ahead of the sheet being written, so memory
+ * does not grow with the fleet. Sheets are written in vehicle order on the calling thread into a streaming
+ * workbook whose cell styles are created once.
+ * <p>
+ * Hourly readings come from performance_tire_hourly for the sensors currently mounted on the vehicle, or from
+ * the raw readings recorded on the vehicle when the rollups are disabled.
+ */
+@Service
+@Slf4j
+public class CompanyReportService {
+    static final String VEHICLES_SQL = "SELECT id, placa FROM vehicle WHERE company = ? ORDER BY placa, id";
+
+    static final String ROLLUP_READINGS_SQL = "SELECT r.sensor, s.identification_code, r.bucket_start, r.sample_count, "
+            + "r.temperature_sum / r.sample_count, r.temperature_min, r.temperature_max, "
+            + "r.pressure_sum / r.sample_count, r.pressure_min, r.pressure_max, r.battery_level_sum / r.sample_count "
+            + "FROM performance_tire_hourly r JOIN tires_sensor s ON s.id = r.sensor "
+            + "WHERE s.vehicle = ? AND r.bucket_start >= ? AND r.bucket_start < ? AND r.sample_count > 0 "
+            + "ORDER BY r.sensor, r.bucket_start";
+
+    static final String RAW_READINGS_SQL = "SELECT p.sensor, s.identification_code, DATE(p.created_at), HOUR(p.created_at), "
+            + "COUNT(*), AVG(p.temperature), MIN(p.temperature), MAX(p.temperature), "
+            + "AVG(p.pressure), MIN(p.pressure), MAX(p.pressure), AVG(p.battery_level) "
+            + "FROM performance_tire p LEFT JOIN tires_sensor s ON s.id = p.sensor "
+            + "WHERE p.vehicle = ? AND p.created_at >= ? AND p.created_at < ? "
+            + "GROUP BY p.sensor, s.identification_code, DATE(p.created_at), HOUR(p.created_at) "
+            + "ORDER BY p.sensor, DATE(p.created_at), HOUR(p.created_at)";
+
+    static final String IRREGULARITIES_SQL = "SELECT i.created_at, i.sensor, s.identification_code, i.name_irregularity, "
+            + "i.details_irregularity, i.status, i.recorded_temperature, i.recorded_pressure, i.recorded_battery_level "
+            + "FROM irregularities_tire i LEFT JOIN tires_sensor s ON s.id = i.sensor "
+            + "WHERE i.vehicle = ? AND i.created_at >= ? AND i.created_at < ? ORDER BY i.created_at, i.id";
+
+    static final String GAS_RECORDS_SQL = "SELECT day, hour, pressure FROM gas_records "
+            + "WHERE vehicle = ? AND (day > ? OR (day = ? AND hour >= ?)) AND (day < ? OR (day = ? AND hour < ?)) "
+            + "ORDER BY day, hour";
+
+    private static final String[] READING_HEADERS = {"Sensor", "Código", "Hora", "Lecturas", "Temp. promedio",
+            "Temp. mínima", "Temp. máxima", "Presión promedio", "Presión mínima", "Presión máxima", "Batería promedio"};
+    private static final String[] IRREGULARITY_HEADERS = {"Fecha", "Sensor", "Código", "Irregularidad", "Detalle",
+            "Estado", "Temperatura", "Presión", "Batería"};
+    private static final String[] GAS_HEADERS = {"Día", "Hora", "Presión"};
+    private static final String[] SUMMARY_HEADERS = {"Placa", "Sensores", "Horas con lecturas", "Lecturas",
+            "Irregularidades", "Registros de gas"};
+    private static final int COLUMN_WIDTH = 18 * 256;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PerformanceTireRollupService performanceTireRollupService;
+
+    @Value("${export.report.parallelism:4}")
+    private int parallelism;
+
+    @Value("${export.report.max-window-days:31}")
+    private long maxWindowDays;
+
+    @Value("${export.excel.row-window:500}")
+    private int rowWindow;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("company-report-" + threadIndex.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the window is empty or longer than {@code export.report.max-window-days}.
+     */
+    public void validate(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxWindowDays) {
+            throw new IllegalArgumentException("Window longer than " + maxWindowDays + " days");
+        }
+    }
+
+    /**
+     * Writes the report of a company as an .xlsx workbook; the stream is left open.
+     *
+     * @return Number of vehicle sheets.
+     * @throws IllegalArgumentException if the window is invalid.
+     */
+    public int writeCompanyReport(Long companyId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        validate(from, to);
+        long start = System.currentTimeMillis();
+        List<VehicleRef> vehicles = jdbcTemplate.query(VEHICLES_SQL, (rs, i) -> new VehicleRef(rs.getLong(1), rs.getString(2)), companyId);
+        boolean fromRollups = performanceTireRollupService.isEnabled();
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, rowWindow, true, false);
+        Deque<ForkJoinTask<VehicleReportData>> pending = new ArrayDeque<>();
+        try {
+            ReportStyles styles = new ReportStyles(workbook);
+            Sheet summary = workbook.createSheet("Resumen");
+            writeSummaryHeader(summary, styles, from, to);
+            Set<String> sheetNames = new HashSet<>();
+            sheetNames.add("resumen");
+
+            int next = 0;
+            for (int i = 0; i < vehicles.size(); i++) {
+                while (next < vehicles.size() && pending.size() < parallelism * 2) {
+                    VehicleRef vehicle = vehicles.get(next++);
+                    pending.add(pool.submit(() -> load(vehicle, from, to, fromRollups)));
+                }
+                VehicleReportData data = pending.poll().join();
+                writeVehicleSheet(workbook.createSheet(uniqueSheetName(data, sheetNames)), data, styles);
+                writeSummaryRow(summary.createRow(i + 3), data);
+            }
+            workbook.write(out);
+        } finally {
+            pending.forEach(task -> task.cancel(true));
+            workbook.dispose();
+            workbook.close();
+        }
+        log.info("Company {} report: {} vehicles in {} ms", companyId, vehicles.size(), System.currentTimeMillis() - start);
+        return vehicles.size();
+    }
+
+    private VehicleReportData load(VehicleRef vehicle, LocalDateTime from, LocalDateTime to, boolean fromRollups) {
+        Timestamp fromTime = Timestamp.valueOf(from);
+        Timestamp toTime = Timestamp.valueOf(to);
+        List<HourlyReading> readings = fromRollups
+                ? jdbcTemplate.query(ROLLUP_READINGS_SQL, (rs, i) -> new HourlyReading(rs.getLong(1), rs.getString(2),
+                        rs.getTimestamp(3).toLocalDateTime(), rs.getLong(4), rs.getDouble(5), rs.getDouble(6), rs.getDouble(7),
+                        rs.getDouble(8), rs.getDouble(9), rs.getDouble(10), rs.getDouble(11)), vehicle.id(), fromTime, toTime)
+                : jdbcTemplate.query(RAW_READINGS_SQL, (rs, i) -> new HourlyReading(rs.getLong(1), rs.getString(2),
+                        rs.getDate(3).toLocalDate().atTime(rs.getInt(4), 0), rs.getLong(5), rs.getDouble(6), rs.getDouble(7),
+                        rs.getDouble(8), rs.getDouble(9), rs.getDouble(10), rs.getDouble(11), rs.getDouble(12)),
+                        vehicle.id(), fromTime, toTime);
+        List<Irregularity> irregularities = jdbcTemplate.query(IRREGULARITIES_SQL, (rs, i) -> new Irregularity(
+                rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                nullableBoolean(rs, 6), nullableDouble(rs, 7), nullableDouble(rs, 8), nullableDouble(rs, 9)),
+                vehicle.id(), fromTime, toTime);
+        Date fromDay = Date.valueOf(from.toLocalDate());
+        Date toDay = Date.valueOf(to.toLocalDate());
+        List<GasReading> gasRecords = jdbcTemplate.query(GAS_RECORDS_SQL, (rs, i) -> new GasReading(
+                rs.getDate(1).toLocalDate(), rs.getTime(2).toLocalTime(), rs.getDouble(3)),
+                vehicle.id(), fromDay, fromDay, Time.valueOf(from.toLocalTime()), toDay, toDay, Time.valueOf(to.toLocalTime()));
+        return new VehicleReportData(vehicle.id(), vehicle.placa(), readings, irregularities, gasRecords);
+    }
+
+    private void writeSummaryHeader(Sheet summary, ReportStyles styles, LocalDateTime from, LocalDateTime to) {
+        for (int i = 0; i < SUMMARY_HEADERS.length; i++) {
+            summary.setColumnWidth(i, COLUMN_WIDTH);
+        }
+        Row title = summary.createRow(0);
+        text(title, 0, "Reporte de flota", styles.title);
+        Row window = summary.createRow(1);
+        text(window, 0, "Desde", styles.header);
+        dateTime(window, 1, from, styles);
+        text(window, 2, "Hasta", styles.header);
+        dateTime(window, 3, to, styles);
+        headers(summary, 2, SUMMARY_HEADERS, styles);
+    }
+
+    private void writeSummaryRow(Row row, VehicleReportData data) {
+        long samples = 0;
+        Set<Long> sensors = new HashSet<>();
+        for (HourlyReading reading : data.readings()) {
+            samples += reading.samples();
+            sensors.add(reading.sensorId());
+        }
+        text(row, 0, data.placa(), null);
+        row.createCell(1).setCellValue(sensors.size());
+        row.createCell(2).setCellValue(data.readings().size());
+        row.createCell(3).setCellValue(samples);
+        row.createCell(4).setCellValue(data.irregularities().size());
+        row.createCell(5).setCellValue(data.gasRecords().size());
+    }
+
+    private void writeVehicleSheet(Sheet sheet, VehicleReportData data, ReportStyles styles) {
+        for (int i = 0; i < READING_HEADERS.length; i++) {
+            sheet.setColumnWidth(i, COLUMN_WIDTH);
+        }
+        int rowIndex = 0;
+        text(sheet.createRow(rowIndex++), 0, "Vehículo " + (data.placa() != null ? data.placa() : data.vehicleId()), styles.title);
+
+        rowIndex++;
+        text(sheet.createRow(rowIndex++), 0, "Lecturas por hora", styles.title);
+        headers(sheet, rowIndex++, READING_HEADERS, styles);
+        for (HourlyReading reading : data.readings()) {
+            Row row = sheet.createRow(rowIndex++);
+            row.createCell(0).setCellValue(reading.sensorId());
+            text(row, 1, reading.sensorCode(), null);
+            dateTime(row, 2, reading.hour(), styles);
+            row.createCell(3).setCellValue(reading.samples());
+            decimal(row, 4, reading.temperatureAvg(), styles);
+            decimal(row, 5, reading.temperatureMin(), styles);
+            decimal(row, 6, reading.temperatureMax(), styles);
+            decimal(row, 7, reading.pressureAvg(), styles);
+            decimal(row, 8, reading.pressureMin(), styles);
+            decimal(row, 9, reading.pressureMax(), styles);
+            decimal(row, 10, reading.batteryLevelAvg(), styles);
+        }
+
+        rowIndex++;
+        text(sheet.createRow(rowIndex++), 0, "Irregularidades", styles.title);
+        headers(sheet, rowIndex++, IRREGULARITY_HEADERS, styles);
+        for (Irregularity irregularity : data.irregularities()) {
+            Row row = sheet.createRow(rowIndex++);
+            dateTime(row, 0, irregularity.createdAt(), styles);
+            row.createCell(1).setCellValue(irregularity.sensorId());
+            text(row, 2, irregularity.sensorCode(), null);
+            text(row, 3, irregularity.name(), null);
+            text(row, 4, irregularity.details(), null);
+            if (irregularity.status() != null) {
+                text(row, 5, irregularity.status() ? "Activa" : "Inactiva", null);
+            }
+            decimal(row, 6, irregularity.temperature(), styles);
+            decimal(row, 7, irregularity.pressure(), styles);
+            decimal(row, 8, irregularity.batteryLevel(), styles);
+        }
+
+        rowIndex++;
+        text(sheet.createRow(rowIndex++), 0, "Registros de gas", styles.title);
+        headers(sheet, rowIndex++, GAS_HEADERS, styles);
+        for (GasReading gas : data.gasRecords()) {
+            Row row = sheet.createRow(rowIndex++);
+            Cell day = row.createCell(0);
+            day.setCellValue(gas.day());
+            day.setCellStyle(styles.date);
+            time(row, 1, gas.hour(), styles);
+            decimal(row, 2, gas.pressure(), styles);
+        }
+    }
+
+    /**
+     * Sheet names are at most 31 characters, cannot contain []:*?/\ and are compared case-insensitively.
+     */
+    private static String uniqueSheetName(VehicleReportData data, Set<String> used) {
+        String base = WorkbookUtil.createSafeSheetName(data.placa() == null || data.placa().isBlank()
+                ? "Vehiculo " + data.vehicleId() : data.placa().trim());
+        String name = base;
+        for (int n = 2; !used.add(name.toLowerCase(Locale.ROOT)); n++) {
+            String suffix = " (" + n + ")";
+            name = base.substring(0, Math.min(base.length(), 31 - suffix.length())) + suffix;
+        }
+        return name;
+    }
+
+    private static void headers(Sheet sheet, int rowIndex, String[] headers, ReportStyles styles) {
+        Row row = sheet.createRow(rowIndex);
+        for (int i = 0; i < headers.length; i++) {
+            text(row, i, headers[i], styles.header);
+        }
+    }
+
+    private static void text(Row row, int column, String value, CellStyle style) {
+        if (value == null) {
+            return;
+        }
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value);
+        if (style != null) {
+            cell.setCellStyle(style);
+        }
+    }
+
+    private static void dateTime(Row row, int column, LocalDateTime value, ReportStyles styles) {
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value);
+        cell.setCellStyle(styles.dateTime);
+    }
+
+    private static void time(Row row, int column, LocalTime value, ReportStyles styles) {
+        // Excel times are fractions of a day
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value.toSecondOfDay() / 86_400.0);
+        cell.setCellStyle(styles.time);
+    }
+
+    private static void decimal(Row row, int column, Double value, ReportStyles styles) {
+        if (value == null || !Double.isFinite(value)) {
+            return;
+        }
+        Cell cell = row.createCell(column);
+        cell.setCellValue(value);
+        cell.setCellStyle(styles.decimal);
+    }
+
+    private static Double nullableDouble(ResultSet rs, int index) throws SQLException {
+        double value = rs.getDouble(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Boolean nullableBoolean(ResultSet rs, int index) throws SQLException {
+        boolean value = rs.getBoolean(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    private record VehicleRef(long id, String placa) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.icm.tiremanagementapi.export;
+
+/**
+ * A column of an export: its name in the CSV header and NDJSON objects, and how its value is read.
+ */
+public record ExportColumn(String name, Type type) {
+
+    public enum Type {
+        LONG,
+        DOUBLE,
+        TEXT,
+        BOOLEAN,
+        DATE,
+        TIME,
+        TIMESTAMP
+    }
+
+    static ExportColumn of(String name, Type type) {
+        return new ExportColumn(name, type);
+    }
+}
@@ -0,0 +1,129 @@
+package com.icm.tiremanagementapi.export;
+
+import java.util.List;
+
+import static com.icm.tiremanagementapi.export.ExportColumn.Type.BOOLEAN;
+import static com.icm.tiremanagementapi.export.ExportColumn.Type.DATE;
+import static com.icm.tiremanagementapi.export.ExportColumn.Type.DOUBLE;
+import static com.icm.tiremanagementapi.export.ExportColumn.Type.LONG;
+import static com.icm.tiremanagementapi.export.ExportColumn.Type.TEXT;
+import static com.icm.tiremanagementapi.export.ExportColumn.Type.TIME;
+import static com.icm.tiremanagementapi.export.ExportColumn.Type.TIMESTAMP;
+
+/**
+ * Tables that can be exported, with the SQL that reads them and the columns each filter applies to. A null filter
+ * column means the table cannot be filtered that way. Gas records and changes store the date and the time in two
+ * columns; the other tables have a single timestamp.
+ */
+public enum ExportDataset {
+    GAS_RECORDS("gas-records",
+            "SELECT g.id, g.vehicle, v.placa, g.day, g.hour, g.pressure FROM gas_records g JOIN vehicle v ON v.id = g.vehicle",
+            "g.id", "v.company", "g.vehicle", null, null, "g.day", "g.hour",
+            List.of(ExportColumn.of("id", LONG), ExportColumn.of("vehicle", LONG), ExportColumn.of("placa", TEXT),
+                    ExportColumn.of("day", DATE), ExportColumn.of("hour", TIME), ExportColumn.of("pressure", DOUBLE))),
+    GAS_CHANGES("gas-changes",
+            "SELECT c.id, c.vehicle, v.placa, c.change_date, c.change_time FROM gas_changes c JOIN vehicle v ON v.id = c.vehicle",
+            "c.id", "v.company", "c.vehicle", null, null, "c.change_date", "c.change_time",
+            List.of(ExportColumn.of("id", LONG), ExportColumn.of("vehicle", LONG), ExportColumn.of("placa", TEXT),
+                    ExportColumn.of("changeDate", DATE), ExportColumn.of("changeTime", TIME))),
+    PERFORMANCE_TIRE("performance-tire",
+            "SELECT p.id, p.sensor, p.vehicle, p.company, p.created_at, p.temperature, p.pressure, p.battery_level "
+                    + "FROM performance_tire p",
+            "p.id", "p.company", "p.vehicle", "p.sensor", "p.created_at", null, null,
+            List.of(ExportColumn.of("id", LONG), ExportColumn.of("sensor", LONG), ExportColumn.of("vehicle", LONG),
+                    ExportColumn.of("company", LONG), ExportColumn.of("createdAt", TIMESTAMP),
+                    ExportColumn.of("temperature", DOUBLE), ExportColumn.of("pressure", DOUBLE),
+                    ExportColumn.of("batteryLevel", DOUBLE))),
+    IRREGULARITIES("irregularities",
+            "SELECT i.id, i.sensor, i.vehicle, i.company, i.tire, i.created_at, i.name_irregularity, i.details_irregularity, "
+                    + "i.status, i.recorded_temperature, i.recorded_pressure, i.recorded_battery_level FROM irregularities_tire i",
+            "i.id", "i.company", "i.vehicle", "i.sensor", "i.created_at", null, null,
+            List.of(ExportColumn.of("id", LONG), ExportColumn.of("sensor", LONG), ExportColumn.of("vehicle", LONG),
+                    ExportColumn.of("company", LONG), ExportColumn.of("tire", LONG), ExportColumn.of("createdAt", TIMESTAMP),
+                    ExportColumn.of("nameIrregularity", TEXT), ExportColumn.of("detailsIrregularity", TEXT),
+                    ExportColumn.of("status", BOOLEAN), ExportColumn.of("recordedTemperature", DOUBLE),
+                    ExportColumn.of("recordedPressure", DOUBLE), ExportColumn.of("recordedBatteryLevel", DOUBLE)));
+
+    private final String path;
+    private final String selectSql;
+    private final String idColumn;
+    private final String companyColumn;
+    private final String vehicleColumn;
+    private final String sensorColumn;
+    private final String timestampColumn;
+    private final String dateColumn;
+    private final String timeColumn;
+    private final List<ExportColumn> columns;
+
+    ExportDataset(String path, String selectSql, String idColumn, String companyColumn, String vehicleColumn,
+                  String sensorColumn, String timestampColumn, String dateColumn, String timeColumn, List<ExportColumn> columns) {
+        this.path = path;
+        this.selectSql = selectSql;
+        this.idColumn = idColumn;
+        this.companyColumn = companyColumn;
+        this.vehicleColumn = vehicleColumn;
+        this.sensorColumn = sensorColumn;
+        this.timestampColumn = timestampColumn;
+        this.dateColumn = dateColumn;
+        this.timeColumn = timeColumn;
+        this.columns = columns;
+    }
+
+    /**
+     * Name of the dataset in the export URL and file name, e.g. gas-records.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public String getSelectSql() {
+        return selectSql;
+    }
+
+    public String getIdColumn() {
+        return idColumn;
+    }
+
+    public String getCompanyColumn() {
+        return companyColumn;
+    }
+
+    public String getVehicleColumn() {
+        return vehicleColumn;
+    }
+
+    public String getSensorColumn() {
+        return sensorColumn;
+    }
+
+    public String getTimestampColumn() {
+        return timestampColumn;
+    }
+
+    public String getDateColumn() {
+        return dateColumn;
+    }
+
+    public String getTimeColumn() {
+        return timeColumn;
+    }
+
+    /**
+     * Output columns, in the order of the select list.
+     */
+    public List<ExportColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no dataset has this path.
+     */
+    public static ExportDataset fromPath(String path) {
+        for (ExportDataset dataset : values()) {
+            if (dataset.path.equals(path)) {
+                return dataset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export dataset: " + path);
+    }
+}
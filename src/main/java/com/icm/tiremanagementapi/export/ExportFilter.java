@@ -0,0 +1,9 @@
+package com.icm.tiremanagementapi.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional restrictions of an export; null fields are not applied. The time window is half-open, [from, to).
+ */
+public record ExportFilter(LocalDateTime from, LocalDateTime to, Long companyId, Long vehicleId, Long sensorId) {
+}
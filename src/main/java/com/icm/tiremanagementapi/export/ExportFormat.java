@@ -0,0 +1,57 @@
+package com.icm.tiremanagementapi.export;
+
+import java.util.Locale;
+
+/**
+ * Formats of the streaming exports and export jobs.
+ */
+public enum ExportFormat {
+    /**
+     * RFC 4180 comma-separated values with a header row.
+     */
+    CSV("text/csv;charset=UTF-8", "csv", true),
+    /**
+     * Newline-delimited JSON, one object per row.
+     */
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson", true),
+    /**
+     * Excel workbook written with a bounded row window; already zip-compressed.
+     */
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx", false);
+
+    private final String mediaType;
+    private final String extension;
+    private final boolean compressible;
+
+    ExportFormat(String mediaType, String extension, boolean compressible) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+        this.compressible = compressible;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Whether gzip makes the output noticeably smaller.
+     */
+    public boolean isCompressible() {
+        return compressible;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the name is not csv, ndjson or xlsx.
+     */
+    public static ExportFormat fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown export format: " + name);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.icm.tiremanagementapi.export;
+
+import com.icm.tiremanagementapi.dto.ExportDTO.ExportJobDTO;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * State of one export job. Progress fields are written by the export thread and read by the API; status
+ * transitions are synchronized so that a cancellation and the job's own completion cannot both win.
+ * A job belongs to the user who submitted it and is only visible to that user.
+ */
+public final class ExportJob {
+    private final String id;
+    private final String owner;
+    private final ExportDataset dataset;
+    private final ExportFormat format;
+    private final ExportFilter filter;
+    private final boolean gzip;
+    private final Path file;
+    private final String fileName;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile long rowsWritten;
+    private volatile long sizeBytes;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile LocalDateTime expiresAt;
+    private volatile String error;
+
+    ExportJob(String id, String owner, ExportDataset dataset, ExportFormat format, ExportFilter filter, boolean gzip,
+              Path file, String fileName) {
+        this.id = id;
+        this.owner = owner;
+        this.dataset = dataset;
+        this.format = format;
+        this.filter = filter;
+        this.gzip = gzip;
+        this.file = file;
+        this.fileName = fileName;
+    }
+
+    /**
+     * Moves a queued job to RUNNING.
+     *
+     * @return false if the job was cancelled while queued.
+     */
+    synchronized boolean start() {
+        if (status != ExportJobStatus.QUEUED) {
+            return false;
+        }
+        status = ExportJobStatus.RUNNING;
+        startedAt = LocalDateTime.now();
+        return true;
+    }
+
+    synchronized void finish(ExportJobStatus finalStatus, long size, String failure, Duration ttl) {
+        if (status.isFinished()) {
+            return;
+        }
+        sizeBytes = size;
+        error = failure;
+        finishedAt = LocalDateTime.now();
+        expiresAt = finishedAt.plus(ttl);
+        // Written last, so that a reader that sees the final status also sees the fields above
+        status = finalStatus;
+    }
+
+    /**
+     * Asks a running job to stop at its next progress report; a queued job is cancelled at once.
+     */
+    synchronized void requestCancel(Duration ttl) {
+        cancelRequested = true;
+        if (status == ExportJobStatus.QUEUED) {
+            finish(ExportJobStatus.CANCELLED, 0, null, ttl);
+        }
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Username of the user who submitted the job.
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    boolean isOwnedBy(String username) {
+        return owner.equals(username);
+    }
+
+    public ExportDataset getDataset() {
+        return dataset;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public ExportFilter getFilter() {
+        return filter;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * Location of the finished file under {@code export.jobs.root}.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Media type of the stored file: the format's, or application/gzip for compressed CSV and NDJSON.
+     */
+    public String getContentType() {
+        return gzip ? "application/gzip" : format.getMediaType();
+    }
+
+    /**
+     * Strong entity tag of the file; a job's file never changes once written, so the job ID identifies it.
+     */
+    public String getETag() {
+        return "\"" + id + "\"";
+    }
+
+    public ExportJobStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public ExportJobDTO toDTO() {
+        return new ExportJobDTO(id, dataset.getPath(), format.getExtension(), status.name(), rowsWritten, sizeBytes,
+                fileName, createdAt, startedAt, finishedAt, expiresAt, error);
+    }
+}
@@ -0,0 +1,233 @@
+package com.icm.tiremanagementapi.export;
+
+import com.icm.tiremanagementapi.dto.ExportDTO.ExportJobRequestDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs exports in the background and keeps their files under {@code export.jobs.root} until they expire.
+ * Jobs run on a dedicated pool of {@code export.jobs.threads} threads with at most
+ * {@code export.jobs.queue-capacity} waiting jobs, so exports hold neither request threads nor more than a few
+ * database connections. Files are written as {@code <id>.<ext>.part} and renamed when complete, so a download
+ * never sees a partial file. Finished jobs and their files are deleted {@code export.jobs.ttl-hours} after
+ * they finish; jobs live in memory, and files left by a previous run are deleted once they are as old.
+ * Each job belongs to the user who submitted it: the lookups take that user and ignore the jobs of others.
+ */
+@Service
+@Slf4j
+public class ExportJobService {
+    private static final DateTimeFormatter FILE_NAME_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String PART_SUFFIX = ".part";
+
+    @Autowired
+    private TelemetryExportService telemetryExportService;
+
+    @Value("${export.jobs.root:${file.image}/exports}")
+    private String root;
+
+    @Value("${export.jobs.threads:2}")
+    private int threads;
+
+    @Value("${export.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${export.jobs.ttl-hours:24}")
+    private long ttlHours;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    private Path rootPath;
+    private Duration ttl;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        rootPath = Paths.get(root);
+        ttl = Duration.ofHours(ttlHours);
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-job-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            Files.createDirectories(rootPath);
+        } catch (IOException e) {
+            log.warn("Could not create the export directory {}: {}", rootPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.requestCancel(ttl));
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues an export on behalf of a user.
+     *
+     * @param owner Username of the requester, the only user who can see the job.
+     * @return The queued job.
+     * @throws IllegalArgumentException if the dataset, format or filters are invalid.
+     * @throws IllegalStateException    if {@code export.jobs.queue-capacity} jobs are already waiting.
+     */
+    public ExportJob submit(ExportJobRequestDTO request, String owner) {
+        ExportDataset dataset = ExportDataset.fromPath(request.getDataset());
+        ExportFormat format = request.getFormat() == null ? ExportFormat.CSV : ExportFormat.fromName(request.getFormat());
+        ExportFilter filter = new ExportFilter(request.getFrom(), request.getTo(), request.getCompanyId(),
+                request.getVehicleId(), request.getSensorId());
+        telemetryExportService.validate(dataset, filter);
+        boolean gzip = format.isCompressible() && !Boolean.FALSE.equals(request.getGzip());
+
+        String id = UUID.randomUUID().toString();
+        String extension = format.getExtension() + (gzip ? ".gz" : "");
+        String fileName = dataset.getPath() + "-" + LocalDateTime.now().format(FILE_NAME_TIME) + "." + extension;
+        ExportJob job = new ExportJob(id, owner, dataset, format, filter, gzip, rootPath.resolve(id + "." + extension), fileName);
+        jobs.put(id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw new IllegalStateException("Too many export jobs");
+        }
+        return job;
+    }
+
+    /**
+     * The job with the given ID, if it exists and belongs to the user.
+     */
+    public Optional<ExportJob> getJob(String id, String owner) {
+        return Optional.ofNullable(jobs.get(id)).filter(job -> job.isOwnedBy(owner));
+    }
+
+    /**
+     * Jobs of the user that have not expired yet, newest first.
+     */
+    public List<ExportJob> getJobs(String owner) {
+        return jobs.values().stream()
+                .filter(job -> job.isOwnedBy(owner))
+                .sorted(Comparator.comparing(ExportJob::getCreatedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cancels a queued or running job, or deletes a finished job and its file.
+     *
+     * @return false if there is no such job, or it belongs to another user.
+     */
+    public boolean delete(String id, String owner) {
+        ExportJob job = getJob(id, owner).orElse(null);
+        if (job == null) {
+            return false;
+        }
+        if (job.getStatus().isFinished()) {
+            remove(job);
+        } else {
+            job.requestCancel(ttl);
+        }
+        return true;
+    }
+
+    private void run(ExportJob job) {
+        if (!job.start()) {
+            return;
+        }
+        Path part = job.getFile().resolveSibling(job.getFile().getFileName() + PART_SUFFIX);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024)) {
+                telemetryExportService.write(job.getDataset(), job.getFilter(), job.getFormat(), job.isGzip(), out, rows -> {
+                    job.setRowsWritten(rows);
+                    if (job.isCancelRequested()) {
+                        throw new CancellationException();
+                    }
+                });
+            }
+            Files.move(part, job.getFile(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            job.finish(ExportJobStatus.DONE, Files.size(job.getFile()), null, ttl);
+            log.info("Export job {} of {} finished: {} bytes", job.getId(), job.getDataset().getPath(), Files.size(job.getFile()));
+        } catch (CancellationException e) {
+            job.finish(ExportJobStatus.CANCELLED, 0, null, ttl);
+            deleteQuietly(part);
+        } catch (Exception e) {
+            log.warn("Export job {} of {} failed", job.getId(), job.getDataset().getPath(), e);
+            job.finish(ExportJobStatus.FAILED, 0, e.getMessage(), ttl);
+            deleteQuietly(part);
+        }
+    }
+
+    /**
+     * Deletes expired jobs with their files, and files older than the TTL left by previous runs.
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval-ms:600000}")
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        for (ExportJob job : jobs.values()) {
+            if (job.getExpiresAt() != null && job.getExpiresAt().isBefore(now)) {
+                remove(job);
+            }
+        }
+        if (!Files.isDirectory(rootPath)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - ttl.toMillis();
+        try (Stream<Path> files = Files.list(rootPath)) {
+            files.filter(Files::isRegularFile)
+                    .filter(file -> lastModifiedMillis(file) < cutoff)
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Could not list the export directory {}: {}", rootPath, e.getMessage());
+        }
+    }
+
+    private void remove(ExportJob job) {
+        jobs.remove(job.getId());
+        deleteQuietly(job.getFile());
+    }
+
+    private long lastModifiedMillis(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.icm.tiremanagementapi.export;
+
+/**
+ * Life cycle of an export job: QUEUED, RUNNING, then DONE, FAILED or CANCELLED.
+ */
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED || this == CANCELLED;
+    }
+}
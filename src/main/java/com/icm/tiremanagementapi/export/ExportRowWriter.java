@@ -0,0 +1,189 @@
+package com.icm.tiremanagementapi.export;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes result set rows as CSV or NDJSON text. Values are formatted straight from the result set, without
+ * building an object per row: numbers as Java literals, dates, times and timestamps as ISO-8601 local values,
+ * and SQL nulls, NaN and infinities as an empty CSV field or a JSON null.
+ */
+abstract class ExportRowWriter {
+    protected final Writer writer;
+    protected final List<ExportColumn> columns;
+
+    ExportRowWriter(Writer writer, List<ExportColumn> columns) {
+        this.writer = writer;
+        this.columns = columns;
+    }
+
+    /**
+     * @throws IllegalArgumentException for XLSX, which is written through {@code StreamingExcelWriter} instead.
+     */
+    static ExportRowWriter of(ExportFormat format, Writer writer, List<ExportColumn> columns) {
+        return switch (format) {
+            case CSV -> new Csv(writer, columns);
+            case NDJSON -> new Ndjson(writer, columns);
+            case XLSX -> throw new IllegalArgumentException("XLSX is not a text format; use StreamingExcelWriter");
+        };
+    }
+
+    /**
+     * Writes whatever precedes the first row; the CSV header.
+     */
+    abstract void writeHeader() throws IOException;
+
+    /**
+     * Writes the current row of the result set, whose select list matches the columns.
+     */
+    abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+    /**
+     * Reads a column as text, or null if it is SQL NULL or not a finite number.
+     */
+    static String read(ResultSet rs, int index, ExportColumn.Type type) throws SQLException {
+        switch (type) {
+            case LONG -> {
+                long value = rs.getLong(index);
+                return rs.wasNull() ? null : Long.toString(value);
+            }
+            case DOUBLE -> {
+                double value = rs.getDouble(index);
+                return rs.wasNull() || !Double.isFinite(value) ? null : Double.toString(value);
+            }
+            case BOOLEAN -> {
+                boolean value = rs.getBoolean(index);
+                return rs.wasNull() ? null : Boolean.toString(value);
+            }
+            case DATE -> {
+                Date value = rs.getDate(index);
+                return value == null ? null : value.toLocalDate().toString();
+            }
+            case TIME -> {
+                Time value = rs.getTime(index);
+                return value == null ? null : DateTimeFormatter.ISO_LOCAL_TIME.format(value.toLocalTime());
+            }
+            case TIMESTAMP -> {
+                Timestamp value = rs.getTimestamp(index);
+                return value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value.toLocalDateTime());
+            }
+            default -> {
+                return rs.getString(index);
+            }
+        }
+    }
+
+    static final class Csv extends ExportRowWriter {
+        Csv(Writer writer, List<ExportColumn> columns) {
+            super(writer, columns);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(columns.get(i).name());
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = read(rs, i + 1, columns.get(i).type());
+                if (value != null) {
+                    writeField(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+    }
+
+    static final class Ndjson extends ExportRowWriter {
+        Ndjson(Writer writer, List<ExportColumn> columns) {
+            super(writer, columns);
+        }
+
+        @Override
+        void writeHeader() {
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            writer.write('{');
+            for (int i = 0; i < columns.size(); i++) {
+                ExportColumn column = columns.get(i);
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeString(column.name());
+                writer.write(':');
+                String value = read(rs, i + 1, column.type());
+                if (value == null) {
+                    writer.write("null");
+                } else if (column.type() == ExportColumn.Type.LONG || column.type() == ExportColumn.Type.DOUBLE
+                        || column.type() == ExportColumn.Type.BOOLEAN) {
+                    writer.write(value);
+                } else {
+                    writeString(value);
+                }
+            }
+            writer.write("}\n");
+        }
+
+        private void writeString(String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    case '\t' -> writer.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                    }
+                }
+            }
+            writer.write('"');
+        }
+    }
+}
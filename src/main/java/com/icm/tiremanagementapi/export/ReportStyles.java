@@ -0,0 +1,47 @@
+package com.icm.tiremanagementapi.export;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * The handful of cell styles of a report, created once per workbook and shared by every cell: a workbook
+ * holds at most 64,000 styles, and each one costs memory until the workbook is written.
+ */
+final class ReportStyles {
+    final CellStyle title;
+    final CellStyle header;
+    final CellStyle dateTime;
+    final CellStyle date;
+    final CellStyle time;
+    final CellStyle decimal;
+
+    ReportStyles(Workbook workbook) {
+        DataFormat format = workbook.createDataFormat();
+
+        Font titleFont = workbook.createFont();
+        titleFont.setBold(true);
+        titleFont.setFontHeightInPoints((short) 13);
+        title = workbook.createCellStyle();
+        title.setFont(titleFont);
+
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        header = workbook.createCellStyle();
+        header.setFont(headerFont);
+        header.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        header.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+        dateTime = workbook.createCellStyle();
+        dateTime.setDataFormat(format.getFormat("yyyy-mm-dd hh:mm:ss"));
+        date = workbook.createCellStyle();
+        date.setDataFormat(format.getFormat("yyyy-mm-dd"));
+        time = workbook.createCellStyle();
+        time.setDataFormat(format.getFormat("hh:mm:ss"));
+        decimal = workbook.createCellStyle();
+        decimal.setDataFormat(format.getFormat("0.00"));
+    }
+}
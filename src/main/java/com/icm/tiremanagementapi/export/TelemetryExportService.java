@@ -0,0 +1,222 @@
+package com.icm.tiremanagementapi.export;
+
+import com.icm.tiremanagementapi.utils.JdbcStreaming;
+import com.icm.tiremanagementapi.utils.StreamingExcelWriter;
+import org.apache.poi.ss.usermodel.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams gas records, gas changes, performance_tire readings and irregularities as CSV, NDJSON or Excel. Rows are streamed
+ * from a forward-only, read-only result set (see {@link JdbcStreaming}), in insertion (ID) order, and written through a small buffer, optionally gzip-compressed on the fly; memory use does not depend on
+ * the number of rows. Excel output goes through a {@link StreamingExcelWriter}.
+ */
+@Service
+public class TelemetryExportService {
+    private static final Logger log = LoggerFactory.getLogger(TelemetryExportService.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${export.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${export.excel.row-window:500}")
+    private int rowWindow;
+
+    /**
+     * Checks that the filter applies to the dataset, so that a bad request fails before the response starts.
+     *
+     * @throws IllegalArgumentException if the window is empty or the dataset cannot be filtered by sensor.
+     */
+    public void validate(ExportDataset dataset, ExportFilter filter) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (filter.sensorId() != null && dataset.getSensorColumn() == null) {
+            throw new IllegalArgumentException(dataset.getPath() + " cannot be filtered by sensor");
+        }
+    }
+
+    /**
+     * Writes the rows of a dataset that match the filter; the stream is left open.
+     *
+     * @param gzip Whether to compress a CSV or NDJSON output; the gzip trailer is written before returning.
+     * @return Number of exported rows.
+     * @throws IllegalArgumentException if the filter does not apply to the dataset.
+     */
+    public long write(ExportDataset dataset, ExportFilter filter, ExportFormat format, boolean gzip, OutputStream out)
+            throws IOException {
+        return write(dataset, filter, format, gzip, out, null);
+    }
+
+    /**
+     * Same as {@link #write(ExportDataset, ExportFilter, ExportFormat, boolean, OutputStream)}, reporting the rows
+     * written so far every {@value #PROGRESS_INTERVAL} rows and at the end. The listener may throw an unchecked
+     * exception to abort the export; it propagates to the caller.
+     */
+    public long write(ExportDataset dataset, ExportFilter filter, ExportFormat format, boolean gzip, OutputStream out,
+                      LongConsumer progress) throws IOException {
+        validate(dataset, filter);
+        long start = System.currentTimeMillis();
+        List<Object> args = new ArrayList<>();
+        String sql = buildSql(dataset, filter, args);
+        List<ExportColumn> columns = dataset.getColumns();
+        long rows;
+        if (format == ExportFormat.XLSX) {
+            String[] headers = columns.stream().map(ExportColumn::name).toArray(String[]::new);
+            try (StreamingExcelWriter excel = new StreamingExcelWriter(rowWindow, dataset.getPath(), headers)) {
+                rows = query(sql, args, rs -> {
+                    Row row = excel.nextRow();
+                    for (int i = 0; i < columns.size(); i++) {
+                        writeCell(row, i, rs, columns.get(i).type());
+                    }
+                }, progress);
+                excel.write(out);
+            }
+        } else {
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            ExportRowWriter rowWriter = ExportRowWriter.of(format, writer, columns);
+            rowWriter.writeHeader();
+            rows = query(sql, args, rowWriter::writeRow, progress);
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        }
+        log.info("Exported {} rows of {} as {} in {} ms", rows, dataset.getPath(), format.getExtension(),
+                System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private long query(String sql, List<Object> args, RowAction action, LongConsumer progress) throws IOException {
+        long[] rows = new long[1];
+        try {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                JdbcStreaming.streamResults(statement, fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                return statement;
+            }, rs -> {
+                try {
+                    action.write(rs);
+                } catch (IOException e) {
+                    // The client went away; stop reading instead of draining the cursor
+                    throw new UncheckedIOException(e);
+                }
+                if (++rows[0] % PROGRESS_INTERVAL == 0 && progress != null) {
+                    progress.accept(rows[0]);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (progress != null) {
+            progress.accept(rows[0]);
+        }
+        return rows[0];
+    }
+
+    private static void writeCell(Row row, int column, ResultSet rs, ExportColumn.Type type) throws SQLException {
+        switch (type) {
+            case LONG, DOUBLE -> {
+                double value = rs.getDouble(column + 1);
+                if (!rs.wasNull() && Double.isFinite(value)) {
+                    row.createCell(column).setCellValue(value);
+                }
+            }
+            case BOOLEAN -> {
+                boolean value = rs.getBoolean(column + 1);
+                if (!rs.wasNull()) {
+                    row.createCell(column).setCellValue(value);
+                }
+            }
+            default -> {
+                String value = ExportRowWriter.read(rs, column + 1, type);
+                if (value != null) {
+                    row.createCell(column).setCellValue(value);
+                }
+            }
+        }
+    }
+
+    static String buildSql(ExportDataset dataset, ExportFilter filter, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.companyId() != null) {
+            conditions.add(dataset.getCompanyColumn() + " = ?");
+            args.add(filter.companyId());
+        }
+        if (filter.vehicleId() != null) {
+            conditions.add(dataset.getVehicleColumn() + " = ?");
+            args.add(filter.vehicleId());
+        }
+        if (filter.sensorId() != null) {
+            conditions.add(dataset.getSensorColumn() + " = ?");
+            args.add(filter.sensorId());
+        }
+        if (dataset.getTimestampColumn() != null) {
+            if (filter.from() != null) {
+                conditions.add(dataset.getTimestampColumn() + " >= ?");
+                args.add(Timestamp.valueOf(filter.from()));
+            }
+            if (filter.to() != null) {
+                conditions.add(dataset.getTimestampColumn() + " < ?");
+                args.add(Timestamp.valueOf(filter.to()));
+            }
+        } else {
+            // Date and time columns: compared as (date, time) pairs so the (vehicle, date, time) index still applies
+            String date = dataset.getDateColumn();
+            String time = dataset.getTimeColumn();
+            if (filter.from() != null) {
+                conditions.add("(" + date + " > ? OR (" + date + " = ? AND " + time + " >= ?))");
+                Date day = Date.valueOf(filter.from().toLocalDate());
+                args.add(day);
+                args.add(day);
+                args.add(Time.valueOf(filter.from().toLocalTime()));
+            }
+            if (filter.to() != null) {
+                conditions.add("(" + date + " < ? OR (" + date + " = ? AND " + time + " < ?))");
+                Date day = Date.valueOf(filter.to().toLocalDate());
+                args.add(day);
+                args.add(day);
+                args.add(Time.valueOf(filter.to().toLocalTime()));
+            }
+        }
+        StringBuilder sql = new StringBuilder(dataset.getSelectSql());
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.append(" ORDER BY ").append(dataset.getIdColumn()).toString();
+    }
+
+    @FunctionalInterface
+    private interface RowAction {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,28 @@
+package com.icm.tiremanagementapi.export;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Rows of one vehicle's sheet of the company report, read on a worker thread before the sheet is written.
+ */
+record VehicleReportData(long vehicleId, String placa, List<HourlyReading> readings, List<Irregularity> irregularities,
+                         List<GasReading> gasRecords) {
+
+    /**
+     * Hourly aggregate of one sensor's readings.
+     */
+    record HourlyReading(long sensorId, String sensorCode, LocalDateTime hour, long samples,
+                         double temperatureAvg, double temperatureMin, double temperatureMax,
+                         double pressureAvg, double pressureMin, double pressureMax, double batteryLevelAvg) {
+    }
+
+    record Irregularity(LocalDateTime createdAt, long sensorId, String sensorCode, String name, String details,
+                        Boolean status, Double temperature, Double pressure, Double batteryLevel) {
+    }
+
+    record GasReading(LocalDate day, LocalTime hour, double pressure) {
+    }
+}
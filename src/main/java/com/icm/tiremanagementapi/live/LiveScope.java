@@ -0,0 +1,9 @@
+package com.icm.tiremanagementapi.live;
+
+/**
+ * What a live subscription follows: every sensor of a vehicle or every sensor of a company.
+ */
+public enum LiveScope {
+    VEHICLE,
+    COMPANY
+}
@@ -0,0 +1,40 @@
+package com.icm.tiremanagementapi.live;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.LiveIrregularityDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.LiveSensorUpdateDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE connection and its bounded outgoing buffers: the latest update of each sensor (older updates of
+ * the same sensor are coalesced) and a queue of irregularities, which are never coalesced.
+ */
+final class LiveSubscriber {
+    final LiveScope scope;
+    final Long scopeId;
+    final SseEmitter emitter;
+    final ConcurrentHashMap<Long, LiveSensorUpdateDTO> pendingUpdates = new ConcurrentHashMap<>();
+    final ArrayBlockingQueue<LiveIrregularityDTO> pendingIrregularities;
+
+    /**
+     * Set while a flush is scheduled or running, so at most one flush per subscriber is in flight and
+     * the ingest never schedules more than one task per subscriber.
+     */
+    final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * System.nanoTime() at which the current send started, 0 when no send is in progress.
+     */
+    volatile long sendStartedNanos;
+    volatile boolean closed;
+
+    LiveSubscriber(LiveScope scope, Long scopeId, SseEmitter emitter, int maxPendingIrregularities) {
+        this.scope = scope;
+        this.scopeId = scopeId;
+        this.emitter = emitter;
+        this.pendingIrregularities = new ArrayBlockingQueue<>(maxPendingIrregularities);
+    }
+}
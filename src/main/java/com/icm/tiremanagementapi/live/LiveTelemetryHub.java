@@ -0,0 +1,381 @@
+package com.icm.tiremanagementapi.live;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.LiveIrregularityDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.LivePushStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.LiveSensorUpdateDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Pushes sensor updates and new irregularities to Server-Sent Events subscribers of a vehicle or a company.
+ * The ingest only writes into the bounded buffers of each subscriber and schedules one flush per subscriber;
+ * a single scheduler thread waits out the coalescing delay and hands the flush to the sender pool, which keeps
+ * {@code live.push.threads} threads and grows up to one thread per subscriber. A subscriber stuck in a send
+ * therefore holds only its own thread, until the container's write timeout fails the send, and never delays
+ * the other subscribers. Updates of the same sensor within {@code live.push.coalesce-ms} are coalesced into
+ * the latest one. A subscriber whose buffers overflow, or whose current send has been blocked for longer than
+ * {@code live.push.slow-consumer-timeout-ms}, is disconnected instead of slowing down the ingest or the other
+ * subscribers; clients reconnect on their own. An evicted subscriber keeps its thread until its blocked send
+ * returns, so the pool can still be saturated; a task it rejects is retried after the coalescing delay instead
+ * of being dropped.
+ */
+@Service
+@Slf4j
+public class LiveTelemetryHub {
+    @Value("${live.push.enabled:true}")
+    private boolean enabled;
+
+    @Value("${live.push.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${live.push.threads:2}")
+    private int threads;
+
+    @Value("${live.push.coalesce-ms:500}")
+    private long coalesceMillis;
+
+    @Value("${live.push.max-pending-sensors:2000}")
+    private int maxPendingSensors;
+
+    @Value("${live.push.max-pending-irregularities:100}")
+    private int maxPendingIrregularities;
+
+    @Value("${live.push.slow-consumer-timeout-ms:10000}")
+    private long slowConsumerTimeoutMillis;
+
+    @Value("${live.push.emitter-timeout-ms:3600000}")
+    private long emitterTimeoutMillis;
+
+    private final Map<Long, Set<LiveSubscriber>> vehicleSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<LiveSubscriber>> companySubscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder eventsSent = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejectedSubscriptions = new LongAdder();
+    private final LongAdder deferredSends = new LongAdder();
+
+    private ScheduledThreadPoolExecutor scheduler;
+    private ThreadPoolExecutor senders;
+
+    @PostConstruct
+    public void start() {
+        scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "live-push-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        AtomicInteger threadIndex = new AtomicInteger();
+        // At most one flush per subscriber is in flight, so a blocked send never waits for a free thread
+        senders = new ThreadPoolExecutor(threads, maxSubscribers + threads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "live-push-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        forEachSubscriber(subscriber -> {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        });
+    }
+
+    /**
+     * Opens a subscription to every sensor of a vehicle or a company.
+     *
+     * @param scope   Whether the id is a vehicle or a company.
+     * @param scopeId ID of the vehicle or company.
+     * @return The emitter to return from the controller.
+     * @throws IllegalStateException if live push is disabled or {@code live.push.max-subscribers} is reached.
+     */
+    public SseEmitter subscribe(LiveScope scope, Long scopeId) {
+        if (!enabled) {
+            throw new IllegalStateException("Live push is disabled");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejectedSubscriptions.increment();
+            throw new IllegalStateException("Too many live subscribers");
+        }
+        SseEmitter emitter = createEmitter();
+        LiveSubscriber subscriber = new LiveSubscriber(scope, scopeId, emitter, maxPendingIrregularities);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribersOf(scope).compute(scopeId, (id, subscribers) -> {
+            Set<LiveSubscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        return emitter;
+    }
+
+    /**
+     * Queues a reading for the subscribers of its vehicle and company. Never blocks.
+     *
+     * @param reading    The reading.
+     * @param thresholds Mapping of the sensor, as used by the ingest.
+     */
+    public void publishReading(TelemetryReading reading, SensorThresholdsDTO thresholds) {
+        // Cheap exit for the common case of nobody watching
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        LiveSensorUpdateDTO update = new LiveSensorUpdateDTO(reading.sensorId(), thresholds.vehicleId(),
+                reading.temperature(), reading.pressure(), reading.batteryLevel(), reading.timestamp());
+        published.increment();
+        if (thresholds.vehicleId() != null) {
+            offerUpdate(vehicleSubscribers.get(thresholds.vehicleId()), update);
+        }
+        if (thresholds.companyId() != null) {
+            offerUpdate(companySubscribers.get(thresholds.companyId()), update);
+        }
+    }
+
+    /**
+     * Queues a new irregularity for the subscribers of its vehicle and company. Never blocks.
+     */
+    public void publishIrregularity(LiveIrregularityDTO irregularity) {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        published.increment();
+        if (irregularity.vehicleId() != null) {
+            offerIrregularity(vehicleSubscribers.get(irregularity.vehicleId()), irregularity);
+        }
+        if (irregularity.companyId() != null) {
+            offerIrregularity(companySubscribers.get(irregularity.companyId()), irregularity);
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and disconnects subscribers stuck in a send; the interval
+     * is configured with {@code live.push.heartbeat-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${live.push.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        long slowConsumerNanos = TimeUnit.MILLISECONDS.toNanos(slowConsumerTimeoutMillis);
+        forEachSubscriber(subscriber -> {
+            long sendStarted = subscriber.sendStartedNanos;
+            if (sendStarted != 0) {
+                if (now - sendStarted > slowConsumerNanos) {
+                    evict(subscriber, "send blocked for more than " + slowConsumerTimeoutMillis + " ms");
+                }
+            } else if (subscriber.flushScheduled.compareAndSet(false, true)) {
+                // Sent as a flush so it never runs concurrently with another send of the same subscriber
+                execute(subscriber, 0);
+            }
+        });
+    }
+
+    public LivePushStatsDTO getStats() {
+        return new LivePushStatsDTO(enabled, subscriberCount.get(), maxSubscribers, published.sum(), coalesced.sum(),
+                eventsSent.sum(), evicted.sum(), rejectedSubscriptions.sum(), deferredSends.sum());
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(emitterTimeoutMillis);
+    }
+
+    private void offerUpdate(Set<LiveSubscriber> subscribers, LiveSensorUpdateDTO update) {
+        if (subscribers == null) {
+            return;
+        }
+        for (LiveSubscriber subscriber : subscribers) {
+            if (subscriber.pendingUpdates.put(update.sensorId(), update) != null) {
+                coalesced.increment();
+            } else if (subscriber.pendingUpdates.size() > maxPendingSensors) {
+                evict(subscriber, "more than " + maxPendingSensors + " pending sensors");
+                continue;
+            }
+            scheduleFlush(subscriber);
+        }
+    }
+
+    private void offerIrregularity(Set<LiveSubscriber> subscribers, LiveIrregularityDTO irregularity) {
+        if (subscribers == null) {
+            return;
+        }
+        for (LiveSubscriber subscriber : subscribers) {
+            if (!subscriber.pendingIrregularities.offer(irregularity)) {
+                evict(subscriber, "more than " + maxPendingIrregularities + " pending irregularities");
+                continue;
+            }
+            scheduleFlush(subscriber);
+        }
+    }
+
+    private void scheduleFlush(LiveSubscriber subscriber) {
+        if (subscriber.flushScheduled.compareAndSet(false, true)) {
+            execute(subscriber, coalesceMillis);
+        }
+    }
+
+    private void execute(LiveSubscriber subscriber, long delayMillis) {
+        if (delayMillis <= 0) {
+            send(subscriber);
+            return;
+        }
+        try {
+            scheduler.schedule(() -> send(subscriber), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            subscriber.flushScheduled.set(false);
+        }
+    }
+
+    private void send(LiveSubscriber subscriber) {
+        // flushScheduled stays set while the flush waits for a thread, so nothing schedules it twice
+        submit(() -> flush(subscriber));
+    }
+
+    /**
+     * Runs a task on the sender pool, or retries it after the coalescing delay if every thread is busy.
+     * Tasks are only dropped once the hub is shutting down.
+     */
+    private void submit(Runnable task) {
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (senders.isShutdown()) {
+                return;
+            }
+            deferredSends.increment();
+            try {
+                scheduler.schedule(() -> submit(task), Math.max(coalesceMillis, 1), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shuttingDown) {
+                // The scheduler is shut down together with the pool
+            }
+        }
+    }
+
+    /**
+     * Sends everything pending for one subscriber, or a heartbeat comment if nothing is pending.
+     * Runs on the sender pool only, and never twice at the same time for a subscriber.
+     */
+    private void flush(LiveSubscriber subscriber) {
+        if (subscriber.closed) {
+            return;
+        }
+        List<LiveSensorUpdateDTO> updates = new ArrayList<>(subscriber.pendingUpdates.size());
+        for (Long sensorId : subscriber.pendingUpdates.keySet()) {
+            LiveSensorUpdateDTO update = subscriber.pendingUpdates.remove(sensorId);
+            if (update != null) {
+                updates.add(update);
+            }
+        }
+        List<LiveIrregularityDTO> irregularities = new ArrayList<>();
+        subscriber.pendingIrregularities.drainTo(irregularities);
+
+        subscriber.sendStartedNanos = System.nanoTime();
+        try {
+            if (updates.isEmpty() && irregularities.isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            if (!updates.isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event().name("sensors").data(updates, MediaType.APPLICATION_JSON));
+                eventsSent.increment();
+            }
+            for (LiveIrregularityDTO irregularity : irregularities) {
+                subscriber.emitter.send(SseEmitter.event().name("irregularity").id(String.valueOf(irregularity.id()))
+                        .data(irregularity, MediaType.APPLICATION_JSON));
+                eventsSent.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter was already completed
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.sendStartedNanos = 0;
+        }
+
+        if (subscriber.closed) {
+            // Evicted while sending
+            subscriber.emitter.complete();
+            return;
+        }
+        // Anything published while sending did not schedule a flush of its own
+        subscriber.flushScheduled.set(false);
+        if (!subscriber.pendingUpdates.isEmpty() || !subscriber.pendingIrregularities.isEmpty()) {
+            scheduleFlush(subscriber);
+        }
+    }
+
+    private void evict(LiveSubscriber subscriber, String reason) {
+        if (!remove(subscriber)) {
+            return;
+        }
+        evicted.increment();
+        log.warn("Live subscriber of {} {} disconnected: {}", subscriber.scope, subscriber.scopeId, reason);
+        if (subscriber.sendStartedNanos != 0) {
+            // Completing would wait for the blocked send; the flush completes the emitter once the send returns
+            return;
+        }
+        // Completing touches the response, so it is left to the sender pool instead of the ingest thread
+        submit(subscriber.emitter::complete);
+    }
+
+    /**
+     * Unregisters a subscriber.
+     *
+     * @return true if the subscriber was still registered.
+     */
+    private boolean remove(LiveSubscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        // Registration and removal of a scope are atomic, so an empty set is never dropped under a new subscriber
+        subscribersOf(subscriber.scope).computeIfPresent(subscriber.scopeId, (id, subscribers) -> {
+            removed[0] = subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (!removed[0]) {
+            return false;
+        }
+        subscriber.closed = true;
+        subscriberCount.decrementAndGet();
+        subscriber.pendingUpdates.clear();
+        subscriber.pendingIrregularities.clear();
+        return true;
+    }
+
+    private Map<Long, Set<LiveSubscriber>> subscribersOf(LiveScope scope) {
+        return scope == LiveScope.VEHICLE ? vehicleSubscribers : companySubscribers;
+    }
+
+    private void forEachSubscriber(Consumer<LiveSubscriber> action) {
+        for (Map<Long, Set<LiveSubscriber>> scope : List.of(vehicleSubscribers, companySubscribers)) {
+            scope.values().forEach(subscribers -> subscribers.forEach(action));
+        }
+    }
+}
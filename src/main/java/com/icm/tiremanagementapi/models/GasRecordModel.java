@@ -12,10 +12,16 @@ import java.time.LocalTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "gas_records")
+@Table(name = "gas_records", indexes = {
+        @Index(name = "idx_gas_records_vehicle_day_hour", columnList = "vehicle, day, hour")
+})
 public class GasRecordModel {
+    /**
+     * No unique key besides the primary key and no foreign key, so the table can be partitioned by day
+     * (see db/telemetry-partitioning.sql).
+     */
     @Id
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -29,6 +35,7 @@ public class GasRecordModel {
     private Double pressure;
 
     @ManyToOne
-    @JoinColumn(name = "vehicle", referencedColumnName = "id", nullable = false)
+    @JoinColumn(name = "vehicle", referencedColumnName = "id", nullable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private VehicleModel vehicleModel;
 }
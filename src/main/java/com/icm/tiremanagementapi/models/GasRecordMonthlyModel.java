@@ -0,0 +1,9 @@
+package com.icm.tiremanagementapi.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "gas_records_monthly")
+public class GasRecordMonthlyModel extends GasRecordRollupModel {
+}
@@ -0,0 +1,28 @@
+package com.icm.tiremanagementapi.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Primary key of the gas rollup tables: the vehicle and the start of the bucket, built from
+ * gas_records.day and gas_records.hour.
+ */
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GasRecordRollupId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "vehicle", nullable = false)
+    private Long vehicleId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+}
@@ -0,0 +1,31 @@
+package com.icm.tiremanagementapi.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated gas pressure of one vehicle over one bucket, kept as count, sum, minimum and maximum so that
+ * buckets can be updated incrementally and merged into larger buckets.
+ */
+@MappedSuperclass
+@Data
+@NoArgsConstructor
+public abstract class GasRecordRollupModel {
+    @EmbeddedId
+    private GasRecordRollupId id;
+
+    @Column(nullable = false)
+    private long sampleCount;
+
+    @Column(nullable = false)
+    private double pressureSum;
+    private double pressureMin;
+    private double pressureMax;
+
+    public double averagePressure() {
+        return pressureSum / sampleCount;
+    }
+}
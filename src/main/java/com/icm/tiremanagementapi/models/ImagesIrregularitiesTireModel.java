@@ -15,6 +15,30 @@ import java.time.ZonedDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@NamedEntityGraph(name = "ImagesIrregularitiesTireModel.details", attributeNodes = {
+        @NamedAttributeNode(value = "irregularitiesTireModel", subgraph = "irregularity"),
+        @NamedAttributeNode("companyModel")
+}, subgraphs = {
+        @NamedSubgraph(name = "irregularity", attributeNodes = {
+                @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+                @NamedAttributeNode("company"),
+                @NamedAttributeNode(value = "tireSensorModel", subgraph = "sensor"),
+                @NamedAttributeNode(value = "tireModel", subgraph = "tire")
+        }),
+        @NamedSubgraph(name = "vehicle", attributeNodes = {@NamedAttributeNode("companyModel"), @NamedAttributeNode("vehicleType")}),
+        @NamedSubgraph(name = "positioning", attributeNodes = @NamedAttributeNode("vehicleType")),
+        @NamedSubgraph(name = "tire", attributeNodes = {
+                @NamedAttributeNode(value = "positioningModel", subgraph = "positioning"),
+                @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+                @NamedAttributeNode("companyModel")
+        }),
+        @NamedSubgraph(name = "sensor", attributeNodes = {
+                @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+                @NamedAttributeNode("companyModel"),
+                @NamedAttributeNode(value = "positioning", subgraph = "positioning"),
+                @NamedAttributeNode(value = "tireModel", subgraph = "tire")
+        })
+})
 @Table(name = "irregularities_tire_images")
 public class ImagesIrregularitiesTireModel {
     @Id
@@ -15,6 +15,26 @@ import java.time.ZonedDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@NamedEntityGraph(name = "IrregularitiesTireModel.details", attributeNodes = {
+        @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+        @NamedAttributeNode("company"),
+        @NamedAttributeNode(value = "tireSensorModel", subgraph = "sensor"),
+        @NamedAttributeNode(value = "tireModel", subgraph = "tire")
+}, subgraphs = {
+        @NamedSubgraph(name = "vehicle", attributeNodes = {@NamedAttributeNode("companyModel"), @NamedAttributeNode("vehicleType")}),
+        @NamedSubgraph(name = "positioning", attributeNodes = @NamedAttributeNode("vehicleType")),
+        @NamedSubgraph(name = "tire", attributeNodes = {
+                @NamedAttributeNode(value = "positioningModel", subgraph = "positioning"),
+                @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+                @NamedAttributeNode("companyModel")
+        }),
+        @NamedSubgraph(name = "sensor", attributeNodes = {
+                @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+                @NamedAttributeNode("companyModel"),
+                @NamedAttributeNode(value = "positioning", subgraph = "positioning"),
+                @NamedAttributeNode(value = "tireModel", subgraph = "tire")
+        })
+})
 @Table(name = "irregularities_tire")
 public class IrregularitiesTireModel {
     @Id
@@ -36,19 +56,19 @@ public class IrregularitiesTireModel {
     /**
      * Vehicle associated with this irregularity, enabling tracking and diagnostics by vehicle.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle", nullable = true)
     private VehicleModel vehicleModel;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company", nullable = false)
     private CompanyModel company;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sensor", nullable = false)
     private TireSensorModel tireSensorModel;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tire", nullable = true)
     private TireModel tireModel;
 
@@ -0,0 +1,48 @@
+package com.icm.tiremanagementapi.models;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Conditions detected on a sensor reading. The label is the text used in the name of the irregularity,
+ * where several conditions are joined with "; ".
+ */
+public enum IrregularityCondition {
+    BATTERY_LOW("Batería baja"),
+    PRESSURE_LOW("Presión baja"),
+    PRESSURE_HIGH("Presión alta"),
+    TEMPERATURE_LOW("Temperatura baja"),
+    TEMPERATURE_HIGH("Temperatura alta");
+
+    private final String label;
+
+    IrregularityCondition(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Recovers the conditions contained in the name of a stored irregularity.
+     *
+     * @param irregularityName Name such as "Batería baja; Presión alta; ".
+     * @return The conditions found in the name.
+     */
+    public static Set<IrregularityCondition> fromName(String irregularityName) {
+        Set<IrregularityCondition> conditions = EnumSet.noneOf(IrregularityCondition.class);
+        if (irregularityName == null) {
+            return conditions;
+        }
+        for (String part : irregularityName.split(";")) {
+            String label = part.trim();
+            for (IrregularityCondition condition : values()) {
+                if (condition.label.equals(label)) {
+                    conditions.add(condition);
+                }
+            }
+        }
+        return conditions;
+    }
+}
@@ -0,0 +1,9 @@
+package com.icm.tiremanagementapi.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "performance_tire_hourly")
+public class PerformanceTireHourlyModel extends PerformanceTireRollupModel {
+}
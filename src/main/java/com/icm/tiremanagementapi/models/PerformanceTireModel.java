@@ -16,10 +16,17 @@ import java.time.ZonedDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "performance_tire")
+@Table(name = "performance_tire", indexes = {
+        @Index(name = "idx_performance_tire_sensor_created_at", columnList = "sensor, createdAt"),
+        @Index(name = "idx_performance_tire_vehicle_created_at", columnList = "vehicle, createdAt")
+})
 public class PerformanceTireModel {
+    /**
+     * No unique key besides the primary key and no foreign keys: a partitioned table cannot have either
+     * (see db/telemetry-partitioning.sql), and ddl-auto = update would otherwise try to add them back.
+     */
     @Id
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -47,15 +54,15 @@ public class PerformanceTireModel {
     private Double batteryLevel;
 
     @ManyToOne
-    @JoinColumn(name = "vehicle", nullable = true)
+    @JoinColumn(name = "vehicle", nullable = true, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private VehicleModel vehicleModel;
 
     @ManyToOne
-    @JoinColumn(name = "company", nullable = false)
+    @JoinColumn(name = "company", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private CompanyModel companyModel;
 
     @ManyToOne
-    @JoinColumn(name = "sensor", nullable = false)
+    @JoinColumn(name = "sensor", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private TireSensorModel tireSensorModel;
 
     /**
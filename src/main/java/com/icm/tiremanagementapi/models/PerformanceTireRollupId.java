@@ -0,0 +1,28 @@
+package com.icm.tiremanagementapi.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Primary key of the rollup tables: the sensor and the start of the bucket, in the server time zone
+ * (the same zone in which performance_tire.created_at is stored).
+ */
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PerformanceTireRollupId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "sensor", nullable = false)
+    private Long sensorId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+}
@@ -0,0 +1,66 @@
+package com.icm.tiremanagementapi.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Lob;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated readings of one sensor over one bucket. Count, sum, minimum and maximum are kept instead of
+ * averages so that buckets can be updated incrementally and merged into larger buckets; the temperature and
+ * pressure distributions are kept as mergeable quantile sketches for the same reason.
+ */
+@MappedSuperclass
+@Data
+@NoArgsConstructor
+public abstract class PerformanceTireRollupModel {
+    @EmbeddedId
+    private PerformanceTireRollupId id;
+
+    @Column(nullable = false)
+    private long sampleCount;
+
+    @Column(nullable = false)
+    private double temperatureSum;
+    private double temperatureMin;
+    private double temperatureMax;
+
+    @Column(nullable = false)
+    private double pressureSum;
+    private double pressureMin;
+    private double pressureMax;
+
+    @Column(nullable = false)
+    private double batteryLevelSum;
+    private double batteryLevelMin;
+    private double batteryLevelMax;
+
+    /**
+     * Serialized {@link com.icm.tiremanagementapi.utils.QuantileSketch} of the temperatures of the bucket;
+     * null for buckets written before the sketches existed.
+     */
+    @Lob
+    @Column(columnDefinition = "BLOB")
+    private byte[] temperatureSketch;
+
+    /**
+     * Serialized {@link com.icm.tiremanagementapi.utils.QuantileSketch} of the pressures of the bucket.
+     */
+    @Lob
+    @Column(columnDefinition = "BLOB")
+    private byte[] pressureSketch;
+
+    public double averageTemperature() {
+        return temperatureSum / sampleCount;
+    }
+
+    public double averagePressure() {
+        return pressureSum / sampleCount;
+    }
+
+    public double averageBatteryLevel() {
+        return batteryLevelSum / sampleCount;
+    }
+}
@@ -1,5 +1,6 @@
 package com.icm.tiremanagementapi.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,6 +14,8 @@ import java.time.ZonedDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = "PositioningModel.details", attributeNodes = @NamedAttributeNode("vehicleType"))
 @Table(name = "positioning")
 public class PositioningModel {
     /**
@@ -53,7 +56,7 @@ public class PositioningModel {
     /**
      * Associates the positioning with a specific type of vehicle, linking tire location to vehicle configuration.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "type", nullable = false)
     private VehicleTypeModel vehicleType;
 
@@ -0,0 +1,35 @@
+package com.icm.tiremanagementapi.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that the rollups of a raw table have been built from its whole history once. Until then the
+ * rollups only hold the readings written since they were enabled, so they are backfilled at startup.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "rollup_backfill")
+public class RollupBackfillModel {
+    /**
+     * Name of the raw table, for example performance_tire.
+     */
+    @Id
+    @Column(name = "table_name", length = 64)
+    private String tableName;
+
+    /**
+     * When the last full rebuild finished.
+     */
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
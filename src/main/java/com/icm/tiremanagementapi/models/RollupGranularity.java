@@ -0,0 +1,40 @@
+package com.icm.tiremanagementapi.models;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket sizes of the performance_tire and gas_records rollup tables.
+ */
+public enum RollupGranularity {
+    HOUR("performance_tire_hourly", "gas_records_hourly"),
+    DAY("performance_tire_daily", "gas_records_daily"),
+    MONTH("performance_tire_monthly", "gas_records_monthly");
+
+    private final String tableName;
+    private final String gasTableName;
+
+    RollupGranularity(String tableName, String gasTableName) {
+        this.tableName = tableName;
+        this.gasTableName = gasTableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getGasTableName() {
+        return gasTableName;
+    }
+
+    /**
+     * Returns the start of the bucket that contains the given time.
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.icm.tiremanagementapi.models;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket widths accepted by the telemetry series endpoint. Buckets are aligned to the start of the day
+ * in the server time zone, so a 15m bucket always starts at :00, :15, :30 or :45.
+ */
+public enum SeriesBucket {
+    FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+    FIFTEEN_MINUTES("15m", Duration.ofMinutes(15)),
+    HOUR("1h", Duration.ofHours(1)),
+    DAY("1d", Duration.ofDays(1));
+
+    private final String code;
+    private final Duration width;
+
+    SeriesBucket(String code, Duration width) {
+        this.code = code;
+        this.width = width;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Duration getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the start of the bucket that contains the given time.
+     */
+    public LocalDateTime bucketStart(LocalDateTime time) {
+        LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+        if (this == DAY) {
+            return day;
+        }
+        long minutes = width.toMinutes();
+        long minuteOfDay = ChronoUnit.MINUTES.between(day, time);
+        return day.plusMinutes(minuteOfDay - minuteOfDay % minutes);
+    }
+
+    /**
+     * Parses a bucket code such as "15m".
+     *
+     * @throws IllegalArgumentException if the code is not one of 5m, 15m, 1h or 1d.
+     */
+    public static SeriesBucket fromCode(String code) {
+        for (SeriesBucket bucket : values()) {
+            if (bucket.code.equalsIgnoreCase(code)) {
+                return bucket;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported bucket: " + code);
+    }
+}
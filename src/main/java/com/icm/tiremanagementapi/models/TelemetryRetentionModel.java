@@ -0,0 +1,36 @@
+package com.icm.tiremanagementapi.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Retention watermark of a raw telemetry table. Raw rows older than {@code compactedBefore} may have been
+ * deleted: their readings only survive in the rollups, which must therefore never be recomputed from the
+ * raw table below this point.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "telemetry_retention")
+public class TelemetryRetentionModel {
+    /**
+     * Name of the raw table, for example performance_tire.
+     */
+    @Id
+    @Column(name = "table_name", length = 64)
+    private String tableName;
+
+    /**
+     * Start of the first month whose raw rows are still kept.
+     */
+    @Column(name = "compacted_before", nullable = false)
+    private LocalDateTime compactedBefore;
+}
@@ -1,5 +1,6 @@
 package com.icm.tiremanagementapi.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,6 +15,15 @@ import java.time.ZonedDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = "TireModel.details", attributeNodes = {
+        @NamedAttributeNode(value = "positioningModel", subgraph = "positioning"),
+        @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+        @NamedAttributeNode("companyModel")
+}, subgraphs = {
+        @NamedSubgraph(name = "positioning", attributeNodes = @NamedAttributeNode("vehicleType")),
+        @NamedSubgraph(name = "vehicle", attributeNodes = {@NamedAttributeNode("companyModel"), @NamedAttributeNode("vehicleType")})
+})
 @Table(name = "tires")
 public class TireModel {
     /**
@@ -38,21 +48,21 @@ public class TireModel {
     /**
      * Position associated with the tire
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "positioning", nullable = true)
     private PositioningModel positioningModel;
 
     /**
      * Vehicle associated with the tire
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle", nullable = true)
     private VehicleModel vehicleModel;
 
     /**
      * Company associated with the tire
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company", nullable = true)
     private CompanyModel companyModel;
 
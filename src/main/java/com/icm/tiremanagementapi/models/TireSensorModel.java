@@ -1,5 +1,6 @@
 package com.icm.tiremanagementapi.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,6 +19,21 @@ import java.time.ZonedDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = "TireSensorModel.details", attributeNodes = {
+        @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+        @NamedAttributeNode("companyModel"),
+        @NamedAttributeNode(value = "positioning", subgraph = "positioning"),
+        @NamedAttributeNode(value = "tireModel", subgraph = "tire")
+}, subgraphs = {
+        @NamedSubgraph(name = "vehicle", attributeNodes = {@NamedAttributeNode("companyModel"), @NamedAttributeNode("vehicleType")}),
+        @NamedSubgraph(name = "positioning", attributeNodes = @NamedAttributeNode("vehicleType")),
+        @NamedSubgraph(name = "tire", attributeNodes = {
+                @NamedAttributeNode(value = "positioningModel", subgraph = "positioning"),
+                @NamedAttributeNode(value = "vehicleModel", subgraph = "vehicle"),
+                @NamedAttributeNode("companyModel")
+        })
+})
 @Table(name = "tires_sensor")
 public class TireSensorModel {
     /**
@@ -61,14 +77,14 @@ public class TireSensorModel {
     /**
      * Vehicle associated with the sensor
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "vehicle", nullable = true)
     private VehicleModel vehicleModel;
 
     /**
      * Company associated with the tire
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company", nullable = false)
     private CompanyModel companyModel;
 
@@ -81,14 +97,14 @@ public class TireSensorModel {
      * Describes the positioning of the tire on the vehicle,
      * aiding in specific tire management and maintenance tasks.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "positioning", nullable = true)
     private PositioningModel positioning;
 
     /**
      * Tire associated with the sensor
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tire", nullable = true)
     private TireModel tireModel;
 
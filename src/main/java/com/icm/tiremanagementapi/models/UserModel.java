@@ -18,6 +18,10 @@ import java.time.ZonedDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+@NamedEntityGraph(name = "UserModel.details", attributeNodes = {
+        @NamedAttributeNode("role"),
+        @NamedAttributeNode("company")
+})
 @Table(name = "users")
 public class UserModel {
     /**
@@ -66,14 +70,14 @@ public class UserModel {
     /**
      * Defines the user's role within the system, dictating their access rights and permissions.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role", nullable = false)
     private RoleModel role;
 
     /**
      * Company associated with the user
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company", nullable = false)
     private CompanyModel company;
 
@@ -1,5 +1,6 @@
 package com.icm.tiremanagementapi.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,6 +15,11 @@ import java.time.ZonedDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = "VehicleModel.details", attributeNodes = {
+        @NamedAttributeNode("companyModel"),
+        @NamedAttributeNode("vehicleType")
+})
 @Table(name = "vehicle")
 public class VehicleModel {
     /**
@@ -34,7 +40,7 @@ public class VehicleModel {
      * Association to the company that owns or operates the vehicle,
      * establishing vehicle management and accountability.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company", nullable = false)
     private CompanyModel companyModel;
 
@@ -42,7 +48,7 @@ public class VehicleModel {
      * Categorizes the vehicle into a specific type, such as a truck, forklift, etc.,
      * influencing its operational use and maintenance schedules.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "type", nullable = false)
     private VehicleTypeModel vehicleType;
 
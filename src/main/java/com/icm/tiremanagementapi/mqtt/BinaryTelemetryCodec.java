@@ -0,0 +1,100 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Fixed-layout binary format for sensor telemetry, an alternative to JSON for the gateways.
+ * All values are big-endian:
+ * <pre>
+ * header (4 bytes):  magic 0xB7 | version 0x01 | reading count (uint16)
+ * reading (25 bytes): sensor id (int64) | temperature in hundredths (int32) | pressure in hundredths (int32)
+ *                     | battery level (uint8) | timestamp in epoch milliseconds (int64)
+ * </pre>
+ * Temperature and pressure are fixed-point so that a value such as 32.1 decodes to the same double as in JSON;
+ * a float32 would decode as 32.099998 and fail the exact comparisons with the vehicle standards.
+ * The magic byte can never start a JSON document, so both formats can share a topic.
+ */
+public final class BinaryTelemetryCodec {
+    public static final byte MAGIC = (byte) 0xB7;
+    public static final byte VERSION = 1;
+    public static final int HEADER_SIZE = 4;
+    public static final int READING_SIZE = 25;
+    public static final int MAX_READINGS = 0xFFFF;
+
+    /**
+     * Temperature and pressure are stored as round(value * SCALE).
+     */
+    public static final int SCALE = 100;
+
+    private BinaryTelemetryCodec() {
+    }
+
+    /**
+     * Checks whether the payload starts with the binary format magic byte.
+     */
+    public static boolean isBinary(byte[] payload) {
+        return payload.length > 0 && payload[0] == MAGIC;
+    }
+
+    /**
+     * Decodes every reading of a binary payload. The payload is wrapped, not copied.
+     *
+     * @param payload Raw MQTT payload.
+     * @param sink    Receives each decoded reading.
+     * @return The number of decoded readings.
+     * @throws IllegalArgumentException if the header or the payload length is invalid.
+     */
+    public static int decode(byte[] payload, Consumer<TelemetryReading> sink) {
+        if (payload.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Binary telemetry payload is shorter than its header");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        if (buffer.get() != MAGIC) {
+            throw new IllegalArgumentException("Binary telemetry payload has an invalid magic byte");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary telemetry version: " + version);
+        }
+        int count = Short.toUnsignedInt(buffer.getShort());
+        if (payload.length != HEADER_SIZE + count * READING_SIZE) {
+            throw new IllegalArgumentException("Binary telemetry payload length does not match " + count + " readings");
+        }
+        for (int i = 0; i < count; i++) {
+            long sensorId = buffer.getLong();
+            double temperature = buffer.getInt() / (double) SCALE;
+            double pressure = buffer.getInt() / (double) SCALE;
+            int batteryLevel = Byte.toUnsignedInt(buffer.get());
+            long timestamp = buffer.getLong();
+            sink.accept(new TelemetryReading(sensorId, temperature, pressure, batteryLevel, timestamp));
+        }
+        return count;
+    }
+
+    /**
+     * Encodes readings in the binary format. Temperature and pressure are rounded to hundredths and
+     * the battery level to an integer percentage.
+     *
+     * @param readings The readings to encode, at most {@link #MAX_READINGS}.
+     * @return The encoded payload.
+     */
+    public static byte[] encode(List<TelemetryReading> readings) {
+        if (readings.size() > MAX_READINGS) {
+            throw new IllegalArgumentException("A binary telemetry payload holds at most " + MAX_READINGS + " readings");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + readings.size() * READING_SIZE);
+        buffer.put(MAGIC);
+        buffer.put(VERSION);
+        buffer.putShort((short) readings.size());
+        for (TelemetryReading reading : readings) {
+            buffer.putLong(reading.sensorId());
+            buffer.putInt(Math.toIntExact(Math.round(reading.temperature() * SCALE)));
+            buffer.putInt(Math.toIntExact(Math.round(reading.pressure() * SCALE)));
+            buffer.put((byte) Math.max(0, Math.min(100, Math.round(reading.batteryLevel()))));
+            buffer.putLong(reading.timestamp());
+        }
+        return buffer.array();
+    }
+}
@@ -0,0 +1,26 @@
+package com.icm.tiremanagementapi.mqtt;
+
+/**
+ * What the ingest stage does with a reading when the queue of its worker is full.
+ */
+public enum IngestOverloadPolicy {
+    /**
+     * The new reading is rejected and counted.
+     */
+    REJECT,
+    /**
+     * The MQTT callback thread waits until the worker has room, which slows down the broker delivery.
+     */
+    BLOCK,
+    /**
+     * The oldest queued reading of the worker is discarded to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Each sensor has at most one pending reading: a newer reading replaces the pending one, and the
+     * replaced reading goes to the history writer; the replaced readings with the extreme values still go
+     * through irregularity detection. A reading of a sensor without a pending reading is dropped when the
+     * worker already holds as many sensors as its capacity.
+     */
+    CONFLATE
+}
@@ -0,0 +1,209 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Bounded queue of one ingest worker, applying an {@link IngestOverloadPolicy}.
+ * With CONFLATE the pending readings are kept per sensor ID in arrival order of the sensors, together with
+ * the superseded readings that hold the extreme values of each metric, so that irregularity detection still
+ * sees the worst readings of a conflated group; otherwise they are kept in a plain FIFO.
+ */
+final class IngestStripe {
+    enum Outcome {
+        ACCEPTED,
+        CONFLATED,
+        DROPPED_OLDEST,
+        REJECTED
+    }
+
+    /**
+     * Result of an offer; {@code displaced} is the reading that left the queue to make room, if any.
+     */
+    record OfferResult(Outcome outcome, TelemetryReading displaced) {
+        static final OfferResult ACCEPTED = new OfferResult(Outcome.ACCEPTED, null);
+        static final OfferResult REJECTED = new OfferResult(Outcome.REJECTED, null);
+    }
+
+    /**
+     * A reading taken from the queue, with the superseded readings of the same sensor that must still go
+     * through irregularity detection, oldest first; empty unless the policy is CONFLATE.
+     */
+    record Pending(TelemetryReading reading, List<TelemetryReading> superseded) {
+    }
+
+    private final IngestOverloadPolicy policy;
+    private final int capacity;
+    private final ArrayDeque<TelemetryReading> fifo;
+    private final LinkedHashMap<Long, ConflatedReading> latestBySensor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    IngestStripe(IngestOverloadPolicy policy, int capacity) {
+        this.policy = policy;
+        this.capacity = capacity;
+        if (policy == IngestOverloadPolicy.CONFLATE) {
+            this.fifo = null;
+            this.latestBySensor = new LinkedHashMap<>();
+        } else {
+            this.fifo = new ArrayDeque<>(capacity);
+            this.latestBySensor = null;
+        }
+    }
+
+    /**
+     * Adds a reading according to the policy of the stripe.
+     *
+     * @param reading The reading to queue.
+     * @param running Checked while blocked, so a BLOCK offer gives up when the pipeline stops.
+     * @return The outcome and the reading displaced by this offer, if any.
+     */
+    OfferResult offer(TelemetryReading reading, BooleanSupplier running) throws InterruptedException {
+        lock.lock();
+        try {
+            if (policy == IngestOverloadPolicy.CONFLATE) {
+                return offerConflating(reading);
+            }
+            OfferResult result = OfferResult.ACCEPTED;
+            if (fifo.size() >= capacity) {
+                switch (policy) {
+                    case REJECT -> {
+                        return OfferResult.REJECTED;
+                    }
+                    case DROP_OLDEST -> result = new OfferResult(Outcome.DROPPED_OLDEST, fifo.pollFirst());
+                    default -> {
+                        while (fifo.size() >= capacity) {
+                            if (!running.getAsBoolean()) {
+                                return OfferResult.REJECTED;
+                            }
+                            notFull.await(200, TimeUnit.MILLISECONDS);
+                        }
+                    }
+                }
+            }
+            fifo.addLast(reading);
+            notEmpty.signal();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next reading, waiting up to the given time.
+     *
+     * @return The reading, or null if none arrived in time.
+     */
+    Pending poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (size() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            Pending pending;
+            if (latestBySensor != null) {
+                Iterator<Map.Entry<Long, ConflatedReading>> iterator = latestBySensor.entrySet().iterator();
+                ConflatedReading conflated = iterator.next().getValue();
+                iterator.remove();
+                pending = new Pending(conflated.latest, conflated.superseded());
+            } else {
+                pending = new Pending(fifo.pollFirst(), List.of());
+            }
+            notFull.signal();
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return latestBySensor != null ? latestBySensor.size() : fifo.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private OfferResult offerConflating(TelemetryReading reading) {
+        ConflatedReading pending = latestBySensor.get(reading.sensorId());
+        if (pending != null) {
+            if (reading.timestamp() < pending.latest.timestamp()) {
+                // A late reading never overwrites a newer state
+                pending.supersede(reading);
+                return new OfferResult(Outcome.CONFLATED, reading);
+            }
+            // The sensor keeps its position; only its pending value is replaced
+            TelemetryReading displaced = pending.latest;
+            pending.supersede(displaced);
+            pending.latest = reading;
+            return new OfferResult(Outcome.CONFLATED, displaced);
+        }
+        if (latestBySensor.size() >= capacity) {
+            return OfferResult.REJECTED;
+        }
+        latestBySensor.put(reading.sensorId(), new ConflatedReading(reading));
+        notEmpty.signal();
+        return OfferResult.ACCEPTED;
+    }
+
+    /**
+     * Pending reading of a sensor and, among the readings it superseded, those with the lowest battery level,
+     * the lowest and highest pressure and the lowest and highest temperature. Every irregularity condition is a
+     * threshold on one of these, so any condition a superseded reading showed is shown by one of them.
+     */
+    private static final class ConflatedReading {
+        private TelemetryReading latest;
+        private TelemetryReading lowestBattery;
+        private TelemetryReading lowestPressure;
+        private TelemetryReading highestPressure;
+        private TelemetryReading lowestTemperature;
+        private TelemetryReading highestTemperature;
+
+        private ConflatedReading(TelemetryReading latest) {
+            this.latest = latest;
+        }
+
+        private void supersede(TelemetryReading reading) {
+            lowestBattery = lower(lowestBattery, reading, TelemetryReading::batteryLevel);
+            lowestPressure = lower(lowestPressure, reading, TelemetryReading::pressure);
+            highestPressure = lower(highestPressure, reading, r -> -r.pressure());
+            lowestTemperature = lower(lowestTemperature, reading, TelemetryReading::temperature);
+            highestTemperature = lower(highestTemperature, reading, r -> -r.temperature());
+        }
+
+        private List<TelemetryReading> superseded() {
+            if (lowestBattery == null) {
+                return List.of();
+            }
+            return Stream.of(lowestBattery, lowestPressure, highestPressure, lowestTemperature, highestTemperature)
+                    .distinct()
+                    .sorted(Comparator.comparingLong(TelemetryReading::timestamp))
+                    .toList();
+        }
+
+        private static TelemetryReading lower(TelemetryReading current, TelemetryReading candidate, ToDoubleFunction<TelemetryReading> metric) {
+            return current == null || metric.applyAsDouble(candidate) < metric.applyAsDouble(current) ? candidate : current;
+        }
+    }
+}
@@ -25,9 +25,17 @@ public class MqttConfig {
     @Value("${mqtt.topic}")
     private String topic;
 
+    /**
+     * Client ID of the telemetry subscriber; a random one when empty. It must be unique per node: the broker keeps
+     * one session per client ID, so two nodes sharing one would keep taking the connection from each other.
+     */
+    @Value("${mqtt.client-id:}")
+    private String clientId;
+
     /**
      * Creates an MQTT client with connection options configured for the application.
-     * Utilizes the MQTT server URI specified in the application properties.
+     * Utilizes the MQTT server URI and client ID specified in the application properties. The client reconnects
+     * on its own after losing the connection; {@link MqttSubscriber} then subscribes again.
      *
      * @return An instance of MqttClient connected to the MQTT broker.
      * @throws MqttException if there is an issue establishing the connection with the MQTT broker.
@@ -36,8 +44,10 @@ public class MqttConfig {
     public MqttClient mqttClient() throws MqttException {
         MqttConnectOptions options = new MqttConnectOptions();
         options.setServerURIs(new String[]{serverUri});
+        options.setAutomaticReconnect(true);
 
-        MqttClient client = new MqttClient(serverUri, MqttClient.generateClientId(), new MemoryPersistence());
+        String id = clientId == null || clientId.isBlank() ? MqttClient.generateClientId() : clientId;
+        MqttClient client = new MqttClient(serverUri, id, new MemoryPersistence());
         try {
             client.connect(options);
         } catch (MqttException e) {
@@ -0,0 +1,22 @@
+package com.icm.tiremanagementapi.mqtt;
+
+/**
+ * How the telemetry stream is split between the API nodes that subscribe to the same topics.
+ * <p>
+ * Irregularity suppression, write-behind ordering and conflation, the recent readings ring and the live
+ * streams keep per-sensor state in memory, so every reading of a sensor must be processed by the same node.
+ * Broker-side shared subscriptions deliver each message to any node of the group and would split a sensor's
+ * readings, so the stream is split by sensor ID instead.
+ */
+public enum MqttConsumptionMode {
+    /**
+     * The node processes every reading. Only suitable for a single node.
+     */
+    ALL,
+    /**
+     * Every node receives every message but only processes the readings whose sensor ID hashes to its
+     * partition index, so each sensor is always handled by the same node and the N nodes process disjoint
+     * slices of the stream.
+     */
+    PARTITIONED
+}
@@ -1,63 +1,232 @@
 package com.icm.tiremanagementapi.mqtt;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.icm.tiremanagementapi.models.TireSensorModel;
-import com.icm.tiremanagementapi.services.TireSensorService;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.MqttSubscriptionStatsDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.eclipse.paho.client.mqttv3.IMqttClient;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
 import org.eclipse.paho.client.mqttv3.IMqttMessageListener;
+import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
 import org.eclipse.paho.client.mqttv3.MqttException;
 import org.eclipse.paho.client.mqttv3.MqttMessage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Component responsible for subscribing to MQTT topics and processing received messages.
  * Utilizes the Paho MQTT client library for MQTT communication.
+ * The topics in {@code mqtt.topics} are subscribed once the application is ready, and again whenever the
+ * client reconnects after losing the connection.
+ * <p>
+ * Several API nodes split the stream by sensor ID as described in {@link MqttConsumptionMode}: readings of
+ * sensors owned by another node are dropped before they reach the ingest pipeline, so no per-sensor state
+ * is ever created for them. The in-memory views fed by the ingest ({@code /api/tireSensor/recent} and the
+ * live streams) therefore only cover the sensors of the node that serves the request.
  */
 @Component
+@Slf4j
 public class MqttSubscriber {
 
     @Autowired
-    private TireSensorService tireSensorService;
+    private TelemetryIngestPipeline telemetryIngestPipeline;
+    @Autowired
+    private TelemetryDecoder telemetryDecoder;
     @Autowired
     private IMqttClient mqttClient;
 
+    /**
+     * Topic filters to subscribe to, for example {@code tires/+/telemetry} for every company.
+     */
+    @Value("${mqtt.topics:${mqtt.topic}}")
+    private String[] topics;
+
+    @Value("${mqtt.consumption.mode:ALL}")
+    private MqttConsumptionMode mode;
+
+    @Value("${mqtt.consumption.partition-count:1}")
+    private int partitionCount;
+
+    @Value("${mqtt.consumption.partition-index:0}")
+    private int partitionIndex;
+
+    /**
+     * Only one of every N received payloads is logged, and only when DEBUG is enabled.
+     */
+    @Value("${mqtt.log.sample-rate:1000}")
+    private long logSampleRate;
+
+    /**
+     * Topics ending with this suffix carry the binary format described in {@link BinaryTelemetryCodec}.
+     */
+    @Value("${mqtt.binary-topic-suffix:/bin}")
+    private String binaryTopicSuffix;
+
+    private final AtomicLong receivedMessages = new AtomicLong();
+    private final LongAdder acceptedReadings = new LongAdder();
+    private final LongAdder skippedReadings = new LongAdder();
+    private final LongAdder reconnections = new LongAdder();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void validate() {
+        if (mode == MqttConsumptionMode.PARTITIONED && (partitionCount < 1 || partitionIndex < 0 || partitionIndex >= partitionCount)) {
+            throw new IllegalStateException("mqtt.consumption.partition-index must be between 0 and partition-count - 1");
+        }
+    }
+
+    /**
+     * Subscribes to every configured topic once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeToConfiguredTopics() {
+        mqttClient.setCallback(new MqttCallbackExtended() {
+            @Override
+            public void connectionLost(Throwable cause) {
+                log.error("Conexión MQTT perdida ({}); reconectando: {}", mqttClient.getClientId(), cause.getMessage());
+            }
+
+            @Override
+            public void connectComplete(boolean reconnect, String serverURI) {
+                if (reconnect) {
+                    // The broker dropped the subscriptions together with the clean session; subscribing blocks,
+                    // so it is not done on the callback thread
+                    Thread resubscriber = new Thread(MqttSubscriber.this::resubscribe, "mqtt-resubscribe");
+                    resubscriber.setDaemon(true);
+                    resubscriber.start();
+                }
+            }
+
+            @Override
+            public void messageArrived(String topic, MqttMessage message) {
+                // Messages are delivered to the listener of each subscription
+            }
+
+            @Override
+            public void deliveryComplete(IMqttDeliveryToken token) {
+            }
+        });
+        for (String topic : topics) {
+            if (!topic.isBlank()) {
+                subscribeToTopic(topic.trim());
+            }
+        }
+        log.info("MQTT subscriptions ({}, {}): {}", mqttClient.getClientId(), mode, filters());
+    }
+
     /**
      * Subscribes to a specified MQTT topic and defines how messages received on that topic are processed.
+     * The binary variant of the topic (topic + binary suffix) is subscribed with the same listener, unless
+     * the topic ends with the multi-level wildcard, which already matches it.
      *
-     * @param topic The MQTT topic to subscribe to.
+     * @param topic The MQTT topic or topic filter to subscribe to.
      */
     public void subscribeToTopic(String topic) {
         try {
             /// Subscription to the given MQTT topic
-            mqttClient.subscribe(topic, new IMqttMessageListener() {
+            IMqttMessageListener listener = new IMqttMessageListener() {
                 @Override
-                public void messageArrived(String topic, MqttMessage message) throws Exception {
-                    // Convert message payload to string
-                    String payload = new String(message.getPayload());
-                    System.out.println("Mensaje MQTT recibido en el tema " + topic + ": " + payload);
-
-                    // Attempt to deserialize the message payload into a TireModel object
-                    ObjectMapper objectMapper = new ObjectMapper();
+                public void messageArrived(String topic, MqttMessage message) {
+                    byte[] payload = message.getPayload();
+                    long received = receivedMessages.getAndIncrement();
+                    // The payload is only turned into a String when the sampled message is actually logged
+                    if (log.isDebugEnabled() && received % logSampleRate == 0) {
+                        log.debug("Mensaje MQTT recibido en el tema {}: {}", topic, new String(payload, StandardCharsets.UTF_8));
+                    }
 
                     try {
-                        TireSensorModel tireModel = objectMapper.readValue(payload, TireSensorModel.class);
-                        // Extract necessary properties from the TireModel object
-                        // Long idvehicle = tireModel.getVehicleModel().getId();
-                        Long idtire = tireModel.getId();
-                        // Update tire properties based on the received message
-                        tireSensorService.updateProperties(tireModel.getTemperature(), tireModel.getPressure(), tireModel.getBatteryLevel().intValue(), idtire);
-                    } catch (JsonProcessingException e) {
-                        // Handle JSON parsing errors
-                        System.err.println("Error al deserializar el JSON: " + e.getMessage());
+                        // Decode straight from the payload bytes and hand the readings over to the ingest workers
+                        if (topic.endsWith(binaryTopicSuffix) || BinaryTelemetryCodec.isBinary(payload)) {
+                            BinaryTelemetryCodec.decode(payload, MqttSubscriber.this::accept);
+                        } else {
+                            telemetryDecoder.decode(payload, System.currentTimeMillis(), MqttSubscriber.this::accept);
+                        }
+                    } catch (IOException | IllegalArgumentException e) {
+                        // Handle payload parsing errors
+                        log.warn("Error al decodificar el mensaje del tema {}: {}", topic, e.getMessage());
                     }
                 }
-            });
+            };
+            for (String filter : subscriptionFilters(topic)) {
+                mqttClient.subscribe(filter, listener);
+                subscriptions.add(new Subscription(filter, listener));
+            }
         } catch (MqttException e) {
             // Handle exceptions related to MQTT subscription
-            e.printStackTrace();
+            log.error("Error al suscribirse al tema {}: {}", topic, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the filters actually sent to the broker for a configured topic.
+     *
+     * @param topic The configured topic or topic filter.
+     * @return The plain topic and its binary variant.
+     */
+    public List<String> subscriptionFilters(String topic) {
+        List<String> filters = new ArrayList<>(2);
+        filters.add(topic);
+        if (!topic.endsWith("#")) {
+            filters.add(topic + binaryTopicSuffix);
         }
+        return filters;
+    }
+
+    /**
+     * Checks whether this node processes the readings of a sensor. Always true unless the
+     * consumption mode is PARTITIONED.
+     *
+     * @param sensorId The ID of the sensor.
+     * @return true if the sensor belongs to the partition of this node.
+     */
+    public boolean ownsSensor(long sensorId) {
+        return mode != MqttConsumptionMode.PARTITIONED
+                || Math.floorMod(Long.hashCode(sensorId), partitionCount) == partitionIndex;
+    }
+
+    public MqttSubscriptionStatsDTO getStats() {
+        return new MqttSubscriptionStatsDTO(mode.name(), mqttClient.getClientId(), mqttClient.isConnected(),
+                reconnections.sum(), filters(), partitionCount, partitionIndex,
+                receivedMessages.get(), acceptedReadings.sum(), skippedReadings.sum());
+    }
+
+    private void resubscribe() {
+        for (Subscription subscription : subscriptions) {
+            try {
+                mqttClient.subscribe(subscription.filter(), subscription.listener());
+            } catch (MqttException e) {
+                log.error("Error al volver a suscribirse al tema {}: {}", subscription.filter(), e.getMessage());
+            }
+        }
+        reconnections.increment();
+        log.info("MQTT reconectado ({}), suscripciones restablecidas: {}", mqttClient.getClientId(), filters());
+    }
+
+    private List<String> filters() {
+        return subscriptions.stream().map(Subscription::filter).toList();
+    }
+
+    private void accept(TelemetryReading reading) {
+        // Other nodes own this sensor: drop it before any per-sensor state is touched
+        if (!ownsSensor(reading.sensorId())) {
+            skippedReadings.increment();
+            return;
+        }
+        acceptedReadings.increment();
+        telemetryIngestPipeline.submit(reading);
+    }
+
+    private record Subscription(String filter, IMqttMessageListener listener) {
     }
 
     /**
@@ -0,0 +1,93 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Decodes MQTT telemetry payloads into {@link TelemetryReading} instances.
+ * The JSON is read with a streaming parser straight from the payload bytes, so no intermediate
+ * String, ObjectMapper or JPA entity is created per message. The payload may hold a single reading
+ * object or an array of them; unknown fields (for example a nested vehicle) are skipped.
+ */
+@Component
+public class TelemetryDecoder {
+    /**
+     * JsonFactory is thread-safe and reused by every MQTT message.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Decodes every reading contained in the payload.
+     *
+     * @param payload    Raw MQTT payload.
+     * @param receivedAt Timestamp used for readings that do not carry their own.
+     * @param sink       Receives each decoded reading.
+     * @return The number of decoded readings.
+     * @throws IOException if the payload is not valid JSON or a reading lacks a required field.
+     */
+    public int decode(byte[] payload, long receivedAt, Consumer<TelemetryReading> sink) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                sink.accept(readReading(parser, receivedAt));
+                return 1;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a reading object or an array of readings");
+            }
+            int count = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                sink.accept(readReading(parser, receivedAt));
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private TelemetryReading readReading(JsonParser parser, long receivedAt) throws IOException {
+        long sensorId = 0;
+        double temperature = 0;
+        double pressure = 0;
+        double batteryLevel = 0;
+        long timestamp = receivedAt;
+        int found = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> {
+                    sensorId = parser.getValueAsLong();
+                    found |= 1;
+                }
+                case "temperature" -> {
+                    temperature = parser.getValueAsDouble();
+                    found |= 2;
+                }
+                case "pressure" -> {
+                    pressure = parser.getValueAsDouble();
+                    found |= 4;
+                }
+                case "batteryLevel" -> {
+                    batteryLevel = parser.getValueAsDouble();
+                    found |= 8;
+                }
+                case "timestamp" -> timestamp = parser.getValueAsLong();
+                default -> parser.skipChildren();
+            }
+        }
+        if (found != 15) {
+            throw new JsonParseException(parser, "Reading requires id, temperature, pressure and batteryLevel");
+        }
+        return new TelemetryReading(sensorId, temperature, pressure, batteryLevel, timestamp);
+    }
+}
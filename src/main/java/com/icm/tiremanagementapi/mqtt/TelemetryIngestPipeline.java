@@ -0,0 +1,191 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.IngestStatsDTO;
+import com.icm.tiremanagementapi.services.PerformanceTireWriter;
+import com.icm.tiremanagementapi.services.RecentReadingsBuffer;
+import com.icm.tiremanagementapi.services.TireSensorService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ingest stage placed between the MQTT callback thread and the database.
+ * The callback only enqueues decoded readings; a fixed pool of workers drains them and runs
+ * {@link TireSensorService#processReading}. Each worker owns a bounded queue and readings are
+ * routed by sensor ID, so readings of the same sensor are always processed in arrival order.
+ * What happens when a queue is full is set by {@code mqtt.ingest.overload-policy}, see {@link IngestOverloadPolicy}.
+ */
+@Component
+@Slf4j
+public class TelemetryIngestPipeline {
+    @Autowired
+    private TireSensorService tireSensorService;
+
+    @Autowired
+    private PerformanceTireWriter performanceTireWriter;
+
+    @Autowired
+    private RecentReadingsBuffer recentReadingsBuffer;
+
+    @Value("${mqtt.ingest.workers:4}")
+    private int workers;
+
+    @Value("${mqtt.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${mqtt.ingest.overload-policy:REJECT}")
+    private IngestOverloadPolicy overloadPolicy;
+
+    private final List<IngestStripe> queues = new ArrayList<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Latest rate sample, replaced as a whole by {@link #sampleRates()}; readers never change it.
+     */
+    private volatile RateSample rateSample = new RateSample(System.nanoTime(), 0, 0, 0, 0);
+
+    @PostConstruct
+    public void start() {
+        int stripeCapacity = Math.max(1, queueCapacity / workers);
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            IngestStripe queue = new IngestStripe(overloadPolicy, stripeCapacity);
+            queues.add(queue);
+            Thread worker = new Thread(() -> drain(queue), "telemetry-ingest-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workerThreads.add(worker);
+        }
+        log.info("Telemetry ingest started with {} workers, a queue capacity of {} and overload policy {}",
+                workers, stripeCapacity * workers, overloadPolicy);
+    }
+
+    /**
+     * Enqueues a reading. Only the BLOCK policy may make the caller wait.
+     *
+     * @param reading The decoded sensor reading.
+     * @return true if the reading was queued or conflated, false if it was rejected.
+     */
+    public boolean submit(TelemetryReading reading) {
+        IngestStripe.OfferResult result;
+        try {
+            result = queues.get(stripeFor(reading.sensorId())).offer(reading, () -> running);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = IngestStripe.OfferResult.REJECTED;
+        }
+        switch (result.outcome()) {
+            case ACCEPTED -> enqueued.increment();
+            case CONFLATED -> {
+                enqueued.increment();
+                conflated.increment();
+                // The superseded value no longer reaches tires_sensor but is still part of the history; if it is among the
+                // worst of its sensor's pending group, the worker also runs it through irregularity detection
+                performanceTireWriter.enqueue(result.displaced());
+                recentReadingsBuffer.recordIfPresent(result.displaced());
+            }
+            case DROPPED_OLDEST -> {
+                enqueued.increment();
+                dropped.increment();
+            }
+            case REJECTED -> {
+                rejected.increment();
+                log.debug("Telemetry queue full, reading of sensor {} rejected", reading.sensorId());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the enqueue and drain rates over the last {@code mqtt.ingest.rate-interval-ms}. Only the scheduler
+     * calls it, so the rates do not depend on how often or by how many clients the statistics are read.
+     */
+    @Scheduled(fixedRateString = "${mqtt.ingest.rate-interval-ms:10000}")
+    public void sampleRates() {
+        RateSample previous = rateSample;
+        long now = System.nanoTime();
+        long totalEnqueued = enqueued.sum();
+        long totalDrained = drained.sum();
+        double seconds = Math.max((now - previous.nanoTime()) / 1_000_000_000.0, 0.001);
+        rateSample = new RateSample(now, totalEnqueued, totalDrained,
+                (totalEnqueued - previous.enqueued()) / seconds, (totalDrained - previous.drained()) / seconds);
+    }
+
+    /**
+     * Returns the counters of the ingest stage. Rates are those of the latest completed sampling interval.
+     */
+    public IngestStatsDTO getStats() {
+        RateSample rates = rateSample;
+        int depth = 0;
+        int capacity = 0;
+        for (IngestStripe queue : queues) {
+            depth += queue.size();
+            capacity += queue.capacity();
+        }
+        return new IngestStatsDTO(workers, capacity, depth, overloadPolicy.name(), enqueued.sum(), drained.sum(),
+                rejected.sum(), conflated.sum(), dropped.sum(), failed.sum(), rates.enqueueRate(), rates.drainRate());
+    }
+
+    /**
+     * Stops accepting work and lets the workers finish the readings already queued.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workerThreads) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private int stripeFor(long sensorId) {
+        return Math.floorMod(Long.hashCode(sensorId), queues.size());
+    }
+
+    private void drain(IngestStripe queue) {
+        while (running || queue.size() > 0) {
+            IngestStripe.Pending pending;
+            try {
+                pending = queue.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (pending == null) {
+                continue;
+            }
+            TelemetryReading reading = pending.reading();
+            try {
+                // The worst readings superseded by conflation still raise their irregularities, before the latest one
+                for (TelemetryReading superseded : pending.superseded()) {
+                    tireSensorService.detectIrregularities(superseded);
+                }
+                tireSensorService.processReading(reading);
+                drained.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Could not process reading of sensor {}: {}", reading.sensorId(), e.getMessage());
+            }
+        }
+    }
+
+    private record RateSample(long nanoTime, long enqueued, long drained, double enqueueRate, double drainRate) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.icm.tiremanagementapi.mqtt;
+
+/**
+ * Immutable reading received from a tire sensor through MQTT.
+ * Only carries the values needed by the ingest stage, so no JPA entity is created per message.
+ *
+ * @param sensorId     ID of the tire sensor that produced the reading.
+ * @param temperature  Tire temperature in degrees Celsius.
+ * @param pressure     Tire pressure in psi.
+ * @param batteryLevel Battery level of the sensor, expressed as a percentage.
+ * @param timestamp    Time of the reading in epoch milliseconds.
+ */
+public record TelemetryReading(long sensorId, double temperature, double pressure, double batteryLevel, long timestamp) {
+}
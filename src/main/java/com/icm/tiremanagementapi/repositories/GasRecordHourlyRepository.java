@@ -0,0 +1,19 @@
+package com.icm.tiremanagementapi.repositories;
+
+import com.icm.tiremanagementapi.models.GasRecordHourlyModel;
+import com.icm.tiremanagementapi.models.GasRecordRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface GasRecordHourlyRepository extends JpaRepository<GasRecordHourlyModel, GasRecordRollupId> {
+    @Query("SELECT r FROM GasRecordHourlyModel r " +
+            "WHERE r.id.vehicleId = :vehicleId AND r.id.bucketStart >= :from AND r.id.bucketStart < :to " +
+            "ORDER BY r.id.bucketStart")
+    List<GasRecordHourlyModel> findByVehicleIdAndRange(@Param("vehicleId") Long vehicleId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -17,7 +17,7 @@ public interface GasRecordRepository extends JpaRepository<GasRecordModel, Long>
     Page<GasRecordModel> findByVehicleModelIdOrderByDayDescHourDesc(Long id, Pageable pageable);
 
     /**
-     * Methods for statistics
+     * Methods for statistics. Days are filtered with half-open ranges so that the (vehicle, day, hour) index is used.
      */
     @Query("SELECT HOUR(g.hour) as hour, AVG(g.pressure) as avgPressure " +
             "FROM GasRecordModel g " +
@@ -28,17 +28,17 @@ public interface GasRecordRepository extends JpaRepository<GasRecordModel, Long>
 
     @Query("SELECT g.day as day, AVG(g.pressure) as avgPressure " +
             "FROM GasRecordModel g " +
-            "WHERE g.vehicleModel.id = :vehicleId AND YEAR(g.day) = :year AND MONTH(g.day) = :month " +
+            "WHERE g.vehicleModel.id = :vehicleId AND g.day >= :from AND g.day < :to " +
             "GROUP BY g.day " +
             "ORDER BY g.day")
-    List<Object[]> findDailyAveragesByVehicleIdAndMonth(@Param("vehicleId") Long vehicleId, @Param("year") int year, @Param("month") int month);
+    List<Object[]> findDailyAveragesByVehicleIdAndRange(@Param("vehicleId") Long vehicleId, @Param("from") LocalDate from, @Param("to") LocalDate to);
 
     @Query("SELECT MONTH(g.day) as month, AVG(g.pressure) as avgPressure " +
             "FROM GasRecordModel g " +
-            "WHERE g.vehicleModel.id = :vehicleId AND YEAR(g.day) = :year " +
+            "WHERE g.vehicleModel.id = :vehicleId AND g.day >= :from AND g.day < :to " +
             "GROUP BY MONTH(g.day) " +
             "ORDER BY MONTH(g.day)")
-    List<Object[]> findMonthlyAveragesByVehicleIdAndYear(@Param("vehicleId") Long vehicleId, @Param("year") int year);
+    List<Object[]> findMonthlyAveragesByVehicleIdAndRange(@Param("vehicleId") Long vehicleId, @Param("from") LocalDate from, @Param("to") LocalDate to);
 
     @Query("SELECT YEAR(g.day) as year, AVG(g.pressure) as avgPressure " +
             "FROM GasRecordModel g " +
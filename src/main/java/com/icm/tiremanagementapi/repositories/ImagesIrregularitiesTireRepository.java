@@ -1,6 +1,7 @@
 package com.icm.tiremanagementapi.repositories;
 
 import com.icm.tiremanagementapi.models.ImagesIrregularitiesTireModel;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,7 +10,17 @@ import java.util.Optional;
 
 @Repository
 public interface ImagesIrregularitiesTireRepository extends JpaRepository<ImagesIrregularitiesTireModel, Long> {
+    @Override
+    @EntityGraph("ImagesIrregularitiesTireModel.details")
+    List<ImagesIrregularitiesTireModel> findAll();
+
+    @Override
+    @EntityGraph("ImagesIrregularitiesTireModel.details")
+    Optional<ImagesIrregularitiesTireModel> findById(Long id);
+
+    @EntityGraph("ImagesIrregularitiesTireModel.details")
     List<ImagesIrregularitiesTireModel> findByIrregularitiesTireModelId(Long id);
 
+    @EntityGraph("ImagesIrregularitiesTireModel.details")
     Optional<ImagesIrregularitiesTireModel> findByImageNameAndIrregularitiesTireModelId(String imageName, Long id);
 }
\ No newline at end of file
@@ -1,23 +1,67 @@
 package com.icm.tiremanagementapi.repositories;
 
+import com.icm.tiremanagementapi.dto.SummaryDTO.IrregularitySummaryDTO;
 import com.icm.tiremanagementapi.models.IrregularitiesTireModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * The vehicle, sensor and tire of the irregularities returned by the API are loaded with the
+ * {@code IrregularitiesTireModel.details} graph in the same query; the summary queries read only the columns of
+ * {@link IrregularitySummaryDTO}.
+ */
 @Repository
 public interface IrregularitiesTireRepository extends JpaRepository<IrregularitiesTireModel, Long> {
+    @Override
+    @EntityGraph("IrregularitiesTireModel.details")
+    Page<IrregularitiesTireModel> findAll(Pageable pageable);
+
+    @EntityGraph("IrregularitiesTireModel.details")
+    Optional<IrregularitiesTireModel> findWithDetailsById(Long id);
+
+    @EntityGraph("IrregularitiesTireModel.details")
     Page<IrregularitiesTireModel> findByCompanyId(Long companyId, Pageable pageable);
 
+    @EntityGraph("IrregularitiesTireModel.details")
     List<IrregularitiesTireModel> findByCompanyIdAndVehicleModelId(Long companyId, Long vehicleId);
 
+    @EntityGraph("IrregularitiesTireModel.details")
     Page<IrregularitiesTireModel> findByCompanyIdAndVehicleModelId(Long companyId, Long vehicleId, Pageable pageable);
 
+    @EntityGraph("IrregularitiesTireModel.details")
     Page<IrregularitiesTireModel> findByVehicleModelIdOrderByCreatedAtDesc(Long vehicleModelId, Pageable pageable);
 
+    @Query(value = "SELECT new com.icm.tiremanagementapi.dto.SummaryDTO.IrregularitySummaryDTO(" +
+            "i.id, i.nameIrregularity, i.detailsIrregularity, i.status, i.recordedTemperature, i.recordedPressure, " +
+            "i.recordedBatteryLevel, v.id, v.placa, s.id, s.identificationCode, t.id, i.createdAt) " +
+            "FROM IrregularitiesTireModel i JOIN i.tireSensorModel s LEFT JOIN i.vehicleModel v LEFT JOIN i.tireModel t " +
+            "WHERE i.company.id = :companyId",
+            countQuery = "SELECT COUNT(i) FROM IrregularitiesTireModel i WHERE i.company.id = :companyId")
+    Page<IrregularitySummaryDTO> findSummariesByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
+
     List<IrregularitiesTireModel> findByNameIrregularityAndTireSensorModelIdAndCreatedAtGreaterThanEqual(String name, Long tireId, ZonedDateTime startTime);
+
+    /**
+     * Sensor ID, name and creation time of every irregularity created since the given time.
+     * Used to seed the irregularity suppression state at startup.
+     */
+    @Query("SELECT i.tireSensorModel.id, i.nameIrregularity, i.createdAt FROM IrregularitiesTireModel i "
+            + "WHERE i.createdAt >= :since")
+    List<Object[]> findRecentRaisedConditions(@Param("since") ZonedDateTime since);
+
+    /**
+     * Name and creation time of the irregularities of one sensor created since the given time.
+     */
+    @Query("SELECT i.nameIrregularity, i.createdAt FROM IrregularitiesTireModel i "
+            + "WHERE i.tireSensorModel.id = :sensorId AND i.createdAt >= :since")
+    List<Object[]> findRecentRaisedConditionsBySensorId(@Param("sensorId") Long sensorId, @Param("since") ZonedDateTime since);
 }
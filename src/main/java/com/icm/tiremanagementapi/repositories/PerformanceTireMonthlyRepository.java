@@ -0,0 +1,19 @@
+package com.icm.tiremanagementapi.repositories;
+
+import com.icm.tiremanagementapi.models.PerformanceTireMonthlyModel;
+import com.icm.tiremanagementapi.models.PerformanceTireRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PerformanceTireMonthlyRepository extends JpaRepository<PerformanceTireMonthlyModel, PerformanceTireRollupId> {
+    @Query("SELECT r FROM PerformanceTireMonthlyModel r " +
+            "WHERE r.id.sensorId = :tireId AND r.id.bucketStart >= :from AND r.id.bucketStart < :to " +
+            "ORDER BY r.id.bucketStart")
+    List<PerformanceTireMonthlyModel> findBySensorIdAndRange(@Param("tireId") Long tireId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -6,30 +6,35 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 
+/**
+ * Statistics queries filter on half-open createdAt ranges so that MySQL can use the
+ * (sensor, createdAt) index instead of evaluating date functions on every row of the sensor.
+ */
 @Repository
 public interface PerformanceTireRepository extends JpaRepository<PerformanceTireModel, Long> {
     @Query("SELECT HOUR(p.createdAt) as hour, AVG(p.temperature) as avgTemperature, AVG(p.pressure) as avgPressure, AVG(p.batteryLevel) as avgBatteryLevel " +
             "FROM PerformanceTireModel p " +
-            "WHERE p.tireSensorModel.id = :tireId AND YEAR(p.createdAt) = :year AND MONTH(p.createdAt) = :month AND DAY(p.createdAt) = :day " +
+            "WHERE p.tireSensorModel.id = :tireId AND p.createdAt >= :from AND p.createdAt < :to " +
             "GROUP BY HOUR(p.createdAt) " +
             "ORDER BY HOUR(p.createdAt)")
-    List<Object[]> findHourlyAveragesBySensorIdAndDate(@Param("tireId") Long tireId, @Param("year") int year, @Param("month") int month, @Param("day") int day);
+    List<Object[]> findHourlyAveragesBySensorIdAndRange(@Param("tireId") Long tireId, @Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
 
     @Query("SELECT DAY(p.createdAt) as day, MONTH(p.createdAt) as month, AVG(p.temperature) as avgTemperature, AVG(p.pressure) as avgPressure, AVG(p.batteryLevel) as avgBatteryLevel " +
             "FROM PerformanceTireModel p " +
-            "WHERE p.tireSensorModel.id = :tireId AND YEAR(p.createdAt) = :year AND MONTH(p.createdAt) = :month " +
-            "GROUP BY DAY(p.createdAt) " +
+            "WHERE p.tireSensorModel.id = :tireId AND p.createdAt >= :from AND p.createdAt < :to " +
+            "GROUP BY DAY(p.createdAt), MONTH(p.createdAt) " +
             "ORDER BY DAY(p.createdAt)")
-    List<Object[]> findDailyAveragesBySensorIdAndMonth(@Param("tireId") Long tireId, @Param("year") int year, @Param("month") int month);
+    List<Object[]> findDailyAveragesBySensorIdAndRange(@Param("tireId") Long tireId, @Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
 
     @Query("SELECT MONTH(p.createdAt) as month, AVG(p.temperature) as avgTemperature, AVG(p.pressure) as avgPressure, AVG(p.batteryLevel) as avgBatteryLevel " +
             "FROM PerformanceTireModel p " +
-            "WHERE p.tireSensorModel.id = :tireId AND YEAR(p.createdAt) = :year " +
+            "WHERE p.tireSensorModel.id = :tireId AND p.createdAt >= :from AND p.createdAt < :to " +
             "GROUP BY MONTH(p.createdAt) " +
             "ORDER BY MONTH(p.createdAt)")
-    List<Object[]> findMonthlyAveragesBySensorIdAndYear(@Param("tireId") Long tireId, @Param("year") int year);
+    List<Object[]> findMonthlyAveragesBySensorIdAndRange(@Param("tireId") Long tireId, @Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
 
     @Query("SELECT YEAR(p.createdAt) AS year, AVG(p.temperature) AS avgTemperature, AVG(p.pressure) AS avgPressure, AVG(p.batteryLevel) AS avgBatteryLevel " +
             "FROM PerformanceTireModel p " +
@@ -1,11 +1,19 @@
 package com.icm.tiremanagementapi.repositories;
 
 import com.icm.tiremanagementapi.models.PositioningModel;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface PositioningRepository extends JpaRepository<PositioningModel, Long> {
+    @Override
+    @EntityGraph("PositioningModel.details")
+    List<PositioningModel> findAll();
+
+    @EntityGraph("PositioningModel.details")
     List<PositioningModel> findByVehicleTypeId(Long vehicleTypeId);
+
+    @EntityGraph("PositioningModel.details")
     PositioningModel findByLocationCode(String locationCode);
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.icm.tiremanagementapi.repositories;
+
+import com.icm.tiremanagementapi.models.TelemetryRetentionModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TelemetryRetentionRepository extends JpaRepository<TelemetryRetentionModel, String> {
+}
@@ -4,25 +4,44 @@ import com.icm.tiremanagementapi.models.TireModel;
 import com.icm.tiremanagementapi.models.TireStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * The position, vehicle and company of the tires returned by the API are loaded with the {@code TireModel.details}
+ * graph in the same query.
+ */
 @Repository
 public interface TireRepository extends JpaRepository<TireModel, Long> {
+    @Override
+    @EntityGraph("TireModel.details")
+    List<TireModel> findAll();
+
+    @EntityGraph("TireModel.details")
+    Optional<TireModel> findWithDetailsById(Long id);
+
+    @EntityGraph("TireModel.details")
     Optional<TireModel> findByVehicleModelIdAndPositioningModelId(Long vehicleId, Long positioningId);
 
+    @EntityGraph("TireModel.details")
     Optional<TireModel> findByCodnameAndCompanyModelIdAndStatus(String codname, Long companyModelId, TireStatus status);
 
+    @EntityGraph("TireModel.details")
     List<TireModel> findByStatus(TireStatus status);
 
+    @EntityGraph("TireModel.details")
     List<TireModel> findByCompanyModelIdAndStatus(Long company, Boolean status);
 
+    @EntityGraph("TireModel.details")
     Page<TireModel> findByVehicleModelId(Long vehicle, Pageable pageable);
 
+    @EntityGraph("TireModel.details")
     Page<TireModel> findByCompanyModelId(Long companyId, Pageable pageable);
 
+    @EntityGraph("TireModel.details")
     Page<TireModel> findByVehicleModelIdAndStatus(Long vehicle, Boolean status, Pageable pageable);
 }
@@ -1,31 +1,79 @@
 package com.icm.tiremanagementapi.repositories;
 
+import com.icm.tiremanagementapi.dto.SummaryDTO.TireSensorSummaryDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO;
 import com.icm.tiremanagementapi.models.TireSensorModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Associations of the sensor are lazy; the finders whose results are returned by the API load the whole
+ * {@code TireSensorModel.details} graph in the same query, so a list costs one statement (two for a page)
+ * whatever its size. The summary queries read only the columns of {@link TireSensorSummaryDTO}.
+ */
 @Repository
 public interface TireSensorRepository extends JpaRepository<TireSensorModel, Long> {
+    String SUMMARY_SELECT = "SELECT new com.icm.tiremanagementapi.dto.SummaryDTO.TireSensorSummaryDTO(" +
+            "s.id, s.identificationCode, s.temperature, s.pressure, s.batteryLevel, s.status, s.companyModel.id, " +
+            "v.id, v.placa, p.id, p.locationCode, t.id, t.codname, s.updatedAt) " +
+            "FROM TireSensorModel s LEFT JOIN s.vehicleModel v LEFT JOIN s.positioning p LEFT JOIN s.tireModel t ";
+
+    @Override
+    @EntityGraph("TireSensorModel.details")
+    List<TireSensorModel> findAll();
+
+    @EntityGraph("TireSensorModel.details")
+    Optional<TireSensorModel> findWithDetailsById(Long id);
+
+    @EntityGraph("TireSensorModel.details")
     Optional<TireSensorModel> findByIdentificationCode(String code);
 
+    @EntityGraph("TireSensorModel.details")
     Optional<TireSensorModel> findByVehicleModelIdAndPositioningId(Long vehicle, Long positioning);
 
+    @EntityGraph("TireSensorModel.details")
     Optional<TireSensorModel> findByIdAndCompanyModelIdAndStatus(Long id, Long companyModelId, Boolean status);
 
+    @EntityGraph("TireSensorModel.details")
     List<TireSensorModel> findByCompanyModelIdAndStatus(Long company, Boolean status);
 
+    @EntityGraph("TireSensorModel.details")
     List<TireSensorModel> findByVehicleModelIdAndPositioningLocationCode(Long vehicle, String positioning);
 
+    @EntityGraph("TireSensorModel.details")
     List<TireSensorModel> findByVehicleModelId(Long vehicle);
 
+    @EntityGraph("TireSensorModel.details")
     Page<TireSensorModel> findByVehicleModelId(Long vehicle, Pageable pageable);
 
+    @EntityGraph("TireSensorModel.details")
     Page<TireSensorModel> findByCompanyModelId(Long companyId, Pageable pageable);
 
+    @EntityGraph("TireSensorModel.details")
     Page<TireSensorModel> findByVehicleModelIdAndStatus(Long vehicle, Boolean status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "ORDER BY s.id")
+    List<TireSensorSummaryDTO> findAllSummaries();
+
+    @Query(value = SUMMARY_SELECT + "WHERE s.companyModel.id = :companyId",
+            countQuery = "SELECT COUNT(s) FROM TireSensorModel s WHERE s.companyModel.id = :companyId")
+    Page<TireSensorSummaryDTO> findSummariesByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
+
+    /**
+     * Loads the mapping and vehicle thresholds of a sensor in a single query, without the entity graph.
+     * Sensors not assigned to a company or vehicle are found too, with null IDs.
+     */
+    @Query("SELECT new com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO(" +
+            "s.id, v.id, c.id, c.name, t.id, v.standardTemperature, v.standardPressure) " +
+            "FROM TireSensorModel s LEFT JOIN s.companyModel c LEFT JOIN s.vehicleModel v LEFT JOIN s.tireModel t " +
+            "WHERE s.id = :sensorId")
+    Optional<SensorThresholdsDTO> findThresholdsBySensorId(@Param("sensorId") Long sensorId);
 }
@@ -1,7 +1,11 @@
 package com.icm.tiremanagementapi.repositories;
 
+import com.icm.tiremanagementapi.dto.SummaryDTO.UserSummaryDTO;
 import com.icm.tiremanagementapi.models.UserModel;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,25 +13,52 @@ import org.springframework.data.domain.Pageable;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * The role and company of the users returned by the API are loaded with the {@code UserModel.details} graph in
+ * the same query.
+ */
 @Repository
 public interface UserRepository extends JpaRepository<UserModel, Long> {
+    @Override
+    @EntityGraph("UserModel.details")
+    List<UserModel> findAll();
+
+    @Override
+    @EntityGraph("UserModel.details")
+    Page<UserModel> findAll(Pageable pageable);
+
+    @EntityGraph("UserModel.details")
+    Optional<UserModel> findWithDetailsById(Long id);
+
+    @EntityGraph("UserModel.details")
     Optional<UserModel> findByUsername(String username);
 
     List<UserModel> findByCompanyIdAndRoleIdIn(Long companyId, List<Long> roleIds);
 
+    @EntityGraph("UserModel.details")
     List<UserModel> findByRoleId(Long roleIde);
 
+    @EntityGraph("UserModel.details")
     Page<UserModel> findByRoleId(Long roleId, Pageable pageable);
 
+    @EntityGraph("UserModel.details")
     Page<UserModel> findByRoleIdAndStatus(Long roleId, Boolean status, Pageable pageable);
 
+    @EntityGraph("UserModel.details")
     Page<UserModel> findByRoleIdAndCompanyId(Long roleId, Long companyId, Pageable pageable);
 
+    @EntityGraph("UserModel.details")
     Page<UserModel> findByRoleIdAndCompanyIdAndStatus(Long roleId, Long companyId, Boolean status, Pageable pageable);
 
+    @EntityGraph("UserModel.details")
     Page<UserModel> findByCompanyId(Long companyId, Pageable pageable);
 
+    @EntityGraph("UserModel.details")
     Page<UserModel> findByCompanyIdAndStatus(Long companyId, Boolean status, Pageable pageable);
 
-
+    @Query(value = "SELECT new com.icm.tiremanagementapi.dto.SummaryDTO.UserSummaryDTO(" +
+            "u.id, u.username, u.name, u.lastname, u.email, u.status, r.id, r.name, c.id, c.name) " +
+            "FROM UserModel u JOIN u.role r JOIN u.company c WHERE c.id = :companyId",
+            countQuery = "SELECT COUNT(u) FROM UserModel u WHERE u.company.id = :companyId")
+    Page<UserSummaryDTO> findSummariesByCompanyId(@Param("companyId") Long companyId, Pageable pageable);
 }
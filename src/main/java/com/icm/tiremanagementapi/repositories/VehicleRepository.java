@@ -1,23 +1,45 @@
 package com.icm.tiremanagementapi.repositories;
 
 import com.icm.tiremanagementapi.models.VehicleModel;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * The company and type of the vehicles returned by the API are loaded with the {@code VehicleModel.details} graph
+ * in the same query.
+ */
 @Repository
 public interface VehicleRepository extends JpaRepository<VehicleModel, Long> {
+    @Override
+    @EntityGraph("VehicleModel.details")
+    List<VehicleModel> findAll();
+
+    @Override
+    @EntityGraph("VehicleModel.details")
+    Page<VehicleModel> findAll(Pageable pageable);
+
+    @EntityGraph("VehicleModel.details")
+    Optional<VehicleModel> findWithDetailsById(Long id);
+
+    @EntityGraph("VehicleModel.details")
     Optional<VehicleModel> findByPlaca(String placa);
 
+    @EntityGraph("VehicleModel.details")
     Page<VehicleModel> findByCompanyModelId(Long companyId, Pageable pageable);
 
+    @EntityGraph("VehicleModel.details")
     Page<VehicleModel> findByCompanyModelIdAndStatus(Long companyId, Boolean status, Pageable pageable);
 
+    @EntityGraph("VehicleModel.details")
     Page<VehicleModel> findByVehicleTypeIdAndStatusAndCompanyModelId(
             Long vehicleType, Boolean status, Long company, Pageable pageable);
 
+    @EntityGraph("VehicleModel.details")
     Page<VehicleModel> findByVehicleTypeIdAndCompanyModelId(Long vehicleType, Long company, Pageable pageable);
 }
@@ -1,9 +1,13 @@
 package com.icm.tiremanagementapi.requests;
 
+import com.icm.tiremanagementapi.models.IrregularityCondition;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +19,5 @@ public class CheckResult {
     private Double recordedPressure;
     private Double recordedBatteryLevel;
     private Long idtire;
+    private Set<IrregularityCondition> conditions = EnumSet.noneOf(IrregularityCondition.class);
 }
@@ -0,0 +1,41 @@
+package com.icm.tiremanagementapi.requests.performanceTire;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregated readings of one vehicle or one positioning within a time window. The out-of-range counts use
+ * the same conditions as the irregularity check: any deviation from the vehicle's standard temperature or
+ * pressure, and a battery level at or below {@code TireSensorService.BATTERY_LOW_LEVEL}. The rollups do not keep
+ * them, so they are null when part of the group's readings are older than {@link FleetStatsDTO#getRawFrom()}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetGroupStatsDTO {
+    /**
+     * Vehicle ID or positioning ID, depending on the grouping; null for sensors without positioning.
+     */
+    private Long groupId;
+    /**
+     * Plate of the vehicle or location code of the positioning.
+     */
+    private String label;
+    private long sensorCount;
+    private long sampleCount;
+    private Double avgTemperature;
+    private Double minTemperature;
+    private Double maxTemperature;
+    private Double avgPressure;
+    private Double minPressure;
+    private Double maxPressure;
+    private Double avgBatteryLevel;
+    private Double minBatteryLevel;
+    private Double maxBatteryLevel;
+    private Long temperatureLowCount;
+    private Long temperatureHighCount;
+    private Long pressureLowCount;
+    private Long pressureHighCount;
+    private Long batteryLowCount;
+}
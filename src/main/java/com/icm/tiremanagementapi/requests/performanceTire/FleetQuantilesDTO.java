@@ -0,0 +1,31 @@
+package com.icm.tiremanagementapi.requests.performanceTire;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Temperature and pressure percentiles of every sensor of a company or vehicle over a window, merged from
+ * the rollup sketches.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetQuantilesDTO {
+    /**
+     * "company" or "vehicle".
+     */
+    private String scope;
+    private Long id;
+    /**
+     * Window actually covered, widened to whole hours.
+     */
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int sensors;
+    private long sampleCount;
+    private PercentilesDTO temperature;
+    private PercentilesDTO pressure;
+}
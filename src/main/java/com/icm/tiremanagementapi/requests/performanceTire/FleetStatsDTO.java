@@ -0,0 +1,36 @@
+package com.icm.tiremanagementapi.requests.performanceTire;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FleetStatsDTO {
+    /**
+     * "company" or "vehicle".
+     */
+    private String scope;
+    private Long scopeId;
+    /**
+     * "vehicle" for company statistics, "positioning" for vehicle statistics.
+     */
+    private String groupBy;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    /**
+     * Start of the part of the window read from the raw readings. Readings before it are older than the raw
+     * retention and come from the rollups, widened to whole hours, and have no out-of-range counts. Readings of
+     * both parts are attributed to the current vehicle and positioning of their sensor.
+     */
+    private LocalDateTime rawFrom;
+    /**
+     * When the statistics were computed; responses may be served from cache for a few seconds.
+     */
+    private LocalDateTime computedAt;
+    private List<FleetGroupStatsDTO> groups;
+}
@@ -0,0 +1,21 @@
+package com.icm.tiremanagementapi.requests.performanceTire;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HourlyQuantilesDTO {
+    private int hour;
+    /**
+     * Readings in the bucket.
+     */
+    private long sampleCount;
+    /**
+     * Null when the sketches of the bucket do not cover all of its readings, until the sensor's rollups are rebuilt.
+     */
+    private PercentilesDTO temperature;
+    private PercentilesDTO pressure;
+}
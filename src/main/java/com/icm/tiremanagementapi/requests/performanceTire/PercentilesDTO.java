@@ -0,0 +1,32 @@
+package com.icm.tiremanagementapi.requests.performanceTire;
+
+import com.icm.tiremanagementapi.utils.QuantileSketch;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Percentiles of one metric, exact up to half of {@link QuantileSketch#RESOLUTION}. The low percentiles
+ * show underinflation, the high ones overheating and overinflation.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PercentilesDTO {
+    private double p1;
+    private double p10;
+    private double p50;
+    private double p90;
+    private double p99;
+
+    /**
+     * @return The percentiles of the sketch, or null if it is empty.
+     */
+    public static PercentilesDTO of(QuantileSketch sketch) {
+        if (sketch.getCount() == 0) {
+            return null;
+        }
+        return new PercentilesDTO(sketch.quantile(0.01), sketch.quantile(0.10), sketch.quantile(0.50),
+                sketch.quantile(0.90), sketch.quantile(0.99));
+    }
+}
@@ -0,0 +1,17 @@
+package com.icm.tiremanagementapi.requests.performanceTire;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRebuildResultDTO {
+    private int sensors;
+    private long rawRows;
+    private long hourlyBuckets;
+    private long dailyBuckets;
+    private long monthlyBuckets;
+    private long elapsedMillis;
+}
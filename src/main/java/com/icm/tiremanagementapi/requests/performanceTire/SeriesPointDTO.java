@@ -0,0 +1,29 @@
+package com.icm.tiremanagementapi.requests.performanceTire;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One bucket of a telemetry series. Only the requested aggregations are filled; the others are omitted from the JSON.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeriesPointDTO {
+    private LocalDateTime bucketStart;
+    private Long count;
+    private Double avgTemperature;
+    private Double minTemperature;
+    private Double maxTemperature;
+    private Double avgPressure;
+    private Double minPressure;
+    private Double maxPressure;
+    private Double avgBatteryLevel;
+    private Double minBatteryLevel;
+    private Double maxBatteryLevel;
+}
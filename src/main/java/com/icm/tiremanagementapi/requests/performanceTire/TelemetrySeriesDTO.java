@@ -0,0 +1,29 @@
+package com.icm.tiremanagementapi.requests.performanceTire;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TelemetrySeriesDTO {
+    private Long sensorId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String bucket;
+    private List<String> aggregations;
+    /**
+     * "rollup" when the buckets come from the hourly or daily rollups, "raw" when performance_tire was streamed.
+     */
+    private String source;
+    /**
+     * Number of non-empty buckets before downsampling.
+     */
+    private int bucketCount;
+    private boolean downsampled;
+    private List<SeriesPointDTO> points;
+}
@@ -5,6 +5,7 @@ import com.icm.tiremanagementapi.security.filtrers.JwtAuthenticationFilter;
 import com.icm.tiremanagementapi.security.filtrers.JwtAuthorizationFilter;
 import com.icm.tiremanagementapi.security.jwt.JwtUtils;
 import com.icm.tiremanagementapi.services.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,6 +22,9 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.HeaderWriter;
 import org.springframework.security.web.header.writers.StaticHeadersWriter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -96,6 +100,10 @@ public class WebSecurityConfig {
                     auth.requestMatchers("/swagger-resources/**").permitAll();
                     auth.requestMatchers("/webjars/**").permitAll();
                     auth.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
+                    // Los streams SSE terminan con un dispatch asíncrono de una petición ya autorizada, cuando el
+                    // token puede haber expirado; las demás respuestas asíncronas se autentican de nuevo
+                    auth.requestMatchers(new AndRequestMatcher(new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                            new AntPathRequestMatcher("/api/live/**"))).permitAll();
                     auth.anyRequest().authenticated();
                 })
                 .build();
@@ -19,6 +19,7 @@ import java.io.IOException;
 
 @Component
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
+    private static final String LIVE_STREAM_PATH = "/api/live/";
 
     @Autowired
     private JwtUtils jwtUtils;
@@ -32,10 +33,16 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         String tokenHeader = request.getHeader("Authorization");
+        String token = null;
 
         if(tokenHeader != null && tokenHeader.startsWith("Bearer ")){
-            String token = tokenHeader.substring(7);
+            token = tokenHeader.substring(7);
+        } else if(request.getRequestURI().startsWith(request.getContextPath() + LIVE_STREAM_PATH)){
+            // EventSource no permite enviar cabeceras, así que los streams en vivo aceptan el token como parámetro
+            token = request.getParameter("token");
+        }
 
+        if(token != null){
             if(jwtUtils.isTokenValid(token)){
                 String username = jwtUtils.getUsernameFromToken(token);
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
@@ -48,4 +55,13 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * The async dispatch that completes a streamed response is authenticated again from the same request,
+     * since the stateless security context is not kept between dispatches.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -21,6 +21,9 @@ public class CompanyService {
     @Autowired
     private DirectoryService directoryService;
 
+    @Autowired
+    private SensorThresholdCache sensorThresholdCache;
+
     @Value("${file.image}")
     private String basePath;
 
@@ -70,7 +73,10 @@ public class CompanyService {
                 existingCompany.setStatus(company.getStatus());
             }
 
-            return companyRepository.save(existingCompany);
+            CompanyModel saved = companyRepository.save(existingCompany);
+            // The company name is cached for the irregularity directories
+            sensorThresholdCache.invalidateCompany(id);
+            return saved;
         }).orElse(null);
     }
 
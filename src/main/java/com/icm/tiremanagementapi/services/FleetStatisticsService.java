@@ -0,0 +1,241 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.models.TelemetryRetentionModel;
+import com.icm.tiremanagementapi.repositories.TelemetryRetentionRepository;
+import com.icm.tiremanagementapi.requests.performanceTire.FleetGroupStatsDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.FleetStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fleet-wide statistics of a company (grouped by vehicle) or of a vehicle (grouped by positioning).
+ * The part of the window still covered by raw readings is answered with one grouped query over the half-open
+ * createdAt window, served by the (sensor, createdAt) index of each sensor of the scope, instead of one query
+ * per sensor. The part older than the retention watermark, whose raw rows may already be deleted, is read from
+ * the hourly, daily and monthly rollups. The rollups only know the sensor, so both parts attribute readings to
+ * the current company, vehicle and positioning of their sensor, like the irregularity check does; a moved sensor
+ * takes its history with it. Rows are grouped per sensor as well, so the distinct sensors of both parts can be
+ * merged. Results are cached per scope and window for {@code fleet.stats.cache-ttl-seconds}.
+ */
+@Service
+public class FleetStatisticsService {
+    private static final String RAW_AGGREGATES = "p.sensor AS sensor, COUNT(*) AS sample_count, "
+            + "SUM(p.temperature) AS temperature_sum, MIN(p.temperature) AS temperature_min, MAX(p.temperature) AS temperature_max, "
+            + "SUM(p.pressure) AS pressure_sum, MIN(p.pressure) AS pressure_min, MAX(p.pressure) AS pressure_max, "
+            + "SUM(p.battery_level) AS battery_level_sum, MIN(p.battery_level) AS battery_level_min, MAX(p.battery_level) AS battery_level_max, "
+            + "SUM(CASE WHEN p.temperature < v.standard_temperature THEN 1 ELSE 0 END) AS temperature_low, "
+            + "SUM(CASE WHEN p.temperature > v.standard_temperature THEN 1 ELSE 0 END) AS temperature_high, "
+            + "SUM(CASE WHEN p.pressure < v.standard_pressure THEN 1 ELSE 0 END) AS pressure_low, "
+            + "SUM(CASE WHEN p.pressure > v.standard_pressure THEN 1 ELSE 0 END) AS pressure_high, "
+            + "SUM(CASE WHEN p.battery_level <= " + TireSensorService.BATTERY_LOW_LEVEL + " THEN 1 ELSE 0 END) AS battery_low ";
+
+    /**
+     * Same readings as the rollups hold: those with every metric.
+     */
+    private static final String RAW_COMPLETE = "AND p.temperature IS NOT NULL AND p.pressure IS NOT NULL AND p.battery_level IS NOT NULL ";
+
+    /**
+     * The rollups do not keep out-of-range counts; NULL marks them as unknown.
+     */
+    private static final String ROLLUP_AGGREGATES = "r.sensor AS sensor, SUM(r.sample_count) AS sample_count, "
+            + "SUM(r.temperature_sum) AS temperature_sum, MIN(r.temperature_min) AS temperature_min, MAX(r.temperature_max) AS temperature_max, "
+            + "SUM(r.pressure_sum) AS pressure_sum, MIN(r.pressure_min) AS pressure_min, MAX(r.pressure_max) AS pressure_max, "
+            + "SUM(r.battery_level_sum) AS battery_level_sum, MIN(r.battery_level_min) AS battery_level_min, "
+            + "MAX(r.battery_level_max) AS battery_level_max, "
+            + "NULL AS temperature_low, NULL AS temperature_high, NULL AS pressure_low, NULL AS pressure_high, NULL AS battery_low ";
+
+    private static final Scope COMPANY = new Scope("company", "vehicle",
+            "SELECT s.vehicle AS group_id, v.placa AS label, " + RAW_AGGREGATES
+                    + "FROM tires_sensor s JOIN performance_tire p ON p.sensor = s.id LEFT JOIN vehicle v ON v.id = s.vehicle "
+                    + "WHERE s.company = ? AND p.created_at >= ? AND p.created_at < ? " + RAW_COMPLETE
+                    + "GROUP BY s.vehicle, v.placa, p.sensor",
+            "SELECT s.vehicle AS group_id, v.placa AS label, " + ROLLUP_AGGREGATES
+                    + "FROM %s r JOIN tires_sensor s ON s.id = r.sensor LEFT JOIN vehicle v ON v.id = s.vehicle "
+                    + "WHERE s.company = ? AND r.bucket_start >= ? AND r.bucket_start < ? "
+                    + "GROUP BY s.vehicle, v.placa, r.sensor");
+
+    private static final Scope VEHICLE = new Scope("vehicle", "positioning",
+            "SELECT s.positioning AS group_id, pos.location_code AS label, " + RAW_AGGREGATES
+                    + "FROM tires_sensor s JOIN performance_tire p ON p.sensor = s.id JOIN vehicle v ON v.id = s.vehicle "
+                    + "LEFT JOIN positioning pos ON pos.id = s.positioning "
+                    + "WHERE s.vehicle = ? AND p.created_at >= ? AND p.created_at < ? " + RAW_COMPLETE
+                    + "GROUP BY s.positioning, pos.location_code, p.sensor",
+            "SELECT s.positioning AS group_id, pos.location_code AS label, " + ROLLUP_AGGREGATES
+                    + "FROM %s r JOIN tires_sensor s ON s.id = r.sensor LEFT JOIN positioning pos ON pos.id = s.positioning "
+                    + "WHERE s.vehicle = ? AND r.bucket_start >= ? AND r.bucket_start < ? "
+                    + "GROUP BY s.positioning, pos.location_code, r.sensor");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TelemetryRetentionRepository telemetryRetentionRepository;
+
+    @Value("${fleet.stats.cache-ttl-seconds:30}")
+    private long cacheTtlSeconds;
+
+    @Value("${fleet.stats.cache-max-entries:1000}")
+    private int cacheMaxEntries;
+
+    @Value("${fleet.stats.max-window-days:366}")
+    private long maxWindowDays;
+
+    private final ConcurrentHashMap<CacheKey, CachedStats> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics of every vehicle of a company that reported readings in the window. Readings are attributed
+     * to the current company and vehicle of their sensor.
+     *
+     * @param companyId The company.
+     * @param from      Start of the window (inclusive), server time zone; truncated to the minute.
+     * @param to        End of the window (exclusive); truncated to the minute.
+     * @return The statistics grouped by vehicle.
+     * @throws IllegalArgumentException if the window is empty or longer than {@code fleet.stats.max-window-days}.
+     */
+    public FleetStatsDTO getCompanyStats(Long companyId, LocalDateTime from, LocalDateTime to) {
+        return getStats(COMPANY, companyId, from, to);
+    }
+
+    /**
+     * Statistics of every positioning of a vehicle in the window. Readings are attributed to the current
+     * vehicle and positioning of their sensor.
+     *
+     * @param vehicleId The vehicle.
+     * @param from      Start of the window (inclusive), server time zone; truncated to the minute.
+     * @param to        End of the window (exclusive); truncated to the minute.
+     * @return The statistics grouped by positioning.
+     * @throws IllegalArgumentException if the window is empty or longer than {@code fleet.stats.max-window-days}.
+     */
+    public FleetStatsDTO getVehicleStats(Long vehicleId, LocalDateTime from, LocalDateTime to) {
+        return getStats(VEHICLE, vehicleId, from, to);
+    }
+
+    private FleetStatsDTO getStats(Scope scope, Long scopeId, LocalDateTime from, LocalDateTime to) {
+        // Windows such as "the last 24 hours" are computed by clients on every request; truncating them
+        // to the minute lets those requests share a cache entry
+        LocalDateTime start = from.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.MINUTES);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > maxWindowDays) {
+            throw new IllegalArgumentException("The window is longer than " + maxWindowDays + " days");
+        }
+
+        CacheKey key = new CacheKey(scope.name(), scopeId, start, end);
+        long now = System.nanoTime();
+        CachedStats cached = cache.get(key);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.stats();
+        }
+
+        Map<Long, GroupAccumulator> groups = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        RowCallbackHandler accumulate = rs -> accumulate(groups, rs);
+        LocalDateTime rawFrom = start;
+        LocalDateTime watermark = telemetryRetentionRepository.findById(TelemetryRetentionService.PERFORMANCE_TIRE)
+                .map(TelemetryRetentionModel::getCompactedBefore)
+                .orElse(null);
+        if (watermark != null && start.isBefore(watermark)) {
+            rawFrom = end.isBefore(watermark) ? end : watermark;
+            // Hourly buckets are the finest rollup level, so this part is widened to whole hours
+            LocalDateTime rollupEnd = rawFrom.truncatedTo(ChronoUnit.HOURS);
+            if (rollupEnd.isBefore(rawFrom)) {
+                rollupEnd = rollupEnd.plusHours(1);
+            }
+            for (PerformanceTireQuantileService.Segment segment
+                    : PerformanceTireQuantileService.segments(start.truncatedTo(ChronoUnit.HOURS), rollupEnd)) {
+                jdbcTemplate.query(String.format(scope.rollupSql(), segment.granularity().getTableName()), accumulate,
+                        scopeId, Timestamp.valueOf(segment.from()), Timestamp.valueOf(segment.to()));
+            }
+        }
+        if (rawFrom.isBefore(end)) {
+            jdbcTemplate.query(scope.rawSql(), accumulate, scopeId, Timestamp.valueOf(rawFrom), Timestamp.valueOf(end));
+        }
+        FleetStatsDTO stats = new FleetStatsDTO(scope.name(), scopeId, scope.groupBy(), start, end, rawFrom, LocalDateTime.now(),
+                groups.entrySet().stream().map(entry -> entry.getValue().toDTO(entry.getKey())).toList());
+        if (cache.size() >= cacheMaxEntries) {
+            cache.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+            if (cache.size() >= cacheMaxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(key, new CachedStats(stats, now + cacheTtlSeconds * 1_000_000_000L));
+        return stats;
+    }
+
+    private static void accumulate(Map<Long, GroupAccumulator> groups, ResultSet rs) throws SQLException {
+        long groupId = rs.getLong("group_id");
+        String label = rs.getString("label");
+        GroupAccumulator group = groups.computeIfAbsent(rs.wasNull() ? null : groupId, id -> new GroupAccumulator(label));
+        group.sensors.add(rs.getLong("sensor"));
+        group.readings.merge(rs.getLong("sample_count"),
+                rs.getDouble("temperature_sum"), rs.getDouble("temperature_min"), rs.getDouble("temperature_max"),
+                rs.getDouble("pressure_sum"), rs.getDouble("pressure_min"), rs.getDouble("pressure_max"),
+                rs.getDouble("battery_level_sum"), rs.getDouble("battery_level_min"), rs.getDouble("battery_level_max"));
+        group.temperatureLow += rs.getLong("temperature_low");
+        if (rs.wasNull()) {
+            group.countsUnknown = true;
+            return;
+        }
+        group.temperatureHigh += rs.getLong("temperature_high");
+        group.pressureLow += rs.getLong("pressure_low");
+        group.pressureHigh += rs.getLong("pressure_high");
+        group.batteryLow += rs.getLong("battery_low");
+    }
+
+    /**
+     * Queries of one grouping; {@code rollupSql} takes the rollup table name as its format argument.
+     */
+    private record Scope(String name, String groupBy, String rawSql, String rollupSql) {
+    }
+
+    private static final class GroupAccumulator {
+        private final String label;
+        private final Set<Long> sensors = new HashSet<>();
+        private final ReadingAccumulator readings = new ReadingAccumulator();
+        private long temperatureLow;
+        private long temperatureHigh;
+        private long pressureLow;
+        private long pressureHigh;
+        private long batteryLow;
+        private boolean countsUnknown;
+
+        private GroupAccumulator(String label) {
+            this.label = label;
+        }
+
+        private FleetGroupStatsDTO toDTO(Long groupId) {
+            return new FleetGroupStatsDTO(groupId, label, sensors.size(), readings.getCount(),
+                    readings.averageTemperature(), readings.getTemperatureMin(), readings.getTemperatureMax(),
+                    readings.averagePressure(), readings.getPressureMin(), readings.getPressureMax(),
+                    readings.averageBatteryLevel(), readings.getBatteryLevelMin(), readings.getBatteryLevelMax(),
+                    countOrNull(temperatureLow), countOrNull(temperatureHigh), countOrNull(pressureLow),
+                    countOrNull(pressureHigh), countOrNull(batteryLow));
+        }
+
+        private Long countOrNull(long count) {
+            return countsUnknown ? null : count;
+        }
+    }
+
+    private record CacheKey(String scope, Long scopeId, LocalDateTime from, LocalDateTime to) {
+    }
+
+    private record CachedStats(FleetStatsDTO stats, long expiresAt) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.utils.JdbcStreaming;
+import com.icm.tiremanagementapi.utils.StreamingExcelWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Excel exports of the gas records and gas changes of a vehicle. Rows are streamed from the database
+ * (see {@link JdbcStreaming}) and written to a {@link StreamingExcelWriter}, so neither
+ * the entities nor the workbook are ever held in memory as a whole.
+ */
+@Service
+public class GasExportService {
+    static final String GAS_RECORDS_SQL = "SELECT day, hour, pressure FROM gas_records WHERE vehicle = ? ORDER BY day, hour";
+    static final String GAS_CHANGES_SQL = "SELECT change_date, change_time FROM gas_changes WHERE vehicle = ? "
+            + "ORDER BY change_date, change_time";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${export.fetch-size:5000}")
+    private int fetchSize;
+
+    @Value("${export.excel.row-window:500}")
+    private int rowWindow;
+
+    /**
+     * Writes the gas records of a vehicle, oldest first, as an .xlsx workbook; the stream is left open.
+     *
+     * @return Number of exported records.
+     */
+    public long writeGasRecords(Long vehicleId, OutputStream out) throws IOException {
+        String placa = getPlaca(vehicleId);
+        try (StreamingExcelWriter writer = new StreamingExcelWriter(rowWindow, "Gas Records",
+                "Día de registro", "Hora de registro", "Presión", "Placa del vehiculo")) {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(GAS_RECORDS_SQL);
+                JdbcStreaming.streamResults(statement, fetchSize);
+                statement.setLong(1, vehicleId);
+                return statement;
+            }, rs -> {
+                var row = writer.nextRow();
+                row.createCell(0).setCellValue(rs.getDate(1).toLocalDate().toString());
+                row.createCell(1).setCellValue(rs.getTime(2).toLocalTime().toString());
+                row.createCell(2).setCellValue(rs.getDouble(3));
+                row.createCell(3).setCellValue(placa);
+            });
+            writer.write(out);
+            return writer.getRowCount();
+        }
+    }
+
+    /**
+     * Writes the gas changes of a vehicle, oldest first, as an .xlsx workbook; the stream is left open.
+     *
+     * @return Number of exported changes.
+     */
+    public long writeGasChanges(Long vehicleId, OutputStream out) throws IOException {
+        String placa = getPlaca(vehicleId);
+        try (StreamingExcelWriter writer = new StreamingExcelWriter(rowWindow, "Gas Changes",
+                "Día de instalación", "Hora de instalación", "Placa del vehiculo")) {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(GAS_CHANGES_SQL);
+                JdbcStreaming.streamResults(statement, fetchSize);
+                statement.setLong(1, vehicleId);
+                return statement;
+            }, rs -> {
+                var row = writer.nextRow();
+                row.createCell(0).setCellValue(rs.getDate(1).toLocalDate().toString());
+                row.createCell(1).setCellValue(rs.getTime(2).toLocalTime().toString());
+                row.createCell(2).setCellValue(placa);
+            });
+            writer.write(out);
+            return writer.getRowCount();
+        }
+    }
+
+    private String getPlaca(Long vehicleId) {
+        List<String> placas = jdbcTemplate.queryForList("SELECT placa FROM vehicle WHERE id = ?", String.class, vehicleId);
+        return placas.isEmpty() ? null : placas.get(0);
+    }
+}
@@ -0,0 +1,310 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.GasDTO.GasRollupRebuildResultDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RollupRebuildStatusDTO;
+import com.icm.tiremanagementapi.models.RollupBackfillModel;
+import com.icm.tiremanagementapi.models.RollupGranularity;
+import com.icm.tiremanagementapi.models.TelemetryRetentionModel;
+import com.icm.tiremanagementapi.repositories.RollupBackfillRepository;
+import com.icm.tiremanagementapi.repositories.TelemetryRetentionRepository;
+import com.icm.tiremanagementapi.utils.JdbcStreaming;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maintains the hourly, daily and monthly gas pressure rollups of every vehicle.
+ * {@link GasRecordService#save} folds each new record into the three rollups in its own transaction, so the
+ * gas statistics read at most a few dozen rollup rows instead of aggregating gas_records.
+ * {@link #rebuild(Long)} recomputes the rollups from the raw table, starting at the retention watermark.
+ * Until a full rebuild has completed once (recorded in rollup_backfill), the rollups only hold the records
+ * saved since they were enabled, so one is started in the background when the application is ready.
+ */
+@Service
+@Slf4j
+public class GasRecordRollupService {
+    private static final String UPSERT_COLUMNS = " (vehicle, bucket_start, sample_count, pressure_sum, pressure_min, pressure_max) "
+            + "VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE sample_count = sample_count + VALUES(sample_count), "
+            + "pressure_sum = pressure_sum + VALUES(pressure_sum), "
+            + "pressure_min = LEAST(pressure_min, VALUES(pressure_min)), "
+            + "pressure_max = GREATEST(pressure_max, VALUES(pressure_max))";
+
+    private static final String RAW_RECORDS_SQL = "SELECT day, hour, pressure FROM gas_records "
+            + "WHERE vehicle = ? AND day >= ? AND day < ?";
+
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TelemetryRetentionRepository telemetryRetentionRepository;
+
+    @Autowired
+    private RollupBackfillRepository rollupBackfillRepository;
+
+    @Value("${gas.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gas.rollup.backfill-on-start:true}")
+    private boolean backfillOnStart;
+
+    @Value("${gas.rollup.rebuild-fetch-size:10000}")
+    private int rebuildFetchSize;
+
+    /**
+     * New records hold the read lock; a rebuild, and the save of a modified record which recomputes its
+     * months, hold the write lock so that they never miss a record whose rollup update is not committed yet,
+     * nor have an incremental update land between their delete and their recompute.
+     */
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private final RollupRebuildJob<GasRollupRebuildResultDTO> rebuildJob = new RollupRebuildJob<>("gas");
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs a save so that it does not interleave with a rebuild.
+     *
+     * @param action Writes the raw record and updates the rollups in one transaction.
+     */
+    public void runExcludingRebuild(Runnable action) {
+        rebuildLock.readLock().lock();
+        try {
+            action.run();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a save that calls {@link #refreshMonth} exclusively, like a rebuild.
+     *
+     * @param action Modifies the raw record and refreshes its months in one transaction.
+     */
+    public void runExclusively(Runnable action) {
+        rebuildLock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Folds one new record into the rollups. Must run inside the transaction that inserts it.
+     */
+    public void apply(Long vehicleId, LocalDate day, LocalTime hour, double pressure) {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime time = day.atTime(hour);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            PressureAccumulator accumulator = new PressureAccumulator();
+            accumulator.add(pressure);
+            upsert(granularity, Map.of(new Bucket(vehicleId, granularity.bucketStart(time)), accumulator));
+        }
+    }
+
+    /**
+     * Recomputes the month of a record that was modified in place. Must run inside the transaction that
+     * updates it, within {@link #runExclusively}. Months before the retention watermark no longer have all
+     * their raw rows and are left as they are.
+     */
+    public void refreshMonth(Long vehicleId, LocalDate day) {
+        if (!enabled) {
+            return;
+        }
+        if (!rebuildLock.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("refreshMonth must run within runExclusively");
+        }
+        LocalDate month = day.withDayOfMonth(1);
+        LocalDate watermark = watermark();
+        if (month.isBefore(watermark)) {
+            log.warn("Gas rollups of vehicle {} for {} were not refreshed: the month is past retention", vehicleId, month);
+            return;
+        }
+        rebuildVehicle(vehicleId, month, month.plusMonths(1), new GasRollupRebuildResultDTO());
+    }
+
+    /**
+     * Backfills the rollups from the raw history in the background if no full rebuild has completed yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnFirstStart() {
+        if (!enabled || !backfillOnStart || rollupBackfillRepository.existsById(TelemetryRetentionService.GAS_RECORDS)) {
+            return;
+        }
+        log.info("Gas rollups have never been built from the raw history; backfilling them in the background");
+        rebuildJob.start("backfill", () -> rebuild(null));
+    }
+
+    /**
+     * Starts {@link #rebuild(Long)} on a background thread.
+     *
+     * @return false if a rebuild is already running.
+     */
+    public boolean startRebuild(Long vehicleId) {
+        return rebuildJob.start(vehicleId == null ? "all" : "vehicle " + vehicleId, () -> rebuild(vehicleId));
+    }
+
+    public RollupRebuildStatusDTO<GasRollupRebuildResultDTO> getRebuildStatus() {
+        return rebuildJob.getStatus();
+    }
+
+    /**
+     * Recomputes the rollups from the raw gas_records rows, one vehicle per transaction. Buckets before the
+     * retention watermark are kept as they are. A rebuild of every vehicle is recorded in rollup_backfill.
+     *
+     * @param vehicleId The vehicle to rebuild, or null to rebuild every vehicle with raw data.
+     * @return Counts of processed rows and written buckets.
+     */
+    public GasRollupRebuildResultDTO rebuild(Long vehicleId) {
+        List<Long> vehicleIds = vehicleId != null
+                ? List.of(vehicleId)
+                : jdbcTemplate.queryForList("SELECT DISTINCT vehicle FROM gas_records", Long.class);
+        GasRollupRebuildResultDTO result = rebuildRange(vehicleIds, watermark(), LATEST);
+        if (vehicleId == null) {
+            rollupBackfillRepository.save(new RollupBackfillModel(TelemetryRetentionService.GAS_RECORDS, LocalDateTime.now()));
+        }
+        log.info("Gas rollups rebuilt: {}", result);
+        return result;
+    }
+
+    /**
+     * Recomputes the rollups of the given vehicles between two month boundaries, one vehicle per transaction.
+     *
+     * @param vehicleIds The vehicles to rebuild.
+     * @param from       First day of the range (inclusive); must be the first day of a month.
+     * @param to         Last day of the range (exclusive); must be the first day of a month.
+     * @return Counts of processed rows and written buckets.
+     */
+    public GasRollupRebuildResultDTO rebuildRange(List<Long> vehicleIds, LocalDate from, LocalDate to) {
+        long start = System.currentTimeMillis();
+        GasRollupRebuildResultDTO result = new GasRollupRebuildResultDTO(vehicleIds.size(), 0, 0, 0, 0, 0);
+        for (Long id : vehicleIds) {
+            rebuildLock.writeLock().lock();
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> rebuildVehicle(id, from, to, result));
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private void rebuildVehicle(Long vehicleId, LocalDate from, LocalDate to, GasRollupRebuildResultDTO result) {
+        Timestamp fromTime = Timestamp.valueOf(from.atStartOfDay());
+        Timestamp toTime = Timestamp.valueOf(to.atStartOfDay());
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            jdbcTemplate.update("DELETE FROM " + granularity.getGasTableName() + " WHERE vehicle = ? AND bucket_start >= ? AND bucket_start < ?",
+                    vehicleId, fromTime, toTime);
+        }
+
+        // Raw rows are streamed into hourly buckets (see JdbcStreaming; nothing else is queried while reading them);
+        // days and months are merged from the hours
+        Map<Bucket, PressureAccumulator> hourly = new HashMap<>();
+        long[] rows = new long[1];
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(RAW_RECORDS_SQL);
+            JdbcStreaming.streamResults(statement, rebuildFetchSize);
+            statement.setLong(1, vehicleId);
+            statement.setDate(2, Date.valueOf(from));
+            statement.setDate(3, Date.valueOf(to));
+            return statement;
+        }, rs -> {
+            LocalDateTime hour = rs.getDate(1).toLocalDate().atTime(rs.getTime(2).toLocalTime().getHour(), 0);
+            hourly.computeIfAbsent(new Bucket(vehicleId, hour), b -> new PressureAccumulator()).add(rs.getDouble(3));
+            rows[0]++;
+        });
+
+        Map<Bucket, PressureAccumulator> daily = new HashMap<>();
+        Map<Bucket, PressureAccumulator> monthly = new HashMap<>();
+        hourly.forEach((bucket, accumulator) -> {
+            daily.computeIfAbsent(new Bucket(vehicleId, RollupGranularity.DAY.bucketStart(bucket.start())), b -> new PressureAccumulator())
+                    .merge(accumulator);
+            monthly.computeIfAbsent(new Bucket(vehicleId, RollupGranularity.MONTH.bucketStart(bucket.start())), b -> new PressureAccumulator())
+                    .merge(accumulator);
+        });
+        upsert(RollupGranularity.HOUR, hourly);
+        upsert(RollupGranularity.DAY, daily);
+        upsert(RollupGranularity.MONTH, monthly);
+
+        result.setRawRows(result.getRawRows() + rows[0]);
+        result.setHourlyBuckets(result.getHourlyBuckets() + hourly.size());
+        result.setDailyBuckets(result.getDailyBuckets() + daily.size());
+        result.setMonthlyBuckets(result.getMonthlyBuckets() + monthly.size());
+    }
+
+    private LocalDate watermark() {
+        return telemetryRetentionRepository.findById(TelemetryRetentionService.GAS_RECORDS)
+                .map(TelemetryRetentionModel::getCompactedBefore)
+                .map(LocalDateTime::toLocalDate)
+                .orElse(EARLIEST);
+    }
+
+    private void upsert(RollupGranularity granularity, Map<Bucket, PressureAccumulator> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Bucket, PressureAccumulator>> entries = new ArrayList<>(buckets.entrySet());
+        jdbcTemplate.batchUpdate("INSERT INTO " + granularity.getGasTableName() + UPSERT_COLUMNS, entries, 500, (ps, entry) -> {
+            PressureAccumulator accumulator = entry.getValue();
+            ps.setLong(1, entry.getKey().vehicleId());
+            ps.setTimestamp(2, Timestamp.valueOf(entry.getKey().start()));
+            ps.setLong(3, accumulator.count);
+            ps.setDouble(4, accumulator.sum);
+            ps.setDouble(5, accumulator.min);
+            ps.setDouble(6, accumulator.max);
+        });
+    }
+
+    private record Bucket(long vehicleId, LocalDateTime start) {
+    }
+
+    private static final class PressureAccumulator {
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        private void add(double pressure) {
+            count++;
+            sum += pressure;
+            min = Math.min(min, pressure);
+            max = Math.max(max, pressure);
+        }
+
+        private void merge(PressureAccumulator other) {
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+}
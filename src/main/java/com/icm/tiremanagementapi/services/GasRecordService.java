@@ -4,18 +4,29 @@ import com.icm.tiremanagementapi.dto.GasDTO.GasRecordDailyAveragesDTO;
 import com.icm.tiremanagementapi.dto.GasDTO.GasRecordHourlyAverageDTO;
 import com.icm.tiremanagementapi.dto.GasDTO.GasRecordMonthlyAveragesDTO;
 import com.icm.tiremanagementapi.dto.GasDTO.GasRecordYearlyAveragesDTO;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRollupRebuildResultDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RollupRebuildStatusDTO;
 import com.icm.tiremanagementapi.models.GasRecordModel;
+import com.icm.tiremanagementapi.models.GasRecordMonthlyModel;
+import com.icm.tiremanagementapi.repositories.GasRecordDailyRepository;
+import com.icm.tiremanagementapi.repositories.GasRecordHourlyRepository;
+import com.icm.tiremanagementapi.repositories.GasRecordMonthlyRepository;
 import com.icm.tiremanagementapi.repositories.GasRecordRepository;
 import com.icm.tiremanagementapi.utils.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +34,21 @@ public class GasRecordService {
     @Autowired
     private GasRecordRepository gasRecordRepository;
 
+    @Autowired
+    private GasRecordHourlyRepository gasRecordHourlyRepository;
+
+    @Autowired
+    private GasRecordDailyRepository gasRecordDailyRepository;
+
+    @Autowired
+    private GasRecordMonthlyRepository gasRecordMonthlyRepository;
+
+    @Autowired
+    private GasRecordRollupService gasRecordRollupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     public List<GasRecordModel> getAll(){
         return gasRecordRepository.findAll();
     }
@@ -39,31 +65,112 @@ public class GasRecordService {
         return gasRecordRepository.findByVehicleModelIdOrderByDayDescHourDesc(id, pageable);
     }
 
+    /**
+     * Saves a gas record and folds it into the hourly, daily and monthly rollups in the same transaction.
+     * When an existing record is modified, the months it belonged to before and after are recomputed,
+     * exclusively so that no new record is folded into them meanwhile.
+     */
     public GasRecordModel save(GasRecordModel gasChangeModel){
-        return gasRecordRepository.save(gasChangeModel);
+        if (!gasRecordRollupService.isEnabled()) {
+            return gasRecordRepository.save(gasChangeModel);
+        }
+        GasRecordModel[] saved = new GasRecordModel[1];
+        Runnable save = () ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    // The previous values are copied before the save merges the new ones into the same entity
+                    Optional<GasRecordModel> existing = gasChangeModel.getId() == null
+                            ? Optional.empty() : gasRecordRepository.findById(gasChangeModel.getId());
+                    Long previousVehicleId = existing.map(record -> record.getVehicleModel().getId()).orElse(null);
+                    LocalDate previousDay = existing.map(GasRecordModel::getDay).orElse(null);
+
+                    saved[0] = gasRecordRepository.saveAndFlush(gasChangeModel);
+                    Long vehicleId = saved[0].getVehicleModel().getId();
+                    if (existing.isEmpty()) {
+                        gasRecordRollupService.apply(vehicleId, saved[0].getDay(), saved[0].getHour(), saved[0].getPressure());
+                        return;
+                    }
+                    gasRecordRollupService.refreshMonth(previousVehicleId, previousDay);
+                    if (!vehicleId.equals(previousVehicleId) || !saved[0].getDay().withDayOfMonth(1).equals(previousDay.withDayOfMonth(1))) {
+                        gasRecordRollupService.refreshMonth(vehicleId, saved[0].getDay());
+                    }
+                });
+        if (gasChangeModel.getId() == null) {
+            gasRecordRollupService.runExcludingRebuild(save);
+        } else {
+            gasRecordRollupService.runExclusively(save);
+        }
+        return saved[0];
+    }
+
+    /**
+     * Starts recomputing the gas rollups from the raw gas_records rows in the background.
+     *
+     * @param vehicleId The vehicle to rebuild, or null for every vehicle.
+     * @return false if a rebuild is already running.
+     */
+    public boolean startRollupRebuild(Long vehicleId) {
+        return gasRecordRollupService.startRebuild(vehicleId);
+    }
+
+    public RollupRebuildStatusDTO<GasRollupRebuildResultDTO> getRollupRebuildStatus() {
+        return gasRecordRollupService.getRebuildStatus();
     }
 
     /**
      * Methods for statistics
      */
     public List<GasRecordHourlyAverageDTO> getHourlyAveragesByVehicleIdAndDay(Long vehicleId, LocalDate day) {
+        if (gasRecordRollupService.isEnabled()) {
+            return gasRecordHourlyRepository.findByVehicleIdAndRange(vehicleId, day.atStartOfDay(), day.plusDays(1).atStartOfDay())
+                    .stream()
+                    .map(rollup -> new GasRecordHourlyAverageDTO(
+                            DateUtils.getHourLabel(rollup.getId().getBucketStart().getHour()),
+                            rollup.averagePressure()))
+                    .collect(Collectors.toList());
+        }
         List<Object[]> results = gasRecordRepository.findHourlyAveragesByVehicleIdAndDay(vehicleId, day);
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-
         return results.stream()
-                .map(result -> new GasRecordHourlyAverageDTO(result[0].toString() + ":00", (Double) result[1]))
+                .map(result -> new GasRecordHourlyAverageDTO(DateUtils.getHourLabel((Integer) result[0]), (Double) result[1]))
                 .collect(Collectors.toList());
     }
 
     public List<GasRecordDailyAveragesDTO> getDailyAveragesByVehicleIdAndMonth(Long vehicleId, int year, int month) {
-        List<Object[]> results = gasRecordRepository.findDailyAveragesByVehicleIdAndMonth(vehicleId, year, month);
+        LocalDate from;
+        try {
+            from = LocalDate.of(year, month, 1);
+        } catch (DateTimeException e) {
+            return List.of();
+        }
+        if (gasRecordRollupService.isEnabled()) {
+            return gasRecordDailyRepository.findByVehicleIdAndRange(vehicleId, from.atStartOfDay(), from.plusMonths(1).atStartOfDay())
+                    .stream()
+                    .map(rollup -> new GasRecordDailyAveragesDTO(
+                            rollup.getId().getBucketStart().toLocalDate().toString(),
+                            rollup.averagePressure()))
+                    .collect(Collectors.toList());
+        }
+        List<Object[]> results = gasRecordRepository.findDailyAveragesByVehicleIdAndRange(vehicleId, from, from.plusMonths(1));
         return results.stream()
                 .map(result -> new GasRecordDailyAveragesDTO(result[0].toString(), (Double) result[1]))
                 .collect(Collectors.toList());
     }
 
     public List<GasRecordMonthlyAveragesDTO> getMonthlyAveragesByVehicleIdAndYear(Long vehicleId, int year) {
-        List<Object[]> results = gasRecordRepository.findMonthlyAveragesByVehicleIdAndYear(vehicleId, year);
+        LocalDate from;
+        try {
+            from = LocalDate.of(year, 1, 1);
+        } catch (DateTimeException e) {
+            return List.of();
+        }
+        if (gasRecordRollupService.isEnabled()) {
+            return gasRecordMonthlyRepository.findByVehicleIdAndRange(vehicleId, from.atStartOfDay(), from.plusYears(1).atStartOfDay())
+                    .stream()
+                    .map(rollup -> new GasRecordMonthlyAveragesDTO(
+                            DateUtils.getMonthName(rollup.getId().getBucketStart().getMonthValue()),
+                            rollup.averagePressure()))
+                    .collect(Collectors.toList());
+        }
+        List<Object[]> results = gasRecordRepository.findMonthlyAveragesByVehicleIdAndRange(vehicleId, from, from.plusYears(1));
         return results.stream()
                 .map(result -> new GasRecordMonthlyAveragesDTO(
                         DateUtils.getMonthName((Integer) result[0]),
@@ -73,6 +180,22 @@ public class GasRecordService {
     }
 
     public List<GasRecordYearlyAveragesDTO> getYearlyAveragesByVehicleId(Long vehicleId) {
+        if (gasRecordRollupService.isEnabled()) {
+            // At most twelve monthly rows per year are merged, whatever the length of the history
+            Map<Integer, GasRecordMonthlyModel> years = new TreeMap<>();
+            for (GasRecordMonthlyModel rollup : gasRecordMonthlyRepository.findByVehicleIdAndRange(
+                    vehicleId, LocalDateTime.of(1, 1, 1, 0, 0), LocalDateTime.of(9999, 1, 1, 0, 0))) {
+                years.merge(rollup.getId().getBucketStart().getYear(), rollup, (total, next) -> {
+                    GasRecordMonthlyModel merged = new GasRecordMonthlyModel();
+                    merged.setSampleCount(total.getSampleCount() + next.getSampleCount());
+                    merged.setPressureSum(total.getPressureSum() + next.getPressureSum());
+                    return merged;
+                });
+            }
+            return years.entrySet().stream()
+                    .map(entry -> new GasRecordYearlyAveragesDTO(entry.getKey().toString(), entry.getValue().averagePressure()))
+                    .collect(Collectors.toList());
+        }
         List<Object[]> results = gasRecordRepository.findYearlyAveragesByVehicleId(vehicleId);
         return results.stream()
                 .map(result -> new GasRecordYearlyAveragesDTO(
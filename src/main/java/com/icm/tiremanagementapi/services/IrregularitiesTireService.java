@@ -1,5 +1,6 @@
 package com.icm.tiremanagementapi.services;
 
+import com.icm.tiremanagementapi.dto.SummaryDTO.IrregularitySummaryDTO;
 import com.icm.tiremanagementapi.models.IrregularitiesTireModel;
 import com.icm.tiremanagementapi.repositories.IrregularitiesTireRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,7 +24,7 @@ public class IrregularitiesTireService {
     private String basePath;
 
     public Optional<IrregularitiesTireModel> findById(Long id) {
-        return irregularitiesTireRepository.findById(id);
+        return irregularitiesTireRepository.findWithDetailsById(id);
     }
 
     public List<IrregularitiesTireModel> findByCompanyIdAndVehicleModelId(Long companyId, Long vehicleId) {
@@ -41,6 +42,11 @@ public class IrregularitiesTireService {
         return irregularitiesTireRepository.findByCompanyId(companyId, pageable);
     }
 
+    public Page<IrregularitySummaryDTO> findSummariesByCompanyId(Long companyId, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        return irregularitiesTireRepository.findSummariesByCompanyId(companyId, pageable);
+    }
+
     public Page<IrregularitiesTireModel> findByVehicleModelIdOrderByCreatedAtDesc(Long vehicleModelId) {
         Pageable topSix = PageRequest.of(0, 6, Sort.by(Sort.Direction.DESC, "createdAt"));
         return irregularitiesTireRepository.findByVehicleModelIdOrderByCreatedAtDesc(vehicleModelId, topSix);
@@ -0,0 +1,204 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.models.IrregularityCondition;
+import com.icm.tiremanagementapi.repositories.IrregularitiesTireRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a reading with irregular conditions must create a new irregularity.
+ * Each sensor keeps, per condition, a small state machine:
+ * <ul>
+ *     <li>OPEN: the condition is active and an irregularity was just raised for it.</li>
+ *     <li>SUPPRESSED: the condition is still active but was raised less than its window ago.</li>
+ *     <li>CLEARED: the last reading did not show the condition. Its window keeps running, so a condition
+ *     that comes back within the window stays suppressed and a sensor oscillating around its standard
+ *     raises each condition at most once per window.</li>
+ * </ul>
+ * A reading raises an irregularity when at least one of its conditions was not raised within
+ * its window, which replaces the per-reading lookup of recent irregularities in the database.
+ * Windows are measured on the server clock, the same one that stamps irregularities.createdAt, since the
+ * device timestamps of the readings may be skewed or delayed.
+ * The state is seeded at startup from the recent irregularities and, for sensors not seen yet,
+ * loaded from the database once on their first irregular reading.
+ */
+@Service
+@Slf4j
+public class IrregularitySuppressor {
+    public enum State {
+        OPEN,
+        SUPPRESSED,
+        CLEARED
+    }
+
+    private static final ZoneId ZONE = ZoneId.of("America/Lima");
+    private static final int CONDITIONS = IrregularityCondition.values().length;
+
+    @Autowired
+    private IrregularitiesTireRepository irregularitiesTireRepository;
+
+    @Value("${irregularity.suppression.battery-low-minutes:10}")
+    private long batteryLowMinutes;
+
+    @Value("${irregularity.suppression.pressure-low-minutes:10}")
+    private long pressureLowMinutes;
+
+    @Value("${irregularity.suppression.pressure-high-minutes:10}")
+    private long pressureHighMinutes;
+
+    @Value("${irregularity.suppression.temperature-low-minutes:10}")
+    private long temperatureLowMinutes;
+
+    @Value("${irregularity.suppression.temperature-high-minutes:10}")
+    private long temperatureHighMinutes;
+
+    private final long[] windowMillis = new long[CONDITIONS];
+    private long maxWindowMillis;
+
+    private final ConcurrentHashMap<Long, SensorState> sensors = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        Map<IrregularityCondition, Long> minutes = new EnumMap<>(IrregularityCondition.class);
+        minutes.put(IrregularityCondition.BATTERY_LOW, batteryLowMinutes);
+        minutes.put(IrregularityCondition.PRESSURE_LOW, pressureLowMinutes);
+        minutes.put(IrregularityCondition.PRESSURE_HIGH, pressureHighMinutes);
+        minutes.put(IrregularityCondition.TEMPERATURE_LOW, temperatureLowMinutes);
+        minutes.put(IrregularityCondition.TEMPERATURE_HIGH, temperatureHighMinutes);
+        minutes.forEach((condition, value) -> windowMillis[condition.ordinal()] = value * 60_000L);
+        maxWindowMillis = Arrays.stream(windowMillis).max().orElse(0);
+    }
+
+    /**
+     * Loads the irregularities raised within the longest window, so that a restart does not
+     * raise again what was raised just before it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            List<Object[]> rows = irregularitiesTireRepository.findRecentRaisedConditions(since(System.currentTimeMillis()));
+            for (Object[] row : rows) {
+                Long sensorId = (Long) row[0];
+                if (sensorId != null) {
+                    sensors.computeIfAbsent(sensorId, id -> new SensorState()).markRaised((String) row[1], (ZonedDateTime) row[2]);
+                }
+            }
+            log.info("Irregularity suppression seeded with {} sensors", sensors.size());
+        } catch (RuntimeException e) {
+            // Sensors without a seeded state are loaded one by one on their first irregular reading
+            log.warn("Could not seed irregularity suppression state: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the state of a sensor with the conditions of a reading received now.
+     *
+     * @param sensorId The ID of the sensor.
+     * @param active   Conditions detected in the reading; empty when the reading is normal.
+     * @return true if an irregularity must be created for the reading.
+     */
+    public boolean evaluate(long sensorId, Set<IrregularityCondition> active) {
+        return evaluate(sensorId, active, System.currentTimeMillis());
+    }
+
+    /**
+     * @param now Server time in epoch milliseconds.
+     */
+    boolean evaluate(long sensorId, Set<IrregularityCondition> active, long now) {
+        SensorState state = active.isEmpty() ? sensors.get(sensorId) : sensors.computeIfAbsent(sensorId, this::load);
+        if (state == null) {
+            // Nothing is tracked for a sensor that never had an irregular reading
+            return false;
+        }
+        return state.evaluate(active, now);
+    }
+
+    /**
+     * Returns the current state of one condition of a sensor.
+     */
+    public State getState(long sensorId, IrregularityCondition condition) {
+        SensorState state = sensors.get(sensorId);
+        return state == null ? State.CLEARED : state.get(condition);
+    }
+
+    /**
+     * Forgets the state of a sensor, for example when it is removed or moved to another tire.
+     */
+    public void forget(Long sensorId) {
+        if (sensorId != null) {
+            sensors.remove(sensorId);
+        }
+    }
+
+    private SensorState load(Long sensorId) {
+        SensorState state = new SensorState();
+        for (Object[] row : irregularitiesTireRepository.findRecentRaisedConditionsBySensorId(sensorId, since(System.currentTimeMillis()))) {
+            state.markRaised((String) row[0], (ZonedDateTime) row[1]);
+        }
+        return state;
+    }
+
+    private ZonedDateTime since(long now) {
+        return Instant.ofEpochMilli(now - maxWindowMillis).atZone(ZONE);
+    }
+
+    private final class SensorState {
+        private final long[] lastRaisedAt = new long[CONDITIONS];
+        private final State[] states = new State[CONDITIONS];
+
+        private SensorState() {
+            Arrays.fill(lastRaisedAt, Long.MIN_VALUE);
+            Arrays.fill(states, State.CLEARED);
+        }
+
+        synchronized void markRaised(String irregularityName, ZonedDateTime createdAt) {
+            long raisedAt = createdAt.toInstant().toEpochMilli();
+            for (IrregularityCondition condition : IrregularityCondition.fromName(irregularityName)) {
+                int index = condition.ordinal();
+                lastRaisedAt[index] = Math.max(lastRaisedAt[index], raisedAt);
+            }
+        }
+
+        synchronized boolean evaluate(Set<IrregularityCondition> active, long now) {
+            boolean raise = false;
+            for (IrregularityCondition condition : active) {
+                int index = condition.ordinal();
+                if (lastRaisedAt[index] == Long.MIN_VALUE || now - lastRaisedAt[index] >= windowMillis[index]) {
+                    raise = true;
+                }
+            }
+            for (IrregularityCondition condition : IrregularityCondition.values()) {
+                int index = condition.ordinal();
+                if (!active.contains(condition)) {
+                    states[index] = State.CLEARED;
+                } else if (raise) {
+                    // The new irregularity names every active condition, so all of them restart their window
+                    states[index] = State.OPEN;
+                    lastRaisedAt[index] = now;
+                } else {
+                    states[index] = State.SUPPRESSED;
+                }
+            }
+            return raise;
+        }
+
+        synchronized State get(IrregularityCondition condition) {
+            return states[condition.ordinal()];
+        }
+    }
+}
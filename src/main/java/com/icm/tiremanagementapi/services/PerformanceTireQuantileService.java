@@ -0,0 +1,246 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.models.PerformanceTireDailyModel;
+import com.icm.tiremanagementapi.models.PerformanceTireHourlyModel;
+import com.icm.tiremanagementapi.models.PerformanceTireRollupModel;
+import com.icm.tiremanagementapi.models.RollupGranularity;
+import com.icm.tiremanagementapi.repositories.PerformanceTireDailyRepository;
+import com.icm.tiremanagementapi.repositories.PerformanceTireHourlyRepository;
+import com.icm.tiremanagementapi.requests.performanceTire.DailyQuantilesDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.FleetQuantilesDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.HourlyQuantilesDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.PercentilesDTO;
+import com.icm.tiremanagementapi.services.PerformanceTireRollupService.PendingSketches;
+import com.icm.tiremanagementapi.utils.QuantileSketch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Temperature and pressure percentiles served from the quantile sketches stored in the performance_tire rollups,
+ * merged with the sketches the rollup service has not written yet.
+ * Fleet percentiles merge the sketches of every sensor of a company or vehicle; the window is split into
+ * whole months, whole days and the remaining hours, so a year costs about twelve monthly rows per sensor
+ * and no raw rows are read.
+ */
+@Service
+public class PerformanceTireQuantileService {
+    private static final int SENSOR_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PerformanceTireRollupService performanceTireRollupService;
+
+    @Autowired
+    private PerformanceTireHourlyRepository performanceTireHourlyRepository;
+
+    @Autowired
+    private PerformanceTireDailyRepository performanceTireDailyRepository;
+
+    @Value("${performance.quantiles.max-window-days:366}")
+    private long maxWindowDays;
+
+    /**
+     * Percentiles of each hour of a day for one sensor; hours without a sketch are left out, and hours whose
+     * sketch covers only part of the samples have no percentiles.
+     */
+    public List<HourlyQuantilesDTO> getHourlyQuantiles(Long tireId, LocalDate day) {
+        if (!performanceTireRollupService.isSketchesEnabled()) {
+            return List.of();
+        }
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        Map<LocalDateTime, PendingSketches> pending = pendingByBucket(RollupGranularity.HOUR, tireId, from, to);
+        List<HourlyQuantilesDTO> result = new ArrayList<>();
+        for (PerformanceTireHourlyModel rollup : performanceTireHourlyRepository.findBySensorIdAndRange(tireId, from, to)) {
+            BucketQuantiles quantiles = quantiles(rollup, pending.get(rollup.getId().getBucketStart()));
+            if (quantiles != null) {
+                result.add(new HourlyQuantilesDTO(rollup.getId().getBucketStart().getHour(), rollup.getSampleCount(),
+                        quantiles.temperature(), quantiles.pressure()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Percentiles of each day of a month for one sensor; days without a sketch are left out, and days whose
+     * sketch covers only part of the samples have no percentiles.
+     */
+    public List<DailyQuantilesDTO> getDailyQuantiles(Long tireId, YearMonth month) {
+        if (!performanceTireRollupService.isSketchesEnabled()) {
+            return List.of();
+        }
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Map<LocalDateTime, PendingSketches> pending = pendingByBucket(RollupGranularity.DAY, tireId, from, to);
+        List<DailyQuantilesDTO> result = new ArrayList<>();
+        for (PerformanceTireDailyModel rollup : performanceTireDailyRepository.findBySensorIdAndRange(tireId, from, to)) {
+            BucketQuantiles quantiles = quantiles(rollup, pending.get(rollup.getId().getBucketStart()));
+            if (quantiles != null) {
+                result.add(new DailyQuantilesDTO(rollup.getId().getBucketStart().getDayOfMonth(),
+                        rollup.getId().getBucketStart().getMonthValue(), rollup.getSampleCount(),
+                        quantiles.temperature(), quantiles.pressure()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Percentiles of every sensor currently assigned to a company.
+     *
+     * @throws IllegalArgumentException if the window is empty or longer than {@code performance.quantiles.max-window-days}.
+     */
+    public FleetQuantilesDTO getCompanyQuantiles(Long companyId, LocalDateTime from, LocalDateTime to) {
+        return getFleetQuantiles("company", companyId,
+                jdbcTemplate.queryForList("SELECT id FROM tires_sensor WHERE company = ?", Long.class, companyId), from, to);
+    }
+
+    /**
+     * Percentiles of every sensor currently mounted on a vehicle.
+     *
+     * @throws IllegalArgumentException if the window is empty or longer than {@code performance.quantiles.max-window-days}.
+     */
+    public FleetQuantilesDTO getVehicleQuantiles(Long vehicleId, LocalDateTime from, LocalDateTime to) {
+        return getFleetQuantiles("vehicle", vehicleId,
+                jdbcTemplate.queryForList("SELECT id FROM tires_sensor WHERE vehicle = ?", Long.class, vehicleId), from, to);
+    }
+
+    private FleetQuantilesDTO getFleetQuantiles(String scope, Long id, List<Long> sensorIds, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > maxWindowDays) {
+            throw new IllegalArgumentException("Window longer than " + maxWindowDays + " days");
+        }
+        // Hourly sketches are the finest level, so the window is widened to whole hours
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS);
+        if (end.isBefore(to)) {
+            end = end.plusHours(1);
+        }
+
+        QuantileSketch temperature = new QuantileSketch();
+        QuantileSketch pressure = new QuantileSketch();
+        if (performanceTireRollupService.isSketchesEnabled()) {
+            Set<Long> sensors = new HashSet<>(sensorIds);
+            for (Segment segment : segments(start, end)) {
+                for (int i = 0; i < sensorIds.size(); i += SENSOR_CHUNK_SIZE) {
+                    List<Long> chunk = sensorIds.subList(i, Math.min(i + SENSOR_CHUNK_SIZE, sensorIds.size()));
+                    mergeSegment(segment, chunk, temperature, pressure);
+                }
+                for (PendingSketches pending : performanceTireRollupService.getPendingSketches(segment.granularity(),
+                        sensors::contains, segment.from(), segment.to())) {
+                    temperature.merge(pending.temperature());
+                    pressure.merge(pending.pressure());
+                }
+            }
+        }
+        return new FleetQuantilesDTO(scope, id, start, end, sensorIds.size(), pressure.getCount(),
+                PercentilesDTO.of(temperature), PercentilesDTO.of(pressure));
+    }
+
+    private void mergeSegment(Segment segment, List<Long> sensorIds, QuantileSketch temperature, QuantileSketch pressure) {
+        List<Object> args = new ArrayList<>(sensorIds.size() + 2);
+        args.addAll(sensorIds);
+        args.add(Timestamp.valueOf(segment.from()));
+        args.add(Timestamp.valueOf(segment.to()));
+        String sql = "SELECT temperature_sketch, pressure_sketch FROM " + segment.granularity().getTableName()
+                + " WHERE sensor IN (" + String.join(", ", Collections.nCopies(sensorIds.size(), "?")) + ")"
+                + " AND bucket_start >= ? AND bucket_start < ?";
+        jdbcTemplate.query(sql, rs -> {
+            temperature.merge(QuantileSketch.fromBytes(rs.getBytes(1)));
+            pressure.merge(QuantileSketch.fromBytes(rs.getBytes(2)));
+        }, args.toArray());
+    }
+
+    /**
+     * Splits an hour-aligned window into the fewest hourly, daily and monthly bucket ranges that cover it exactly.
+     */
+    static List<Segment> segments(LocalDateTime from, LocalDateTime to) {
+        List<Segment> segments = new ArrayList<>(5);
+        LocalDateTime firstDay = ceil(from, RollupGranularity.DAY);
+        LocalDateTime lastDay = RollupGranularity.DAY.bucketStart(to);
+        if (!firstDay.isBefore(lastDay)) {
+            addSegment(segments, RollupGranularity.HOUR, from, to);
+            return segments;
+        }
+        addSegment(segments, RollupGranularity.HOUR, from, firstDay);
+        LocalDateTime firstMonth = ceil(firstDay, RollupGranularity.MONTH);
+        LocalDateTime lastMonth = RollupGranularity.MONTH.bucketStart(lastDay);
+        if (firstMonth.isBefore(lastMonth)) {
+            addSegment(segments, RollupGranularity.DAY, firstDay, firstMonth);
+            addSegment(segments, RollupGranularity.MONTH, firstMonth, lastMonth);
+            addSegment(segments, RollupGranularity.DAY, lastMonth, lastDay);
+        } else {
+            addSegment(segments, RollupGranularity.DAY, firstDay, lastDay);
+        }
+        addSegment(segments, RollupGranularity.HOUR, lastDay, to);
+        return segments;
+    }
+
+    private static void addSegment(List<Segment> segments, RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (from.isBefore(to)) {
+            segments.add(new Segment(granularity, from, to));
+        }
+    }
+
+    private static LocalDateTime ceil(LocalDateTime time, RollupGranularity granularity) {
+        LocalDateTime start = granularity.bucketStart(time);
+        if (start.equals(time)) {
+            return start;
+        }
+        return granularity == RollupGranularity.MONTH ? start.plusMonths(1) : start.plusDays(1);
+    }
+
+    private Map<LocalDateTime, PendingSketches> pendingByBucket(RollupGranularity granularity, Long tireId,
+                                                                LocalDateTime from, LocalDateTime to) {
+        return performanceTireRollupService.getPendingSketches(granularity, tireId::equals, from, to).stream()
+                .collect(Collectors.toMap(PendingSketches::bucketStart, Function.identity()));
+    }
+
+    /**
+     * Percentiles of a bucket from its stored and pending sketches.
+     *
+     * @return null if the bucket has no sketch at all; null percentiles if the sketches do not cover every sample
+     * of the bucket, which happens for readings rolled up while the sketches were disabled or whose pending sketch
+     * was lost, until the sensor is rebuilt.
+     */
+    static BucketQuantiles quantiles(PerformanceTireRollupModel rollup, PendingSketches pending) {
+        QuantileSketch temperature = QuantileSketch.fromBytes(rollup.getTemperatureSketch());
+        QuantileSketch pressure = QuantileSketch.fromBytes(rollup.getPressureSketch());
+        if (pending != null) {
+            temperature.merge(pending.temperature());
+            pressure.merge(pending.pressure());
+        }
+        if (pressure.getCount() == 0) {
+            return null;
+        }
+        if (pressure.getCount() != rollup.getSampleCount() || temperature.getCount() != rollup.getSampleCount()) {
+            return new BucketQuantiles(null, null);
+        }
+        return new BucketQuantiles(PercentilesDTO.of(temperature), PercentilesDTO.of(pressure));
+    }
+
+    record BucketQuantiles(PercentilesDTO temperature, PercentilesDTO pressure) {
+    }
+
+    record Segment(RollupGranularity granularity, LocalDateTime from, LocalDateTime to) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.icm.tiremanagementapi.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Backfills the rollups at startup when the application is launched with {@code --rebuild-rollups}
+ * (every sensor) or {@code --rebuild-rollups=<sensorId>} for the performance rollups, and with
+ * {@code --rebuild-gas-rollups} or {@code --rebuild-gas-rollups=<vehicleId>} for the gas rollups.
+ */
+@Component
+public class PerformanceTireRollupRebuildRunner implements ApplicationRunner {
+    private static final String OPTION = "rebuild-rollups";
+    private static final String GAS_OPTION = "rebuild-gas-rollups";
+
+    @Autowired
+    private PerformanceTireRollupService performanceTireRollupService;
+
+    @Autowired
+    private GasRecordRollupService gasRecordRollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            rebuild(args.getOptionValues(OPTION), performanceTireRollupService::rebuild);
+        }
+        if (args.containsOption(GAS_OPTION)) {
+            rebuild(args.getOptionValues(GAS_OPTION), gasRecordRollupService::rebuild);
+        }
+    }
+
+    private static void rebuild(List<String> values, Consumer<Long> rebuild) {
+        if (values.isEmpty() || values.get(0).isBlank()) {
+            rebuild.accept(null);
+        } else {
+            for (String value : values) {
+                rebuild.accept(Long.valueOf(value.trim()));
+            }
+        }
+    }
+}
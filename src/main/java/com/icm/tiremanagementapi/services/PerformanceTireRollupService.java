@@ -0,0 +1,502 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RollupRebuildStatusDTO;
+import com.icm.tiremanagementapi.models.RollupBackfillModel;
+import com.icm.tiremanagementapi.models.RollupGranularity;
+import com.icm.tiremanagementapi.models.TelemetryRetentionModel;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import com.icm.tiremanagementapi.repositories.RollupBackfillRepository;
+import com.icm.tiremanagementapi.repositories.TelemetryRetentionRepository;
+import com.icm.tiremanagementapi.requests.performanceTire.RollupRebuildResultDTO;
+import com.icm.tiremanagementapi.utils.JdbcStreaming;
+import com.icm.tiremanagementapi.utils.QuantileSketch;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Maintains the hourly, daily and monthly rollups of performance_tire.
+ * Every batch of readings written by {@link PerformanceTireWriter} is folded into the rollups in the same
+ * transaction with one upsert per bucket, so the statistics endpoints never scan raw rows. The temperature and
+ * pressure quantile sketches of a batch are merged in memory once it commits and written to the stored sketches
+ * every {@code performance.rollup.sketch-flush-interval-ms}, so a batch does not read and rewrite the sketch BLOBs
+ * of every touched bucket; {@link #getPendingSketches} exposes the part not written yet to the quantile queries.
+ * {@link #rebuild(Long)} recomputes the rollups of one or all sensors from the raw table, starting at the
+ * retention watermark since older raw rows may already have been deleted by {@link TelemetryRetentionService}.
+ * Until a full rebuild has completed once (recorded in rollup_backfill), the rollups only hold the readings
+ * ingested since they were enabled, so one is started in the background when the application is ready.
+ */
+@Service
+@Slf4j
+public class PerformanceTireRollupService {
+    private static final String UPSERT_COLUMNS = " (sensor, bucket_start, sample_count, "
+            + "temperature_sum, temperature_min, temperature_max, "
+            + "pressure_sum, pressure_min, pressure_max, "
+            + "battery_level_sum, battery_level_min, battery_level_max) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE sample_count = sample_count + VALUES(sample_count), "
+            + "temperature_sum = temperature_sum + VALUES(temperature_sum), "
+            + "temperature_min = LEAST(temperature_min, VALUES(temperature_min)), "
+            + "temperature_max = GREATEST(temperature_max, VALUES(temperature_max)), "
+            + "pressure_sum = pressure_sum + VALUES(pressure_sum), "
+            + "pressure_min = LEAST(pressure_min, VALUES(pressure_min)), "
+            + "pressure_max = GREATEST(pressure_max, VALUES(pressure_max)), "
+            + "battery_level_sum = battery_level_sum + VALUES(battery_level_sum), "
+            + "battery_level_min = LEAST(battery_level_min, VALUES(battery_level_min)), "
+            + "battery_level_max = GREATEST(battery_level_max, VALUES(battery_level_max))";
+
+    private static final String RAW_READINGS_SQL = "SELECT temperature, pressure, battery_level, created_at "
+            + "FROM performance_tire WHERE sensor = ? AND created_at >= ? AND created_at < ? "
+            + "AND temperature IS NOT NULL AND pressure IS NOT NULL AND battery_level IS NOT NULL";
+
+    /**
+     * Bounds used when a rebuild range is open on one side.
+     */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private static final int SKETCH_CHUNK_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TelemetryRetentionRepository telemetryRetentionRepository;
+
+    @Autowired
+    private RollupBackfillRepository rollupBackfillRepository;
+
+    @Value("${performance.rollup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${performance.rollup.backfill-on-start:true}")
+    private boolean backfillOnStart;
+
+    @Value("${performance.rollup.rebuild-fetch-size:10000}")
+    private int rebuildFetchSize;
+
+    @Value("${performance.rollup.sketches-enabled:true}")
+    private boolean sketchesEnabled;
+
+    /**
+     * Ingest batches hold the read lock while they write raw rows and rollups; a rebuild holds the
+     * write lock so it never sees raw rows whose rollup update is not committed yet. A sketch flush also
+     * holds the write lock, so it never waits on the bucket rows locked by an ingest batch.
+     */
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    /**
+     * Sketches of committed readings that are not merged into the stored sketches yet, by granularity and
+     * bucket. Guarded by itself. Lost if the application stops abruptly; the buckets concerned then have
+     * sketches with fewer samples than the bucket, which the quantile queries report without percentiles
+     * until the sensor is rebuilt.
+     */
+    private final Map<RollupGranularity, Map<Bucket, BucketSketches>> pendingSketches = new EnumMap<>(RollupGranularity.class);
+
+    private final RollupRebuildJob<RollupRebuildResultDTO> rebuildJob = new RollupRebuildJob<>("performance");
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSketchesEnabled() {
+        return enabled && sketchesEnabled;
+    }
+
+    /**
+     * Runs an ingest write so that it does not interleave with a rebuild.
+     *
+     * @param action Writes raw rows and calls {@link #apply} in one transaction.
+     */
+    public void runExcludingRebuild(Runnable action) {
+        rebuildLock.readLock().lock();
+        try {
+            action.run();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Folds readings into the rollups. Must run inside the transaction that inserts the raw rows.
+     *
+     * @param readings The readings just written to performance_tire.
+     */
+    public void apply(List<TelemetryReading> readings) {
+        if (!enabled || readings.isEmpty()) {
+            return;
+        }
+        Map<RollupGranularity, Map<Bucket, ReadingAccumulator>> buckets = new EnumMap<>(RollupGranularity.class);
+        Map<RollupGranularity, Map<Bucket, BucketSketches>> sketches = new EnumMap<>(RollupGranularity.class);
+        for (TelemetryReading reading : readings) {
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(reading.timestamp()), zone);
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                Bucket bucket = new Bucket(reading.sensorId(), granularity.bucketStart(time));
+                buckets.computeIfAbsent(granularity, g -> new HashMap<>())
+                        .computeIfAbsent(bucket, b -> new ReadingAccumulator())
+                        .add(reading.temperature(), reading.pressure(), reading.batteryLevel());
+                if (sketchesEnabled) {
+                    sketches.computeIfAbsent(granularity, g -> new HashMap<>())
+                            .computeIfAbsent(bucket, b -> new BucketSketches())
+                            .add(reading.temperature(), reading.pressure());
+                }
+            }
+        }
+        buckets.forEach(this::upsert);
+        if (sketches.isEmpty()) {
+            return;
+        }
+        // Kept in memory until the next sketch flush, and only once the sums they belong to are committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addPendingSketches(sketches);
+                }
+            });
+        } else {
+            addPendingSketches(sketches);
+        }
+    }
+
+    /**
+     * Merges the sketches kept in memory into the stored ones; the interval is configured with
+     * {@code performance.rollup.sketch-flush-interval-ms}. On failure they are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${performance.rollup.sketch-flush-interval-ms:60000}")
+    public void flushSketches() {
+        rebuildLock.writeLock().lock();
+        try {
+            Map<RollupGranularity, Map<Bucket, BucketSketches>> batch;
+            synchronized (pendingSketches) {
+                if (pendingSketches.isEmpty()) {
+                    return;
+                }
+                batch = new EnumMap<>(pendingSketches);
+                pendingSketches.clear();
+            }
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                        batch.forEach((granularity, bucketSketches) -> mergeSketches(granularity, bucketSketches, false)));
+            } catch (RuntimeException e) {
+                addPendingSketches(batch);
+                log.error("Performance sketch flush failed: {}", e.getMessage());
+            }
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushSketches();
+    }
+
+    /**
+     * Sketches of committed readings not written to the stored sketches yet; they must be merged with the
+     * stored sketches of the same buckets.
+     *
+     * @param granularity The rollup level.
+     * @param sensorIds   Selects the sensors.
+     * @param from        Start of the bucket range (inclusive).
+     * @param to          End of the bucket range (exclusive).
+     * @return Copies of the pending sketches of each matching bucket.
+     */
+    public List<PendingSketches> getPendingSketches(RollupGranularity granularity, Predicate<Long> sensorIds,
+                                                    LocalDateTime from, LocalDateTime to) {
+        List<PendingSketches> result = new ArrayList<>();
+        synchronized (pendingSketches) {
+            pendingSketches.getOrDefault(granularity, Map.of()).forEach((bucket, sketches) -> {
+                if (sensorIds.test(bucket.sensorId()) && !bucket.start().isBefore(from) && bucket.start().isBefore(to)) {
+                    result.add(new PendingSketches(bucket.sensorId(), bucket.start(),
+                            copyOf(sketches.temperature), copyOf(sketches.pressure)));
+                }
+            });
+        }
+        return result;
+    }
+
+    private void addPendingSketches(Map<RollupGranularity, Map<Bucket, BucketSketches>> sketches) {
+        synchronized (pendingSketches) {
+            sketches.forEach((granularity, bucketSketches) -> {
+                Map<Bucket, BucketSketches> pending = pendingSketches.computeIfAbsent(granularity, g -> new HashMap<>());
+                bucketSketches.forEach((bucket, added) -> {
+                    BucketSketches existing = pending.putIfAbsent(bucket, added);
+                    if (existing != null) {
+                        existing.merge(added);
+                    }
+                });
+            });
+        }
+    }
+
+    /**
+     * Drops the pending sketches of a sensor whose buckets were just rebuilt from the raw rows, which
+     * already contain those readings.
+     */
+    private void discardPendingSketches(Long sensorId, LocalDateTime from, LocalDateTime to) {
+        synchronized (pendingSketches) {
+            pendingSketches.values().forEach(pending -> pending.keySet().removeIf(bucket ->
+                    bucket.sensorId() == sensorId && !bucket.start().isBefore(from) && bucket.start().isBefore(to)));
+        }
+    }
+
+    private static QuantileSketch copyOf(QuantileSketch sketch) {
+        QuantileSketch copy = new QuantileSketch();
+        copy.merge(sketch);
+        return copy;
+    }
+
+    /**
+     * Backfills the rollups from the raw history in the background if no full rebuild has completed yet.
+     * Ingest keeps running meanwhile; the statistics of a sensor are complete once its turn has passed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnFirstStart() {
+        if (!enabled || !backfillOnStart || rollupBackfillRepository.existsById(TelemetryRetentionService.PERFORMANCE_TIRE)) {
+            return;
+        }
+        log.info("Performance rollups have never been built from the raw history; backfilling them in the background");
+        rebuildJob.start("backfill", () -> rebuild(null));
+    }
+
+    /**
+     * Starts {@link #rebuild(Long)} on a background thread.
+     *
+     * @return false if a rebuild is already running.
+     */
+    public boolean startRebuild(Long sensorId) {
+        return rebuildJob.start(sensorId == null ? "all" : "sensor " + sensorId, () -> rebuild(sensorId));
+    }
+
+    public RollupRebuildStatusDTO<RollupRebuildResultDTO> getRebuildStatus() {
+        return rebuildJob.getStatus();
+    }
+
+    /**
+     * Recomputes the rollups from the raw performance_tire rows, one sensor per transaction. Buckets before the
+     * retention watermark are kept as they are. A rebuild of every sensor is recorded in rollup_backfill.
+     *
+     * @param sensorId The sensor to rebuild, or null to rebuild every sensor with raw data.
+     * @return Counts of processed rows and written buckets.
+     */
+    public RollupRebuildResultDTO rebuild(Long sensorId) {
+        LocalDateTime from = telemetryRetentionRepository.findById(TelemetryRetentionService.PERFORMANCE_TIRE)
+                .map(TelemetryRetentionModel::getCompactedBefore)
+                .orElse(EARLIEST);
+        List<Long> sensorIds = sensorId != null
+                ? List.of(sensorId)
+                : jdbcTemplate.queryForList("SELECT DISTINCT sensor FROM performance_tire", Long.class);
+        RollupRebuildResultDTO result = rebuildRange(sensorIds, from, LATEST);
+        if (sensorId == null) {
+            rollupBackfillRepository.save(new RollupBackfillModel(TelemetryRetentionService.PERFORMANCE_TIRE, LocalDateTime.now()));
+        }
+        log.info("Performance rollups rebuilt: {}", result);
+        return result;
+    }
+
+    /**
+     * Recomputes the rollups of the given sensors between two month boundaries, one sensor per transaction.
+     * Used by {@link TelemetryRetentionService} to fold raw rows that are missing from the rollups before
+     * they are deleted.
+     *
+     * @param sensorIds The sensors to rebuild.
+     * @param from      Start of the range (inclusive); must be the start of a month.
+     * @param to        End of the range (exclusive); must be the start of a month.
+     * @return Counts of processed rows and written buckets.
+     */
+    public RollupRebuildResultDTO rebuildRange(List<Long> sensorIds, LocalDateTime from, LocalDateTime to) {
+        long start = System.currentTimeMillis();
+        RollupRebuildResultDTO result = new RollupRebuildResultDTO(sensorIds.size(), 0, 0, 0, 0, 0);
+        for (Long id : sensorIds) {
+            rebuildLock.writeLock().lock();
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> rebuildSensor(id, from, to, result));
+                discardPendingSketches(id, from, to);
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private void rebuildSensor(Long sensorId, LocalDateTime from, LocalDateTime to, RollupRebuildResultDTO result) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            jdbcTemplate.update("DELETE FROM " + granularity.getTableName() + " WHERE sensor = ? AND bucket_start >= ? AND bucket_start < ?",
+                    sensorId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        }
+
+        // Raw rows are streamed into hourly buckets (see JdbcStreaming; nothing else is queried while reading them);
+        // days and months are merged from the hours
+        Map<Bucket, ReadingAccumulator> hourly = new HashMap<>();
+        Map<Bucket, BucketSketches> hourlySketches = new HashMap<>();
+        long[] rows = new long[1];
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(RAW_READINGS_SQL);
+            JdbcStreaming.streamResults(statement, rebuildFetchSize);
+            statement.setLong(1, sensorId);
+            statement.setTimestamp(2, Timestamp.valueOf(from));
+            statement.setTimestamp(3, Timestamp.valueOf(to));
+            return statement;
+        }, rs -> {
+            LocalDateTime hour = RollupGranularity.HOUR.bucketStart(rs.getTimestamp(4).toLocalDateTime());
+            Bucket bucket = new Bucket(sensorId, hour);
+            hourly.computeIfAbsent(bucket, b -> new ReadingAccumulator())
+                    .add(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3));
+            if (sketchesEnabled) {
+                hourlySketches.computeIfAbsent(bucket, b -> new BucketSketches()).add(rs.getDouble(1), rs.getDouble(2));
+            }
+            rows[0]++;
+        });
+
+        Map<Bucket, ReadingAccumulator> daily = new HashMap<>();
+        Map<Bucket, ReadingAccumulator> monthly = new HashMap<>();
+        hourly.forEach((bucket, accumulator) -> {
+            daily.computeIfAbsent(new Bucket(sensorId, RollupGranularity.DAY.bucketStart(bucket.start())), b -> new ReadingAccumulator())
+                    .merge(accumulator);
+            monthly.computeIfAbsent(new Bucket(sensorId, RollupGranularity.MONTH.bucketStart(bucket.start())), b -> new ReadingAccumulator())
+                    .merge(accumulator);
+        });
+        upsert(RollupGranularity.HOUR, hourly);
+        upsert(RollupGranularity.DAY, daily);
+        upsert(RollupGranularity.MONTH, monthly);
+
+        if (sketchesEnabled) {
+            Map<Bucket, BucketSketches> dailySketches = new HashMap<>();
+            Map<Bucket, BucketSketches> monthlySketches = new HashMap<>();
+            hourlySketches.forEach((bucket, bucketSketches) -> {
+                dailySketches.computeIfAbsent(new Bucket(sensorId, RollupGranularity.DAY.bucketStart(bucket.start())), b -> new BucketSketches())
+                        .merge(bucketSketches);
+                monthlySketches.computeIfAbsent(new Bucket(sensorId, RollupGranularity.MONTH.bucketStart(bucket.start())), b -> new BucketSketches())
+                        .merge(bucketSketches);
+            });
+            // The buckets were deleted above, so the stored sketches are replaced without being read
+            mergeSketches(RollupGranularity.HOUR, hourlySketches, true);
+            mergeSketches(RollupGranularity.DAY, dailySketches, true);
+            mergeSketches(RollupGranularity.MONTH, monthlySketches, true);
+        }
+
+        result.setRawRows(result.getRawRows() + rows[0]);
+        result.setHourlyBuckets(result.getHourlyBuckets() + hourly.size());
+        result.setDailyBuckets(result.getDailyBuckets() + daily.size());
+        result.setMonthlyBuckets(result.getMonthlyBuckets() + monthly.size());
+    }
+
+    private void upsert(RollupGranularity granularity, Map<Bucket, ReadingAccumulator> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Bucket, ReadingAccumulator>> entries = new ArrayList<>(buckets.entrySet());
+        jdbcTemplate.batchUpdate("INSERT INTO " + granularity.getTableName() + UPSERT_COLUMNS, entries, 500, (ps, entry) -> {
+            ReadingAccumulator accumulator = entry.getValue();
+            ps.setLong(1, entry.getKey().sensorId());
+            ps.setTimestamp(2, Timestamp.valueOf(entry.getKey().start()));
+            ps.setLong(3, accumulator.getCount());
+            ps.setDouble(4, accumulator.getTemperatureSum());
+            ps.setDouble(5, accumulator.getTemperatureMin());
+            ps.setDouble(6, accumulator.getTemperatureMax());
+            ps.setDouble(7, accumulator.getPressureSum());
+            ps.setDouble(8, accumulator.getPressureMin());
+            ps.setDouble(9, accumulator.getPressureMax());
+            ps.setDouble(10, accumulator.getBatteryLevelSum());
+            ps.setDouble(11, accumulator.getBatteryLevelMin());
+            ps.setDouble(12, accumulator.getBatteryLevelMax());
+        });
+    }
+
+    /**
+     * Merges new sketches into the stored ones of the same buckets. The bucket rows must already exist.
+     *
+     * @param replace true if the stored sketches are known to be empty and need not be read.
+     */
+    private void mergeSketches(RollupGranularity granularity, Map<Bucket, BucketSketches> sketches, boolean replace) {
+        List<Map.Entry<Bucket, BucketSketches>> entries = new ArrayList<>(sketches.entrySet());
+        for (int from = 0; from < entries.size(); from += SKETCH_CHUNK_SIZE) {
+            List<Map.Entry<Bucket, BucketSketches>> chunk = entries.subList(from, Math.min(from + SKETCH_CHUNK_SIZE, entries.size()));
+            if (!replace) {
+                readStoredSketches(granularity, chunk);
+            }
+            jdbcTemplate.batchUpdate("UPDATE " + granularity.getTableName()
+                    + " SET temperature_sketch = ?, pressure_sketch = ? WHERE sensor = ? AND bucket_start = ?", chunk, chunk.size(), (ps, entry) -> {
+                ps.setBytes(1, entry.getValue().temperature.toBytes());
+                ps.setBytes(2, entry.getValue().pressure.toBytes());
+                ps.setLong(3, entry.getKey().sensorId());
+                ps.setTimestamp(4, Timestamp.valueOf(entry.getKey().start()));
+            });
+        }
+    }
+
+    private void readStoredSketches(RollupGranularity granularity, List<Map.Entry<Bucket, BucketSketches>> chunk) {
+        StringBuilder sql = new StringBuilder("SELECT sensor, bucket_start, temperature_sketch, pressure_sketch FROM ")
+                .append(granularity.getTableName()).append(" WHERE (sensor, bucket_start) IN (");
+        List<Object> args = new ArrayList<>(chunk.size() * 2);
+        Map<Bucket, BucketSketches> byBucket = new HashMap<>();
+        for (Map.Entry<Bucket, BucketSketches> entry : chunk) {
+            sql.append(args.isEmpty() ? "(?, ?)" : ", (?, ?)");
+            args.add(entry.getKey().sensorId());
+            args.add(Timestamp.valueOf(entry.getKey().start()));
+            byBucket.put(entry.getKey(), entry.getValue());
+        }
+        sql.append(")");
+        jdbcTemplate.query(sql.toString(), rs -> {
+            BucketSketches sketches = byBucket.get(new Bucket(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()));
+            if (sketches != null) {
+                sketches.temperature.merge(QuantileSketch.fromBytes(rs.getBytes(3)));
+                sketches.pressure.merge(QuantileSketch.fromBytes(rs.getBytes(4)));
+            }
+        }, args.toArray());
+    }
+
+    /**
+     * Temperature and pressure sketches of one bucket that are not written to the rollup row yet.
+     */
+    public record PendingSketches(long sensorId, LocalDateTime bucketStart, QuantileSketch temperature,
+                                  QuantileSketch pressure) {
+    }
+
+    private record Bucket(long sensorId, LocalDateTime start) {
+    }
+
+    private static final class BucketSketches {
+        private final QuantileSketch temperature = new QuantileSketch();
+        private final QuantileSketch pressure = new QuantileSketch();
+
+        private void add(double temperatureValue, double pressureValue) {
+            temperature.add(temperatureValue);
+            pressure.add(pressureValue);
+        }
+
+        private void merge(BucketSketches other) {
+            temperature.merge(other.temperature);
+            pressure.merge(other.pressure);
+        }
+    }
+}
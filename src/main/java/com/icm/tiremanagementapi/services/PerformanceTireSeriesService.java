@@ -0,0 +1,201 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.models.PerformanceTireRollupModel;
+import com.icm.tiremanagementapi.models.SeriesBucket;
+import com.icm.tiremanagementapi.repositories.PerformanceTireDailyRepository;
+import com.icm.tiremanagementapi.repositories.PerformanceTireHourlyRepository;
+import com.icm.tiremanagementapi.requests.performanceTire.SeriesPointDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.TelemetrySeriesDTO;
+import com.icm.tiremanagementapi.utils.JdbcStreaming;
+import com.icm.tiremanagementapi.utils.LargestTriangleThreeBuckets;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds telemetry series of one sensor with arbitrary bucket widths. Hourly and daily buckets are read from
+ * the rollups; 5 and 15 minute buckets are computed in a single pass over the raw rows, which arrive in
+ * createdAt order through the (sensor, createdAt) index. Series longer than the point cap are downsampled
+ * with {@link LargestTriangleThreeBuckets}.
+ */
+@Service
+public class PerformanceTireSeriesService {
+    private static final String RAW_SERIES_SQL = "SELECT temperature, pressure, battery_level, created_at "
+            + "FROM performance_tire WHERE sensor = ? AND created_at >= ? AND created_at < ? "
+            + "AND temperature IS NOT NULL AND pressure IS NOT NULL AND battery_level IS NOT NULL "
+            + "ORDER BY created_at";
+
+    public enum Aggregation {
+        AVG, MIN, MAX, COUNT
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PerformanceTireRollupService performanceTireRollupService;
+
+    @Autowired
+    private PerformanceTireHourlyRepository performanceTireHourlyRepository;
+
+    @Autowired
+    private PerformanceTireDailyRepository performanceTireDailyRepository;
+
+    @Value("${performance.series.max-points:1000}")
+    private int maxPoints;
+
+    @Value("${performance.series.max-buckets:200000}")
+    private long maxBuckets;
+
+    @Value("${performance.series.fetch-size:5000}")
+    private int fetchSize;
+
+    /**
+     * Computes the series. The range is widened to whole buckets.
+     *
+     * @param sensorId      The sensor.
+     * @param from          Start of the range (inclusive), server time zone.
+     * @param to            End of the range (exclusive), server time zone.
+     * @param bucketCode    5m, 15m, 1h or 1d.
+     * @param aggregations  Comma-separated avg, min, max and/or count.
+     * @param pointLimit    Maximum number of points to return; capped by {@code performance.series.max-points}.
+     * @param downsampleBy  Metric whose average drives the downsampling: temperature, pressure or batteryLevel.
+     * @return The series.
+     * @throws IllegalArgumentException if a parameter is invalid or the range holds too many buckets.
+     */
+    public TelemetrySeriesDTO getSeries(Long sensorId, LocalDateTime from, LocalDateTime to, String bucketCode,
+                                        String aggregations, Integer pointLimit, String downsampleBy) {
+        SeriesBucket bucket = SeriesBucket.fromCode(bucketCode);
+        Set<Aggregation> selected = parseAggregations(aggregations);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        LocalDateTime start = bucket.bucketStart(from);
+        LocalDateTime end = bucket.bucketStart(to).equals(to) ? to : bucket.bucketStart(to).plus(bucket.getWidth());
+        if (Duration.between(start, end).dividedBy(bucket.getWidth()) > maxBuckets) {
+            throw new IllegalArgumentException("The range holds more than " + maxBuckets + " buckets");
+        }
+        int limit = pointLimit == null ? maxPoints : Math.max(3, Math.min(pointLimit, maxPoints));
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        List<ReadingAccumulator> accumulators = new ArrayList<>();
+        String source;
+        if (performanceTireRollupService.isEnabled() && (bucket == SeriesBucket.HOUR || bucket == SeriesBucket.DAY)) {
+            source = "rollup";
+            List<? extends PerformanceTireRollupModel> rollups = bucket == SeriesBucket.HOUR
+                    ? performanceTireHourlyRepository.findBySensorIdAndRange(sensorId, start, end)
+                    : performanceTireDailyRepository.findBySensorIdAndRange(sensorId, start, end);
+            for (PerformanceTireRollupModel rollup : rollups) {
+                ReadingAccumulator accumulator = new ReadingAccumulator();
+                accumulator.merge(rollup);
+                starts.add(rollup.getId().getBucketStart());
+                accumulators.add(accumulator);
+            }
+        } else {
+            source = "raw";
+            streamRaw(sensorId, start, end, bucket, starts, accumulators);
+        }
+
+        int[] kept = downsample(starts, accumulators, limit, downsampleBy);
+        List<SeriesPointDTO> points = new ArrayList<>(kept.length);
+        for (int index : kept) {
+            points.add(toPoint(starts.get(index), accumulators.get(index), selected));
+        }
+        return new TelemetrySeriesDTO(sensorId, start, end, bucket.getCode(),
+                selected.stream().map(aggregation -> aggregation.name().toLowerCase(Locale.ROOT)).toList(),
+                source, starts.size(), kept.length < starts.size(), points);
+    }
+
+    private void streamRaw(Long sensorId, LocalDateTime start, LocalDateTime end, SeriesBucket bucket,
+                           List<LocalDateTime> starts, List<ReadingAccumulator> accumulators) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RAW_SERIES_SQL);
+            JdbcStreaming.streamResults(statement, fetchSize);
+            statement.setLong(1, sensorId);
+            statement.setTimestamp(2, Timestamp.valueOf(start));
+            statement.setTimestamp(3, Timestamp.valueOf(end));
+            return statement;
+        }, rs -> {
+            LocalDateTime bucketStart = bucket.bucketStart(rs.getTimestamp(4).toLocalDateTime());
+            int last = starts.size() - 1;
+            // Rows are ordered by time, so a bucket is complete as soon as a row of the next one arrives
+            if (last < 0 || !starts.get(last).equals(bucketStart)) {
+                starts.add(bucketStart);
+                accumulators.add(new ReadingAccumulator());
+                last++;
+            }
+            accumulators.get(last).add(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3));
+        });
+    }
+
+    private static int[] downsample(List<LocalDateTime> starts, List<ReadingAccumulator> accumulators, int limit, String downsampleBy) {
+        int size = starts.size();
+        double[] x = new double[size];
+        double[] y = new double[size];
+        ZoneId zone = ZoneId.systemDefault();
+        for (int i = 0; i < size; i++) {
+            ReadingAccumulator accumulator = accumulators.get(i);
+            x[i] = starts.get(i).atZone(zone).toEpochSecond();
+            y[i] = switch (downsampleBy == null ? "temperature" : downsampleBy) {
+                case "pressure" -> accumulator.averagePressure();
+                case "batteryLevel" -> accumulator.averageBatteryLevel();
+                case "temperature" -> accumulator.averageTemperature();
+                default -> throw new IllegalArgumentException("Unsupported downsampleBy: " + downsampleBy);
+            };
+        }
+        return LargestTriangleThreeBuckets.select(x, y, limit);
+    }
+
+    private static Set<Aggregation> parseAggregations(String aggregations) {
+        Set<Aggregation> selected = EnumSet.noneOf(Aggregation.class);
+        for (String value : aggregations.split(",")) {
+            if (!value.isBlank()) {
+                try {
+                    selected.add(Aggregation.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unsupported aggregation: " + value.trim());
+                }
+            }
+        }
+        if (selected.isEmpty()) {
+            selected.add(Aggregation.AVG);
+        }
+        return selected;
+    }
+
+    private static SeriesPointDTO toPoint(LocalDateTime start, ReadingAccumulator accumulator, Set<Aggregation> selected) {
+        SeriesPointDTO point = new SeriesPointDTO();
+        point.setBucketStart(start);
+        if (selected.contains(Aggregation.COUNT)) {
+            point.setCount(accumulator.getCount());
+        }
+        if (selected.contains(Aggregation.AVG)) {
+            point.setAvgTemperature(accumulator.averageTemperature());
+            point.setAvgPressure(accumulator.averagePressure());
+            point.setAvgBatteryLevel(accumulator.averageBatteryLevel());
+        }
+        if (selected.contains(Aggregation.MIN)) {
+            point.setMinTemperature(accumulator.getTemperatureMin());
+            point.setMinPressure(accumulator.getPressureMin());
+            point.setMinBatteryLevel(accumulator.getBatteryLevelMin());
+        }
+        if (selected.contains(Aggregation.MAX)) {
+            point.setMaxTemperature(accumulator.getTemperatureMax());
+            point.setMaxPressure(accumulator.getPressureMax());
+            point.setMaxBatteryLevel(accumulator.getBatteryLevelMax());
+        }
+        return point;
+    }
+}
@@ -1,16 +1,33 @@
 package com.icm.tiremanagementapi.services;
 
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RollupRebuildStatusDTO;
 import com.icm.tiremanagementapi.models.PerformanceTireModel;
+import com.icm.tiremanagementapi.models.PerformanceTireMonthlyModel;
+import com.icm.tiremanagementapi.models.PerformanceTireRollupModel;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import com.icm.tiremanagementapi.repositories.PerformanceTireDailyRepository;
+import com.icm.tiremanagementapi.repositories.PerformanceTireHourlyRepository;
+import com.icm.tiremanagementapi.repositories.PerformanceTireMonthlyRepository;
 import com.icm.tiremanagementapi.repositories.PerformanceTireRepository;
 import com.icm.tiremanagementapi.requests.performanceTire.DailyAverageDTO;
 import com.icm.tiremanagementapi.requests.performanceTire.HourlyAverageDTO;
 import com.icm.tiremanagementapi.requests.performanceTire.MonthlyAverageDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.RollupRebuildResultDTO;
 import com.icm.tiremanagementapi.requests.performanceTire.YearlyAverageDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,6 +35,21 @@ public class PerformanceTireService {
     @Autowired
     PerformanceTireRepository performanceTireRepository;
 
+    @Autowired
+    PerformanceTireHourlyRepository performanceTireHourlyRepository;
+
+    @Autowired
+    PerformanceTireDailyRepository performanceTireDailyRepository;
+
+    @Autowired
+    PerformanceTireMonthlyRepository performanceTireMonthlyRepository;
+
+    @Autowired
+    PerformanceTireRollupService performanceTireRollupService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     public List<PerformanceTireModel> getAllPerformanceTires(){
         return performanceTireRepository.findAll();
     }
@@ -27,7 +59,23 @@ public class PerformanceTireService {
     }
 
     public List<HourlyAverageDTO> findHourlyAveragesBySensorIdAndDate(Long tireId, int year, int month, int day) {
-        List<Object[]> hourlyAverages = performanceTireRepository.findHourlyAveragesBySensorIdAndDate(tireId, year, month, day);
+        LocalDateTime from;
+        try {
+            from = LocalDate.of(year, month, day).atStartOfDay();
+        } catch (DateTimeException e) {
+            return List.of();
+        }
+        LocalDateTime to = from.plusDays(1);
+        if (performanceTireRollupService.isEnabled()) {
+            return performanceTireHourlyRepository.findBySensorIdAndRange(tireId, from, to)
+                    .stream().map(rollup -> new HourlyAverageDTO(
+                            rollup.getId().getBucketStart().getHour(),
+                            rollup.averageTemperature(),
+                            rollup.averagePressure(),
+                            rollup.averageBatteryLevel()
+                    )).collect(Collectors.toList());
+        }
+        List<Object[]> hourlyAverages = performanceTireRepository.findHourlyAveragesBySensorIdAndRange(tireId, atServerZone(from), atServerZone(to));
         return hourlyAverages.stream().map(objects -> new HourlyAverageDTO(
                 (Integer) objects[0], // hour
                 (Double) objects[1], // avgTemperature
@@ -37,10 +85,27 @@ public class PerformanceTireService {
     }
 
     public List<DailyAverageDTO> findDailyAveragesBySensorIdAndMonth(Long tireId, int year, int month) {
-        List<Object[]> dailyAverages = performanceTireRepository.findDailyAveragesBySensorIdAndMonth(tireId, year, month);
+        LocalDateTime from;
+        try {
+            from = LocalDate.of(year, month, 1).atStartOfDay();
+        } catch (DateTimeException e) {
+            return List.of();
+        }
+        LocalDateTime to = from.plusMonths(1);
+        if (performanceTireRollupService.isEnabled()) {
+            return performanceTireDailyRepository.findBySensorIdAndRange(tireId, from, to)
+                    .stream().map(rollup -> new DailyAverageDTO(
+                            rollup.getId().getBucketStart().getDayOfMonth(),
+                            rollup.getId().getBucketStart().getMonthValue(),
+                            rollup.averageTemperature(),
+                            rollup.averagePressure(),
+                            rollup.averageBatteryLevel()
+                    )).collect(Collectors.toList());
+        }
+        List<Object[]> dailyAverages = performanceTireRepository.findDailyAveragesBySensorIdAndRange(tireId, atServerZone(from), atServerZone(to));
         return dailyAverages.stream().map(objects ->  new DailyAverageDTO(
-                (Integer) objects[0], // month
-                (Integer) objects[1], // day
+                (Integer) objects[0], // day
+                (Integer) objects[1], // month
                 (Double) objects[2], // avgTemperature
                 (Double) objects[3], // avgPressure
                 (Double) objects[4]  // avgBatteryLevel
@@ -48,7 +113,23 @@ public class PerformanceTireService {
     }
 
     public List<MonthlyAverageDTO> findMonthlyAveragesBySensorIdAndYear(Long tireId, int year) {
-        List<Object[]> monthlyAverages = performanceTireRepository.findMonthlyAveragesBySensorIdAndYear(tireId, year);
+        LocalDateTime from;
+        try {
+            from = LocalDate.of(year, 1, 1).atStartOfDay();
+        } catch (DateTimeException e) {
+            return List.of();
+        }
+        LocalDateTime to = from.plusYears(1);
+        if (performanceTireRollupService.isEnabled()) {
+            return performanceTireMonthlyRepository.findBySensorIdAndRange(tireId, from, to)
+                    .stream().map(rollup -> new MonthlyAverageDTO(
+                            rollup.getId().getBucketStart().getMonthValue(),
+                            rollup.averageTemperature(),
+                            rollup.averagePressure(),
+                            rollup.averageBatteryLevel()
+                    )).collect(Collectors.toList());
+        }
+        List<Object[]> monthlyAverages = performanceTireRepository.findMonthlyAveragesBySensorIdAndRange(tireId, atServerZone(from), atServerZone(to));
         return monthlyAverages.stream().map(objects -> new MonthlyAverageDTO(
                 (Integer) objects[0], // month
                 (Double) objects[1], // avgTemperature
@@ -58,6 +139,27 @@ public class PerformanceTireService {
     }
 
     public List<YearlyAverageDTO> findYearlyAveragesBySensorId(Long tireId) {
+        if (performanceTireRollupService.isEnabled()) {
+            // At most twelve monthly rows per year are merged, whatever the length of the history
+            Map<Integer, PerformanceTireRollupModel> years = new TreeMap<>();
+            for (PerformanceTireMonthlyModel rollup : performanceTireMonthlyRepository.findBySensorIdAndRange(
+                    tireId, LocalDateTime.of(1, 1, 1, 0, 0), LocalDateTime.of(9999, 1, 1, 0, 0))) {
+                years.merge(rollup.getId().getBucketStart().getYear(), rollup, (total, next) -> {
+                    PerformanceTireMonthlyModel merged = new PerformanceTireMonthlyModel();
+                    merged.setSampleCount(total.getSampleCount() + next.getSampleCount());
+                    merged.setTemperatureSum(total.getTemperatureSum() + next.getTemperatureSum());
+                    merged.setPressureSum(total.getPressureSum() + next.getPressureSum());
+                    merged.setBatteryLevelSum(total.getBatteryLevelSum() + next.getBatteryLevelSum());
+                    return merged;
+                });
+            }
+            return years.entrySet().stream().map(entry -> new YearlyAverageDTO(
+                    entry.getKey(),
+                    entry.getValue().averageTemperature(),
+                    entry.getValue().averagePressure(),
+                    entry.getValue().averageBatteryLevel()
+            )).collect(Collectors.toList());
+        }
         List<Object[]> yearlyAverages = performanceTireRepository.findYearlyAveragesBySensorId(tireId);
         return yearlyAverages.stream().map(objects -> new YearlyAverageDTO(
                 (Integer) objects[0], // year
@@ -68,6 +170,44 @@ public class PerformanceTireService {
     }
 
     public PerformanceTireModel createPerformanceTire(PerformanceTireModel performanceTire) {
-        return performanceTireRepository.save(performanceTire);
+        if (!performanceTireRollupService.isEnabled() || performanceTire.getTireSensorModel() == null
+                || performanceTire.getTemperature() == null || performanceTire.getPressure() == null
+                || performanceTire.getBatteryLevel() == null) {
+            // Rows without every value are left out of the rollups, as in a rebuild
+            return performanceTireRepository.save(performanceTire);
+        }
+        PerformanceTireModel[] saved = new PerformanceTireModel[1];
+        performanceTireRollupService.runExcludingRebuild(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    saved[0] = performanceTireRepository.saveAndFlush(performanceTire);
+                    performanceTireRollupService.apply(List.of(new TelemetryReading(
+                            saved[0].getTireSensorModel().getId(),
+                            saved[0].getTemperature(),
+                            saved[0].getPressure(),
+                            saved[0].getBatteryLevel(),
+                            saved[0].getCreatedAt().toInstant().toEpochMilli())));
+                }));
+        return saved[0];
+    }
+
+    /**
+     * performance_tire.createdAt is stored in the server time zone, so the range bounds are expressed in it.
+     */
+    private static ZonedDateTime atServerZone(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault());
+    }
+
+    /**
+     * Starts recomputing the hourly, daily and monthly rollups from the raw performance_tire rows in the background.
+     *
+     * @param tireId The sensor to rebuild, or null for every sensor.
+     * @return false if a rebuild is already running.
+     */
+    public boolean startRollupRebuild(Long tireId) {
+        return performanceTireRollupService.startRebuild(tireId);
+    }
+
+    public RollupRebuildStatusDTO<RollupRebuildResultDTO> getRollupRebuildStatus() {
+        return performanceTireRollupService.getRebuildStatus();
     }
 }
@@ -0,0 +1,245 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.HistoryWriterStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends every ingested reading to {@code performance_tire} with multi-row INSERT statements.
+ * The rows are written with plain JDBC instead of {@code PerformanceTireRepository.save}: Hibernate
+ * cannot batch inserts of IDENTITY entities, while a multi-row INSERT lets MySQL assign the
+ * AUTO_INCREMENT ids of the whole chunk in one statement, so the entity keeps its generator.
+ * The hourly, daily and monthly rollups are updated in the same transaction, see {@link PerformanceTireRollupService}.
+ */
+@Service
+@Slf4j
+public class PerformanceTireWriter {
+    private static final String INSERT_PREFIX = "INSERT INTO performance_tire "
+            + "(temperature, pressure, battery_level, vehicle, company, sensor, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SensorThresholdCache sensorThresholdCache;
+
+    @Autowired
+    private PerformanceTireRollupService performanceTireRollupService;
+
+    @Value("${performance.writer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${performance.writer.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${performance.writer.rows-per-statement:200}")
+    private int rowsPerStatement;
+
+    @Value("${performance.writer.max-pending:100000}")
+    private int maxPending;
+
+    private final ConcurrentLinkedQueue<TelemetryReading> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+
+    private String fullChunkSql;
+
+    /**
+     * Queues a reading to be appended to the history. Never blocks; readings beyond
+     * {@code performance.writer.max-pending} are dropped and counted.
+     *
+     * @param reading The reading to store.
+     */
+    public void append(TelemetryReading reading) {
+        if (enqueue(reading) && pendingCount.get() >= batchSize && flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Queues a reading like {@link #append} but never flushes on the calling thread, so it is safe to
+     * call from the MQTT callback thread.
+     *
+     * @param reading The reading to store.
+     * @return true if the reading was queued.
+     */
+    public boolean enqueue(TelemetryReading reading) {
+        if (!enabled) {
+            return false;
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        pending.add(reading);
+        appended.increment();
+        return true;
+    }
+
+    /**
+     * Periodic flush; the interval is configured with {@code performance.writer.flush-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${performance.writer.flush-interval-ms:2000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Writes every queued reading in one transaction.
+     *
+     * @return The number of rows inserted.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public HistoryWriterStatsDTO getStats() {
+        return new HistoryWriterStatsDTO(enabled, pendingCount.get(), appended.sum(), written.sum(),
+                dropped.sum(), flushes.sum(), failedFlushes.sum());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int rows = flush();
+        log.info("Performance writer flushed {} readings on shutdown", rows);
+    }
+
+    private int flushPending() {
+        List<TelemetryReading> batch = new ArrayList<>(Math.min(pendingCount.get(), maxPending));
+        TelemetryReading reading;
+        while ((reading = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(reading);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Resolve vehicle and company of each sensor; readings of unknown sensors, or of sensors without a
+        // company (performance_tire.company is required), are discarded
+        List<HistoryRow> rows = new ArrayList<>(batch.size());
+        for (TelemetryReading item : batch) {
+            Optional<SensorThresholdsDTO> thresholds = sensorThresholdCache.get(item.sensorId());
+            if (thresholds.isEmpty() || thresholds.get().companyId() == null) {
+                dropped.increment();
+                continue;
+            }
+            rows.add(new HistoryRow(item, thresholds.get()));
+        }
+
+        try {
+            // Raw rows and their rollup updates are committed together
+            performanceTireRollupService.runExcludingRebuild(() ->
+                    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+                            List<HistoryRow> chunk = rows.subList(from, Math.min(from + rowsPerStatement, rows.size()));
+                            jdbcTemplate.update(sqlFor(chunk.size()), ps -> bindChunk(ps, chunk));
+                        }
+                        performanceTireRollupService.apply(rows.stream().map(HistoryRow::reading).toList());
+                    }));
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            // Requeue what still fits so a transient database error does not lose the history
+            for (HistoryRow row : rows) {
+                if (pendingCount.incrementAndGet() <= maxPending) {
+                    pending.add(row.reading());
+                } else {
+                    pendingCount.decrementAndGet();
+                    dropped.increment();
+                }
+            }
+            log.error("Performance writer flush of {} readings failed: {}", rows.size(), e.getMessage());
+            return 0;
+        }
+        flushes.increment();
+        written.add(rows.size());
+        return rows.size();
+    }
+
+    private String sqlFor(int rowCount) {
+        if (rowCount == rowsPerStatement) {
+            if (fullChunkSql == null) {
+                fullChunkSql = buildSql(rowCount);
+            }
+            return fullChunkSql;
+        }
+        return buildSql(rowCount);
+    }
+
+    private static String buildSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rowCount * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private static void bindChunk(PreparedStatement ps, List<HistoryRow> chunk) throws SQLException {
+        int index = 1;
+        for (HistoryRow row : chunk) {
+            TelemetryReading reading = row.reading();
+            SensorThresholdsDTO thresholds = row.thresholds();
+            Timestamp createdAt = new Timestamp(reading.timestamp());
+            ps.setDouble(index++, reading.temperature());
+            ps.setDouble(index++, reading.pressure());
+            ps.setDouble(index++, reading.batteryLevel());
+            if (thresholds.vehicleId() != null) {
+                ps.setLong(index++, thresholds.vehicleId());
+            } else {
+                ps.setNull(index++, Types.BIGINT);
+            }
+            ps.setLong(index++, thresholds.companyId());
+            ps.setLong(index++, reading.sensorId());
+            ps.setTimestamp(index++, createdAt);
+            ps.setTimestamp(index++, createdAt);
+        }
+    }
+
+    private record HistoryRow(TelemetryReading reading, SensorThresholdsDTO thresholds) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.models.PerformanceTireRollupModel;
+import lombok.Getter;
+
+/**
+ * Count, sum, minimum and maximum of temperature, pressure and battery level over a set of readings.
+ * Shared by the rollup maintenance and the series endpoint; not thread-safe.
+ */
+@Getter
+final class ReadingAccumulator {
+    private long count;
+    private double temperatureSum;
+    private double temperatureMin = Double.POSITIVE_INFINITY;
+    private double temperatureMax = Double.NEGATIVE_INFINITY;
+    private double pressureSum;
+    private double pressureMin = Double.POSITIVE_INFINITY;
+    private double pressureMax = Double.NEGATIVE_INFINITY;
+    private double batteryLevelSum;
+    private double batteryLevelMin = Double.POSITIVE_INFINITY;
+    private double batteryLevelMax = Double.NEGATIVE_INFINITY;
+
+    void add(double temperature, double pressure, double batteryLevel) {
+        count++;
+        temperatureSum += temperature;
+        temperatureMin = Math.min(temperatureMin, temperature);
+        temperatureMax = Math.max(temperatureMax, temperature);
+        pressureSum += pressure;
+        pressureMin = Math.min(pressureMin, pressure);
+        pressureMax = Math.max(pressureMax, pressure);
+        batteryLevelSum += batteryLevel;
+        batteryLevelMin = Math.min(batteryLevelMin, batteryLevel);
+        batteryLevelMax = Math.max(batteryLevelMax, batteryLevel);
+    }
+
+    void merge(ReadingAccumulator other) {
+        merge(other.count, other.temperatureSum, other.temperatureMin, other.temperatureMax,
+                other.pressureSum, other.pressureMin, other.pressureMax,
+                other.batteryLevelSum, other.batteryLevelMin, other.batteryLevelMax);
+    }
+
+    void merge(PerformanceTireRollupModel rollup) {
+        merge(rollup.getSampleCount(), rollup.getTemperatureSum(), rollup.getTemperatureMin(), rollup.getTemperatureMax(),
+                rollup.getPressureSum(), rollup.getPressureMin(), rollup.getPressureMax(),
+                rollup.getBatteryLevelSum(), rollup.getBatteryLevelMin(), rollup.getBatteryLevelMax());
+    }
+
+    double averageTemperature() {
+        return temperatureSum / count;
+    }
+
+    double averagePressure() {
+        return pressureSum / count;
+    }
+
+    double averageBatteryLevel() {
+        return batteryLevelSum / count;
+    }
+
+    void merge(long otherCount, double otherTemperatureSum, double otherTemperatureMin, double otherTemperatureMax,
+                       double otherPressureSum, double otherPressureMin, double otherPressureMax,
+                       double otherBatteryLevelSum, double otherBatteryLevelMin, double otherBatteryLevelMax) {
+        count += otherCount;
+        temperatureSum += otherTemperatureSum;
+        temperatureMin = Math.min(temperatureMin, otherTemperatureMin);
+        temperatureMax = Math.max(temperatureMax, otherTemperatureMax);
+        pressureSum += otherPressureSum;
+        pressureMin = Math.min(pressureMin, otherPressureMin);
+        pressureMax = Math.max(pressureMax, otherPressureMax);
+        batteryLevelSum += otherBatteryLevelSum;
+        batteryLevelMin = Math.min(batteryLevelMin, otherBatteryLevelMin);
+        batteryLevelMax = Math.max(batteryLevelMax, otherBatteryLevelMax);
+    }
+}
@@ -0,0 +1,138 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RecentReadingsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RecentReadingsStatsDTO;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import com.icm.tiremanagementapi.utils.ReadingRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the last {@code sensor.recent.size} readings of every active sensor in a {@link ReadingRing},
+ * filled by the telemetry ingest, so live screens can show recent history without touching the database.
+ * Rings of sensors that stop reporting are evicted after {@code sensor.recent.idle-minutes}, measured on the
+ * server clock from the last reading received; device timestamps only order the readings of a ring.
+ */
+@Service
+public class RecentReadingsBuffer {
+    @Value("${sensor.recent.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sensor.recent.size:120}")
+    private int size;
+
+    @Value("${sensor.recent.max-sensors:50000}")
+    private int maxSensors;
+
+    @Value("${sensor.recent.idle-minutes:60}")
+    private long idleMinutes;
+
+    private final ConcurrentHashMap<Long, SensorRing> rings = new ConcurrentHashMap<>();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * Appends a reading to the ring of its sensor, creating the ring if the sensor limit allows it.
+     *
+     * @param reading A reading of a known sensor.
+     */
+    public void record(TelemetryReading reading) {
+        if (!enabled) {
+            return;
+        }
+        SensorRing ring = rings.get(reading.sensorId());
+        if (ring == null) {
+            if (rings.size() >= maxSensors) {
+                rejected.increment();
+                return;
+            }
+            ring = rings.computeIfAbsent(reading.sensorId(), id -> new SensorRing(new ReadingRing(size)));
+        }
+        add(ring, reading);
+    }
+
+    /**
+     * Appends a reading only if its sensor already has a ring; used for readings that bypass
+     * {@link TireSensorService#processReading}, whose sensor has not been validated.
+     */
+    public void recordIfPresent(TelemetryReading reading) {
+        SensorRing ring = rings.get(reading.sensorId());
+        if (ring != null) {
+            add(ring, reading);
+        }
+    }
+
+    /**
+     * Returns the latest readings of the given sensors; sensors without readings are left out.
+     *
+     * @param sensorIds The sensors.
+     * @param limit     Maximum readings per sensor.
+     * @return The readings of each sensor, oldest first.
+     */
+    public List<RecentReadingsDTO> getRecent(Collection<Long> sensorIds, int limit) {
+        List<RecentReadingsDTO> result = new ArrayList<>(sensorIds.size());
+        for (Long sensorId : sensorIds) {
+            SensorRing ring = rings.get(sensorId);
+            if (ring != null) {
+                ReadingRing.Snapshot snapshot = ring.readings.snapshot(limit);
+                result.add(new RecentReadingsDTO(sensorId, snapshot.timestamps().length, snapshot.timestamps(),
+                        snapshot.temperatures(), snapshot.pressures(), snapshot.batteryLevels()));
+            }
+        }
+        return result;
+    }
+
+    public void forget(Long sensorId) {
+        rings.remove(sensorId);
+    }
+
+    /**
+     * Evicts the rings of sensors that sent no reading in the last {@code sensor.recent.idle-minutes}.
+     */
+    @Scheduled(fixedDelayString = "${sensor.recent.eviction-interval-ms:300000}")
+    public void evictIdle() {
+        long threshold = System.currentTimeMillis() - idleMinutes * 60_000L;
+        rings.entrySet().removeIf(entry -> {
+            boolean idle = entry.getValue().lastRecordedAt < threshold;
+            if (idle) {
+                evicted.increment();
+            }
+            return idle;
+        });
+    }
+
+    public RecentReadingsStatsDTO getStats() {
+        long bytesPerSensor = ReadingRing.OVERHEAD_BYTES + (long) size * ReadingRing.BYTES_PER_READING;
+        int sensors = rings.size();
+        return new RecentReadingsStatsDTO(enabled, size, sensors, maxSensors, recorded.sum(), rejected.sum(),
+                evicted.sum(), bytesPerSensor, bytesPerSensor * sensors);
+    }
+
+    private void add(SensorRing ring, TelemetryReading reading) {
+        ring.lastRecordedAt = System.currentTimeMillis();
+        if (ring.readings.add(reading.timestamp(), reading.temperature(), reading.pressure(), reading.batteryLevel())) {
+            recorded.increment();
+        }
+    }
+
+    /**
+     * The ring of a sensor and the server time of its last received reading.
+     */
+    private static final class SensorRing {
+        private final ReadingRing readings;
+        private volatile long lastRecordedAt = System.currentTimeMillis();
+
+        private SensorRing(ReadingRing readings) {
+            this.readings = readings;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RollupRebuildStatusDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs one rollup rebuild at a time on a background thread and keeps the outcome of the last one, so the
+ * rebuild endpoints return immediately instead of holding a request thread for the whole rebuild.
+ *
+ * @param <T> Type of the rebuild counts.
+ */
+@Slf4j
+final class RollupRebuildJob<T> {
+    private final String name;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile String target;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile T lastResult;
+    private volatile String lastError;
+
+    /**
+     * @param name Suffix of the rebuild thread name, for example "performance".
+     */
+    RollupRebuildJob(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts a rebuild unless one is already running.
+     *
+     * @param target  What the rebuild covers, reported by {@link #getStatus()}.
+     * @param rebuild The rebuild itself.
+     * @return false if a rebuild is already running.
+     */
+    boolean start(String target, Supplier<T> rebuild) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        this.target = target;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        Thread thread = new Thread(() -> {
+            try {
+                lastResult = rebuild.get();
+                lastError = null;
+            } catch (RuntimeException e) {
+                log.error("Rollup rebuild {} ({}) failed", name, target, e);
+                lastError = e.getMessage();
+            } finally {
+                finishedAt = LocalDateTime.now();
+                running.set(false);
+            }
+        }, "rollup-rebuild-" + name);
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    boolean isRunning() {
+        return running.get();
+    }
+
+    RollupRebuildStatusDTO<T> getStatus() {
+        return new RollupRebuildStatusDTO<>(running.get(), target, startedAt, finishedAt, lastResult, lastError);
+    }
+}
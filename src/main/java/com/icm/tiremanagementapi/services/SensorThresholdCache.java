@@ -0,0 +1,87 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorCacheStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO;
+import com.icm.tiremanagementapi.repositories.TireSensorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of {@link SensorThresholdsDTO} per sensor ID.
+ * Entries are loaded with a single projection query and must be invalidated by every
+ * operation that changes the sensor mapping or the standard values of a vehicle.
+ */
+@Service
+public class SensorThresholdCache {
+    @Autowired
+    private TireSensorRepository tireSensorRepository;
+
+    private final ConcurrentHashMap<Long, SensorThresholdsDTO> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented on every invalidation so that a load racing with an invalidation is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Returns the thresholds of a sensor, loading them from the database on a miss.
+     *
+     * @param sensorId The ID of the sensor.
+     * @return Optional containing the thresholds, or empty if the sensor does not exist.
+     */
+    public Optional<SensorThresholdsDTO> get(Long sensorId) {
+        SensorThresholdsDTO cached = entries.get(sensorId);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        // Captured before the query: an invalidation after this point may have changed what the query reads
+        long loadGeneration = generation.get();
+        Optional<SensorThresholdsDTO> loaded = tireSensorRepository.findThresholdsBySensorId(sensorId);
+        loaded.ifPresent(thresholds -> {
+            entries.put(sensorId, thresholds);
+            // Checked after the put, so an invalidation between the check and the put cannot leave it cached
+            if (generation.get() != loadGeneration) {
+                entries.remove(sensorId, thresholds);
+            }
+        });
+        return loaded;
+    }
+
+    public void invalidate(Long sensorId) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        entries.remove(sensorId);
+    }
+
+    public void invalidateVehicle(Long vehicleId) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        entries.values().removeIf(thresholds -> Objects.equals(thresholds.vehicleId(), vehicleId));
+    }
+
+    public void invalidateCompany(Long companyId) {
+        generation.incrementAndGet();
+        invalidations.increment();
+        entries.values().removeIf(thresholds -> Objects.equals(thresholds.companyId(), companyId));
+    }
+
+    public SensorCacheStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        return new SensorCacheStatsDTO(entries.size(), hitCount, missCount, invalidations.sum(),
+                total == 0 ? 0.0 : (double) hitCount / total);
+    }
+}
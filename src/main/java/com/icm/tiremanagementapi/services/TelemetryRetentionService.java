@@ -0,0 +1,478 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.archive.TelemetryArchiveService;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRollupRebuildResultDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RetentionStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RetentionTableStatsDTO;
+import com.icm.tiremanagementapi.models.TelemetryRetentionModel;
+import com.icm.tiremanagementapi.repositories.TelemetryRetentionRepository;
+import com.icm.tiremanagementapi.requests.performanceTire.RollupRebuildResultDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Expires raw telemetry older than a configurable age.
+ * <p>
+ * Every expired month is first reconciled with the monthly rollup: sensors (vehicles for gas_records) whose
+ * raw row count differs from the rollup sample count (for example history written before the rollups
+ * existed) have the month recomputed from the raw rows. The retention watermark is then moved past the month, so a
+ * later rollup rebuild never recomputes it from an incomplete raw table, and only then are the rows deleted.
+ * With {@code archive.enabled} the month is also exported to the columnar archive before the watermark moves,
+ * see {@link TelemetryArchiveService}.
+ * <p>
+ * Sensors and vehicles are taken from the raw rows themselves rather than from tires_sensor and vehicle, so the
+ * history of deleted ones is reconciled, archived and expired like any other.
+ * Rows are deleted per sensor (per vehicle for gas_records) in chunks of {@code retention.delete-chunk-size}
+ * through the composite indexes, each chunk in its own short transaction. When the table is range-partitioned
+ * by month (see {@code db/telemetry-partitioning.sql}) expired months are dropped as whole partitions instead,
+ * and partitions for the coming months are created ahead of time.
+ */
+@Service
+@Slf4j
+public class TelemetryRetentionService {
+    public static final String PERFORMANCE_TIRE = "performance_tire";
+    public static final String GAS_RECORDS = "gas_records";
+
+    /**
+     * MySQL TO_DAYS('1970-01-01'); partition bounds are stored as TO_DAYS values.
+     */
+    private static final long TO_DAYS_EPOCH = 719528;
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String COMPLETE_READING = "temperature IS NOT NULL AND pressure IS NOT NULL AND battery_level IS NOT NULL";
+    private static final String RAW_MONTH_COUNT_SQL = "SELECT COUNT(*) FROM performance_tire "
+            + "WHERE sensor = ? AND created_at >= ? AND created_at < ? AND " + COMPLETE_READING;
+    /**
+     * On a table partitioned by TO_DAYS(created_at) the range is pruned to the month's partition, so one pass over
+     * that partition counts every sensor.
+     */
+    private static final String RAW_MONTH_COUNTS_SQL = "SELECT sensor, COUNT(*) FROM performance_tire "
+            + "WHERE created_at >= ? AND created_at < ? AND " + COMPLETE_READING + " GROUP BY sensor";
+    /**
+     * Resolved with a loose scan of the leading column of the (sensor, created_at) and (vehicle, day, hour) indexes.
+     */
+    public static final String PERFORMANCE_TIRE_OWNERS_SQL = "SELECT DISTINCT sensor FROM performance_tire WHERE sensor IS NOT NULL ORDER BY sensor";
+    public static final String GAS_RECORDS_OWNERS_SQL = "SELECT DISTINCT vehicle FROM gas_records WHERE vehicle IS NOT NULL ORDER BY vehicle";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PerformanceTireRollupService performanceTireRollupService;
+
+    @Autowired
+    private GasRecordRollupService gasRecordRollupService;
+
+    @Autowired
+    private TelemetryRetentionRepository telemetryRetentionRepository;
+
+    @Autowired
+    private TelemetryArchiveService telemetryArchiveService;
+
+    @Value("${retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${retention.performance-tire.retention-days:90}")
+    private int performanceTireRetentionDays;
+
+    @Value("${retention.gas-records.enabled:false}")
+    private boolean gasRecordsEnabled;
+
+    @Value("${retention.gas-records.retention-days:365}")
+    private int gasRecordsRetentionDays;
+
+    @Value("${retention.delete-chunk-size:5000}")
+    private int deleteChunkSize;
+
+    @Value("${retention.chunk-pause-ms:50}")
+    private long chunkPauseMillis;
+
+    @Value("${retention.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final TableProgress performanceTire = new TableProgress(PERFORMANCE_TIRE);
+    private final TableProgress gasRecords = new TableProgress(GAS_RECORDS);
+
+    /**
+     * Periodic run; the interval is configured with {@code retention.interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${retention.interval-ms:3600000}", initialDelayString = "${retention.initial-delay-ms:300000}")
+    public void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    /**
+     * Expires every configured table. Returns immediately if a run is already in progress.
+     *
+     * @return The retention statistics after the run.
+     */
+    public RetentionStatsDTO run() {
+        if (!running.compareAndSet(false, true)) {
+            return getStats();
+        }
+        try {
+            compactPerformanceTire();
+            if (gasRecordsEnabled) {
+                compactGasRecords();
+            }
+        } finally {
+            running.set(false);
+        }
+        return getStats();
+    }
+
+    public RetentionStatsDTO getStats() {
+        return new RetentionStatsDTO(enabled, running.get(), List.of(
+                performanceTire.toDTO(enabled, performanceTireRetentionDays),
+                gasRecords.toDTO(enabled && gasRecordsEnabled, gasRecordsRetentionDays)));
+    }
+
+    private void compactPerformanceTire() {
+        TableProgress progress = performanceTire;
+        LocalDateTime cutoff = cutoff(performanceTireRetentionDays);
+        progress.start(cutoff);
+        try {
+            if (!performanceTireRollupService.isEnabled()) {
+                throw new IllegalStateException("performance.rollup.enabled is false; raw rows would be lost without rollups");
+            }
+            progress.partitioned = ensureFuturePartitions(PERFORMANCE_TIRE, progress);
+            List<Long> sensorIds = jdbcTemplate.queryForList(PERFORMANCE_TIRE_OWNERS_SQL, Long.class);
+
+            LocalDateTime month = watermark(PERFORMANCE_TIRE);
+            if (month == null) {
+                LocalDateTime oldest = oldestPerformanceTireRow(sensorIds);
+                month = oldest == null ? cutoff : oldest.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            }
+            while (month.isBefore(cutoff)) {
+                LocalDateTime next = month.plusMonths(1);
+                progress.currentMonth = month;
+                reconcileMonth(sensorIds, month, next, progress);
+                if (telemetryArchiveService.isEnabled()) {
+                    telemetryArchiveService.archivePerformanceTireMonth(YearMonth.from(month), sensorIds);
+                    progress.monthsArchived.increment();
+                }
+                saveWatermark(PERFORMANCE_TIRE, next);
+                progress.compactedBefore = next;
+                progress.monthsCompacted.increment();
+                month = next;
+            }
+
+            if (progress.partitioned) {
+                dropExpiredPartitions(PERFORMANCE_TIRE, cutoff.toLocalDate(), progress);
+            }
+            // Rows left in partitions that also hold live data, or every expired row of an unpartitioned table
+            for (Long sensorId : sensorIds) {
+                deleteInChunks("DELETE FROM performance_tire WHERE sensor = ? AND created_at < ? LIMIT ?",
+                        sensorId, Timestamp.valueOf(cutoff), progress);
+            }
+            progress.oldestRow = oldestPerformanceTireRow(sensorIds);
+            progress.finish(null);
+        } catch (RuntimeException e) {
+            log.error("Retention of {} failed: {}", PERFORMANCE_TIRE, e.getMessage());
+            progress.finish(e);
+        }
+    }
+
+    private void compactGasRecords() {
+        TableProgress progress = gasRecords;
+        LocalDateTime cutoff = cutoff(gasRecordsRetentionDays);
+        progress.start(cutoff);
+        try {
+            if (!gasRecordRollupService.isEnabled()) {
+                throw new IllegalStateException("gas.rollup.enabled is false; raw rows would be lost without rollups");
+            }
+            progress.partitioned = ensureFuturePartitions(GAS_RECORDS, progress);
+            List<Long> vehicleIds = jdbcTemplate.queryForList(GAS_RECORDS_OWNERS_SQL, Long.class);
+
+            LocalDateTime month = watermark(GAS_RECORDS);
+            if (month == null) {
+                LocalDateTime oldest = oldestGasRecord(vehicleIds);
+                month = oldest == null ? cutoff : oldest.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            }
+            while (month.isBefore(cutoff)) {
+                LocalDateTime next = month.plusMonths(1);
+                progress.currentMonth = month;
+                reconcileGasMonth(vehicleIds, month.toLocalDate(), next.toLocalDate(), progress);
+                if (telemetryArchiveService.isEnabled()) {
+                    telemetryArchiveService.archiveGasRecordsMonth(YearMonth.from(month), vehicleIds);
+                    progress.monthsArchived.increment();
+                }
+                saveWatermark(GAS_RECORDS, next);
+                progress.compactedBefore = next;
+                progress.monthsCompacted.increment();
+                month = next;
+            }
+
+            if (progress.partitioned) {
+                dropExpiredPartitions(GAS_RECORDS, cutoff.toLocalDate(), progress);
+            }
+            for (Long vehicleId : vehicleIds) {
+                deleteInChunks("DELETE FROM gas_records WHERE vehicle = ? AND day < ? LIMIT ?",
+                        vehicleId, Date.valueOf(cutoff.toLocalDate()), progress);
+            }
+            progress.oldestRow = oldestGasRecord(vehicleIds);
+            progress.finish(null);
+        } catch (RuntimeException e) {
+            log.error("Retention of {} failed: {}", GAS_RECORDS, e.getMessage());
+            progress.finish(e);
+        }
+    }
+
+    /**
+     * Recomputes the month of every sensor whose raw row count differs from its monthly rollup.
+     */
+    private void reconcileMonth(List<Long> sensorIds, LocalDateTime month, LocalDateTime next, TableProgress progress) {
+        Map<Long, Long> rolledUp = new HashMap<>();
+        jdbcTemplate.query("SELECT sensor, sample_count FROM performance_tire_monthly WHERE bucket_start = ?",
+                rs -> {
+                    rolledUp.put(rs.getLong(1), rs.getLong(2));
+                }, Timestamp.valueOf(month));
+
+        Map<Long, Long> rawCounts = new HashMap<>();
+        if (progress.partitioned) {
+            jdbcTemplate.query(RAW_MONTH_COUNTS_SQL,
+                    rs -> {
+                        rawCounts.put(rs.getLong(1), rs.getLong(2));
+                    }, Timestamp.valueOf(month), Timestamp.valueOf(next));
+        }
+
+        List<Long> stale = new ArrayList<>();
+        for (Long sensorId : sensorIds) {
+            // Unpartitioned tables count each sensor through the (sensor, created_at) index instead of scanning the month
+            Long raw = progress.partitioned ? rawCounts.get(sensorId)
+                    : jdbcTemplate.queryForObject(RAW_MONTH_COUNT_SQL, Long.class,
+                    sensorId, Timestamp.valueOf(month), Timestamp.valueOf(next));
+            if (raw != null && raw > 0 && !Objects.equals(raw, rolledUp.getOrDefault(sensorId, 0L))) {
+                stale.add(sensorId);
+            }
+        }
+        if (!stale.isEmpty()) {
+            RollupRebuildResultDTO result = performanceTireRollupService.rebuildRange(stale, month, next);
+            progress.seriesRebuilt.add(stale.size());
+            log.info("Retention folded {} raw rows of {} sensors into the rollups of {}", result.getRawRows(), stale.size(), month);
+        }
+    }
+
+    /**
+     * Recomputes the month of every vehicle whose raw record count differs from its monthly gas rollup.
+     */
+    private void reconcileGasMonth(List<Long> vehicleIds, LocalDate month, LocalDate next, TableProgress progress) {
+        Map<Long, Long> rolledUp = new HashMap<>();
+        jdbcTemplate.query("SELECT vehicle, sample_count FROM gas_records_monthly WHERE bucket_start = ?",
+                rs -> {
+                    rolledUp.put(rs.getLong(1), rs.getLong(2));
+                }, Timestamp.valueOf(month.atStartOfDay()));
+
+        List<Long> stale = new ArrayList<>();
+        for (Long vehicleId : vehicleIds) {
+            Long raw = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM gas_records WHERE vehicle = ? AND day >= ? AND day < ?",
+                    Long.class, vehicleId, Date.valueOf(month), Date.valueOf(next));
+            if (raw != null && raw > 0 && !Objects.equals(raw, rolledUp.getOrDefault(vehicleId, 0L))) {
+                stale.add(vehicleId);
+            }
+        }
+        if (!stale.isEmpty()) {
+            GasRollupRebuildResultDTO result = gasRecordRollupService.rebuildRange(stale, month, next);
+            progress.seriesRebuilt.add(stale.size());
+            log.info("Retention folded {} gas records of {} vehicles into the rollups of {}", result.getRawRows(), stale.size(), month);
+        }
+    }
+
+    private void deleteInChunks(String sql, Long ownerId, Object cutoff, TableProgress progress) {
+        int deleted;
+        do {
+            // Each statement commits on its own so row locks are held for one chunk only
+            deleted = jdbcTemplate.update(sql, ownerId, cutoff, deleteChunkSize);
+            progress.rowsDeleted.add(deleted);
+            if (deleted == deleteChunkSize && chunkPauseMillis > 0) {
+                try {
+                    Thread.sleep(chunkPauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Retention interrupted", e);
+                }
+            }
+        } while (deleted == deleteChunkSize);
+    }
+
+    /**
+     * Adds monthly partitions up to {@code retention.partitions-ahead} months from now by splitting the
+     * MAXVALUE partition, which is cheap while it is empty.
+     *
+     * @return true if the table is partitioned.
+     */
+    private boolean ensureFuturePartitions(String table, TableProgress progress) {
+        List<Partition> partitions = partitions(table);
+        if (partitions.isEmpty()) {
+            return false;
+        }
+        if (!MAX_PARTITION.equals(partitions.get(partitions.size() - 1).name())) {
+            return true;
+        }
+        long highest = partitions.stream().filter(p -> p.upperBound() != null)
+                .mapToLong(Partition::upperBound).max().orElse(Long.MIN_VALUE);
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        LocalDate last = month.plusMonths(partitionsAhead);
+        StringBuilder definitions = new StringBuilder();
+        int added = 0;
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            long bound = toDays(month.plusMonths(1));
+            if (bound > highest) {
+                definitions.append("PARTITION ").append(PARTITION_NAME.format(month))
+                        .append(" VALUES LESS THAN (").append(bound).append("), ");
+                added++;
+            }
+        }
+        if (added > 0) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                    + definitions + "PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            progress.partitionsAdded.add(added);
+        }
+        return true;
+    }
+
+    private void dropExpiredPartitions(String table, LocalDate cutoff, TableProgress progress) {
+        long cutoffDays = toDays(cutoff);
+        for (Partition partition : partitions(table)) {
+            if (partition.upperBound() != null && partition.upperBound() <= cutoffDays) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + partition.name());
+                progress.partitionsDropped.increment();
+                log.info("Retention dropped partition {} of {}", partition.name(), table);
+            }
+        }
+    }
+
+    private List<Partition> partitions(String table) {
+        try {
+            return jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                            + "ORDER BY PARTITION_ORDINAL_POSITION",
+                    (rs, rowNum) -> {
+                        String description = rs.getString(2);
+                        Long bound = description == null || "MAXVALUE".equalsIgnoreCase(description)
+                                ? null : Long.valueOf(description);
+                        return new Partition(rs.getString(1), bound);
+                    }, table);
+        } catch (DataAccessException | NumberFormatException e) {
+            // Not MySQL, or a partitioning scheme other than RANGE (TO_DAYS(...)): fall back to chunked deletes
+            log.debug("Partitions of {} unavailable: {}", table, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private LocalDateTime oldestPerformanceTireRow(List<Long> sensorIds) {
+        // One index lookup per sensor instead of a scan of the whole table
+        LocalDateTime oldest = null;
+        for (Long sensorId : sensorIds) {
+            Timestamp first = jdbcTemplate.queryForObject(
+                    "SELECT MIN(created_at) FROM performance_tire WHERE sensor = ?", Timestamp.class, sensorId);
+            if (first != null && (oldest == null || first.toLocalDateTime().isBefore(oldest))) {
+                oldest = first.toLocalDateTime();
+            }
+        }
+        return oldest;
+    }
+
+    private LocalDateTime oldestGasRecord(List<Long> vehicleIds) {
+        LocalDate oldest = null;
+        for (Long vehicleId : vehicleIds) {
+            Date first = jdbcTemplate.queryForObject("SELECT MIN(day) FROM gas_records WHERE vehicle = ?", Date.class, vehicleId);
+            if (first != null && (oldest == null || first.toLocalDate().isBefore(oldest))) {
+                oldest = first.toLocalDate();
+            }
+        }
+        return oldest == null ? null : oldest.atStartOfDay();
+    }
+
+    private LocalDateTime watermark(String table) {
+        return telemetryRetentionRepository.findById(table).map(TelemetryRetentionModel::getCompactedBefore).orElse(null);
+    }
+
+    private void saveWatermark(String table, LocalDateTime compactedBefore) {
+        LocalDateTime current = watermark(table);
+        if (current == null || current.isBefore(compactedBefore)) {
+            telemetryRetentionRepository.save(new TelemetryRetentionModel(table, compactedBefore));
+        }
+    }
+
+    private static LocalDateTime cutoff(int retentionDays) {
+        return LocalDate.now().minusDays(retentionDays).withDayOfMonth(1).atStartOfDay();
+    }
+
+    private static long toDays(LocalDate date) {
+        return date.toEpochDay() + TO_DAYS_EPOCH;
+    }
+
+    private record Partition(String name, Long upperBound) {
+    }
+
+    /**
+     * Progress of one table, updated by the retention run and read by {@link #getStats()}.
+     */
+    private static final class TableProgress {
+        private final String table;
+        private final LongAdder rowsDeleted = new LongAdder();
+        private final LongAdder partitionsDropped = new LongAdder();
+        private final LongAdder partitionsAdded = new LongAdder();
+        private final LongAdder monthsCompacted = new LongAdder();
+        private final LongAdder seriesRebuilt = new LongAdder();
+        private final LongAdder monthsArchived = new LongAdder();
+        private volatile boolean partitioned;
+        private volatile LocalDateTime cutoff;
+        private volatile LocalDateTime compactedBefore;
+        private volatile LocalDateTime currentMonth;
+        private volatile LocalDateTime oldestRow;
+        private volatile LocalDateTime lastRunStartedAt;
+        private volatile long lastRunMillis;
+        private volatile String lastError;
+
+        private TableProgress(String table) {
+            this.table = table;
+        }
+
+        private void start(LocalDateTime cutoff) {
+            this.cutoff = cutoff;
+            this.lastRunStartedAt = LocalDateTime.now();
+        }
+
+        private void finish(RuntimeException error) {
+            currentMonth = null;
+            lastError = error == null ? null : error.getMessage();
+            lastRunMillis = ChronoUnit.MILLIS.between(lastRunStartedAt, LocalDateTime.now());
+        }
+
+        private RetentionTableStatsDTO toDTO(boolean enabled, int retentionDays) {
+            LocalDateTime oldest = oldestRow;
+            LocalDateTime limit = cutoff;
+            long lagDays = oldest == null || limit == null || !oldest.isBefore(limit)
+                    ? 0 : ChronoUnit.DAYS.between(oldest, limit);
+            return new RetentionTableStatsDTO(table, enabled, retentionDays, partitioned, limit, compactedBefore,
+                    currentMonth, oldest, lagDays, rowsDeleted.sum(), partitionsDropped.sum(), partitionsAdded.sum(),
+                    monthsCompacted.sum(), seriesRebuilt.sum(), monthsArchived.sum(), lastRunStartedAt, lastRunMillis, lastError);
+        }
+    }
+}
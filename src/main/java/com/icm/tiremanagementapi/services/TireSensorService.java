@@ -4,9 +4,16 @@ import com.icm.tiremanagementapi.controllers.MailController;
 import com.icm.tiremanagementapi.controllers.RoleController;
 import com.icm.tiremanagementapi.controllers.UserController;
 import com.icm.tiremanagementapi.domain.EmailDTO;
+import com.icm.tiremanagementapi.dto.SummaryDTO.TireSensorSummaryDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.LiveIrregularityDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO;
+import com.icm.tiremanagementapi.live.LiveTelemetryHub;
 import com.icm.tiremanagementapi.models.*;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import com.icm.tiremanagementapi.repositories.CompanyRepository;
 import com.icm.tiremanagementapi.repositories.IrregularitiesTireRepository;
 import com.icm.tiremanagementapi.repositories.PositioningRepository;
+import com.icm.tiremanagementapi.repositories.TireRepository;
 import com.icm.tiremanagementapi.repositories.TireSensorRepository;
 import com.icm.tiremanagementapi.repositories.VehicleRepository;
 import com.icm.tiremanagementapi.requests.CheckResult;
@@ -19,18 +26,29 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
-import java.time.ZonedDateTime;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class TireSensorService {
+    /**
+     * Battery percentage at or below which a reading raises a low battery irregularity.
+     */
+    public static final int BATTERY_LOW_LEVEL = 30;
+
     @Autowired
     private TireSensorRepository tireSensorRepository;
 
     @Autowired
     private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private TireRepository tireRepository;
     @Autowired
     private UserController userController;
 
@@ -46,18 +64,44 @@ public class TireSensorService {
     @Autowired
     private PositioningRepository positioningRepository;
 
+    @Autowired
+    private TireSensorStateBuffer tireSensorStateBuffer;
+
+    @Autowired
+    private SensorThresholdCache sensorThresholdCache;
+
+    @Autowired
+    private PerformanceTireWriter performanceTireWriter;
+
+    @Autowired
+    private RecentReadingsBuffer recentReadingsBuffer;
+
+    @Autowired
+    private IrregularitySuppressor irregularitySuppressor;
+
+    @Autowired
+    private LiveTelemetryHub liveTelemetryHub;
+
     @Value("${file.image}")
     private String basePath;
 
     public List<TireSensorModel> getAll() {
         return tireSensorRepository.findAll();
     }
+
+    public List<TireSensorSummaryDTO> getAllSummaries() {
+        return tireSensorRepository.findAllSummaries();
+    }
+
+    public Page<TireSensorSummaryDTO> findSummariesByCompanyId(Long companyId, Pageable pageable) {
+        return tireSensorRepository.findSummariesByCompanyId(companyId, pageable);
+    }
     public List<TireSensorModel> findByCompanyModelIdAndStatus(Long companyId, Boolean status) {
         return tireSensorRepository.findByCompanyModelIdAndStatus(companyId, status);
     }
 
     public Optional<TireSensorModel> getById(Long id) {
-        return tireSensorRepository.findById(id);
+        return tireSensorRepository.findWithDetailsById(id);
     }
 
     public Optional<TireSensorModel> findByIdentificationCode(String code) {
@@ -114,9 +158,15 @@ public class TireSensorService {
                 sensorToFree.setVehicleModel(null);
                 sensorToFree.setStatus(false); // Asegúrate de tener una enumeración o valor adecuado para el estado 'libre'
                 tireSensorRepository.save(sensorToFree);
+                sensorThresholdCache.invalidate(sensorToFree.getId());
+                irregularitySuppressor.forget(sensorToFree.getId());
             }
         }
 
+        // Si el sensor cambia de vehículo o de posición, sus condiciones abiertas ya no aplican
+        boolean remapped = !Objects.equals(idOf(existingTireSensor.getVehicleModel()), idOf(tireSensor.getVehicleModel()))
+                || !Objects.equals(idOf(existingTireSensor.getPositioning()), idOf(tireSensor.getPositioning()));
+
         // Actualizar el sensor existente con los nuevos detalles
         existingTireSensor.setIdentificationCode(tireSensor.getIdentificationCode());
         existingTireSensor.setStatus(tireSensor.getStatus());
@@ -124,7 +174,20 @@ public class TireSensorService {
         existingTireSensor.setVehicleModel(tireSensor.getVehicleModel());
         existingTireSensor.setCompanyModel(tireSensor.getCompanyModel());
 
-        return tireSensorRepository.save(existingTireSensor);
+        TireSensorModel saved = tireSensorRepository.save(existingTireSensor);
+        sensorThresholdCache.invalidate(id);
+        if (remapped) {
+            irregularitySuppressor.forget(id);
+        }
+        return saved;
+    }
+
+    private static Long idOf(VehicleModel vehicle) {
+        return vehicle == null ? null : vehicle.getId();
+    }
+
+    private static Long idOf(PositioningModel positioning) {
+        return positioning == null ? null : positioning.getId();
     }
 
     public TireSensorModel changeSensor(Long id1, Long id2, String pos, Long v){
@@ -135,6 +198,9 @@ public class TireSensorService {
                     n1.setPositioning(null);
                     return tireSensorRepository.save(n1);
                 });
+        sensorThresholdCache.invalidate(id1);
+        // Las condiciones abiertas del sensor pertenecían a su montaje anterior
+        irregularitySuppressor.forget(id1);
         if (result1.isPresent()) {
             VehicleModel vehicle = new VehicleModel();
             vehicle.setId(v);
@@ -147,6 +213,8 @@ public class TireSensorService {
                         n2.setPositioning(positioningModel);
                         return tireSensorRepository.save(n2);
                     });
+            sensorThresholdCache.invalidate(id2);
+            irregularitySuppressor.forget(id2);
             return result2.orElse(null);
         } else {
             // Si el primer neumático no se pudo actualizar, devolvemos null o lanzamos una excepción según la lógica del negocio.
@@ -156,99 +224,156 @@ public class TireSensorService {
 
     public void deleteTire(Long id) {
         tireSensorRepository.deleteById(id);
+        sensorThresholdCache.invalidate(id);
+        irregularitySuppressor.forget(id);
+        recentReadingsBuffer.forget(id);
     }
 
     public TireSensorModel updateProperties(Double temperature, Double pressure, Integer battery, Long idtire) {
         TireSensorModel sensor = tireSensorRepository.findById(idtire)
                 .orElseThrow(() -> new RuntimeException("Neumático no encontrado"));
 
-        // Ejecuta las verificaciones consolidadas y decide sobre la creación de irregularidades
-        CheckResult checkResult = checkAllConditions(temperature, pressure, battery, sensor.getVehicleModel(), sensor);
-        if (checkResult.isShouldCreateIrregularity()) {
-            createIrregularity(checkResult, sensor);
-        }
+        processReading(new TelemetryReading(idtire, temperature, pressure, battery.doubleValue(), System.currentTimeMillis()));
 
-        // Actualiza las propiedades del neumático según los datos recibidos
+        // Devuelve el neumático con las propiedades recibidas
         sensor.setTemperature(temperature);
         sensor.setBatteryLevel(battery.doubleValue());
         sensor.setPressure(pressure);
+        return sensor;
+    }
+
+    /**
+     * Processes a reading received from the telemetry ingest. The sensor mapping and the vehicle
+     * thresholds come from {@link SensorThresholdCache}, so no entity is loaded in the common case.
+     *
+     * @param reading The reading received from the sensor.
+     */
+    public void processReading(TelemetryReading reading) {
+        SensorThresholdsDTO thresholds = sensorThresholdCache.get(reading.sensorId())
+                .orElseThrow(() -> new RuntimeException("Neumático no encontrado"));
+
+        // Las verificaciones solo aplican si el sensor está montado en un vehículo de una empresa
+        if (thresholds.vehicleId() != null && thresholds.companyId() != null) {
+            CheckResult checkResult = checkAllConditions(reading.temperature(), reading.pressure(), reading.batteryLevel(), thresholds);
+            evaluateIrregularity(checkResult, thresholds);
+        }
 
-        // Guarda el neumático actualizado en la base de datos
-        return tireSensorRepository.save(sensor);
+        // Cada lectura queda en el historial de performance_tire, en el buffer de lecturas recientes y se envía en vivo
+        performanceTireWriter.append(reading);
+        recentReadingsBuffer.record(reading);
+        liveTelemetryHub.publishReading(reading, thresholds);
+
+        // Con write-behind activo el estado se escribe en lote; si no, se actualiza inmediatamente
+        if (tireSensorStateBuffer.isEnabled()) {
+            tireSensorStateBuffer.record(reading);
+        } else {
+            tireSensorRepository.findById(reading.sensorId()).ifPresent(sensor -> {
+                sensor.setTemperature(reading.temperature());
+                sensor.setBatteryLevel(reading.batteryLevel());
+                sensor.setPressure(reading.pressure());
+                tireSensorRepository.save(sensor);
+                tireSensorStateBuffer.recordCommitLatency(reading);
+            });
+        }
     }
 
 
 
-    private CheckResult checkAllConditions(Double temperature, Double pressure, Integer battery, VehicleModel vehicle, TireSensorModel tire) {
+    /**
+     * Runs the irregularity checks on a reading that was superseded by a newer one of the same sensor before
+     * being processed, without updating the sensor state. A reading without irregular conditions is ignored,
+     * since the newer reading decides which conditions are cleared.
+     *
+     * @param reading The superseded reading.
+     */
+    public void detectIrregularities(TelemetryReading reading) {
+        Optional<SensorThresholdsDTO> thresholds = sensorThresholdCache.get(reading.sensorId());
+        if (thresholds.isEmpty() || thresholds.get().vehicleId() == null || thresholds.get().companyId() == null) {
+            return;
+        }
+        CheckResult checkResult = checkAllConditions(reading.temperature(), reading.pressure(), reading.batteryLevel(), thresholds.get());
+        if (!checkResult.getConditions().isEmpty()) {
+            evaluateIrregularity(checkResult, thresholds.get());
+        }
+    }
+
+    private void evaluateIrregularity(CheckResult checkResult, SensorThresholdsDTO thresholds) {
+        // El estado en memoria por sensor y condición decide si la irregularidad se registra o se suprime
+        if (irregularitySuppressor.evaluate(thresholds.sensorId(), checkResult.getConditions())) {
+            createIrregularity(checkResult, thresholds);
+        }
+    }
+
+    private CheckResult checkAllConditions(Double temperature, Double pressure, double battery, SensorThresholdsDTO thresholds) {
         CheckResult result = new CheckResult();
         StringBuilder nameBuilder = new StringBuilder();
         StringBuilder detailBuilder = new StringBuilder();
 
-        // Verificar batería
-        if (battery <= 30) {
+        // Verificar batería; se compara el valor decimal, igual que las estadísticas en SQL
+        if (battery <= BATTERY_LOW_LEVEL) {
             result.setShouldCreateIrregularity(true);
-            nameBuilder.append("Batería baja; ");
-            detailBuilder.append(String.format("Batería por debajo del %d%%. ", battery));
-            result.setRecordedBatteryLevel(battery.doubleValue());
+            result.getConditions().add(IrregularityCondition.BATTERY_LOW);
+            nameBuilder.append(IrregularityCondition.BATTERY_LOW.getLabel()).append("; ");
+            detailBuilder.append(String.format("Batería por debajo del %.0f%%. ", battery));
+            result.setRecordedBatteryLevel(battery);
         }
 
         // Verificar presión
-        if (pressure.compareTo(vehicle.getStandardPressure()) < 0) {
+        if (pressure.compareTo(thresholds.standardPressure()) < 0) {
             result.setShouldCreateIrregularity(true);
-            nameBuilder.append("Presión baja; ");
+            result.getConditions().add(IrregularityCondition.PRESSURE_LOW);
+            nameBuilder.append(IrregularityCondition.PRESSURE_LOW.getLabel()).append("; ");
             detailBuilder.append("Presión demasiado baja para el estándar definido. ");
             result.setRecordedPressure(pressure);
-        } else if (pressure.compareTo(vehicle.getStandardPressure()) > 0) {
+        } else if (pressure.compareTo(thresholds.standardPressure()) > 0) {
             result.setShouldCreateIrregularity(true);
-            nameBuilder.append("Presión alta; ");
+            result.getConditions().add(IrregularityCondition.PRESSURE_HIGH);
+            nameBuilder.append(IrregularityCondition.PRESSURE_HIGH.getLabel()).append("; ");
             detailBuilder.append("Presión demasiado alta para el estándar definido. ");
             result.setRecordedPressure(pressure);
         }
 
         // Verificar temperatura
-        if (temperature.compareTo(vehicle.getStandardTemperature()) < 0) {
+        if (temperature.compareTo(thresholds.standardTemperature()) < 0) {
             result.setShouldCreateIrregularity(true);
-            nameBuilder.append("Temperatura baja; ");
+            result.getConditions().add(IrregularityCondition.TEMPERATURE_LOW);
+            nameBuilder.append(IrregularityCondition.TEMPERATURE_LOW.getLabel()).append("; ");
             detailBuilder.append("Temperatura demasiado baja para el estándar definido. ");
             result.setRecordedTemperature(temperature);
-        } else if (temperature.compareTo(vehicle.getStandardTemperature()) > 0) {
+        } else if (temperature.compareTo(thresholds.standardTemperature()) > 0) {
             result.setShouldCreateIrregularity(true);
-            nameBuilder.append("Temperatura alta; ");
+            result.getConditions().add(IrregularityCondition.TEMPERATURE_HIGH);
+            nameBuilder.append(IrregularityCondition.TEMPERATURE_HIGH.getLabel()).append("; ");
             detailBuilder.append("Temperatura demasiado alta para el estándar definido. ");
             result.setRecordedTemperature(temperature);
         }
 
         result.setIrregularityName(nameBuilder.toString());
         result.setIrregularityDetail(detailBuilder.toString());
-        result.setIdtire(tire.getId());
+        result.setIdtire(thresholds.sensorId());
         return result;
     }
 
-    private void createIrregularity(CheckResult checkResult, TireSensorModel sensor) {
-        ZonedDateTime tenMinutesAgo = ZonedDateTime.now().minusMinutes(10);
-        List<IrregularitiesTireModel> recentIrregularities = irregularitiesTireRepository.findByNameIrregularityAndTireSensorModelIdAndCreatedAtGreaterThanEqual(checkResult.getIrregularityName(), sensor.getId(), tenMinutesAgo);
-
-        if (!recentIrregularities.isEmpty()) {
-            // Existe al menos una incidencia en los últimos 10 minutos con el mismo nombre
-            return; // No crear una nueva irregularidad
-        }
-
-        // No se encontraron incidencias recientes, proceder a crear una nueva
-
+    private void createIrregularity(CheckResult checkResult, SensorThresholdsDTO thresholds) {
         IrregularitiesTireModel irregularity = new IrregularitiesTireModel();
         irregularity.setNameIrregularity(checkResult.getIrregularityName());
         irregularity.setDetailsIrregularity(checkResult.getIrregularityDetail());
-        irregularity.setVehicleModel(sensor.getVehicleModel());
-        irregularity.setCompany(sensor.getCompanyModel());
+        // Referencias por id: no se consultan las entidades relacionadas
+        irregularity.setVehicleModel(vehicleRepository.getReferenceById(thresholds.vehicleId()));
+        irregularity.setCompany(companyRepository.getReferenceById(thresholds.companyId()));
         irregularity.setStatus(true); // Asumiendo que true indica una irregularidad activa
         irregularity.setRecordedTemperature(checkResult.getRecordedTemperature());
         irregularity.setRecordedPressure(checkResult.getRecordedPressure());
         irregularity.setRecordedBatteryLevel(checkResult.getRecordedBatteryLevel());
-        irregularity.setTireSensorModel(sensor);
-        irregularity.setTireModel(sensor.getTireModel());
+        irregularity.setTireSensorModel(tireSensorRepository.getReferenceById(thresholds.sensorId()));
+        irregularity.setTireModel(thresholds.tireId() != null ? tireRepository.getReferenceById(thresholds.tireId()) : null);
         IrregularitiesTireModel data = irregularitiesTireRepository.save(irregularity);
+        liveTelemetryHub.publishIrregularity(new LiveIrregularityDTO(data.getId(), thresholds.sensorId(),
+                thresholds.vehicleId(), thresholds.companyId(), data.getNameIrregularity(), data.getDetailsIrregularity(),
+                data.getRecordedTemperature(), data.getRecordedPressure(), data.getRecordedBatteryLevel(),
+                System.currentTimeMillis()));
 
-        String directoryPath = basePath + File.separator + data.getCompany().getName() + File.separator + "irregularidades" + File.separator + data.getId();
+        String directoryPath = basePath + File.separator + thresholds.companyName() + File.separator + "irregularidades" + File.separator + data.getId();
         // Crear el directorio
         File directory = new File(directoryPath);
         boolean isDirectoryCreated = directory.mkdirs();
@@ -0,0 +1,177 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.WriteBehindStatsDTO;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import com.icm.tiremanagementapi.utils.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for the live state (temperature, pressure and battery) of the tire sensors.
+ * Only the latest reading of each sensor is kept in memory, and pending states are written to
+ * {@code tires_sensor} as a single JDBC batch UPDATE every flush interval or once the batch size is reached.
+ */
+@Service
+@Slf4j
+public class TireSensorStateBuffer {
+    private static final String UPDATE_SQL =
+            "UPDATE tires_sensor SET temperature = ?, pressure = ?, battery_level = ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${sensor.write-behind.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sensor.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${sensor.write-behind.flush-on-shutdown:true}")
+    private boolean flushOnShutdown;
+
+    private final ConcurrentHashMap<Long, TelemetryReading> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private volatile long lastFlushMillis;
+
+    /**
+     * Time from the reading timestamp to the commit of the sensor state that contains it.
+     */
+    private final LatencyHistogram commitLatency = new LatencyHistogram();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stores the reading as the pending state of its sensor, replacing any state not yet written.
+     * Triggers a flush from the calling thread once the batch size is reached.
+     *
+     * @param reading The latest reading of the sensor.
+     */
+    public void record(TelemetryReading reading) {
+        pending.put(reading.sensorId(), reading);
+        recorded.increment();
+        if (pending.size() >= batchSize && flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Periodic flush; the interval is configured with {@code sensor.write-behind.flush-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${sensor.write-behind.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * Writes every pending sensor state to the database in one transaction.
+     *
+     * @return The number of sensor rows sent to the database.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            return flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Records the reading-to-commit latency of a state written outside the buffer, when write-behind is disabled.
+     *
+     * @param reading The reading whose state was just committed.
+     */
+    public void recordCommitLatency(TelemetryReading reading) {
+        commitLatency.record(System.currentTimeMillis() - reading.timestamp());
+    }
+
+    public WriteBehindStatsDTO getStats() {
+        return new WriteBehindStatsDTO(enabled, pending.size(), recorded.sum(), flushes.sum(),
+                rowsWritten.sum(), failedFlushes.sum(), lastFlushMillis,
+                commitLatency.quantile(0.5), commitLatency.quantile(0.99));
+    }
+
+    /**
+     * Clears the commit latency histogram, for example after a warm-up.
+     */
+    public void resetCommitLatency() {
+        commitLatency.reset();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushOnShutdown) {
+            int rows = flush();
+            log.info("Write-behind buffer flushed {} sensor states on shutdown", rows);
+        }
+    }
+
+    private int flushPending() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<TelemetryReading> batch = new ArrayList<>(pending.size());
+        for (Long sensorId : pending.keySet()) {
+            // remove() returns the newest value, so a reading stored meanwhile is never lost
+            TelemetryReading reading = pending.remove(sensorId);
+            if (reading != null) {
+                batch.add(reading);
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        Timestamp updatedAt = new Timestamp(start);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batchSize, (ps, reading) -> {
+                        ps.setDouble(1, reading.temperature());
+                        ps.setDouble(2, reading.pressure());
+                        ps.setDouble(3, reading.batteryLevel());
+                        ps.setTimestamp(4, updatedAt);
+                        ps.setLong(5, reading.sensorId());
+                    }));
+        } catch (RuntimeException e) {
+            failedFlushes.increment();
+            // Put the states back unless a newer reading arrived for the same sensor
+            batch.forEach(reading -> pending.putIfAbsent(reading.sensorId(), reading));
+            log.error("Write-behind flush of {} sensor states failed: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+        long committedAt = System.currentTimeMillis();
+        for (TelemetryReading reading : batch) {
+            commitLatency.record(committedAt - reading.timestamp());
+        }
+        flushes.increment();
+        rowsWritten.add(batch.size());
+        lastFlushMillis = committedAt - start;
+        return batch.size();
+    }
+}
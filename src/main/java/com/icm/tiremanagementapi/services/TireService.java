@@ -55,7 +55,7 @@ public class TireService {
      * @return Optional containing the TireModel if found, otherwise empty.
      */
     public Optional<TireModel> getById(Long id) {
-        return tireRepository.findById(id);
+        return tireRepository.findWithDetailsById(id);
     }
 
     /**
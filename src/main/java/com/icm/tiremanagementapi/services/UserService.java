@@ -1,5 +1,6 @@
 package com.icm.tiremanagementapi.services;
 
+import com.icm.tiremanagementapi.dto.SummaryDTO.UserSummaryDTO;
 import com.icm.tiremanagementapi.models.UserModel;
 import com.icm.tiremanagementapi.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +19,7 @@ public class UserService {
     private UserRepository userRepository;
 
     public Optional<UserModel> findById(Long id) {
-        return userRepository.findById(id);
+        return userRepository.findWithDetailsById(id);
     }
 
     public Optional<UserModel> findByUsername(String username) {
@@ -56,6 +57,10 @@ public class UserService {
         return userRepository.findByCompanyId(company, pageable);
     }
 
+    public Page<UserSummaryDTO> findSummariesByCompanyId(Long company, Pageable pageable) {
+        return userRepository.findSummariesByCompanyId(company, pageable);
+    }
+
     public Page<UserModel> findByRoleIdAndStatus(Long role, Boolean status, Pageable pageable) {
         return userRepository.findByRoleIdAndStatus(role, status, pageable);
     }
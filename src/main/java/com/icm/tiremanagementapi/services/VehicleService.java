@@ -18,8 +18,11 @@ public class VehicleService {
     @Autowired
     private VehicleRepository vehicleRepository;
 
+    @Autowired
+    private SensorThresholdCache sensorThresholdCache;
+
     public Optional<VehicleModel> findById(Long id) {
-        return vehicleRepository.findById(id);
+        return vehicleRepository.findWithDetailsById(id);
     }
 
     public List<VehicleModel> findAll(){
@@ -100,12 +103,15 @@ public class VehicleService {
                     existingVehicle.setStandardPressure(vehicle.getStandardPressure());
                     existingVehicle.setStatus(vehicle.getStatus());
 
-                    return vehicleRepository.save(existingVehicle);
+                    VehicleModel saved = vehicleRepository.save(existingVehicle);
+                    sensorThresholdCache.invalidateVehicle(id);
+                    return saved;
                 })
                 .orElse(null);
     }
 
     public void deleteVehicle(Long id) {
         vehicleRepository.deleteById(id);
+        sensorThresholdCache.invalidateVehicle(id);
     }
 }
@@ -1,11 +1,43 @@
 package com.icm.tiremanagementapi.utils;
 
+import java.time.DateTimeException;
 import java.time.Month;
+import java.time.format.TextStyle;
 import java.util.Locale;
 
 public class DateUtils {
+    private static final Locale SPANISH = new Locale("es", "ES");
+
+    /**
+     * Spanish month names, indexed by month value - 1; computed once instead of on every statistics row.
+     */
+    private static final String[] MONTH_NAMES = new String[12];
+
+    /**
+     * Hour labels used by the hourly statistics ("0:00" to "23:00"), indexed by hour.
+     */
+    private static final String[] HOUR_LABELS = new String[24];
+
+    static {
+        for (Month month : Month.values()) {
+            MONTH_NAMES[month.ordinal()] = month.getDisplayName(TextStyle.FULL, SPANISH);
+        }
+        for (int hour = 0; hour < HOUR_LABELS.length; hour++) {
+            HOUR_LABELS[hour] = hour + ":00";
+        }
+    }
+
     public static String getMonthName(int month) {
-        Month monthEnum = Month.of(month);
-        return monthEnum.getDisplayName(java.time.format.TextStyle.FULL, new Locale("es", "ES"));
+        if (month < 1 || month > 12) {
+            throw new DateTimeException("Invalid value for MonthOfYear: " + month);
+        }
+        return MONTH_NAMES[month - 1];
+    }
+
+    public static String getHourLabel(int hour) {
+        if (hour < 0 || hour > 23) {
+            throw new DateTimeException("Invalid value for HourOfDay: " + hour);
+        }
+        return HOUR_LABELS[hour];
     }
 }
@@ -0,0 +1,22 @@
+package com.icm.tiremanagementapi.utils;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Makes a statement stream its result set instead of loading it into memory. MySQL Connector/J ignores regular
+ * fetch sizes unless server-side cursors are enabled for the whole connection with useCursorFetch; a fetch size
+ * of Integer.MIN_VALUE streams the rows of just that statement. The connection cannot run other statements
+ * until the result set is closed, so callers must not query again while reading it.
+ */
+public class JdbcStreaming {
+
+    /**
+     * @param statement The statement, before it is executed.
+     * @param fetchSize Rows per round trip for drivers that honour regular fetch sizes.
+     */
+    public static void streamResults(Statement statement, int fetchSize) throws SQLException {
+        String product = statement.getConnection().getMetaData().getDatabaseProductName();
+        statement.setFetchSize("MySQL".equalsIgnoreCase(product) ? Integer.MIN_VALUE : fetchSize);
+    }
+}
@@ -0,0 +1,70 @@
+package com.icm.tiremanagementapi.utils;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013). Keeps the first and last points and,
+ * for each of the {@code threshold - 2} buckets in between, the point forming the largest triangle with the
+ * point kept in the previous bucket and the average of the next bucket, which preserves the visual shape
+ * of a line chart.
+ */
+public final class LargestTriangleThreeBuckets {
+
+    private LargestTriangleThreeBuckets() {
+    }
+
+    /**
+     * Selects the indices of the points to keep.
+     *
+     * @param x         Point abscissas in ascending order (for example epoch seconds).
+     * @param y         Point values; same length as {@code x}.
+     * @param threshold Maximum number of points to keep, at least 3 to have an effect.
+     * @return Ascending indices of the kept points; every index when the series is already small enough.
+     */
+    public static int[] select(double[] x, double[] y, int threshold) {
+        int length = x.length;
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        int count = 0;
+        selected[count++] = 0;
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int previous = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket, the third vertex of the triangles
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextLength = nextEnd - nextStart;
+            averageX /= nextLength;
+            averageY /= nextLength;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((x[previous] - averageX) * (y[i] - y[previous])
+                        - (x[previous] - x[i]) * (averageY - y[previous]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            selected[count++] = chosen;
+            previous = chosen;
+        }
+        selected[count] = length - 1;
+        return selected;
+    }
+}
@@ -0,0 +1,94 @@
+package com.icm.tiremanagementapi.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of latencies in milliseconds with two significant digits of precision:
+ * values below 100 ms are counted exactly, larger values in buckets of 1% to 10% of their size.
+ * Values above about 27 hours fall in the last bucket.
+ */
+public class LatencyHistogram {
+    private static final int EXACT_BUCKETS = 100;
+    private static final int BUCKETS_PER_DECADE = 90;
+    private static final int DECADES = 6;
+
+    private final AtomicLongArray counts = new AtomicLongArray(EXACT_BUCKETS + BUCKETS_PER_DECADE * DECADES);
+
+    /**
+     * Records one latency; negative values (clock skew between the sensor gateway and the server) count as 0.
+     */
+    public void record(long millis) {
+        counts.incrementAndGet(indexFor(Math.max(0, millis)));
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given quantile.
+     *
+     * @param quantile Between 0 and 1, for example 0.99.
+     * @return The latency in milliseconds, or 0 if nothing was recorded.
+     */
+    public long quantile(double quantile) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(snapshot.length - 1);
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private static int indexFor(long millis) {
+        if (millis < EXACT_BUCKETS) {
+            return (int) millis;
+        }
+        int decade = 0;
+        long scale = 1;
+        while (millis / scale >= EXACT_BUCKETS) {
+            scale *= 10;
+            decade++;
+        }
+        if (decade > DECADES) {
+            return EXACT_BUCKETS + BUCKETS_PER_DECADE * DECADES - 1;
+        }
+        // millis / scale is now between 10 and 99
+        return EXACT_BUCKETS + (decade - 1) * BUCKETS_PER_DECADE + (int) (millis / scale - 10);
+    }
+
+    private static long upperBound(int index) {
+        if (index < EXACT_BUCKETS) {
+            return index;
+        }
+        int decade = (index - EXACT_BUCKETS) / BUCKETS_PER_DECADE + 1;
+        long mantissa = (index - EXACT_BUCKETS) % BUCKETS_PER_DECADE + 10;
+        long scale = 1;
+        for (int i = 0; i < decade; i++) {
+            scale *= 10;
+        }
+        return (mantissa + 1) * scale - 1;
+    }
+}
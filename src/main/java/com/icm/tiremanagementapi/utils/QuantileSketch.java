@@ -0,0 +1,204 @@
+package com.icm.tiremanagementapi.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Mergeable histogram of values rounded to {@link #RESOLUTION}, in the spirit of HDR histograms with a linear
+ * scale: quantiles are exact up to half the resolution, and two sketches merge by adding their counts, so
+ * merging is associative and sketches of hours, sensors or whole fleets combine without the raw readings.
+ * Only occupied bins are kept, in two sorted primitive arrays; tire temperatures and pressures cluster around
+ * their standard values, so a sketch typically holds a few dozen to a few hundred bins. Not thread-safe.
+ */
+public final class QuantileSketch {
+    /**
+     * Width of a bin, in the unit of the value (degrees Celsius, psi).
+     */
+    public static final double RESOLUTION = 0.1;
+
+    private static final int UNITS_PER_VALUE = 10;
+    private static final byte FORMAT_VERSION = 1;
+
+    private int[] bins;
+    private long[] counts;
+    private int size;
+    private long total;
+
+    public QuantileSketch() {
+        bins = new int[16];
+        counts = new long[16];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, long count) {
+        if (Double.isNaN(value) || count <= 0) {
+            return;
+        }
+        long scaled = Math.round(value * UNITS_PER_VALUE);
+        int bin = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, scaled));
+        addToBin(bin, count);
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other == null || other.size == 0) {
+            return;
+        }
+        if (size == 0) {
+            bins = Arrays.copyOf(other.bins, other.size);
+            counts = Arrays.copyOf(other.counts, other.size);
+            size = other.size;
+            total = other.total;
+            return;
+        }
+        // Linear merge of the two sorted bin lists
+        int[] mergedBins = new int[size + other.size];
+        long[] mergedCounts = new long[size + other.size];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && bins[i] < other.bins[j])) {
+                mergedBins[k] = bins[i];
+                mergedCounts[k++] = counts[i++];
+            } else if (i == size || other.bins[j] < bins[i]) {
+                mergedBins[k] = other.bins[j];
+                mergedCounts[k++] = other.counts[j++];
+            } else {
+                mergedBins[k] = bins[i];
+                mergedCounts[k++] = counts[i++] + other.counts[j++];
+            }
+        }
+        bins = mergedBins;
+        counts = mergedCounts;
+        size = k;
+        total += other.total;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Returns the value below which a fraction q of the values fall (nearest rank).
+     *
+     * @param q Fraction between 0 and 1, e.g. 0.99 for the 99th percentile.
+     * @return The quantile, or NaN if the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < size; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bins[i] / (double) UNITS_PER_VALUE;
+            }
+        }
+        return bins[size - 1] / (double) UNITS_PER_VALUE;
+    }
+
+    /**
+     * Serializes the sketch: a version byte, the number of bins, then for each bin the zigzag varint
+     * difference with the previous bin and the varint count.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + size * 3);
+        out.write(FORMAT_VERSION);
+        writeVarint(out, size);
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = bins[i] - previous;
+            writeVarint(out, (delta << 1) ^ (delta >> 63));
+            writeVarint(out, counts[i]);
+            previous = bins[i];
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads a sketch written by {@link #toBytes()}.
+     *
+     * @param data The serialized sketch; null or empty gives an empty sketch.
+     * @throws IllegalArgumentException if the data is not a valid sketch.
+     */
+    public static QuantileSketch fromBytes(byte[] data) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (data == null || data.length == 0) {
+            return sketch;
+        }
+        if (data[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported sketch version " + data[0]);
+        }
+        int[] position = {1};
+        int binCount = (int) readVarint(data, position);
+        if (binCount < 0 || binCount > data.length) {
+            throw new IllegalArgumentException("Corrupt sketch");
+        }
+        sketch.bins = new int[Math.max(binCount, 1)];
+        sketch.counts = new long[Math.max(binCount, 1)];
+        long previous = 0;
+        for (int i = 0; i < binCount; i++) {
+            long zigzag = readVarint(data, position);
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            long count = readVarint(data, position);
+            if ((i > 0 && previous <= sketch.bins[i - 1]) || count <= 0) {
+                throw new IllegalArgumentException("Corrupt sketch");
+            }
+            sketch.bins[i] = (int) previous;
+            sketch.counts[i] = count;
+            sketch.total += count;
+        }
+        sketch.size = binCount;
+        return sketch;
+    }
+
+    private void addToBin(int bin, long count) {
+        total += count;
+        int index = Arrays.binarySearch(bins, 0, size, bin);
+        if (index >= 0) {
+            counts[index] += count;
+            return;
+        }
+        int insertAt = -index - 1;
+        if (size == bins.length) {
+            bins = Arrays.copyOf(bins, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+        System.arraycopy(bins, insertAt, bins, insertAt + 1, size - insertAt);
+        System.arraycopy(counts, insertAt, counts, insertAt + 1, size - insertAt);
+        bins[insertAt] = bin;
+        counts[insertAt] = count;
+        size++;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= data.length) {
+                throw new IllegalArgumentException("Truncated sketch");
+            }
+            byte b = data[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt sketch");
+    }
+}
@@ -0,0 +1,113 @@
+package com.icm.tiremanagementapi.utils;
+
+/**
+ * Fixed-capacity ring of the latest readings of one sensor, stored column-wise in primitive arrays so that
+ * a reading costs 20 bytes and no object. Temperature, pressure and battery level are kept as float32,
+ * enough for the hundredths the sensors report. Readings are kept in timestamp order: a late reading, which
+ * conflation and retries can deliver, is inserted by shifting the few newer ones. Once the ring is full each
+ * new reading replaces the oldest one, and readings older than all the kept ones are dropped.
+ * <p>
+ * Writers and readers synchronize on the ring; both hold the monitor only while copying a few primitives,
+ * and each sensor is written by a single ingest worker, so the lock is practically never contended.
+ */
+public final class ReadingRing {
+    /**
+     * Approximate heap bytes of one reading slot: timestamp (8) plus three float32 values (4 each).
+     */
+    public static final int BYTES_PER_READING = 20;
+
+    /**
+     * Approximate fixed heap cost of a ring: the ring object and four array headers.
+     */
+    public static final int OVERHEAD_BYTES = 32 + 4 * 16;
+
+    private final long[] timestamps;
+    private final float[] temperatures;
+    private final float[] pressures;
+    private final float[] batteryLevels;
+    private int next;
+    private int size;
+
+    public ReadingRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ring capacity must be at least 1");
+        }
+        timestamps = new long[capacity];
+        temperatures = new float[capacity];
+        pressures = new float[capacity];
+        batteryLevels = new float[capacity];
+    }
+
+    /**
+     * Inserts a reading in timestamp order; readings with the same timestamp keep their arrival order.
+     *
+     * @return false if the ring is full and the reading is older than every kept reading, so it was dropped.
+     */
+    public synchronized boolean add(long timestamp, double temperature, double pressure, double batteryLevel) {
+        int capacity = timestamps.length;
+        if (size == capacity) {
+            // next is also the oldest slot, which the new reading replaces
+            if (timestamp < timestamps[next]) {
+                return false;
+            }
+            size--;
+        }
+        // Slot of the new last reading; move it back past the newer readings, usually none
+        int slot = next;
+        for (int shifted = 0; shifted < size; shifted++) {
+            int previous = slot == 0 ? capacity - 1 : slot - 1;
+            if (timestamps[previous] <= timestamp) {
+                break;
+            }
+            timestamps[slot] = timestamps[previous];
+            temperatures[slot] = temperatures[previous];
+            pressures[slot] = pressures[previous];
+            batteryLevels[slot] = batteryLevels[previous];
+            slot = previous;
+        }
+        timestamps[slot] = timestamp;
+        temperatures[slot] = (float) temperature;
+        pressures[slot] = (float) pressure;
+        batteryLevels[slot] = (float) batteryLevel;
+        next = next + 1 == capacity ? 0 : next + 1;
+        size++;
+        return true;
+    }
+
+    /**
+     * Timestamp of the newest reading, or 0 if the ring is empty.
+     */
+    public synchronized long lastTimestamp() {
+        return size == 0 ? 0 : timestamps[(next - 1 + timestamps.length) % timestamps.length];
+    }
+
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    /**
+     * Copies the latest readings, oldest first.
+     *
+     * @param limit Maximum number of readings to copy.
+     * @return The copied readings.
+     */
+    public synchronized Snapshot snapshot(int limit) {
+        int count = Math.max(0, Math.min(limit, size));
+        Snapshot snapshot = new Snapshot(new long[count], new float[count], new float[count], new float[count]);
+        int start = (next - count + timestamps.length) % timestamps.length;
+        int firstPart = Math.min(count, timestamps.length - start);
+        copy(start, snapshot, 0, firstPart);
+        copy(0, snapshot, firstPart, count - firstPart);
+        return snapshot;
+    }
+
+    private void copy(int from, Snapshot snapshot, int to, int length) {
+        System.arraycopy(timestamps, from, snapshot.timestamps(), to, length);
+        System.arraycopy(temperatures, from, snapshot.temperatures(), to, length);
+        System.arraycopy(pressures, from, snapshot.pressures(), to, length);
+        System.arraycopy(batteryLevels, from, snapshot.batteryLevels(), to, length);
+    }
+
+    public record Snapshot(long[] timestamps, float[] temperatures, float[] pressures, float[] batteryLevels) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.icm.tiremanagementapi.utils;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a single-table .xlsx export with a bounded memory footprint: only the last {@code rowWindow} rows
+ * are kept in memory, older rows are flushed to a compressed temporary file, and strings are written inline
+ * instead of through a shared strings table. A sheet holds at most {@link #MAX_ROWS_PER_SHEET} rows including
+ * the header, so longer exports continue on "Name (2)", "Name (3)", ... with the same header.
+ * Not thread-safe; always close it, even after {@link #write(OutputStream)}, to delete the temporary files.
+ */
+public final class StreamingExcelWriter implements Closeable {
+    public static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final SXSSFWorkbook workbook;
+    private final String sheetName;
+    private final String[] headers;
+    private Sheet sheet;
+    private int nextRowIndex;
+    private long rowCount;
+
+    /**
+     * @param rowWindow Rows kept in memory per sheet; 100 is plenty for sequential writes.
+     * @param sheetName Name of the first sheet.
+     * @param headers   Column titles written on the first row of every sheet.
+     */
+    public StreamingExcelWriter(int rowWindow, String sheetName, String... headers) {
+        this.workbook = new SXSSFWorkbook(null, Math.max(1, rowWindow), true, false);
+        this.sheetName = sheetName;
+        this.headers = headers;
+    }
+
+    /**
+     * Appends a data row, starting a new sheet when the current one is full.
+     */
+    public Row nextRow() {
+        if (sheet == null || nextRowIndex == MAX_ROWS_PER_SHEET) {
+            startSheet();
+        }
+        rowCount++;
+        return sheet.createRow(nextRowIndex++);
+    }
+
+    /**
+     * Data rows appended so far, without the headers.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the workbook; the stream is left open.
+     */
+    public void write(OutputStream out) throws IOException {
+        if (sheet == null) {
+            // An export without rows still gets its header
+            startSheet();
+        }
+        workbook.write(out);
+    }
+
+    private void startSheet() {
+        int sheetNumber = workbook.getNumberOfSheets() + 1;
+        sheet = workbook.createSheet(sheetNumber == 1 ? sheetName : sheetName + " (" + sheetNumber + ")");
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < headers.length; i++) {
+            headerRow.createCell(i).setCellValue(headers[i]);
+        }
+        nextRowIndex = 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+}
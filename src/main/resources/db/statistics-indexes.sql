@@ -0,0 +1,17 @@
+-- Composite indexes used by the statistics queries of PerformanceTireRepository, FleetStatisticsService and GasRecordRepository.
+-- With spring.jpa.hibernate.ddl-auto = update Hibernate creates them from the @Index declarations of
+-- PerformanceTireModel and GasRecordModel; run this script on databases whose schema is managed by hand.
+-- Building them on a large table locks writes only briefly with MySQL 8 online DDL (ALGORITHM=INPLACE).
+
+CREATE INDEX idx_performance_tire_sensor_created_at
+    ON performance_tire (sensor, created_at)
+    ALGORITHM = INPLACE LOCK = NONE;
+
+-- Raw readings of a vehicle in the company report of CompanyReportService
+CREATE INDEX idx_performance_tire_vehicle_created_at
+    ON performance_tire (vehicle, created_at)
+    ALGORITHM = INPLACE LOCK = NONE;
+
+CREATE INDEX idx_gas_records_vehicle_day_hour
+    ON gas_records (vehicle, day, hour)
+    ALGORITHM = INPLACE LOCK = NONE;
@@ -0,0 +1,76 @@
+-- Monthly range partitioning of the raw telemetry tables, used by TelemetryRetentionService to expire a
+-- whole month with ALTER TABLE ... DROP PARTITION instead of deleting rows. The service recognises
+-- partitions named pYYYYMM with TO_DAYS bounds plus a trailing pmax partition, adds the coming months by
+-- splitting pmax and drops months older than the retention cutoff. Tables that are not partitioned keep
+-- working with chunked deletes.
+--
+-- MySQL requires the partitioning column in every unique key and does not support foreign keys on
+-- partitioned InnoDB tables, so the primary keys become (id, created_at) / (id, day), and the foreign keys
+-- and unique indexes Hibernate created on older schemas are dropped. Their names are generated (FK... / UK...)
+-- and differ between installations, so they are looked up in information_schema. The entities map these
+-- tables without foreign keys or a unique key on id, so ddl-auto = update does not add them back.
+--
+-- Repartitioning copies the table: run it in a maintenance window and adapt the first and last month
+-- to the data. Rows older than the first bound go to the first partition.
+
+-- performance_tire
+SET @drop_constraints = (
+    SELECT CONCAT('ALTER TABLE performance_tire ', GROUP_CONCAT(
+        IF(CONSTRAINT_TYPE = 'FOREIGN KEY', 'DROP FOREIGN KEY `', 'DROP INDEX `'), CONSTRAINT_NAME, '`' SEPARATOR ', '))
+    FROM information_schema.TABLE_CONSTRAINTS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'performance_tire' AND CONSTRAINT_TYPE IN ('FOREIGN KEY', 'UNIQUE'));
+SET @drop_constraints = COALESCE(@drop_constraints, 'DO 0');
+PREPARE drop_constraints FROM @drop_constraints;
+EXECUTE drop_constraints;
+DEALLOCATE PREPARE drop_constraints;
+
+ALTER TABLE performance_tire
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE performance_tire
+    PARTITION BY RANGE (TO_DAYS(created_at)) (
+        PARTITION p202601 VALUES LESS THAN (TO_DAYS('2026-02-01')),
+        PARTITION p202602 VALUES LESS THAN (TO_DAYS('2026-03-01')),
+        PARTITION p202603 VALUES LESS THAN (TO_DAYS('2026-04-01')),
+        PARTITION p202604 VALUES LESS THAN (TO_DAYS('2026-05-01')),
+        PARTITION p202605 VALUES LESS THAN (TO_DAYS('2026-06-01')),
+        PARTITION p202606 VALUES LESS THAN (TO_DAYS('2026-07-01')),
+        PARTITION p202607 VALUES LESS THAN (TO_DAYS('2026-08-01')),
+        PARTITION p202608 VALUES LESS THAN (TO_DAYS('2026-09-01')),
+        PARTITION p202609 VALUES LESS THAN (TO_DAYS('2026-10-01')),
+        PARTITION p202610 VALUES LESS THAN (TO_DAYS('2026-11-01')),
+        PARTITION p202611 VALUES LESS THAN (TO_DAYS('2026-12-01')),
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
+
+-- gas_records
+SET @drop_constraints = (
+    SELECT CONCAT('ALTER TABLE gas_records ', GROUP_CONCAT(
+        IF(CONSTRAINT_TYPE = 'FOREIGN KEY', 'DROP FOREIGN KEY `', 'DROP INDEX `'), CONSTRAINT_NAME, '`' SEPARATOR ', '))
+    FROM information_schema.TABLE_CONSTRAINTS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'gas_records' AND CONSTRAINT_TYPE IN ('FOREIGN KEY', 'UNIQUE'));
+SET @drop_constraints = COALESCE(@drop_constraints, 'DO 0');
+PREPARE drop_constraints FROM @drop_constraints;
+EXECUTE drop_constraints;
+DEALLOCATE PREPARE drop_constraints;
+
+ALTER TABLE gas_records
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, day);
+
+ALTER TABLE gas_records
+    PARTITION BY RANGE (TO_DAYS(day)) (
+        PARTITION p202601 VALUES LESS THAN (TO_DAYS('2026-02-01')),
+        PARTITION p202602 VALUES LESS THAN (TO_DAYS('2026-03-01')),
+        PARTITION p202603 VALUES LESS THAN (TO_DAYS('2026-04-01')),
+        PARTITION p202604 VALUES LESS THAN (TO_DAYS('2026-05-01')),
+        PARTITION p202605 VALUES LESS THAN (TO_DAYS('2026-06-01')),
+        PARTITION p202606 VALUES LESS THAN (TO_DAYS('2026-07-01')),
+        PARTITION p202607 VALUES LESS THAN (TO_DAYS('2026-08-01')),
+        PARTITION p202608 VALUES LESS THAN (TO_DAYS('2026-09-01')),
+        PARTITION p202609 VALUES LESS THAN (TO_DAYS('2026-10-01')),
+        PARTITION p202610 VALUES LESS THAN (TO_DAYS('2026-11-01')),
+        PARTITION p202611 VALUES LESS THAN (TO_DAYS('2026-12-01')),
+        PARTITION pmax VALUES LESS THAN MAXVALUE
+    );
@@ -0,0 +1,95 @@
+package com.icm.tiremanagementapi.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarArchiveCodecTests {
+
+	@Test
+	void decode_EncodedBlock_ReturnsQuantizedValues() {
+		// Arrange
+		long[] timestamps = {1_700_000_000_000L, 1_700_000_010_000L, 1_700_000_020_000L, 1_700_000_030_137L, 1_700_000_000_000L};
+		double[] temperature = {31.5, 31.5, 31.75, -12.25, 119.0};
+		double[] pressure = {104.254, 104.25, 0.0, 179.5, 1_000_000.0};
+		ArchiveBlock block = new ArchiveBlock(42L, YearMonth.of(2024, 3), timestamps, new int[]{100, 100},
+				new double[][]{temperature, pressure});
+
+		// Act
+		ArchiveBlock decoded = ColumnarArchiveCodec.decode(ColumnarArchiveCodec.encode(block));
+
+		// Assert
+		assertEquals(42L, decoded.ownerId());
+		assertEquals(YearMonth.of(2024, 3), decoded.month());
+		assertArrayEquals(timestamps, decoded.timestamps());
+		assertArrayEquals(temperature, decoded.columns()[0]);
+		assertArrayEquals(new double[]{104.25, 104.25, 0.0, 179.5, 1_000_000.0}, decoded.columns()[1]);
+	}
+
+	@Test
+	void encode_SteadyReadings_TakesFewBytesPerRow() {
+		// Arrange
+		int rows = 8640;
+		long[] timestamps = new long[rows];
+		double[] pressure = new double[rows];
+		for (int i = 0; i < rows; i++) {
+			timestamps[i] = 1_700_000_000_000L + i * 10_000L;
+			pressure[i] = 100 + (i / 60) % 5 * 0.25;
+		}
+		ArchiveBlock block = new ArchiveBlock(1L, YearMonth.of(2024, 1), timestamps, new int[]{100}, new double[][]{pressure});
+
+		// Act
+		byte[] encoded = ColumnarArchiveCodec.encode(block);
+
+		// Assert
+		assertTrue(encoded.length < rows / 2, "encoded size " + encoded.length);
+		assertArrayEquals(pressure, ColumnarArchiveCodec.decode(encoded).columns()[0]);
+	}
+
+	@Test
+	void decodeColumns_SelectedColumn_LeavesOthersEmpty() {
+		// Arrange
+		ArchiveBlock block = new ArchiveBlock(7L, YearMonth.of(2024, 2), new long[]{1L, 2L},
+				new int[]{100, 100, 10}, new double[][]{{1.0, 2.0}, {3.0, 4.0}, {90.0, 89.0}});
+
+		// Act
+		ArchiveBlock decoded = ColumnarArchiveCodec.decodeColumns(ColumnarArchiveCodec.encode(block), 2);
+
+		// Assert
+		assertEquals(0, decoded.columns()[0].length);
+		assertEquals(0, decoded.columns()[1].length);
+		assertArrayEquals(new double[]{90.0, 89.0}, decoded.columns()[2]);
+	}
+
+	@Test
+	void decode_ColumnWithMissingValues_ReturnsNaNForThem() {
+		// Arrange
+		double[] batteryLevel = {Double.NaN, 90.0, Double.NaN, 89.5};
+		ArchiveBlock block = new ArchiveBlock(7L, YearMonth.of(2024, 2), new long[]{1L, 2L, 3L, 4L},
+				new int[]{100, 10}, new double[][]{{30.0, 30.5, 31.0, 31.5}, batteryLevel});
+
+		// Act
+		ArchiveBlock decoded = ColumnarArchiveCodec.decode(ColumnarArchiveCodec.encode(block));
+
+		// Assert
+		assertArrayEquals(new double[]{30.0, 30.5, 31.0, 31.5}, decoded.columns()[0]);
+		assertArrayEquals(batteryLevel, decoded.columns()[1]);
+	}
+
+	@Test
+	void decode_TruncatedBlock_ThrowsIllegalArgumentException() {
+		// Arrange
+		byte[] encoded = ColumnarArchiveCodec.encode(new ArchiveBlock(1L, YearMonth.of(2024, 1), new long[]{1L, 5L},
+				new int[]{100}, new double[][]{{1.0, 2.0}}));
+		byte[] truncated = Arrays.copyOf(encoded, encoded.length - 2);
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> ColumnarArchiveCodec.decode(truncated));
+	}
+}
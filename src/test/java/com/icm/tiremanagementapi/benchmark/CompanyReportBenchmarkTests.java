@@ -0,0 +1,165 @@
+package com.icm.tiremanagementapi.benchmark;
+
+import com.icm.tiremanagementapi.export.CompanyReportService;
+import com.icm.tiremanagementapi.services.PerformanceTireRollupService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Generates the Excel report of a company of {@code benchmark.vehicles} (200) vehicles with
+ * {@code benchmark.sensors-per-vehicle} (8) sensors over {@code benchmark.days} (7) days of hourly rollups, one gas
+ * record every five minutes and a few irregularities per vehicle, with {@code benchmark.parallelism} (4) readers,
+ * and prints the time taken. Run it with {@code mvn test -Pbenchmark -Dtest=CompanyReportBenchmarkTests}.
+ */
+@Tag("benchmark")
+class CompanyReportBenchmarkTests {
+
+	private static final long COMPANY_ID = 1;
+
+	private final int vehicles = Integer.getInteger("benchmark.vehicles", 200);
+	private final int sensorsPerVehicle = Integer.getInteger("benchmark.sensors-per-vehicle", 8);
+	private final int days = Integer.getInteger("benchmark.days", 7);
+	private final int parallelism = Integer.getInteger("benchmark.parallelism", 4);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void companyReportOfTwoHundredVehicles() throws Exception {
+		// Arrange
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:company-report-benchmark;MODE=MySQL;NON_KEYWORDS=DAY,HOUR;DB_CLOSE_DELAY=-1", "sa", "");
+		LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+		load(dataSource, from);
+		PerformanceTireRollupService rollups = mock(PerformanceTireRollupService.class);
+		when(rollups.isEnabled()).thenReturn(true);
+		CompanyReportService service = new CompanyReportService();
+		ReflectionTestUtils.setField(service, "jdbcTemplate", new JdbcTemplate(dataSource));
+		ReflectionTestUtils.setField(service, "performanceTireRollupService", rollups);
+		ReflectionTestUtils.setField(service, "parallelism", parallelism);
+		ReflectionTestUtils.setField(service, "maxWindowDays", 31L);
+		ReflectionTestUtils.setField(service, "rowWindow", 500);
+		service.start();
+		Path file = directory.resolve("company-report.xlsx");
+
+		// Act
+		long start = System.nanoTime();
+		int sheets;
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+			sheets = service.writeCompanyReport(COMPANY_ID, from, from.plusDays(days), out);
+		} finally {
+			service.shutdown();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		// Assert
+		System.out.printf("%n=== Company report (%d vehicles, %d sensors each, %d days, parallelism %d) ===%n"
+						+ "time:      %8.2f s%n"
+						+ "file size: %8.2f MB%n%n",
+				vehicles, sensorsPerVehicle, days, parallelism, seconds, Files.size(file) / (1024.0 * 1024));
+		assertEquals(vehicles, sheets);
+		try (ZipFile zip = new ZipFile(file.toFile())) {
+			// The summary sheet comes first
+			assertNotNull(zip.getEntry("xl/worksheets/sheet" + (vehicles + 1) + ".xml"));
+			assertNull(zip.getEntry("xl/worksheets/sheet" + (vehicles + 2) + ".xml"));
+		}
+	}
+
+	private void load(DriverManagerDataSource dataSource, LocalDateTime from) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE vehicle (id BIGINT PRIMARY KEY, placa VARCHAR(20), company BIGINT)");
+				statement.execute("CREATE TABLE tires_sensor (id BIGINT PRIMARY KEY, identification_code VARCHAR(40), vehicle BIGINT)");
+				statement.execute("CREATE TABLE performance_tire_hourly (sensor BIGINT, bucket_start DATETIME, sample_count BIGINT, "
+						+ "temperature_sum DOUBLE, temperature_min DOUBLE, temperature_max DOUBLE, pressure_sum DOUBLE, "
+						+ "pressure_min DOUBLE, pressure_max DOUBLE, battery_level_sum DOUBLE, PRIMARY KEY (sensor, bucket_start))");
+				statement.execute("CREATE TABLE irregularities_tire (id BIGINT AUTO_INCREMENT PRIMARY KEY, created_at DATETIME, "
+						+ "sensor BIGINT, vehicle BIGINT, name_irregularity VARCHAR(100), details_irregularity VARCHAR(255), "
+						+ "status BOOLEAN, recorded_temperature DOUBLE, recorded_pressure DOUBLE, recorded_battery_level DOUBLE)");
+				statement.execute("CREATE INDEX idx_irregularities_tire_vehicle ON irregularities_tire (vehicle, created_at)");
+				statement.execute("CREATE TABLE gas_records (id BIGINT AUTO_INCREMENT PRIMARY KEY, hour TIME, day DATE, "
+						+ "pressure DOUBLE, vehicle BIGINT)");
+				statement.execute("CREATE INDEX idx_gas_records_vehicle_day_hour ON gas_records (vehicle, day, hour)");
+				statement.execute("CREATE INDEX idx_tires_sensor_vehicle ON tires_sensor (vehicle)");
+			}
+			connection.setAutoCommit(false);
+			SplittableRandom random = new SplittableRandom(5);
+			try (PreparedStatement vehicle = connection.prepareStatement("INSERT INTO vehicle VALUES (?, ?, ?)");
+				 PreparedStatement sensor = connection.prepareStatement("INSERT INTO tires_sensor VALUES (?, ?, ?)");
+				 PreparedStatement hourly = connection.prepareStatement(
+						 "INSERT INTO performance_tire_hourly VALUES (?, ?, 360, ?, ?, ?, ?, ?, ?, ?)");
+				 PreparedStatement irregularity = connection.prepareStatement("INSERT INTO irregularities_tire (created_at, sensor, "
+						 + "vehicle, name_irregularity, details_irregularity, status, recorded_temperature, recorded_pressure, "
+						 + "recorded_battery_level) VALUES (?, ?, ?, 'Presión baja', 'Presión por debajo del estándar', TRUE, 60, 80, 90)");
+				 PreparedStatement gas = connection.prepareStatement("INSERT INTO gas_records (hour, day, pressure, vehicle) VALUES (?, ?, ?, ?)")) {
+				for (long v = 1; v <= vehicles; v++) {
+					vehicle.setLong(1, v);
+					vehicle.setString(2, String.format("ABC-%03d", v));
+					vehicle.setLong(3, COMPANY_ID);
+					vehicle.executeUpdate();
+					for (int s = 0; s < sensorsPerVehicle; s++) {
+						long sensorId = v * 100 + s;
+						sensor.setLong(1, sensorId);
+						sensor.setString(2, "S" + sensorId);
+						sensor.setLong(3, v);
+						sensor.executeUpdate();
+						for (int h = 0; h < days * 24; h++) {
+							double temperature = 40 + random.nextDouble(40);
+							double pressure = 90 + random.nextDouble(20);
+							hourly.setLong(1, sensorId);
+							hourly.setTimestamp(2, Timestamp.valueOf(from.plusHours(h)));
+							hourly.setDouble(3, temperature * 360);
+							hourly.setDouble(4, temperature - 5);
+							hourly.setDouble(5, temperature + 5);
+							hourly.setDouble(6, pressure * 360);
+							hourly.setDouble(7, pressure - 3);
+							hourly.setDouble(8, pressure + 3);
+							hourly.setDouble(9, 90 * 360);
+							hourly.addBatch();
+						}
+						hourly.executeBatch();
+						irregularity.setTimestamp(1, Timestamp.valueOf(from.plusHours(random.nextInt(days * 24))));
+						irregularity.setLong(2, sensorId);
+						irregularity.setLong(3, v);
+						irregularity.executeUpdate();
+					}
+					for (int m = 0; m < days * 24 * 12; m++) {
+						LocalDateTime time = from.plusMinutes(m * 5L);
+						gas.setTime(1, Time.valueOf(time.toLocalTime()));
+						gas.setDate(2, Date.valueOf(time.toLocalDate()));
+						gas.setDouble(3, 2000 + random.nextDouble(1000));
+						gas.setLong(4, v);
+						gas.addBatch();
+					}
+					gas.executeBatch();
+					connection.commit();
+				}
+			}
+		}
+	}
+}
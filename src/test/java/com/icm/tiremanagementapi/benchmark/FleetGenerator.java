@@ -0,0 +1,123 @@
+package com.icm.tiremanagementapi.benchmark;
+
+import com.icm.tiremanagementapi.models.CompanyModel;
+import com.icm.tiremanagementapi.models.TireSensorModel;
+import com.icm.tiremanagementapi.models.VehicleModel;
+import com.icm.tiremanagementapi.models.VehicleTypeModel;
+import com.icm.tiremanagementapi.repositories.CompanyRepository;
+import com.icm.tiremanagementapi.repositories.TireSensorRepository;
+import com.icm.tiremanagementapi.repositories.VehicleRepository;
+import com.icm.tiremanagementapi.repositories.VehicleTypeRepository;
+import org.eclipse.paho.client.mqttv3.IMqttClient;
+import org.eclipse.paho.client.mqttv3.MqttException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Synthetic fleet for the ingest benchmark: creates a company with vehicles and tire sensors, and
+ * publishes JSON readings for them at a fixed rate. A share of the readings is out of range so the
+ * irregularity path is exercised as well.
+ */
+class FleetGenerator {
+    static final double STANDARD_TEMPERATURE = 60.0;
+    static final double STANDARD_PRESSURE = 100.0;
+
+    /**
+     * @param vehicles          Number of vehicles.
+     * @param sensorsPerVehicle Tire sensors mounted on each vehicle.
+     * @param messagesPerSecond Target publish rate.
+     * @param outOfRangeRatio   Share of readings (0 to 1) with a pressure below the standard.
+     */
+    record FleetSpec(int vehicles, int sensorsPerVehicle, int messagesPerSecond, double outOfRangeRatio) {
+        int sensors() {
+            return vehicles * sensorsPerVehicle;
+        }
+    }
+
+    private final FleetSpec spec;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final List<Long> sensorIds = new ArrayList<>();
+
+    FleetGenerator(FleetSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Creates the company, vehicles and sensors of the fleet.
+     */
+    void seed(CompanyRepository companyRepository, VehicleTypeRepository vehicleTypeRepository,
+              VehicleRepository vehicleRepository, TireSensorRepository tireSensorRepository) {
+        CompanyModel company = new CompanyModel();
+        company.setName("benchmark");
+        company.setStatus(true);
+        company = companyRepository.save(company);
+
+        VehicleTypeModel type = new VehicleTypeModel();
+        type.setName("benchmark");
+        type = vehicleTypeRepository.save(type);
+
+        List<TireSensorModel> sensors = new ArrayList<>(spec.sensors());
+        for (int v = 0; v < spec.vehicles(); v++) {
+            VehicleModel vehicle = new VehicleModel();
+            vehicle.setPlaca("BM-" + v);
+            vehicle.setCompanyModel(company);
+            vehicle.setVehicleType(type);
+            vehicle.setStatus(true);
+            vehicle.setStandardTemperature(STANDARD_TEMPERATURE);
+            vehicle.setStandardPressure(STANDARD_PRESSURE);
+            vehicle = vehicleRepository.save(vehicle);
+            for (int s = 0; s < spec.sensorsPerVehicle(); s++) {
+                TireSensorModel sensor = new TireSensorModel();
+                sensor.setIdentificationCode(String.format("B%04d%02d", v, s));
+                sensor.setCompanyModel(company);
+                sensor.setVehicleModel(vehicle);
+                sensor.setStatus(true);
+                sensor.setTemperature(STANDARD_TEMPERATURE);
+                sensor.setPressure(STANDARD_PRESSURE);
+                sensor.setBatteryLevel(100.0);
+                sensors.add(sensor);
+            }
+        }
+        tireSensorRepository.saveAll(sensors).forEach(sensor -> sensorIds.add(sensor.getId()));
+    }
+
+    /**
+     * Publishes readings round-robin over the sensors at the configured rate.
+     *
+     * @return The number of published messages.
+     */
+    long publish(IMqttClient client, String topic, long durationMillis) throws MqttException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / spec.messagesPerSecond();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        long published = 0;
+        long next = start;
+        while (next < end) {
+            long sensorId = sensorIds.get((int) (published % sensorIds.size()));
+            client.publish(topic, nextReading(sensorId), 0, false);
+            published++;
+            next += intervalNanos;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+        return published;
+    }
+
+    private byte[] nextReading(long sensorId) {
+        boolean outOfRange = random.nextDouble() < spec.outOfRangeRatio();
+        double pressure = outOfRange ? STANDARD_PRESSURE - 10 : STANDARD_PRESSURE;
+        String json = "{\"id\":" + sensorId
+                + ",\"temperature\":" + STANDARD_TEMPERATURE
+                + ",\"pressure\":" + pressure
+                + ",\"batteryLevel\":90"
+                + ",\"timestamp\":" + System.currentTimeMillis() + "}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,177 @@
+package com.icm.tiremanagementapi.benchmark;
+
+import com.icm.tiremanagementapi.services.GasExportService;
+import com.icm.tiremanagementapi.utils.StreamingExcelWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports {@code benchmark.rows} (3,000,000) gas records of one vehicle through {@link GasExportService} and checks
+ * that the heap retained after garbage collections stays within {@code benchmark.max-heap-growth-mb} (64) of the
+ * level before the export, and that the rows are spread over as many sheets as the .xlsx row limit requires.
+ * The records live in a file-based H2 database in MySQL mode with a small page cache, so the database itself
+ * does not hold them in the heap. Run it under a small heap to reproduce the original out-of-memory failure:
+ * {@code mvn test -Pbenchmark -Dtest=GasExportBenchmarkTests -DargLine=-Xmx128m}.
+ */
+@Tag("benchmark")
+class GasExportBenchmarkTests {
+
+	private static final long VEHICLE_ID = 1;
+
+	private final int rows = Integer.getInteger("benchmark.rows", 3_000_000);
+	private final long maxHeapGrowthBytes = Long.getLong("benchmark.max-heap-growth-mb", 64) * 1024 * 1024;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void exportKeepsTheHeapFlat() throws Exception {
+		// Arrange
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:file:" + directory.resolve("gas")
+				+ ";MODE=MySQL;NON_KEYWORDS=DAY,HOUR;CACHE_SIZE=8192", "sa", "");
+		load(dataSource);
+		GasExportService service = new GasExportService();
+		ReflectionTestUtils.setField(service, "jdbcTemplate", new JdbcTemplate(dataSource));
+		ReflectionTestUtils.setField(service, "fetchSize", 5000);
+		ReflectionTestUtils.setField(service, "rowWindow", 500);
+		Path file = directory.resolve("gas_records.xlsx");
+		HeapSampler sampler = new HeapSampler();
+
+		// Act
+		long exported;
+		long start = System.nanoTime();
+		sampler.start();
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+			exported = service.writeGasRecords(VEHICLE_ID, out);
+		} finally {
+			sampler.stop();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		// Assert
+		int sheets = (rows + StreamingExcelWriter.MAX_ROWS_PER_SHEET - 2) / (StreamingExcelWriter.MAX_ROWS_PER_SHEET - 1);
+		System.out.printf("%n=== Gas records export (%d rows, max heap %d MB) ===%n"
+						+ "time:                  %8.2f s%n"
+						+ "file size:             %8.2f MB%n"
+						+ "retained heap growth:  %8.2f MB%n%n",
+				rows, Runtime.getRuntime().maxMemory() / (1024 * 1024), seconds, Files.size(file) / (1024.0 * 1024),
+				sampler.growth() / (1024.0 * 1024));
+		assertEquals(rows, exported);
+		try (ZipFile zip = new ZipFile(file.toFile())) {
+			for (int i = 1; i <= sheets; i++) {
+				assertTrue(zip.getEntry("xl/worksheets/sheet" + i + ".xml") != null, "sheet " + i);
+			}
+			assertTrue(zip.getEntry("xl/worksheets/sheet" + (sheets + 1) + ".xml") == null);
+		}
+		assertTrue(sampler.growth() < maxHeapGrowthBytes, "retained heap grew by " + sampler.growth() + " bytes");
+	}
+
+	private void load(DriverManagerDataSource dataSource) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("CREATE TABLE vehicle (id BIGINT PRIMARY KEY, placa VARCHAR(20))");
+				statement.execute("CREATE TABLE gas_records (id BIGINT AUTO_INCREMENT PRIMARY KEY, hour TIME NOT NULL, "
+						+ "day DATE NOT NULL, pressure DOUBLE NOT NULL, vehicle BIGINT NOT NULL)");
+				statement.execute("CREATE INDEX idx_gas_records_vehicle_day_hour ON gas_records (vehicle, day, hour)");
+				statement.execute("INSERT INTO vehicle (id, placa) VALUES (" + VEHICLE_ID + ", 'ABC-123')");
+			}
+			connection.setAutoCommit(false);
+			SplittableRandom random = new SplittableRandom(11);
+			// One reading every few seconds, going back as far as the row count requires
+			LocalDate firstDay = LocalDate.of(2020, 1, 1);
+			int secondsPerRow = 5;
+			try (PreparedStatement insert = connection.prepareStatement(
+					"INSERT INTO gas_records (hour, day, pressure, vehicle) VALUES (?, ?, ?, ?)")) {
+				for (int i = 0; i < rows; i++) {
+					long second = (long) i * secondsPerRow;
+					insert.setTime(1, Time.valueOf(LocalTime.ofSecondOfDay(second % 86_400)));
+					insert.setDate(2, Date.valueOf(firstDay.plusDays(second / 86_400)));
+					insert.setDouble(3, 2000 + random.nextDouble(1000));
+					insert.setLong(4, VEHICLE_ID);
+					insert.addBatch();
+					if (i % 10_000 == 9_999) {
+						insert.executeBatch();
+						connection.commit();
+					}
+				}
+				insert.executeBatch();
+				connection.commit();
+			}
+		}
+	}
+
+	/**
+	 * Tracks the largest heap left after a garbage collection while the export runs, compared with the level before it.
+	 */
+	private static final class HeapSampler {
+		private final AtomicLong peak = new AtomicLong();
+		private long baseline;
+		private volatile boolean running;
+		private Thread thread;
+
+		void start() {
+			System.gc();
+			baseline = heapAfterGc();
+			running = true;
+			thread = new Thread(() -> {
+				while (running) {
+					peak.accumulateAndGet(heapAfterGc(), Math::max);
+					try {
+						Thread.sleep(20);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+			}, "heap-sampler");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		void stop() throws InterruptedException {
+			running = false;
+			thread.join();
+		}
+
+		long growth() {
+			return Math.max(0, peak.get() - baseline);
+		}
+
+		private static long heapAfterGc() {
+			long used = 0;
+			for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+				MemoryUsage usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+				if (usage != null) {
+					used += usage.getUsed();
+				}
+			}
+			return used;
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package com.icm.tiremanagementapi.benchmark;
+
+import com.icm.tiremanagementapi.controllers.StatementCounter;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.IngestStatsDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.WriteBehindStatsDTO;
+import com.icm.tiremanagementapi.mqtt.TelemetryIngestPipeline;
+import com.icm.tiremanagementapi.repositories.CompanyRepository;
+import com.icm.tiremanagementapi.repositories.TireSensorRepository;
+import com.icm.tiremanagementapi.repositories.VehicleRepository;
+import com.icm.tiremanagementapi.repositories.VehicleTypeRepository;
+import com.icm.tiremanagementapi.services.PerformanceTireWriter;
+import com.icm.tiremanagementapi.services.TireSensorStateBuffer;
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end ingest benchmark: embedded MQTT broker → MqttSubscriber → TelemetryIngestPipeline →
+ * TireSensorService.processReading → H2 in-memory database. It is tagged "benchmark" and only runs with
+ * {@code mvn test -Pbenchmark}. The fleet and the run can be tuned with system properties, for example
+ * {@code -Dbenchmark.vehicles=200 -Dbenchmark.messages-per-second=5000}. The report gives the sustained
+ * messages per second, p50/p99 reading-to-commit latency of the sensor state and JDBC statements per message;
+ * {@code benchmark.min-messages-per-second} and {@code benchmark.max-p99-millis} turn it into a regression gate.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "mqtt.topics=benchmark/telemetry",
+        "file.image=${java.io.tmpdir}/tire-management-benchmark"
+})
+@Import(IngestBenchmarkTests.BenchmarkConfig.class)
+class IngestBenchmarkTests {
+
+	private static final String TOPIC = "benchmark/telemetry";
+	private static Server broker;
+	private static String serverUri;
+
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private TelemetryIngestPipeline telemetryIngestPipeline;
+	@Autowired
+	private TireSensorStateBuffer tireSensorStateBuffer;
+	@Autowired
+	private PerformanceTireWriter performanceTireWriter;
+	@Autowired
+	private CompanyRepository companyRepository;
+	@Autowired
+	private VehicleTypeRepository vehicleTypeRepository;
+	@Autowired
+	private VehicleRepository vehicleRepository;
+	@Autowired
+	private TireSensorRepository tireSensorRepository;
+
+	@Value("${benchmark.vehicles:50}")
+	private int vehicles;
+	@Value("${benchmark.sensors-per-vehicle:6}")
+	private int sensorsPerVehicle;
+	@Value("${benchmark.messages-per-second:2000}")
+	private int messagesPerSecond;
+	@Value("${benchmark.out-of-range-ratio:0.05}")
+	private double outOfRangeRatio;
+	@Value("${benchmark.warmup-seconds:5}")
+	private int warmupSeconds;
+	@Value("${benchmark.duration-seconds:20}")
+	private int durationSeconds;
+	@Value("${benchmark.min-messages-per-second:0}")
+	private double minMessagesPerSecond;
+	@Value("${benchmark.max-p99-millis:" + Long.MAX_VALUE + "}")
+	private long maxP99Millis;
+
+	@TestConfiguration
+	static class BenchmarkConfig {
+		@Bean
+		static StatementCounter statementCounter() {
+			return new StatementCounter();
+		}
+	}
+
+	@DynamicPropertySource
+	static void startBroker(DynamicPropertyRegistry registry) throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		Properties properties = new Properties();
+		properties.setProperty("host", "127.0.0.1");
+		properties.setProperty("port", String.valueOf(port));
+		properties.setProperty("allow_anonymous", "true");
+		properties.setProperty("persistence_enabled", "false");
+		broker = new Server();
+		broker.startServer(new MemoryConfig(properties));
+		serverUri = "tcp://127.0.0.1:" + port;
+		registry.add("mqtt.serverUri", () -> serverUri);
+	}
+
+	@AfterAll
+	static void stopBroker() {
+		if (broker != null) {
+			broker.stopServer();
+		}
+	}
+
+	@Test
+	void sustainedIngest() throws Exception {
+		// Arrange
+		FleetGenerator fleet = new FleetGenerator(new FleetGenerator.FleetSpec(vehicles, sensorsPerVehicle, messagesPerSecond, outOfRangeRatio));
+		fleet.seed(companyRepository, vehicleTypeRepository, vehicleRepository, tireSensorRepository);
+		MqttClient publisher = new MqttClient(serverUri, MqttClient.generateClientId(), new MemoryPersistence());
+		publisher.connect();
+
+		long warmup = fleet.publish(publisher, TOPIC, TimeUnit.SECONDS.toMillis(warmupSeconds));
+		awaitProcessed(warmup);
+		flushAll();
+		IngestStatsDTO before = telemetryIngestPipeline.getStats();
+		statementCounter.reset();
+		tireSensorStateBuffer.resetCommitLatency();
+
+		// Act
+		long start = System.nanoTime();
+		long published = fleet.publish(publisher, TOPIC, TimeUnit.SECONDS.toMillis(durationSeconds));
+		awaitProcessed(warmup + published);
+		flushAll();
+		double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+		publisher.disconnect();
+		publisher.close();
+
+		// Assert
+		IngestStatsDTO after = telemetryIngestPipeline.getStats();
+		WriteBehindStatsDTO writeBehind = tireSensorStateBuffer.getStats();
+		long processed = after.getDrained() - before.getDrained();
+		double messagesPerSecondSustained = processed / elapsedSeconds;
+		double statementsPerMessage = processed == 0 ? 0 : (double) statementCounter.executions() / processed;
+
+		System.out.printf("%n=== Ingest benchmark ===%n"
+						+ "fleet: %d vehicles x %d sensors, target %d msg/s, out of range %.1f%%%n"
+						+ "published: %d, processed: %d, rejected: %d, conflated: %d, dropped: %d, failed: %d%n"
+						+ "sustained: %.0f msg/s over %.1f s%n"
+						+ "reading-to-commit latency: p50 %d ms, p99 %d ms%n"
+						+ "JDBC statements per message: %.3f%n"
+						+ "history writer: %s%n%n",
+				vehicles, sensorsPerVehicle, messagesPerSecond, outOfRangeRatio * 100,
+				published, processed, after.getRejected() - before.getRejected(),
+				after.getConflated() - before.getConflated(), after.getDropped() - before.getDropped(),
+				after.getFailed() - before.getFailed(),
+				messagesPerSecondSustained, elapsedSeconds,
+				writeBehind.getCommitLatencyP50Millis(), writeBehind.getCommitLatencyP99Millis(),
+				statementsPerMessage, performanceTireWriter.getStats());
+
+		assertTrue(processed > 0, "No reading was processed");
+		assertTrue(messagesPerSecondSustained >= minMessagesPerSecond,
+				"Sustained rate " + messagesPerSecondSustained + " msg/s is below " + minMessagesPerSecond);
+		assertTrue(writeBehind.getCommitLatencyP99Millis() <= maxP99Millis,
+				"p99 latency " + writeBehind.getCommitLatencyP99Millis() + " ms is above " + maxP99Millis);
+	}
+
+	private void awaitProcessed(long expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+		while (System.nanoTime() < deadline) {
+			IngestStatsDTO stats = telemetryIngestPipeline.getStats();
+			long settled = stats.getDrained() + stats.getFailed() + stats.getRejected() + stats.getConflated() + stats.getDropped();
+			if (settled >= expected && stats.getQueueDepth() == 0) {
+				return;
+			}
+			Thread.sleep(50);
+		}
+	}
+
+	private void flushAll() {
+		performanceTireWriter.flush();
+		tireSensorStateBuffer.flush();
+	}
+}
@@ -0,0 +1,136 @@
+package com.icm.tiremanagementapi.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Before/after benchmark of the performance_tire statistics predicates: the previous
+ * {@code YEAR(created_at) = ? AND MONTH(created_at) = ? AND DAY(created_at) = ?} filter against the half-open
+ * {@code created_at >= ? AND created_at < ?} range, first without and then with the (sensor, created_at) index.
+ * Both variants must return the same rows.
+ * <p>
+ * By default it loads {@code benchmark.rows} (2,000,000) rows into an in-memory H2 database in MySQL mode.
+ * Point {@code benchmark.jdbc-url}, {@code benchmark.jdbc-user} and {@code benchmark.jdbc-password} at a scratch
+ * MySQL schema to measure the real planner: {@code mvn test -Pbenchmark -Dtest=StatisticsQueryBenchmarkTests}.
+ */
+@Tag("benchmark")
+class StatisticsQueryBenchmarkTests {
+
+	private static final String TABLE = "statistics_benchmark_readings";
+
+	private static final String FUNCTION_QUERY = "SELECT HOUR(created_at), AVG(temperature), AVG(pressure), AVG(battery_level) "
+			+ "FROM " + TABLE + " WHERE sensor = ? AND YEAR(created_at) = ? AND MONTH(created_at) = ? AND DAY(created_at) = ? "
+			+ "GROUP BY HOUR(created_at) ORDER BY HOUR(created_at)";
+
+	private static final String RANGE_QUERY = "SELECT HOUR(created_at), AVG(temperature), AVG(pressure), AVG(battery_level) "
+			+ "FROM " + TABLE + " WHERE sensor = ? AND created_at >= ? AND created_at < ? "
+			+ "GROUP BY HOUR(created_at) ORDER BY HOUR(created_at)";
+
+	private final String url = System.getProperty("benchmark.jdbc-url", "jdbc:h2:mem:statistics-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+	private final String user = System.getProperty("benchmark.jdbc-user", "sa");
+	private final String password = System.getProperty("benchmark.jdbc-password", "");
+	private final int rows = Integer.getInteger("benchmark.rows", 2_000_000);
+	private final int sensors = Integer.getInteger("benchmark.sensors", 200);
+	private final int iterations = Integer.getInteger("benchmark.iterations", 50);
+
+	@Test
+	void rangePredicateVersusDateFunctions() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(url, user, password)) {
+			// Arrange
+			load(connection);
+			LocalDateTime day = LocalDateTime.of(2024, 3, 15, 0, 0);
+
+			// Act
+			double functionNoIndex = measure(connection, FUNCTION_QUERY, day);
+			double rangeNoIndex = measure(connection, RANGE_QUERY, day);
+			try (Statement statement = connection.createStatement()) {
+				statement.execute("CREATE INDEX idx_" + TABLE + "_sensor_created_at ON " + TABLE + " (sensor, created_at)");
+			}
+			double functionIndexed = measure(connection, FUNCTION_QUERY, day);
+			double rangeIndexed = measure(connection, RANGE_QUERY, day);
+
+			// Assert
+			System.out.printf("%n=== Statistics query benchmark (%d rows, %d sensors, %d iterations) ===%n"
+							+ "YEAR/MONTH/DAY, no index:    %8.2f ms/query%n"
+							+ "half-open range, no index:   %8.2f ms/query%n"
+							+ "YEAR/MONTH/DAY, with index:  %8.2f ms/query%n"
+							+ "half-open range, with index: %8.2f ms/query%n%n",
+					rows, sensors, iterations, functionNoIndex, rangeNoIndex, functionIndexed, rangeIndexed);
+			assertEquals(hourlyRows(connection, FUNCTION_QUERY, day), hourlyRows(connection, RANGE_QUERY, day));
+		}
+	}
+
+	private void load(Connection connection) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE IF EXISTS " + TABLE);
+			statement.execute("CREATE TABLE " + TABLE + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, sensor BIGINT NOT NULL, "
+					+ "temperature DOUBLE, pressure DOUBLE, battery_level DOUBLE, created_at DATETIME(6) NOT NULL)");
+		}
+		connection.setAutoCommit(false);
+		SplittableRandom random = new SplittableRandom(7);
+		// One year of readings spread evenly over the sensors
+		LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+		long secondsPerRow = Math.max(1, 365L * 24 * 3600 * sensors / rows);
+		try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE
+				+ " (sensor, temperature, pressure, battery_level, created_at) VALUES (?, ?, ?, ?, ?)")) {
+			for (int i = 0; i < rows; i++) {
+				insert.setLong(1, i % sensors + 1);
+				insert.setDouble(2, 40 + random.nextDouble(40));
+				insert.setDouble(3, 90 + random.nextDouble(20));
+				insert.setDouble(4, random.nextInt(101));
+				insert.setTimestamp(5, Timestamp.valueOf(start.plusSeconds((i / sensors) * secondsPerRow)));
+				insert.addBatch();
+				if (i % 10_000 == 9_999) {
+					insert.executeBatch();
+					connection.commit();
+				}
+			}
+			insert.executeBatch();
+			connection.commit();
+		}
+		connection.setAutoCommit(true);
+	}
+
+	private double measure(Connection connection, String sql, LocalDateTime day) throws SQLException {
+		// Warm-up
+		hourlyRows(connection, sql, day);
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			hourlyRows(connection, sql, day);
+		}
+		return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+	}
+
+	private int hourlyRows(Connection connection, String sql, LocalDateTime day) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, 1 + day.getDayOfYear() % sensors);
+			if (FUNCTION_QUERY.equals(sql)) {
+				statement.setInt(2, day.getYear());
+				statement.setInt(3, day.getMonthValue());
+				statement.setInt(4, day.getDayOfMonth());
+			} else {
+				statement.setTimestamp(2, Timestamp.valueOf(day));
+				statement.setTimestamp(3, Timestamp.valueOf(day.plusDays(1)));
+			}
+			int count = 0;
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					count++;
+				}
+			}
+			return count;
+		}
+	}
+}
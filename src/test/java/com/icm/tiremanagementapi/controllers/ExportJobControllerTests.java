@@ -0,0 +1,153 @@
+package com.icm.tiremanagementapi.controllers;
+
+import com.icm.tiremanagementapi.dto.ExportDTO.ExportJobRequestDTO;
+import com.icm.tiremanagementapi.export.ExportJob;
+import com.icm.tiremanagementapi.export.ExportJobService;
+import com.icm.tiremanagementapi.export.TelemetryExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.Principal;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ExportJobControllerTests {
+
+	private static final String CONTENT = "id,vehicle\r\n1,1\r\n2,1\r\n";
+	private static final Principal ALICE = () -> "alice";
+	private static final Principal BOB = () -> "bob";
+
+	@TempDir
+	Path root;
+
+	private ExportJobService service;
+	private MockMvc mockMvc;
+	private ExportJob job;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		TelemetryExportService exportService = Mockito.mock(TelemetryExportService.class);
+		doAnswer(invocation -> {
+			invocation.getArgument(4, OutputStream.class).write(CONTENT.getBytes(StandardCharsets.UTF_8));
+			return 2L;
+		}).when(exportService).write(any(), any(), any(), anyBoolean(), any(OutputStream.class), any(LongConsumer.class));
+		service = new ExportJobService();
+		ReflectionTestUtils.setField(service, "telemetryExportService", exportService);
+		ReflectionTestUtils.setField(service, "root", root.toString());
+		ReflectionTestUtils.setField(service, "threads", 1);
+		ReflectionTestUtils.setField(service, "queueCapacity", 4);
+		ReflectionTestUtils.setField(service, "ttlHours", 24L);
+		service.start();
+
+		ExportJobController controller = new ExportJobController();
+		ReflectionTestUtils.setField(controller, "exportJobService", service);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+		ExportJobRequestDTO request = new ExportJobRequestDTO();
+		request.setDataset("gas-records");
+		request.setFormat("csv");
+		request.setGzip(false);
+		job = service.submit(request, "alice");
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue(job.getStatus().isFinished());
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	private String fileUri() {
+		return "/api/export-jobs/" + job.getId() + "/file";
+	}
+
+	@Test
+	void download_RangeRequest_ResumesWith206() throws Exception {
+		// Act & Assert
+		mockMvc.perform(get(fileUri()).principal(ALICE).header(HttpHeaders.RANGE, "bytes=12-"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 12-" + (CONTENT.length() - 1) + "/" + CONTENT.length()))
+				.andExpect(header().string(HttpHeaders.ETAG, job.getETag()))
+				.andExpect(content().string(CONTENT.substring(12)));
+	}
+
+	@Test
+	void download_IfNoneMatchWithTheETag_Returns304() throws Exception {
+		// Act & Assert
+		mockMvc.perform(get(fileUri()).principal(ALICE).header(HttpHeaders.IF_NONE_MATCH, job.getETag()))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void download_IfRangeMatchingTheETag_Returns206() throws Exception {
+		// Act & Assert
+		mockMvc.perform(get(fileUri()).principal(ALICE)
+						.header(HttpHeaders.RANGE, "bytes=0-1")
+						.header(HttpHeaders.IF_RANGE, job.getETag()))
+				.andExpect(status().isPartialContent())
+				.andExpect(content().string("id"));
+	}
+
+	@Test
+	void download_IfRangeMatchingTheLastModifiedDate_Returns206() throws Exception {
+		// Arrange
+		String lastModified = DateTimeFormatter.RFC_1123_DATE_TIME
+				.format(job.getFinishedAt().atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneId.of("GMT")));
+
+		// Act & Assert
+		mockMvc.perform(get(fileUri()).principal(ALICE)
+						.header(HttpHeaders.RANGE, "bytes=0-1")
+						.header(HttpHeaders.IF_RANGE, lastModified))
+				.andExpect(status().isPartialContent())
+				.andExpect(content().string("id"));
+	}
+
+	@Test
+	void download_IfRangeWithAnotherETag_ReturnsTheWholeFile() throws Exception {
+		// Act & Assert
+		mockMvc.perform(get(fileUri()).principal(ALICE)
+						.header(HttpHeaders.RANGE, "bytes=0-1")
+						.header(HttpHeaders.IF_RANGE, "\"another-job\""))
+				.andExpect(status().isOk())
+				.andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+				.andExpect(content().string(CONTENT));
+	}
+
+	@Test
+	void jobs_OfAnotherUser_AreNotFound() throws Exception {
+		// Act & Assert
+		mockMvc.perform(get(fileUri()).principal(BOB)).andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/export-jobs/" + job.getId()).principal(BOB)).andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/export-jobs").principal(BOB))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(0));
+		mockMvc.perform(get("/api/export-jobs").principal(ALICE))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].id").value(job.getId()));
+	}
+}
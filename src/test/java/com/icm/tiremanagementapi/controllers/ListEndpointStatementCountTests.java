@@ -0,0 +1,284 @@
+package com.icm.tiremanagementapi.controllers;
+
+import com.icm.tiremanagementapi.models.CompanyModel;
+import com.icm.tiremanagementapi.models.ImagesIrregularitiesTireModel;
+import com.icm.tiremanagementapi.models.IrregularitiesTireModel;
+import com.icm.tiremanagementapi.models.PositioningModel;
+import com.icm.tiremanagementapi.models.RoleModel;
+import com.icm.tiremanagementapi.models.TireModel;
+import com.icm.tiremanagementapi.models.TireSensorModel;
+import com.icm.tiremanagementapi.models.TireStatus;
+import com.icm.tiremanagementapi.models.UserModel;
+import com.icm.tiremanagementapi.models.VehicleModel;
+import com.icm.tiremanagementapi.models.VehicleTypeModel;
+import com.icm.tiremanagementapi.repositories.CompanyRepository;
+import com.icm.tiremanagementapi.repositories.ImagesIrregularitiesTireRepository;
+import com.icm.tiremanagementapi.repositories.IrregularitiesTireRepository;
+import com.icm.tiremanagementapi.repositories.PositioningRepository;
+import com.icm.tiremanagementapi.repositories.RoleRepository;
+import com.icm.tiremanagementapi.repositories.TireRepository;
+import com.icm.tiremanagementapi.repositories.TireSensorRepository;
+import com.icm.tiremanagementapi.repositories.UserRepository;
+import com.icm.tiremanagementapi.repositories.VehicleRepository;
+import com.icm.tiremanagementapi.repositories.VehicleTypeRepository;
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the JDBC statements each list endpoint sends to the database. The lists must cost one statement, and
+ * pages two (the rows and the count), whatever the number of rows and of distinct vehicles, sensors and tires
+ * they reference. It starts the whole application on H2 with an embedded MQTT broker.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:list-endpoints;MODE=MySQL;NON_KEYWORDS=DAY,HOUR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "mqtt.topics=test/list-endpoints",
+        "file.image=${java.io.tmpdir}/tire-management-list-endpoints"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(ListEndpointStatementCountTests.CounterConfig.class)
+class ListEndpointStatementCountTests {
+
+	private static final int VEHICLES = 12;
+	private static final int TIRES_PER_VEHICLE = 4;
+	private static final int USERS = 25;
+
+	private static Server broker;
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private StatementCounter statementCounter;
+	@Autowired
+	private CompanyRepository companyRepository;
+	@Autowired
+	private VehicleTypeRepository vehicleTypeRepository;
+	@Autowired
+	private PositioningRepository positioningRepository;
+	@Autowired
+	private VehicleRepository vehicleRepository;
+	@Autowired
+	private TireRepository tireRepository;
+	@Autowired
+	private TireSensorRepository tireSensorRepository;
+	@Autowired
+	private RoleRepository roleRepository;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private IrregularitiesTireRepository irregularitiesTireRepository;
+	@Autowired
+	private ImagesIrregularitiesTireRepository imagesIrregularitiesTireRepository;
+
+	private Long companyId;
+	private Long vehicleId;
+	private Long irregularityId;
+
+	@TestConfiguration
+	static class CounterConfig {
+		@Bean
+		static StatementCounter statementCounter() {
+			return new StatementCounter();
+		}
+	}
+
+	@DynamicPropertySource
+	static void startBroker(DynamicPropertyRegistry registry) throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		Properties properties = new Properties();
+		properties.setProperty("host", "127.0.0.1");
+		properties.setProperty("port", String.valueOf(port));
+		properties.setProperty("allow_anonymous", "true");
+		properties.setProperty("persistence_enabled", "false");
+		broker = new Server();
+		broker.startServer(new MemoryConfig(properties));
+		registry.add("mqtt.serverUri", () -> "tcp://127.0.0.1:" + port);
+	}
+
+	@AfterAll
+	static void stopBroker() {
+		if (broker != null) {
+			broker.stopServer();
+		}
+	}
+
+	@BeforeAll
+	void seed() {
+		CompanyModel company = new CompanyModel();
+		company.setName("statements");
+		company.setStatus(true);
+		company = companyRepository.save(company);
+		companyId = company.getId();
+
+		VehicleTypeModel type = new VehicleTypeModel();
+		type.setName("statements");
+		type = vehicleTypeRepository.save(type);
+
+		List<PositioningModel> positions = new ArrayList<>();
+		for (int p = 0; p < TIRES_PER_VEHICLE; p++) {
+			PositioningModel positioning = new PositioningModel();
+			positioning.setLocationCode("P" + p);
+			positioning.setVehicleType(type);
+			positions.add(positioningRepository.save(positioning));
+		}
+
+		for (int v = 0; v < VEHICLES; v++) {
+			VehicleModel vehicle = new VehicleModel();
+			vehicle.setPlaca("ST-" + v);
+			vehicle.setCompanyModel(company);
+			vehicle.setVehicleType(type);
+			vehicle.setStatus(true);
+			vehicle.setStandardTemperature(60.0);
+			vehicle.setStandardPressure(100.0);
+			vehicle = vehicleRepository.save(vehicle);
+			vehicleId = vehicle.getId();
+			for (int t = 0; t < TIRES_PER_VEHICLE; t++) {
+				TireModel tire = new TireModel();
+				tire.setCodname("T" + v + "-" + t);
+				tire.setStatus(TireStatus.IN_USE);
+				tire.setPositioningModel(positions.get(t));
+				tire.setVehicleModel(vehicle);
+				tire.setCompanyModel(company);
+				tire = tireRepository.save(tire);
+
+				TireSensorModel sensor = new TireSensorModel();
+				sensor.setIdentificationCode("S" + v + "-" + t);
+				sensor.setCompanyModel(company);
+				sensor.setVehicleModel(vehicle);
+				sensor.setPositioning(positions.get(t));
+				sensor.setTireModel(tire);
+				sensor.setStatus(true);
+				sensor.setTemperature(60.0);
+				sensor.setPressure(100.0);
+				sensor.setBatteryLevel(100.0);
+				sensor = tireSensorRepository.save(sensor);
+
+				IrregularitiesTireModel irregularity = new IrregularitiesTireModel();
+				irregularity.setNameIrregularity("Presión baja");
+				irregularity.setDetailsIrregularity("Presión demasiado baja para el estándar definido.");
+				irregularity.setVehicleModel(vehicle);
+				irregularity.setCompany(company);
+				irregularity.setTireSensorModel(sensor);
+				irregularity.setTireModel(tire);
+				irregularity.setStatus(true);
+				irregularity.setRecordedPressure(80.0);
+				irregularity = irregularitiesTireRepository.save(irregularity);
+				irregularityId = irregularity.getId();
+
+				for (int i = 0; i < 2; i++) {
+					ImagesIrregularitiesTireModel image = new ImagesIrregularitiesTireModel();
+					image.setImageName("image" + i + ".jpg");
+					image.setIrregularitiesTireModel(irregularity);
+					image.setCompanyModel(company);
+					imagesIrregularitiesTireRepository.save(image);
+				}
+			}
+		}
+
+		List<RoleModel> roles = new ArrayList<>();
+		for (String name : List.of("ADMIN", "USER")) {
+			RoleModel role = new RoleModel();
+			role.setName(name);
+			roles.add(roleRepository.save(role));
+		}
+		for (int u = 0; u < USERS; u++) {
+			userRepository.save(UserModel.builder()
+					.username("user" + u)
+					.password("secret")
+					.name("Name " + u)
+					.lastname("Lastname " + u)
+					.email("user" + u + "@example.com")
+					.role(roles.get(u % roles.size()))
+					.company(company)
+					.status(true)
+					.build());
+		}
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@CsvSource({
+			"/api/tireSensor, 1",
+			"/api/tireSensor/vehicle?vehicleId={vehicle}, 1",
+			"/api/tireSensor/findByCompanyModelIdAndStatus?companyId={company}&status=true, 1",
+			"/api/tireSensor/findByCompanyModelId?companyId={company}&size=10, 2",
+			"/api/tireSensor/findByVehiclePaged?vehicleId={vehicle}&size=2, 2",
+			"/api/tireSensor/summary, 1",
+			"/api/tireSensor/company/summary?companyId={company}&size=10, 2",
+			"/api/users, 1",
+			"/api/users/page?size=10, 2",
+			"/api/users/company?companyId={company}&size=10, 2",
+			"/api/users/company/summary?companyId={company}&size=10, 2",
+			"/api/irregularities/page?size=10, 2",
+			"/api/irregularities/company/page?companyId={company}, 2",
+			"/api/irregularities/companyAndVehicleList?companyId={company}&vehicleId={vehicle}, 1",
+			"/api/irregularities/company/summary?companyId={company}, 2",
+			"/api/IIT, 1",
+			"/api/IIT/byIrregularities/{irregularity}, 1",
+			"/api/vehicle, 1",
+			"/api/vehicle/findByCompany?companyId={company}&size=5, 2"
+	})
+	void listEndpointsUseAConstantNumberOfStatements(String path, long expectedStatements) throws Exception {
+		// Arrange
+		String uri = path.replace("{company}", companyId.toString()).replace("{vehicle}", vehicleId.toString())
+				.replace("{irregularity}", irregularityId.toString());
+		statementCounter.reset();
+
+		// Act
+		mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+		// Assert
+		assertEquals(expectedStatements, statementCounter.threadExecutions(), "Statements of GET " + uri);
+	}
+
+	@Test
+	void sensorListSerializesTheWholeGraphFromOneStatement() throws Exception {
+		// Arrange
+		statementCounter.reset();
+
+		// Act
+		mockMvc.perform(get("/api/tireSensor"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(VEHICLES * TIRES_PER_VEHICLE))
+				.andExpect(jsonPath("$[0].vehicleModel.companyModel.name").value("statements"))
+				.andExpect(jsonPath("$[0].positioning.vehicleType.name").value("statements"))
+				.andExpect(jsonPath("$[0].tireModel.vehicleModel.vehicleType.name").value("statements"));
+
+		// Assert
+		assertEquals(1, statementCounter.threadExecutions());
+	}
+}
@@ -0,0 +1,88 @@
+package com.icm.tiremanagementapi.controllers;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps the application DataSource in JDK proxies and counts the statements sent to the database.
+ * A JDBC batch counts as one execution. Executions are also counted per thread, so that a test can count the
+ * statements of a request without those of the scheduled jobs running meanwhile.
+ */
+public class StatementCounter implements BeanPostProcessor {
+    private final LongAdder executions = new LongAdder();
+    private final ThreadLocal<long[]> threadExecutions = ThreadLocal.withInitial(() -> new long[1]);
+
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * Executions on the calling thread since its last {@link #reset()}.
+     */
+    public long threadExecutions() {
+        return threadExecutions.get()[0];
+    }
+
+    public void reset() {
+        executions.reset();
+        threadExecutions.get()[0] = 0;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return proxy(DataSource.class, bean);
+        }
+        return bean;
+    }
+
+    private Object proxy(Class<?> type, Object target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(method, target, args);
+            if (result instanceof Connection) {
+                return proxy(Connection.class, result);
+            }
+            if (result instanceof Statement statement) {
+                return proxy(statementType(statement), statement);
+            }
+            if (target instanceof Statement && isExecution(method)) {
+                executions.increment();
+                threadExecutions.get()[0]++;
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Class<?> statementType(Statement statement) {
+        if (statement instanceof CallableStatement) {
+            return CallableStatement.class;
+        }
+        if (statement instanceof PreparedStatement) {
+            return PreparedStatement.class;
+        }
+        return Statement.class;
+    }
+
+    private static boolean isExecution(Method method) {
+        return method.getName().startsWith("execute");
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.icm.tiremanagementapi.export;
+
+import com.icm.tiremanagementapi.dto.ExportDTO.ExportJobRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+
+class ExportJobServiceTests {
+
+	private static final byte[] CONTENT = "id,vehicle\r\n1,1\r\n".getBytes(StandardCharsets.UTF_8);
+
+	@TempDir
+	Path root;
+
+	private TelemetryExportService exportService;
+	private ExportJobService service;
+
+	@BeforeEach
+	void setUp() {
+		exportService = Mockito.mock(TelemetryExportService.class);
+		service = newService(exportService, root, 24);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	static ExportJobService newService(TelemetryExportService exportService, Path root, long ttlHours) {
+		ExportJobService service = new ExportJobService();
+		ReflectionTestUtils.setField(service, "telemetryExportService", exportService);
+		ReflectionTestUtils.setField(service, "root", root.toString());
+		ReflectionTestUtils.setField(service, "threads", 1);
+		ReflectionTestUtils.setField(service, "queueCapacity", 4);
+		ReflectionTestUtils.setField(service, "ttlHours", ttlHours);
+		service.start();
+		return service;
+	}
+
+	static ExportJobRequestDTO csvRequest() {
+		ExportJobRequestDTO request = new ExportJobRequestDTO();
+		request.setDataset("gas-records");
+		request.setFormat("csv");
+		request.setGzip(false);
+		return request;
+	}
+
+	static void writes(TelemetryExportService exportService, byte[] content) throws IOException {
+		doAnswer(invocation -> {
+			invocation.getArgument(4, OutputStream.class).write(content);
+			invocation.getArgument(5, LongConsumer.class).accept(1);
+			return 1L;
+		}).when(exportService).write(any(), any(), any(), anyBoolean(), any(OutputStream.class), any(LongConsumer.class));
+	}
+
+	static ExportJob awaitFinished(ExportJob job) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!job.getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue(job.getStatus().isFinished(), "Job did not finish: " + job.getStatus());
+		return job;
+	}
+
+	private List<Path> partFiles() throws IOException {
+		try (Stream<Path> files = Files.list(root)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".part")).toList();
+		}
+	}
+
+	@Test
+	void submit_SuccessfulExport_RenamesThePartFileWhenDone() throws Exception {
+		// Arrange
+		writes(exportService, CONTENT);
+
+		// Act
+		ExportJob job = awaitFinished(service.submit(csvRequest(), "alice"));
+
+		// Assert
+		assertEquals(ExportJobStatus.DONE, job.getStatus());
+		assertEquals(CONTENT.length, job.toDTO().getSizeBytes());
+		assertEquals(1, job.toDTO().getRowsWritten());
+		assertArrayEquals(CONTENT, Files.readAllBytes(job.getFile()));
+		assertTrue(partFiles().isEmpty());
+	}
+
+	@Test
+	void submit_FailingExport_DeletesThePartFile() throws Exception {
+		// Arrange
+		doAnswer(invocation -> {
+			invocation.getArgument(4, OutputStream.class).write(CONTENT);
+			throw new IOException("connection lost");
+		}).when(exportService).write(any(), any(), any(), anyBoolean(), any(OutputStream.class), any(LongConsumer.class));
+
+		// Act
+		ExportJob job = awaitFinished(service.submit(csvRequest(), "alice"));
+
+		// Assert
+		assertEquals(ExportJobStatus.FAILED, job.getStatus());
+		assertEquals("connection lost", job.toDTO().getError());
+		assertFalse(Files.exists(job.getFile()));
+		assertTrue(partFiles().isEmpty());
+	}
+
+	@Test
+	void delete_RunningJob_CancelsItAndDeletesThePartFile() throws Exception {
+		// Arrange
+		CountDownLatch writing = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			OutputStream out = invocation.getArgument(4, OutputStream.class);
+			LongConsumer progress = invocation.getArgument(5, LongConsumer.class);
+			for (long rows = 1; ; rows++) {
+				out.write(CONTENT);
+				out.flush();
+				progress.accept(rows);
+				writing.countDown();
+				Thread.sleep(5);
+			}
+		}).when(exportService).write(any(), any(), any(), anyBoolean(), any(OutputStream.class), any(LongConsumer.class));
+		ExportJob job = service.submit(csvRequest(), "alice");
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+		// Act
+		boolean deleted = service.delete(job.getId(), "alice");
+
+		// Assert
+		assertTrue(deleted);
+		assertEquals(ExportJobStatus.CANCELLED, awaitFinished(job).getStatus());
+		assertFalse(Files.exists(job.getFile()));
+		assertTrue(partFiles().isEmpty());
+	}
+
+	@Test
+	void deleteExpired_JobPastItsTtl_RemovesTheJobAndItsFile() throws Exception {
+		// Arrange
+		service.shutdown();
+		service = newService(exportService, root, 0);
+		writes(exportService, CONTENT);
+		ExportJob job = awaitFinished(service.submit(csvRequest(), "alice"));
+		assertTrue(Files.exists(job.getFile()));
+		Thread.sleep(5);
+
+		// Act
+		service.deleteExpired();
+
+		// Assert
+		assertTrue(service.getJob(job.getId(), "alice").isEmpty());
+		assertFalse(Files.exists(job.getFile()));
+	}
+
+	@Test
+	void deleteExpired_FilesLeftByAPreviousRun_DeletesOnlyThoseOlderThanTheTtl() throws Exception {
+		// Arrange
+		Path stalePart = Files.write(root.resolve("stale.csv.part"), CONTENT);
+		Files.setLastModifiedTime(stalePart, FileTime.from(Instant.now().minus(Duration.ofHours(25))));
+		Path fresh = Files.write(root.resolve("fresh.csv"), CONTENT);
+
+		// Act
+		service.deleteExpired();
+
+		// Assert
+		assertFalse(Files.exists(stalePart));
+		assertTrue(Files.exists(fresh));
+	}
+
+	@Test
+	void getJobs_OtherUsersJobs_AreNotVisible() throws Exception {
+		// Arrange
+		writes(exportService, CONTENT);
+		ExportJob alices = awaitFinished(service.submit(csvRequest(), "alice"));
+		ExportJob bobs = awaitFinished(service.submit(csvRequest(), "bob"));
+
+		// Act
+		List<ExportJob> jobs = service.getJobs("alice");
+
+		// Assert
+		assertEquals(List.of(alices), jobs);
+		assertTrue(service.getJob(bobs.getId(), "alice").isEmpty());
+		assertFalse(service.delete(bobs.getId(), "alice"));
+		assertTrue(Files.exists(bobs.getFile()));
+	}
+}
@@ -0,0 +1,84 @@
+package com.icm.tiremanagementapi.export;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TelemetryExportServiceTests {
+
+	private TelemetryExportService service;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:export-" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=DAY,HOUR;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE vehicle (id BIGINT PRIMARY KEY, placa VARCHAR(20), company BIGINT)");
+		jdbcTemplate.execute("CREATE TABLE gas_records (id BIGINT PRIMARY KEY, hour TIME, day DATE, pressure DOUBLE, vehicle BIGINT)");
+		jdbcTemplate.execute("CREATE TABLE performance_tire (id BIGINT PRIMARY KEY, sensor BIGINT, vehicle BIGINT, company BIGINT, "
+				+ "created_at DATETIME, temperature DOUBLE, pressure DOUBLE, battery_level DOUBLE)");
+		jdbcTemplate.execute("INSERT INTO vehicle VALUES (1, 'ABC,\"1\"', 10), (2, 'XYZ-999', 20)");
+		jdbcTemplate.execute("INSERT INTO gas_records VALUES (1, '23:30:00', '2024-03-14', 2500.5, 1), "
+				+ "(2, '08:00:00', '2024-03-15', 2400.0, 1), (3, '12:00:00', '2024-03-15', 2300.0, 1), (4, '09:00:00', '2024-03-15', 2000.0, 2)");
+		jdbcTemplate.execute("INSERT INTO performance_tire VALUES (1, 7, 1, 10, '2024-03-15 10:00:00', 45.5, 110.0, NULL), "
+				+ "(2, 8, 1, 10, '2024-03-15 10:00:05', 46.0, 111.0, 90.0)");
+		service = new TelemetryExportService();
+		ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(service, "fetchSize", 2);
+	}
+
+	@Test
+	void write_GasRecordsAsCsv_FiltersByCompanyAndDateTimeWindow() throws Exception {
+		// Arrange
+		ExportFilter filter = new ExportFilter(LocalDateTime.of(2024, 3, 14, 23, 0), LocalDateTime.of(2024, 3, 15, 12, 0),
+				10L, null, null);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// Act
+		long rows = service.write(ExportDataset.GAS_RECORDS, filter, ExportFormat.CSV, false, out);
+
+		// Assert
+		assertEquals(2, rows);
+		assertEquals("id,vehicle,placa,day,hour,pressure\r\n"
+						+ "1,1,\"ABC,\"\"1\"\"\",2024-03-14,23:30:00,2500.5\r\n"
+						+ "2,1,\"ABC,\"\"1\"\"\",2024-03-15,08:00:00,2400.0\r\n",
+				out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void write_PerformanceTireAsGzipNdjson_WritesOneObjectPerLine() throws Exception {
+		// Arrange
+		ExportFilter filter = new ExportFilter(null, null, null, null, 7L);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// Act
+		long rows = service.write(ExportDataset.PERFORMANCE_TIRE, filter, ExportFormat.NDJSON, true, out);
+
+		// Assert
+		assertEquals(1, rows);
+		String text = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+				StandardCharsets.UTF_8);
+		assertEquals("{\"id\":1,\"sensor\":7,\"vehicle\":1,\"company\":10,\"createdAt\":\"2024-03-15T10:00:00\","
+				+ "\"temperature\":45.5,\"pressure\":110.0,\"batteryLevel\":null}\n", text);
+	}
+
+	@Test
+	void validate_SensorFilterOnGasRecords_Throws() {
+		// Arrange
+		ExportFilter filter = new ExportFilter(null, null, null, null, 7L);
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> service.validate(ExportDataset.GAS_RECORDS, filter));
+	}
+}
@@ -0,0 +1,173 @@
+package com.icm.tiremanagementapi.live;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.LiveSensorUpdateDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveTelemetryHubTests {
+
+	private static final SensorThresholdsDTO SENSOR_7 = new SensorThresholdsDTO(7L, 1L, 10L, "ICM", 11L, 40.0, 100.0);
+	private static final SensorThresholdsDTO SENSOR_8 = new SensorThresholdsDTO(8L, 1L, 10L, "ICM", 12L, 40.0, 100.0);
+
+	private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+	private LiveTelemetryHub hub;
+
+	@BeforeEach
+	void setUp() {
+		hub = new LiveTelemetryHub() {
+			@Override
+			SseEmitter createEmitter() {
+				RecordingEmitter emitter = new RecordingEmitter();
+				emitters.add(emitter);
+				return emitter;
+			}
+		};
+		ReflectionTestUtils.setField(hub, "enabled", true);
+		ReflectionTestUtils.setField(hub, "maxSubscribers", 10);
+		ReflectionTestUtils.setField(hub, "threads", 1);
+		ReflectionTestUtils.setField(hub, "coalesceMillis", 200L);
+		ReflectionTestUtils.setField(hub, "maxPendingSensors", 3);
+		ReflectionTestUtils.setField(hub, "maxPendingIrregularities", 2);
+		ReflectionTestUtils.setField(hub, "slowConsumerTimeoutMillis", 10_000L);
+		ReflectionTestUtils.setField(hub, "emitterTimeoutMillis", 60_000L);
+		hub.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		emitters.forEach(emitter -> emitter.release.countDown());
+		hub.shutdown();
+	}
+
+	@Test
+	void publishReading_SameSensorWithinTheDelay_SendsOnlyTheLatestUpdate() throws InterruptedException {
+		// Arrange
+		hub.subscribe(LiveScope.VEHICLE, 1L);
+		RecordingEmitter emitter = emitters.get(0);
+
+		// Act
+		for (int i = 1; i <= 5; i++) {
+			hub.publishReading(new TelemetryReading(7L, 30.0 + i, 100.0, 80, i), SENSOR_7);
+		}
+		hub.publishReading(new TelemetryReading(8L, 30.0, 100.0, 80, 1), SENSOR_8);
+
+		// Assert
+		assertTrue(emitter.sent.await(5, TimeUnit.SECONDS));
+		List<LiveSensorUpdateDTO> updates = emitter.updates.get(0);
+		assertEquals(2, updates.size());
+		assertEquals(35.0, updates.stream().filter(update -> update.sensorId() == 7L).findFirst().orElseThrow().temperature());
+		assertEquals(4, hub.getStats().getCoalesced());
+	}
+
+	@Test
+	void publishReading_PendingSensorsOverflow_EvictsTheSubscriber() throws InterruptedException {
+		// Arrange
+		hub.subscribe(LiveScope.VEHICLE, 1L);
+		RecordingEmitter emitter = emitters.get(0);
+
+		// Act
+		for (long sensorId = 1; sensorId <= 4; sensorId++) {
+			hub.publishReading(new TelemetryReading(sensorId, 30.0, 100.0, 80, 1),
+					new SensorThresholdsDTO(sensorId, 1L, 10L, "ICM", sensorId, 40.0, 100.0));
+		}
+
+		// Assert
+		assertTrue(emitter.completed.await(5, TimeUnit.SECONDS));
+		assertEquals(1, hub.getStats().getEvicted());
+		assertEquals(0, hub.getStats().getSubscribers());
+		assertTrue(emitter.updates.isEmpty());
+	}
+
+	@Test
+	void publishReading_BlockedSubscriber_DoesNotDelayTheOthers() throws InterruptedException {
+		// Arrange
+		hub.subscribe(LiveScope.VEHICLE, 1L);
+		hub.subscribe(LiveScope.VEHICLE, 1L);
+		RecordingEmitter blocked = emitters.get(0);
+		RecordingEmitter other = emitters.get(1);
+		blocked.blocking = true;
+
+		// Act
+		hub.publishReading(new TelemetryReading(7L, 31.0, 100.0, 80, 1), SENSOR_7);
+
+		// Assert
+		assertTrue(other.sent.await(5, TimeUnit.SECONDS));
+		assertTrue(blocked.updates.isEmpty());
+		blocked.release.countDown();
+		assertTrue(blocked.sent.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void publishReading_EverySenderBusy_RetriesTheFlushInsteadOfDroppingIt() throws InterruptedException {
+		// Arrange
+		ThreadPoolExecutor senders = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+		CountDownLatch busy = new CountDownLatch(1);
+		senders.execute(() -> {
+			try {
+				busy.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		ReflectionTestUtils.setField(hub, "senders", senders);
+		hub.subscribe(LiveScope.VEHICLE, 1L);
+		RecordingEmitter emitter = emitters.get(0);
+
+		// Act
+		hub.publishReading(new TelemetryReading(7L, 31.0, 100.0, 80, 1), SENSOR_7);
+		Thread.sleep(500);
+		busy.countDown();
+
+		// Assert
+		assertTrue(emitter.sent.await(5, TimeUnit.SECONDS));
+		assertTrue(hub.getStats().getDeferredSends() > 0);
+		senders.shutdownNow();
+	}
+
+	private static final class RecordingEmitter extends SseEmitter {
+		private final List<List<LiveSensorUpdateDTO>> updates = new CopyOnWriteArrayList<>();
+		private final CountDownLatch sent = new CountDownLatch(1);
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		private volatile boolean blocking;
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void send(SseEventBuilder builder) {
+			if (blocking) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+				if (data.getData() instanceof List<?>) {
+					updates.add((List<LiveSensorUpdateDTO>) data.getData());
+					sent.countDown();
+				}
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed.countDown();
+		}
+	}
+}
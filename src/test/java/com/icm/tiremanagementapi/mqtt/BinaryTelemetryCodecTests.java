@@ -0,0 +1,82 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTelemetryCodecTests {
+
+	@Test
+	void decode_EncodedReadings_ReturnsSameReadings() {
+		// Arrange
+		List<TelemetryReading> readings = List.of(
+				new TelemetryReading(1L, 31.5, 104.25, 87, 1_700_000_000_000L),
+				new TelemetryReading(Long.MAX_VALUE, -12.75, 0.5, 0, 1_700_000_000_123L),
+				new TelemetryReading(42L, 119.0, 179.5, 100, 0L));
+		byte[] payload = BinaryTelemetryCodec.encode(readings);
+
+		// Act
+		List<TelemetryReading> decoded = new ArrayList<>();
+		int count = BinaryTelemetryCodec.decode(payload, decoded::add);
+
+		// Assert
+		assertEquals(3, count);
+		assertEquals(BinaryTelemetryCodec.HEADER_SIZE + 3 * BinaryTelemetryCodec.READING_SIZE, payload.length);
+		assertEquals(readings, decoded);
+	}
+
+	@Test
+	void decode_ValuesNotRepresentableAsFloat_ReturnsTheSameDoublesAsJson() {
+		// Arrange
+		byte[] payload = BinaryTelemetryCodec.encode(List.of(new TelemetryReading(7L, 32.1, 104.3, 90, 5L)));
+
+		// Act
+		List<TelemetryReading> decoded = new ArrayList<>();
+		BinaryTelemetryCodec.decode(payload, decoded::add);
+
+		// Assert
+		assertEquals(Double.parseDouble("32.1"), decoded.get(0).temperature());
+		assertEquals(Double.parseDouble("104.3"), decoded.get(0).pressure());
+	}
+
+	@Test
+	void encode_FractionalBattery_RoundsToWholePercentage() {
+		// Arrange
+		byte[] payload = BinaryTelemetryCodec.encode(List.of(new TelemetryReading(7L, 20.0, 30.0, 86.6, 5L)));
+
+		// Act
+		List<TelemetryReading> decoded = new ArrayList<>();
+		BinaryTelemetryCodec.decode(payload, decoded::add);
+
+		// Assert
+		assertEquals(87.0, decoded.get(0).batteryLevel());
+	}
+
+	@Test
+	void isBinary_JsonAndBinaryPayloads_DetectsMagicByte() {
+		// Arrange
+		byte[] binary = BinaryTelemetryCodec.encode(List.of());
+		byte[] json = "{\"id\":1}".getBytes();
+
+		// Act & Assert
+		assertTrue(BinaryTelemetryCodec.isBinary(binary));
+		assertFalse(BinaryTelemetryCodec.isBinary(json));
+	}
+
+	@Test
+	void decode_TruncatedPayload_ThrowsIllegalArgumentException() {
+		// Arrange
+		byte[] payload = BinaryTelemetryCodec.encode(List.of(new TelemetryReading(1L, 1.0, 1.0, 1, 1L)));
+		byte[] truncated = new byte[payload.length - 1];
+		System.arraycopy(payload, 0, truncated, 0, truncated.length);
+
+		// Act & Assert
+		assertThrows(IllegalArgumentException.class, () -> BinaryTelemetryCodec.decode(truncated, reading -> { }));
+	}
+}
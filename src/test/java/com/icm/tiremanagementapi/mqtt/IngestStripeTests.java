@@ -0,0 +1,104 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IngestStripeTests {
+
+	@Test
+	void offer_ConflatePolicy_KeepsLatestReadingPerSensor() throws InterruptedException {
+		// Arrange
+		IngestStripe stripe = new IngestStripe(IngestOverloadPolicy.CONFLATE, 10);
+		TelemetryReading first = new TelemetryReading(1L, 30.0, 100.0, 90, 1L);
+		TelemetryReading second = new TelemetryReading(1L, 31.0, 101.0, 90, 2L);
+		TelemetryReading other = new TelemetryReading(2L, 20.0, 90.0, 80, 1L);
+
+		// Act
+		stripe.offer(first, () -> true);
+		stripe.offer(other, () -> true);
+		IngestStripe.OfferResult result = stripe.offer(second, () -> true);
+
+		// Assert
+		assertEquals(IngestStripe.Outcome.CONFLATED, result.outcome());
+		assertSame(first, result.displaced());
+		assertEquals(2, stripe.size());
+		assertSame(second, stripe.poll(0, TimeUnit.MILLISECONDS).reading());
+		assertSame(other, stripe.poll(0, TimeUnit.MILLISECONDS).reading());
+	}
+
+	@Test
+	void offer_ConflatePolicyWithLateReading_KeepsNewerPendingReading() throws InterruptedException {
+		// Arrange
+		IngestStripe stripe = new IngestStripe(IngestOverloadPolicy.CONFLATE, 10);
+		TelemetryReading newer = new TelemetryReading(1L, 31.0, 101.0, 90, 20L);
+		TelemetryReading late = new TelemetryReading(1L, 30.0, 100.0, 90, 10L);
+		stripe.offer(newer, () -> true);
+
+		// Act
+		IngestStripe.OfferResult result = stripe.offer(late, () -> true);
+
+		// Assert
+		assertSame(late, result.displaced());
+		assertSame(newer, stripe.poll(0, TimeUnit.MILLISECONDS).reading());
+	}
+
+	@Test
+	void poll_ConflatedGroup_ReturnsTheWorstSupersededReadingsOldestFirst() throws InterruptedException {
+		// Arrange
+		IngestStripe stripe = new IngestStripe(IngestOverloadPolicy.CONFLATE, 10);
+		TelemetryReading lowPressure = new TelemetryReading(1L, 30.0, 60.0, 90, 1L);
+		TelemetryReading normal = new TelemetryReading(1L, 30.5, 100.0, 90, 2L);
+		TelemetryReading hot = new TelemetryReading(1L, 95.0, 100.0, 90, 3L);
+		TelemetryReading latest = new TelemetryReading(1L, 31.0, 100.0, 90, 4L);
+
+		// Act
+		for (TelemetryReading reading : List.of(lowPressure, normal, hot, latest)) {
+			stripe.offer(reading, () -> true);
+		}
+		IngestStripe.Pending pending = stripe.poll(0, TimeUnit.MILLISECONDS);
+
+		// Assert
+		assertSame(latest, pending.reading());
+		assertTrue(pending.superseded().containsAll(List.of(lowPressure, hot)));
+		assertEquals(lowPressure, pending.superseded().get(0));
+		assertEquals(hot, pending.superseded().get(pending.superseded().size() - 1));
+	}
+
+	@Test
+	void offer_DropOldestPolicyWhenFull_EvictsOldestReading() throws InterruptedException {
+		// Arrange
+		IngestStripe stripe = new IngestStripe(IngestOverloadPolicy.DROP_OLDEST, 2);
+		TelemetryReading oldest = new TelemetryReading(1L, 1.0, 1.0, 1, 1L);
+		stripe.offer(oldest, () -> true);
+		stripe.offer(new TelemetryReading(2L, 1.0, 1.0, 1, 2L), () -> true);
+
+		// Act
+		IngestStripe.OfferResult result = stripe.offer(new TelemetryReading(3L, 1.0, 1.0, 1, 3L), () -> true);
+
+		// Assert
+		assertEquals(IngestStripe.Outcome.DROPPED_OLDEST, result.outcome());
+		assertSame(oldest, result.displaced());
+		assertEquals(2, stripe.size());
+	}
+
+	@Test
+	void offer_BlockPolicyWhenStopped_RejectsInsteadOfWaiting() throws InterruptedException {
+		// Arrange
+		IngestStripe stripe = new IngestStripe(IngestOverloadPolicy.BLOCK, 1);
+		stripe.offer(new TelemetryReading(1L, 1.0, 1.0, 1, 1L), () -> true);
+
+		// Act
+		IngestStripe.OfferResult result = stripe.offer(new TelemetryReading(2L, 1.0, 1.0, 1, 2L), () -> false);
+
+		// Assert
+		assertEquals(IngestStripe.Outcome.REJECTED, result.outcome());
+		assertNull(result.displaced());
+	}
+}
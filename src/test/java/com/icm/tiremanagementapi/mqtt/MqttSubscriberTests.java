@@ -0,0 +1,205 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Starts an embedded broker with several partitioned nodes and checks that every sensor is processed by
+ * exactly one of them, and that a node subscribes again after the broker comes back.
+ */
+class MqttSubscriberTests {
+
+	private static final int SENSORS = 300;
+	private static final int NODES = 3;
+	private static final String TOPIC = "tires/1/telemetry";
+
+	private Server broker;
+	private Properties brokerProperties;
+	private String serverUri;
+	private final List<MqttClient> clients = new ArrayList<>();
+
+	@BeforeEach
+	void startBroker() throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		brokerProperties = new Properties();
+		brokerProperties.setProperty("host", "127.0.0.1");
+		brokerProperties.setProperty("port", String.valueOf(port));
+		brokerProperties.setProperty("allow_anonymous", "true");
+		brokerProperties.setProperty("persistence_enabled", "false");
+		broker = new Server();
+		broker.startServer(new MemoryConfig(brokerProperties));
+		serverUri = "tcp://127.0.0.1:" + port;
+	}
+
+	@AfterEach
+	void stopBroker() throws Exception {
+		for (MqttClient client : clients) {
+			if (client.isConnected()) {
+				client.disconnectForcibly(100, 100);
+			}
+			client.close();
+		}
+		broker.stopServer();
+	}
+
+	@Test
+	void partitionedNodes_ProcessDisjointSlicesCoveringEverySensor() throws Exception {
+		// Arrange
+		List<Set<Long>> processed = new ArrayList<>();
+		List<MqttSubscriber> nodes = new ArrayList<>();
+		for (int index = 0; index < NODES; index++) {
+			Set<Long> sensors = ConcurrentHashMap.newKeySet();
+			MqttSubscriber node = newNode(sensors, MqttConsumptionMode.PARTITIONED, index);
+			node.subscribeToConfiguredTopics();
+			processed.add(sensors);
+			nodes.add(node);
+		}
+		MqttClient publisher = connect();
+
+		// Act
+		publish(publisher);
+		await(() -> nodes.stream().allMatch(node ->
+				node.getStats().getAcceptedReadings() + node.getStats().getSkippedReadings() == SENSORS));
+
+		// Assert
+		Set<Long> union = new HashSet<>();
+		for (int index = 0; index < NODES; index++) {
+			Set<Long> sensors = processed.get(index);
+			assertTrue(!sensors.isEmpty(), "node " + index + " processed nothing");
+			for (Long sensorId : sensors) {
+				assertTrue(union.add(sensorId), "sensor " + sensorId + " processed by two nodes");
+				assertEquals(index, Math.floorMod(Long.hashCode(sensorId), NODES));
+			}
+			assertEquals(SENSORS - sensors.size(), nodes.get(index).getStats().getSkippedReadings());
+		}
+		assertEquals(SENSORS, union.size());
+	}
+
+	@Test
+	void subscriber_BrokerRestarted_ReconnectsAndSubscribesAgain() throws Exception {
+		// Arrange
+		Set<Long> sensors = ConcurrentHashMap.newKeySet();
+		MqttSubscriber node = newNode(sensors, MqttConsumptionMode.ALL, 0);
+		node.subscribeToConfiguredTopics();
+		broker.stopServer();
+		broker = new Server();
+		broker.startServer(new MemoryConfig(brokerProperties));
+		await(() -> node.getStats().getReconnections() == 1);
+		MqttClient publisher = connect();
+
+		// Act
+		publish(publisher);
+		await(() -> sensors.size() == SENSORS);
+
+		// Assert
+		assertEquals(SENSORS, sensors.size());
+		assertEquals(List.of(TOPIC, TOPIC + "/bin"), node.getStats().getSubscriptions());
+	}
+
+	@Test
+	void validate_PartitionIndexOutOfRange_Throws() {
+		// Arrange
+		MqttSubscriber node = newNodeWithoutClient(MqttConsumptionMode.PARTITIONED, NODES);
+
+		// Act & Assert
+		assertThrows(IllegalStateException.class, node::validate);
+	}
+
+	@Test
+	void subscriptionFilters_MultiLevelWildcard_DoesNotAddTheBinaryVariant() {
+		// Arrange
+		MqttSubscriber node = newNodeWithoutClient(MqttConsumptionMode.ALL, 0);
+
+		// Act
+		List<String> plain = node.subscriptionFilters("tires/+/telemetry");
+		List<String> multiLevel = node.subscriptionFilters("tires/#");
+
+		// Assert
+		assertEquals(List.of("tires/+/telemetry", "tires/+/telemetry/bin"), plain);
+		assertEquals(List.of("tires/#"), multiLevel);
+	}
+
+	private MqttSubscriber newNode(Set<Long> sensors, MqttConsumptionMode mode, int partitionIndex) throws Exception {
+		MqttSubscriber node = newNodeWithoutClient(mode, partitionIndex);
+		node.validate();
+		TelemetryIngestPipeline pipeline = Mockito.mock(TelemetryIngestPipeline.class);
+		when(pipeline.submit(any())).thenAnswer(invocation -> {
+			TelemetryReading reading = invocation.getArgument(0);
+			sensors.add(reading.sensorId());
+			return true;
+		});
+		ReflectionTestUtils.setField(node, "telemetryIngestPipeline", pipeline);
+
+		// The client of the application, with its reconnection options
+		MqttConfig config = new MqttConfig();
+		ReflectionTestUtils.setField(config, "serverUri", serverUri);
+		ReflectionTestUtils.setField(config, "clientId", "");
+		MqttClient client = config.mqttClient();
+		clients.add(client);
+		ReflectionTestUtils.setField(node, "mqttClient", client);
+		return node;
+	}
+
+	private MqttSubscriber newNodeWithoutClient(MqttConsumptionMode mode, int partitionIndex) {
+		MqttSubscriber node = new MqttSubscriber();
+		ReflectionTestUtils.setField(node, "telemetryDecoder", new TelemetryDecoder());
+		ReflectionTestUtils.setField(node, "topics", new String[]{TOPIC});
+		ReflectionTestUtils.setField(node, "logSampleRate", 1000L);
+		ReflectionTestUtils.setField(node, "binaryTopicSuffix", "/bin");
+		ReflectionTestUtils.setField(node, "mode", mode);
+		ReflectionTestUtils.setField(node, "partitionCount", NODES);
+		ReflectionTestUtils.setField(node, "partitionIndex", partitionIndex);
+		return node;
+	}
+
+	private MqttClient connect() throws Exception {
+		MqttClient client = new MqttClient(serverUri, MqttClient.generateClientId(), new MemoryPersistence());
+		MqttConnectOptions options = new MqttConnectOptions();
+		options.setCleanSession(true);
+		client.connect(options);
+		clients.add(client);
+		return client;
+	}
+
+	private static void publish(MqttClient publisher) throws Exception {
+		for (long sensorId = 1; sensorId <= SENSORS; sensorId++) {
+			String payload = "{\"id\":" + sensorId + ",\"temperature\":30.0,\"pressure\":100.0,\"batteryLevel\":90}";
+			publisher.publish(TOPIC, payload.getBytes(), 1, false);
+		}
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+		while (System.nanoTime() < deadline && !condition.getAsBoolean()) {
+			Thread.sleep(20);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icm.tiremanagementapi.models.TireSensorModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous MQTT decode path (String + new ObjectMapper + TireSensorModel entity)
+ * with {@link TelemetryDecoder} and {@link BinaryTelemetryCodec}. Run the main method; the GC profiler
+ * reports {@code gc.alloc.rate.norm}, the bytes allocated per decoded message. The batch benchmarks
+ * decode 100 readings per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TelemetryDecoderBenchmark {
+    private final byte[] payload = ("{\"id\":1042,\"temperature\":31.5,\"pressure\":104.2,\"batteryLevel\":87.0,"
+            + "\"identificationCode\":\"0001\",\"status\":true}").getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] binaryPayload = BinaryTelemetryCodec.encode(
+            List.of(new TelemetryReading(1042, 31.5, 104.2, 87, 1_700_000_000_000L)));
+
+    private final byte[] jsonBatchPayload;
+    private final byte[] binaryBatchPayload;
+
+    private final TelemetryDecoder decoder = new TelemetryDecoder();
+
+    public TelemetryDecoderBenchmark() {
+        List<TelemetryReading> readings = new ArrayList<>();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            TelemetryReading reading = new TelemetryReading(1000 + i, 30 + i % 10, 100 + i % 7, 80, 1_700_000_000_000L + i);
+            readings.add(reading);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":").append(reading.sensorId())
+                    .append(",\"temperature\":").append(reading.temperature())
+                    .append(",\"pressure\":").append(reading.pressure())
+                    .append(",\"batteryLevel\":").append(reading.batteryLevel())
+                    .append(",\"timestamp\":").append(reading.timestamp()).append('}');
+        }
+        jsonBatchPayload = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        binaryBatchPayload = BinaryTelemetryCodec.encode(readings);
+    }
+
+    @Benchmark
+    public void legacyObjectMapperPerMessage(Blackhole blackhole) throws IOException {
+        String json = new String(payload);
+        ObjectMapper objectMapper = new ObjectMapper();
+        TireSensorModel tireModel = objectMapper.readValue(json, TireSensorModel.class);
+        blackhole.consume(new TelemetryReading(tireModel.getId(), tireModel.getTemperature(),
+                tireModel.getPressure(), tireModel.getBatteryLevel(), System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public void streamingDecoder(Blackhole blackhole) throws IOException {
+        decoder.decode(payload, System.currentTimeMillis(), blackhole::consume);
+    }
+
+    @Benchmark
+    public void binaryDecoder(Blackhole blackhole) {
+        BinaryTelemetryCodec.decode(binaryPayload, blackhole::consume);
+    }
+
+    @Benchmark
+    public void streamingDecoderBatch(Blackhole blackhole) throws IOException {
+        decoder.decode(jsonBatchPayload, System.currentTimeMillis(), blackhole::consume);
+    }
+
+    @Benchmark
+    public void binaryDecoderBatch(Blackhole blackhole) {
+        BinaryTelemetryCodec.decode(binaryBatchPayload, blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TelemetryDecoderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
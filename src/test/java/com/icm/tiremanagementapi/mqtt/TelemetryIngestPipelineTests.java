@@ -0,0 +1,32 @@
+package com.icm.tiremanagementapi.mqtt;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.IngestStatsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TelemetryIngestPipelineTests {
+
+	@Test
+	void getStats_RepeatedCalls_ReportTheSameRates() {
+		// Arrange
+		TelemetryIngestPipeline pipeline = new TelemetryIngestPipeline();
+		ReflectionTestUtils.setField(pipeline, "overloadPolicy", IngestOverloadPolicy.REJECT);
+		LongAdder enqueued = (LongAdder) ReflectionTestUtils.getField(pipeline, "enqueued");
+		enqueued.add(500);
+		pipeline.sampleRates();
+
+		// Act
+		IngestStatsDTO first = pipeline.getStats();
+		IngestStatsDTO second = pipeline.getStats();
+
+		// Assert
+		assertTrue(first.getEnqueueRatePerSecond() > 0);
+		assertEquals(first.getEnqueueRatePerSecond(), second.getEnqueueRatePerSecond());
+		assertEquals(500, second.getEnqueued());
+	}
+}
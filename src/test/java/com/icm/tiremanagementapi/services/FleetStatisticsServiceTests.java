@@ -0,0 +1,135 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.models.TelemetryRetentionModel;
+import com.icm.tiremanagementapi.repositories.TelemetryRetentionRepository;
+import com.icm.tiremanagementapi.requests.performanceTire.FleetGroupStatsDTO;
+import com.icm.tiremanagementapi.requests.performanceTire.FleetStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+class FleetStatisticsServiceTests {
+
+	private static final LocalDateTime WATERMARK = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+	private JdbcTemplate jdbcTemplate;
+	private TelemetryRetentionRepository retentionRepository;
+	private FleetStatisticsService service;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:fleet-stats-" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=DAY,HOUR;DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE vehicle (id BIGINT PRIMARY KEY, placa VARCHAR(20), standard_temperature DOUBLE, "
+				+ "standard_pressure DOUBLE)");
+		jdbcTemplate.execute("CREATE TABLE positioning (id BIGINT PRIMARY KEY, location_code VARCHAR(20))");
+		jdbcTemplate.execute("CREATE TABLE tires_sensor (id BIGINT PRIMARY KEY, company BIGINT, vehicle BIGINT, positioning BIGINT)");
+		jdbcTemplate.execute("CREATE TABLE performance_tire (id BIGINT PRIMARY KEY, sensor BIGINT, vehicle BIGINT, company BIGINT, "
+				+ "created_at DATETIME, temperature DOUBLE, pressure DOUBLE, battery_level DOUBLE)");
+		for (String table : new String[]{"performance_tire_hourly", "performance_tire_daily", "performance_tire_monthly"}) {
+			jdbcTemplate.execute("CREATE TABLE " + table + " (sensor BIGINT, bucket_start DATETIME, sample_count BIGINT, "
+					+ "temperature_sum DOUBLE, temperature_min DOUBLE, temperature_max DOUBLE, "
+					+ "pressure_sum DOUBLE, pressure_min DOUBLE, pressure_max DOUBLE, "
+					+ "battery_level_sum DOUBLE, battery_level_min DOUBLE, battery_level_max DOUBLE)");
+		}
+		jdbcTemplate.execute("INSERT INTO vehicle VALUES (1, 'ABC-123', 40.0, 100.0)");
+		jdbcTemplate.execute("INSERT INTO tires_sensor VALUES (7, 10, 1, NULL), (8, 10, 1, NULL)");
+		// February is older than the watermark and only left in the rollups
+		jdbcTemplate.execute("INSERT INTO performance_tire_monthly VALUES "
+				+ "(7, '2024-02-01 00:00:00', 10, 400.0, 35.0, 45.0, 1000.0, 90.0, 110.0, 500.0, 20.0, 80.0)");
+		jdbcTemplate.execute("INSERT INTO performance_tire VALUES "
+				+ "(1, 7, 1, 10, '2024-03-02 10:00:00', 50.0, 100.0, 29.5), "
+				+ "(2, 8, 1, 10, '2024-03-02 10:00:05', 40.0, 100.0, 30.5)");
+
+		retentionRepository = Mockito.mock(TelemetryRetentionRepository.class);
+		service = new FleetStatisticsService();
+		ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(service, "telemetryRetentionRepository", retentionRepository);
+		ReflectionTestUtils.setField(service, "cacheTtlSeconds", 0L);
+		ReflectionTestUtils.setField(service, "cacheMaxEntries", 10);
+		ReflectionTestUtils.setField(service, "maxWindowDays", 366L);
+	}
+
+	@Test
+	void getCompanyStats_WindowBeforeTheWatermark_ReadsTheOlderPartFromTheRollups() {
+		// Arrange
+		when(retentionRepository.findById(TelemetryRetentionService.PERFORMANCE_TIRE))
+				.thenReturn(Optional.of(new TelemetryRetentionModel(TelemetryRetentionService.PERFORMANCE_TIRE, WATERMARK)));
+
+		// Act
+		FleetStatsDTO stats = service.getCompanyStats(10L, LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0));
+
+		// Assert
+		assertEquals(WATERMARK, stats.getRawFrom());
+		assertEquals(1, stats.getGroups().size());
+		FleetGroupStatsDTO vehicle = stats.getGroups().get(0);
+		assertEquals(2, vehicle.getSensorCount());
+		assertEquals(12, vehicle.getSampleCount());
+		assertEquals(490.0 / 12, vehicle.getAvgTemperature(), 1e-9);
+		assertEquals(50.0, vehicle.getMaxTemperature());
+		assertEquals(20.0, vehicle.getMinBatteryLevel());
+		// The rollups do not keep out-of-range counts, so they are unknown for the vehicle
+		assertNull(vehicle.getTemperatureHighCount());
+		assertNull(vehicle.getBatteryLowCount());
+	}
+
+	@Test
+	void getCompanyStats_OnlyRawReadings_CountsOutOfRangeReadings() {
+		// Arrange
+		when(retentionRepository.findById(TelemetryRetentionService.PERFORMANCE_TIRE))
+				.thenReturn(Optional.of(new TelemetryRetentionModel(TelemetryRetentionService.PERFORMANCE_TIRE, WATERMARK)));
+
+		// Act
+		FleetStatsDTO stats = service.getCompanyStats(10L, LocalDateTime.of(2024, 3, 2, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0));
+
+		// Assert
+		FleetGroupStatsDTO vehicle = stats.getGroups().get(0);
+		assertEquals(1L, vehicle.getTemperatureHighCount());
+		assertEquals(0L, vehicle.getTemperatureLowCount());
+		assertEquals(1L, vehicle.getBatteryLowCount());
+	}
+
+	@Test
+	void getCompanyStats_SensorMovedToAnotherVehicle_AttributesBothPartsToItsCurrentVehicle() {
+		// Arrange
+		jdbcTemplate.execute("INSERT INTO vehicle VALUES (2, 'XYZ-789', 40.0, 100.0)");
+		jdbcTemplate.execute("UPDATE tires_sensor SET vehicle = 2 WHERE id = 7");
+		when(retentionRepository.findById(TelemetryRetentionService.PERFORMANCE_TIRE))
+				.thenReturn(Optional.of(new TelemetryRetentionModel(TelemetryRetentionService.PERFORMANCE_TIRE, WATERMARK)));
+
+		// Act
+		FleetStatsDTO stats = service.getCompanyStats(10L, LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0));
+
+		// Assert
+		assertEquals(2, stats.getGroups().size());
+		FleetGroupStatsDTO moved = stats.getGroups().get(1);
+		assertEquals(2L, moved.getGroupId());
+		assertEquals(1, moved.getSensorCount());
+		assertEquals(11, moved.getSampleCount());
+		assertEquals(1, stats.getGroups().get(0).getSampleCount());
+	}
+
+	@Test
+	void getCompanyStats_NoWatermark_ReadsOnlyTheRawReadings() {
+		// Arrange
+		when(retentionRepository.findById(TelemetryRetentionService.PERFORMANCE_TIRE)).thenReturn(Optional.empty());
+
+		// Act
+		FleetStatsDTO stats = service.getCompanyStats(10L, LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 3, 0, 0));
+
+		// Assert
+		assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), stats.getRawFrom());
+		assertEquals(2, stats.getGroups().get(0).getSampleCount());
+	}
+}
@@ -0,0 +1,132 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.models.IrregularityCondition;
+import com.icm.tiremanagementapi.repositories.IrregularitiesTireRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IrregularitySuppressorTests {
+
+	private static final long MINUTE = 60_000L;
+
+	private IrregularitiesTireRepository repository;
+	private IrregularitySuppressor suppressor;
+
+	@BeforeEach
+	void setUp() {
+		repository = Mockito.mock(IrregularitiesTireRepository.class);
+		when(repository.findRecentRaisedConditionsBySensorId(anyLong(), any())).thenReturn(List.of());
+		suppressor = new IrregularitySuppressor();
+		ReflectionTestUtils.setField(suppressor, "irregularitiesTireRepository", repository);
+		ReflectionTestUtils.setField(suppressor, "batteryLowMinutes", 30L);
+		ReflectionTestUtils.setField(suppressor, "pressureLowMinutes", 10L);
+		ReflectionTestUtils.setField(suppressor, "pressureHighMinutes", 10L);
+		ReflectionTestUtils.setField(suppressor, "temperatureLowMinutes", 10L);
+		ReflectionTestUtils.setField(suppressor, "temperatureHighMinutes", 10L);
+		suppressor.init();
+	}
+
+	@Test
+	void evaluate_RepeatedConditionWithinWindow_IsSuppressed() {
+		// Arrange
+		Set<IrregularityCondition> active = EnumSet.of(IrregularityCondition.PRESSURE_LOW);
+
+		// Act
+		boolean first = suppressor.evaluate(1L, active, 0);
+		boolean second = suppressor.evaluate(1L, active, 5 * MINUTE);
+		boolean afterWindow = suppressor.evaluate(1L, active, 15 * MINUTE);
+
+		// Assert
+		assertTrue(first);
+		assertFalse(second);
+		assertTrue(afterWindow);
+		verify(repository, times(1)).findRecentRaisedConditionsBySensorId(anyLong(), any());
+	}
+
+	@Test
+	void evaluate_NewConditionWhileSuppressed_Raises() {
+		// Arrange
+		suppressor.evaluate(1L, EnumSet.of(IrregularityCondition.BATTERY_LOW), 0);
+
+		// Act
+		boolean raised = suppressor.evaluate(1L, EnumSet.of(IrregularityCondition.BATTERY_LOW, IrregularityCondition.TEMPERATURE_HIGH), MINUTE);
+
+		// Assert
+		assertTrue(raised);
+		assertEquals(IrregularitySuppressor.State.OPEN, suppressor.getState(1L, IrregularityCondition.TEMPERATURE_HIGH));
+	}
+
+	@Test
+	void evaluate_NormalReading_ClearsConditions() {
+		// Arrange
+		suppressor.evaluate(1L, EnumSet.of(IrregularityCondition.PRESSURE_HIGH), 0);
+		suppressor.evaluate(1L, EnumSet.of(IrregularityCondition.PRESSURE_HIGH), MINUTE);
+		assertEquals(IrregularitySuppressor.State.SUPPRESSED, suppressor.getState(1L, IrregularityCondition.PRESSURE_HIGH));
+
+		// Act
+		boolean raised = suppressor.evaluate(1L, EnumSet.noneOf(IrregularityCondition.class), 2 * MINUTE);
+
+		// Assert
+		assertFalse(raised);
+		assertEquals(IrregularitySuppressor.State.CLEARED, suppressor.getState(1L, IrregularityCondition.PRESSURE_HIGH));
+	}
+
+	@Test
+	void evaluate_ConditionBackAfterClearing_IsSuppressedWithinTheWindow() {
+		// Arrange
+		Set<IrregularityCondition> active = EnumSet.of(IrregularityCondition.PRESSURE_LOW);
+		suppressor.evaluate(1L, active, 0);
+		suppressor.evaluate(1L, EnumSet.noneOf(IrregularityCondition.class), MINUTE);
+
+		// Act
+		boolean withinWindow = suppressor.evaluate(1L, active, 2 * MINUTE);
+		boolean afterWindow = suppressor.evaluate(1L, active, 11 * MINUTE);
+
+		// Assert
+		assertFalse(withinWindow);
+		assertTrue(afterWindow);
+		assertEquals(IrregularitySuppressor.State.OPEN, suppressor.getState(1L, IrregularityCondition.PRESSURE_LOW));
+	}
+
+	@Test
+	void evaluate_PressureOscillatingAroundTheStandard_RaisesEachConditionOncePerWindow() {
+		// Arrange
+		Set<IrregularityCondition> low = EnumSet.of(IrregularityCondition.PRESSURE_LOW);
+		Set<IrregularityCondition> high = EnumSet.of(IrregularityCondition.PRESSURE_HIGH);
+		int raised = 0;
+
+		// Act: one reading every 10 seconds for 10 minutes, alternating below and above the standard
+		for (int reading = 0; reading < 60; reading++) {
+			if (suppressor.evaluate(1L, reading % 2 == 0 ? low : high, reading * 10_000L)) {
+				raised++;
+			}
+		}
+
+		// Assert
+		assertEquals(2, raised);
+	}
+
+	@Test
+	void fromName_CombinedName_ReturnsEveryCondition() {
+		// Act
+		Set<IrregularityCondition> conditions = IrregularityCondition.fromName("Batería baja; Presión alta; ");
+
+		// Assert
+		assertEquals(EnumSet.of(IrregularityCondition.BATTERY_LOW, IrregularityCondition.PRESSURE_HIGH), conditions);
+	}
+}
@@ -0,0 +1,105 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.models.PerformanceTireHourlyModel;
+import com.icm.tiremanagementapi.models.PerformanceTireRollupId;
+import com.icm.tiremanagementapi.models.RollupGranularity;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import com.icm.tiremanagementapi.services.PerformanceTireQuantileService.BucketQuantiles;
+import com.icm.tiremanagementapi.services.PerformanceTireRollupService.PendingSketches;
+import com.icm.tiremanagementapi.utils.QuantileSketch;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PerformanceTireQuantileServiceTests {
+
+	private static final LocalDateTime HOUR = LocalDateTime.of(2026, 3, 10, 8, 0);
+
+	private static PerformanceTireHourlyModel rollup(long sampleCount, QuantileSketch temperature, QuantileSketch pressure) {
+		PerformanceTireHourlyModel rollup = new PerformanceTireHourlyModel();
+		rollup.setId(new PerformanceTireRollupId(7L, HOUR));
+		rollup.setSampleCount(sampleCount);
+		rollup.setTemperatureSketch(temperature.toBytes());
+		rollup.setPressureSketch(pressure.toBytes());
+		return rollup;
+	}
+
+	private static QuantileSketch sketchOf(double... values) {
+		QuantileSketch sketch = new QuantileSketch();
+		for (double value : values) {
+			sketch.add(value);
+		}
+		return sketch;
+	}
+
+	@Test
+	void quantiles_StoredAndPendingSketchesCoverTheBucket_ReturnsPercentiles() {
+		// Arrange
+		PerformanceTireHourlyModel stored = rollup(3, sketchOf(30, 31), sketchOf(100, 101));
+		PendingSketches pending = new PendingSketches(7L, HOUR, sketchOf(32), sketchOf(102));
+
+		// Act
+		BucketQuantiles quantiles = PerformanceTireQuantileService.quantiles(stored, pending);
+
+		// Assert
+		assertNotNull(quantiles.pressure());
+		assertEquals(102, quantiles.pressure().getP99(), QuantileSketch.RESOLUTION);
+	}
+
+	@Test
+	void quantiles_SketchCoversPartOfTheBucket_ReturnsNoPercentiles() {
+		// Arrange
+		PerformanceTireHourlyModel stored = rollup(10, sketchOf(30, 31), sketchOf(100, 101));
+
+		// Act
+		BucketQuantiles quantiles = PerformanceTireQuantileService.quantiles(stored, null);
+
+		// Assert
+		assertNull(quantiles.temperature());
+		assertNull(quantiles.pressure());
+	}
+
+	@Test
+	void apply_KeepsTheSketchesInMemoryUntilTheyAreFlushed() {
+		// Arrange
+		JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+		PerformanceTireRollupService service = new PerformanceTireRollupService();
+		ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(service, "transactionManager", Mockito.mock(PlatformTransactionManager.class));
+		ReflectionTestUtils.setField(service, "enabled", true);
+		ReflectionTestUtils.setField(service, "sketchesEnabled", true);
+		long timestamp = HOUR.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+		// Act
+		service.apply(List.of(new TelemetryReading(7L, 30, 100, 90, timestamp),
+				new TelemetryReading(7L, 31, 101, 90, timestamp + 1000)));
+		List<PendingSketches> pending = service.getPendingSketches(RollupGranularity.HOUR, id -> id == 7L, HOUR, HOUR.plusHours(1));
+		verify(jdbcTemplate, never()).batchUpdate(startsWith("UPDATE"), anyList(), anyInt(), any());
+		service.flushSketches();
+
+		// Assert
+		assertEquals(1, pending.size());
+		assertEquals(2, pending.get(0).pressure().getCount());
+		verify(jdbcTemplate).batchUpdate(eq("UPDATE performance_tire_hourly SET temperature_sketch = ?, pressure_sketch = ? "
+				+ "WHERE sensor = ? AND bucket_start = ?"), anyList(), anyInt(), any());
+		assertTrue(service.getPendingSketches(RollupGranularity.HOUR, id -> true, HOUR, HOUR.plusHours(1)).isEmpty());
+	}
+}
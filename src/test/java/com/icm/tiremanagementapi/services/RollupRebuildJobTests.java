@@ -0,0 +1,74 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RollupRebuildStatusDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RollupRebuildJobTests {
+
+	private static RollupRebuildStatusDTO<Integer> awaitFinished(RollupRebuildJob<Integer> job) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (job.isRunning() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertFalse(job.isRunning());
+		return job.getStatus();
+	}
+
+	@Test
+	void start_WhileARebuildIsRunning_IsRejected() throws Exception {
+		// Arrange
+		RollupRebuildJob<Integer> job = new RollupRebuildJob<>("test");
+		CountDownLatch release = new CountDownLatch(1);
+		assertTrue(job.start("all", () -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return 1;
+		}));
+
+		// Act
+		boolean second = job.start("sensor 7", () -> 2);
+		RollupRebuildStatusDTO<Integer> running = job.getStatus();
+		release.countDown();
+		RollupRebuildStatusDTO<Integer> finished = awaitFinished(job);
+
+		// Assert
+		assertFalse(second);
+		assertTrue(running.isRunning());
+		assertEquals("all", running.getTarget());
+		assertEquals(1, finished.getLastResult());
+		assertNotNull(finished.getFinishedAt());
+		assertNull(finished.getLastError());
+	}
+
+	@Test
+	void start_FailingRebuild_ReportsTheErrorAndAllowsTheNextOne() throws Exception {
+		// Arrange
+		RollupRebuildJob<Integer> job = new RollupRebuildJob<>("test");
+		job.start("all", () -> {
+			throw new IllegalStateException("lock wait timeout");
+		});
+		RollupRebuildStatusDTO<Integer> failed = awaitFinished(job);
+
+		// Act
+		boolean restarted = job.start("all", () -> 3);
+		RollupRebuildStatusDTO<Integer> finished = awaitFinished(job);
+
+		// Assert
+		assertEquals("lock wait timeout", failed.getLastError());
+		assertTrue(restarted);
+		assertEquals(3, finished.getLastResult());
+		assertNull(finished.getLastError());
+	}
+}
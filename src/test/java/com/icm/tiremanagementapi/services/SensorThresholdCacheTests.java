@@ -0,0 +1,61 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO;
+import com.icm.tiremanagementapi.repositories.TireSensorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SensorThresholdCacheTests {
+
+	private static final SensorThresholdsDTO UNASSIGNED = new SensorThresholdsDTO(7L, null, null, null, null, null, null);
+
+	private TireSensorRepository repository;
+	private SensorThresholdCache cache;
+
+	@BeforeEach
+	void setUp() {
+		repository = Mockito.mock(TireSensorRepository.class);
+		cache = new SensorThresholdCache();
+		ReflectionTestUtils.setField(cache, "tireSensorRepository", repository);
+	}
+
+	@Test
+	void get_LoadedTwice_QueriesOnce() {
+		// Arrange
+		when(repository.findThresholdsBySensorId(7L)).thenReturn(Optional.of(UNASSIGNED));
+
+		// Act
+		cache.get(7L);
+		Optional<SensorThresholdsDTO> second = cache.get(7L);
+
+		// Assert
+		assertEquals(Optional.of(UNASSIGNED), second);
+		verify(repository, times(1)).findThresholdsBySensorId(7L);
+	}
+
+	@Test
+	void get_InvalidatedWhileLoading_DoesNotCacheTheLoadedEntry() {
+		// Arrange
+		when(repository.findThresholdsBySensorId(7L)).thenAnswer(invocation -> {
+			cache.invalidate(7L);
+			return Optional.of(UNASSIGNED);
+		});
+
+		// Act
+		cache.get(7L);
+		cache.get(7L);
+
+		// Assert
+		verify(repository, times(2)).findThresholdsBySensorId(7L);
+		assertEquals(0, cache.getStats().getSize());
+	}
+}
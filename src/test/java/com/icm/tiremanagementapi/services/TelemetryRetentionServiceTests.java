@@ -0,0 +1,96 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.archive.TelemetryArchiveService;
+import com.icm.tiremanagementapi.dto.GasDTO.GasRollupRebuildResultDTO;
+import com.icm.tiremanagementapi.dto.TelemetryDTO.RetentionStatsDTO;
+import com.icm.tiremanagementapi.repositories.TelemetryRetentionRepository;
+import com.icm.tiremanagementapi.requests.performanceTire.RollupRebuildResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TelemetryRetentionServiceTests {
+
+	private static final LocalDateTime EXPIRED_MONTH = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+	private JdbcTemplate jdbcTemplate;
+	private PerformanceTireRollupService performanceTireRollupService;
+	private GasRecordRollupService gasRecordRollupService;
+	private TelemetryArchiveService telemetryArchiveService;
+	private TelemetryRetentionService service;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:retention-" + System.nanoTime() + ";MODE=MySQL;NON_KEYWORDS=DAY,HOUR;DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE tires_sensor (id BIGINT PRIMARY KEY)");
+		jdbcTemplate.execute("CREATE TABLE vehicle (id BIGINT PRIMARY KEY)");
+		jdbcTemplate.execute("CREATE TABLE performance_tire (id BIGINT AUTO_INCREMENT PRIMARY KEY, sensor BIGINT, created_at DATETIME, "
+				+ "temperature DOUBLE, pressure DOUBLE, battery_level DOUBLE)");
+		jdbcTemplate.execute("CREATE TABLE performance_tire_monthly (sensor BIGINT, bucket_start DATETIME, sample_count BIGINT)");
+		jdbcTemplate.execute("CREATE TABLE gas_records (id BIGINT AUTO_INCREMENT PRIMARY KEY, hour TIME, day DATE, pressure DOUBLE, vehicle BIGINT)");
+		jdbcTemplate.execute("CREATE TABLE gas_records_monthly (vehicle BIGINT, bucket_start DATETIME, sample_count BIGINT)");
+		// Sensor 7 and vehicle 3 were deleted: their history has no row in tires_sensor or vehicle
+		jdbcTemplate.update("INSERT INTO performance_tire (sensor, created_at, temperature, pressure, battery_level) VALUES "
+				+ "(7, '2020-01-10 08:00:00', 40.0, 100.0, 80.0), (7, ?, 40.0, 100.0, 80.0)", LocalDateTime.now());
+		jdbcTemplate.update("INSERT INTO gas_records (hour, day, pressure, vehicle) VALUES "
+				+ "('08:00:00', '2020-01-10', 50.0, 3), ('08:00:00', ?, 50.0, 3)", LocalDate.now());
+
+		TelemetryRetentionRepository retentionRepository = Mockito.mock(TelemetryRetentionRepository.class);
+		when(retentionRepository.findById(anyString())).thenReturn(Optional.empty());
+		performanceTireRollupService = Mockito.mock(PerformanceTireRollupService.class);
+		when(performanceTireRollupService.isEnabled()).thenReturn(true);
+		when(performanceTireRollupService.rebuildRange(anyList(), any(), any())).thenReturn(new RollupRebuildResultDTO(1, 1, 1, 1, 1, 0));
+		gasRecordRollupService = Mockito.mock(GasRecordRollupService.class);
+		when(gasRecordRollupService.isEnabled()).thenReturn(true);
+		when(gasRecordRollupService.rebuildRange(anyList(), any(), any())).thenReturn(new GasRollupRebuildResultDTO(1, 1, 1, 1, 1, 0));
+		telemetryArchiveService = Mockito.mock(TelemetryArchiveService.class);
+		when(telemetryArchiveService.isEnabled()).thenReturn(true);
+
+		service = new TelemetryRetentionService();
+		ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(service, "performanceTireRollupService", performanceTireRollupService);
+		ReflectionTestUtils.setField(service, "gasRecordRollupService", gasRecordRollupService);
+		ReflectionTestUtils.setField(service, "telemetryRetentionRepository", retentionRepository);
+		ReflectionTestUtils.setField(service, "telemetryArchiveService", telemetryArchiveService);
+		ReflectionTestUtils.setField(service, "performanceTireRetentionDays", 90);
+		ReflectionTestUtils.setField(service, "gasRecordsEnabled", true);
+		ReflectionTestUtils.setField(service, "gasRecordsRetentionDays", 90);
+		ReflectionTestUtils.setField(service, "deleteChunkSize", 1000);
+		ReflectionTestUtils.setField(service, "chunkPauseMillis", 0L);
+	}
+
+	@Test
+	void run_HistoryOfDeletedOwners_IsRolledUpArchivedAndExpired() {
+		// Act
+		RetentionStatsDTO stats = service.run();
+
+		// Assert
+		assertNull(stats.getTables().get(0).getLastError());
+		assertNull(stats.getTables().get(1).getLastError());
+		verify(performanceTireRollupService).rebuildRange(List.of(7L), EXPIRED_MONTH, EXPIRED_MONTH.plusMonths(1));
+		verify(telemetryArchiveService).archivePerformanceTireMonth(YearMonth.from(EXPIRED_MONTH), List.of(7L));
+		verify(gasRecordRollupService).rebuildRange(List.of(3L), EXPIRED_MONTH.toLocalDate(), EXPIRED_MONTH.toLocalDate().plusMonths(1));
+		verify(telemetryArchiveService).archiveGasRecordsMonth(YearMonth.from(EXPIRED_MONTH), List.of(3L));
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM performance_tire", Integer.class));
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM gas_records", Integer.class));
+	}
+}
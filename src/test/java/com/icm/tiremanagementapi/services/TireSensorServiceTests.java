@@ -0,0 +1,52 @@
+package com.icm.tiremanagementapi.services;
+
+import com.icm.tiremanagementapi.dto.TelemetryDTO.SensorThresholdsDTO;
+import com.icm.tiremanagementapi.mqtt.BinaryTelemetryCodec;
+import com.icm.tiremanagementapi.mqtt.TelemetryReading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TireSensorServiceTests {
+
+	private static final SensorThresholdsDTO THRESHOLDS = new SensorThresholdsDTO(7L, 3L, 1L, "ICM", 11L, 65.4, 32.1);
+
+	private SensorThresholdCache sensorThresholdCache;
+	private IrregularitySuppressor irregularitySuppressor;
+	private TireSensorService service;
+
+	@BeforeEach
+	void setUp() {
+		sensorThresholdCache = Mockito.mock(SensorThresholdCache.class);
+		irregularitySuppressor = Mockito.mock(IrregularitySuppressor.class);
+		service = new TireSensorService();
+		ReflectionTestUtils.setField(service, "sensorThresholdCache", sensorThresholdCache);
+		ReflectionTestUtils.setField(service, "irregularitySuppressor", irregularitySuppressor);
+		when(sensorThresholdCache.get(7L)).thenReturn(Optional.of(THRESHOLDS));
+	}
+
+	@Test
+	void detectIrregularities_BinaryReadingAtTheStandard_RaisesNoCondition() {
+		// Arrange
+		byte[] payload = BinaryTelemetryCodec.encode(List.of(new TelemetryReading(7L, 65.4, 32.1, 90, 5L)));
+		List<TelemetryReading> decoded = new ArrayList<>();
+		BinaryTelemetryCodec.decode(payload, decoded::add);
+
+		// Act
+		service.detectIrregularities(decoded.get(0));
+
+		// Assert
+		verify(irregularitySuppressor, never()).evaluate(anyLong(), any());
+	}
+}
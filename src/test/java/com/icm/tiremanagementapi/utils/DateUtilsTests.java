@@ -0,0 +1,32 @@
+package com.icm.tiremanagementapi.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DateUtilsTests {
+
+	@Test
+	void getMonthName_ValidMonths_ReturnsSpanishNames() {
+		// Act & Assert
+		assertEquals("enero", DateUtils.getMonthName(1));
+		assertEquals("diciembre", DateUtils.getMonthName(12));
+	}
+
+	@Test
+	void getHourLabel_ValidHours_ReturnsUnpaddedLabels() {
+		// Act & Assert
+		assertEquals("0:00", DateUtils.getHourLabel(0));
+		assertEquals("7:00", DateUtils.getHourLabel(7));
+		assertEquals("23:00", DateUtils.getHourLabel(23));
+	}
+
+	@Test
+	void getMonthName_OutOfRange_ThrowsDateTimeException() {
+		// Act & Assert
+		assertThrows(DateTimeException.class, () -> DateUtils.getMonthName(13));
+	}
+}
@@ -0,0 +1,51 @@
+package com.icm.tiremanagementapi.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LargestTriangleThreeBucketsTests {
+
+	@Test
+	void select_SeriesBelowThreshold_KeepsEveryPoint() {
+		// Arrange
+		double[] x = {0, 1, 2, 3};
+		double[] y = {5, 6, 7, 8};
+
+		// Act
+		int[] selected = LargestTriangleThreeBuckets.select(x, y, 10);
+
+		// Assert
+		assertArrayEquals(new int[]{0, 1, 2, 3}, selected);
+	}
+
+	@Test
+	void select_SeriesWithSpike_KeepsEndpointsAndSpike() {
+		// Arrange
+		int length = 1000;
+		double[] x = new double[length];
+		double[] y = new double[length];
+		for (int i = 0; i < length; i++) {
+			x[i] = i;
+			y[i] = i == 517 ? 100 : 1;
+		}
+
+		// Act
+		int[] selected = LargestTriangleThreeBuckets.select(x, y, 50);
+
+		// Assert
+		assertEquals(50, selected.length);
+		assertEquals(0, selected[0]);
+		assertEquals(length - 1, selected[selected.length - 1]);
+		boolean spikeKept = false;
+		for (int i = 0; i < selected.length; i++) {
+			spikeKept |= selected[i] == 517;
+			if (i > 0) {
+				assertTrue(selected[i] > selected[i - 1]);
+			}
+		}
+		assertTrue(spikeKept);
+	}
+}
@@ -0,0 +1,90 @@
+package com.icm.tiremanagementapi.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantileSketchTests {
+
+	@Test
+	void quantile_UniformValues_ReturnsNearestRank() {
+		// Arrange
+		QuantileSketch sketch = new QuantileSketch();
+		for (int i = 1; i <= 1000; i++) {
+			sketch.add(i / 10.0);
+		}
+
+		// Act & Assert
+		assertEquals(1000, sketch.getCount());
+		assertEquals(50.0, sketch.quantile(0.50));
+		assertEquals(90.0, sketch.quantile(0.90));
+		assertEquals(99.0, sketch.quantile(0.99));
+		assertEquals(0.1, sketch.quantile(0.0));
+		assertEquals(100.0, sketch.quantile(1.0));
+	}
+
+	@Test
+	void merge_SketchesOfTwoSensors_EqualsSketchOfAllValues() {
+		// Arrange
+		QuantileSketch first = new QuantileSketch();
+		QuantileSketch second = new QuantileSketch();
+		QuantileSketch all = new QuantileSketch();
+		for (int i = 0; i < 500; i++) {
+			double pressure = 100 + (i % 37) * 0.5;
+			double underinflated = 60 + (i % 11);
+			first.add(pressure);
+			second.add(underinflated);
+			all.add(pressure);
+			all.add(underinflated);
+		}
+
+		// Act
+		first.merge(second);
+
+		// Assert
+		assertEquals(all.getCount(), first.getCount());
+		for (double q : new double[]{0.01, 0.1, 0.5, 0.9, 0.99}) {
+			assertEquals(all.quantile(q), first.quantile(q));
+		}
+	}
+
+	@Test
+	void fromBytes_SerializedSketch_KeepsEveryBin() {
+		// Arrange
+		QuantileSketch sketch = new QuantileSketch();
+		sketch.add(-12.34);
+		sketch.add(104.25, 3);
+		sketch.add(179.5);
+
+		// Act
+		byte[] bytes = sketch.toBytes();
+		QuantileSketch restored = QuantileSketch.fromBytes(bytes);
+
+		// Assert
+		assertTrue(bytes.length < 16, "serialized size " + bytes.length);
+		assertEquals(5, restored.getCount());
+		assertEquals(-12.3, restored.quantile(0.0));
+		assertEquals(104.3, restored.quantile(0.5));
+		assertEquals(179.5, restored.quantile(1.0));
+	}
+
+	@Test
+	void fromBytes_NullOrTruncated_ReturnsEmptyOrThrows() {
+		// Arrange
+		byte[] bytes = new QuantileSketch().toBytes();
+		QuantileSketch filled = new QuantileSketch();
+		filled.add(1.0);
+		byte[] full = filled.toBytes();
+		byte[] truncated = Arrays.copyOf(full, full.length - 1);
+
+		// Act & Assert
+		assertEquals(0, QuantileSketch.fromBytes(null).getCount());
+		assertEquals(0, QuantileSketch.fromBytes(bytes).getCount());
+		assertTrue(Double.isNaN(QuantileSketch.fromBytes(bytes).quantile(0.5)));
+		assertThrows(IllegalArgumentException.class, () -> QuantileSketch.fromBytes(truncated));
+	}
+}
@@ -0,0 +1,77 @@
+package com.icm.tiremanagementapi.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ReadingRingTests {
+
+	@Test
+	void snapshot_MoreReadingsThanCapacity_ReturnsLatestOldestFirst() {
+		// Arrange
+		ReadingRing ring = new ReadingRing(3);
+		for (int i = 1; i <= 5; i++) {
+			ring.add(i * 1000L, 20 + i, 100 + i, 90 - i);
+		}
+
+		// Act
+		ReadingRing.Snapshot snapshot = ring.snapshot(10);
+
+		// Assert
+		assertArrayEquals(new long[]{3000L, 4000L, 5000L}, snapshot.timestamps());
+		assertArrayEquals(new float[]{23f, 24f, 25f}, snapshot.temperatures());
+		assertArrayEquals(new float[]{103f, 104f, 105f}, snapshot.pressures());
+		assertArrayEquals(new float[]{87f, 86f, 85f}, snapshot.batteryLevels());
+		assertEquals(5000L, ring.lastTimestamp());
+	}
+
+	@Test
+	void snapshot_LimitBelowSize_ReturnsMostRecentReadings() {
+		// Arrange
+		ReadingRing ring = new ReadingRing(4);
+		for (int i = 1; i <= 3; i++) {
+			ring.add(i, i, i, i);
+		}
+
+		// Act
+		ReadingRing.Snapshot snapshot = ring.snapshot(2);
+
+		// Assert
+		assertArrayEquals(new long[]{2L, 3L}, snapshot.timestamps());
+	}
+
+	@Test
+	void add_LateReading_IsInsertedInTimestampOrder() {
+		// Arrange
+		ReadingRing ring = new ReadingRing(3);
+		ring.add(1000L, 21, 101, 89);
+		ring.add(3000L, 23, 103, 87);
+
+		// Act
+		ring.add(2000L, 22, 102, 88);
+		ring.add(4000L, 24, 104, 86);
+
+		// Assert
+		ReadingRing.Snapshot snapshot = ring.snapshot(10);
+		assertArrayEquals(new long[]{2000L, 3000L, 4000L}, snapshot.timestamps());
+		assertArrayEquals(new float[]{22f, 23f, 24f}, snapshot.temperatures());
+		assertEquals(4000L, ring.lastTimestamp());
+	}
+
+	@Test
+	void add_FullRingAndReadingOlderThanAll_DropsTheReading() {
+		// Arrange
+		ReadingRing ring = new ReadingRing(2);
+		ring.add(2000L, 22, 102, 88);
+		ring.add(3000L, 23, 103, 87);
+
+		// Act
+		boolean added = ring.add(1000L, 21, 101, 89);
+
+		// Assert
+		assertFalse(added);
+		assertArrayEquals(new long[]{2000L, 3000L}, ring.snapshot(10).timestamps());
+	}
+}